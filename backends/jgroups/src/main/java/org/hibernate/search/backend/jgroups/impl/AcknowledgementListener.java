@@ -0,0 +1,27 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.jgroups.impl;
+
+/**
+ * Notified of the outcome of a message sent by {@link MessageSenderService#sendAsync}.
+ * Exactly one of the methods is invoked.
+ */
+public interface AcknowledgementListener {
+
+	/**
+	 * All peers received and applied the message.
+	 */
+	void acknowledged();
+
+	/**
+	 * A peer didn't acknowledge the message in time, left the cluster or failed applying it.
+	 *
+	 * @param cause the reason of the failure
+	 */
+	void failed(Throwable cause);
+
+}
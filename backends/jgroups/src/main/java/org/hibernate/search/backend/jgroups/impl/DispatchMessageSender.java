@@ -8,6 +8,9 @@
 
 import java.net.URL;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.hibernate.search.backend.jgroups.logging.impl.Log;
 import org.hibernate.search.engine.service.spi.ServiceManager;
@@ -26,6 +29,8 @@
 import org.jgroups.blocks.RequestOptions;
 import org.jgroups.blocks.mux.MuxMessageDispatcher;
 import org.jgroups.blocks.mux.Muxer;
+import org.jgroups.util.FutureListener;
+import org.jgroups.util.NotifyingFuture;
 import org.jgroups.util.Rsp;
 import org.jgroups.util.RspList;
 
@@ -73,23 +78,42 @@ public void send(final Message message, final boolean synchronous, final long ti
 		options.setExclusionList( dispatcher.getChannel().getAddress() );
 		options.setTimeout( timeout );
 		RspList<Object> rspList = dispatcher.castMessage( null, message, options );
-		//JGroups won't throw these automatically as it would with a JChannel usage,
-		//so we provide the same semantics by throwing the JGroups specific exceptions
-		//as appropriate
 		if ( synchronous ) {
-			for ( Rsp rsp : rspList.values() ) {
-				if ( !rsp.wasReceived() ) {
-					if ( rsp.wasSuspected() ) {
-						throw log.jgroupsSuspectingPeer( rsp.getSender() );
-					}
-					else {
-						throw log.jgroupsRpcTimeout( rsp.getSender() );
-					}
+			checkResponses( rspList );
+		}
+	}
+
+	@Override
+	public void sendAsync(final Message message, final long timeout, final AcknowledgementListener listener) throws Exception {
+		final RequestOptions options = RequestOptions.SYNC();
+		options.setExclusionList( dispatcher.getChannel().getAddress() );
+		options.setTimeout( timeout );
+		final ResponsesListener responsesListener = new ResponsesListener( listener );
+		NotifyingFuture<RspList<Object>> future = dispatcher.castMessageWithFuture( null, message, options, responsesListener );
+		if ( future.isDone() ) {
+			// no peer to wait for: the future might have completed before the listener was registered
+			responsesListener.futureDone( future );
+		}
+	}
+
+	/**
+	 * JGroups won't throw these automatically as it would with a JChannel usage,
+	 * so we provide the same semantics by throwing the JGroups specific exceptions
+	 * as appropriate
+	 */
+	private static void checkResponses(RspList<Object> rspList) throws Exception {
+		for ( Rsp rsp : rspList.values() ) {
+			if ( !rsp.wasReceived() ) {
+				if ( rsp.wasSuspected() ) {
+					throw log.jgroupsSuspectingPeer( rsp.getSender() );
 				}
 				else {
-					if ( rsp.hasException() ) {
-						throw log.jgroupsRemoteException( rsp.getSender(), rsp.getException(), rsp.getException() );
-					}
+					throw log.jgroupsRpcTimeout( rsp.getSender() );
+				}
+			}
+			else {
+				if ( rsp.hasException() ) {
+					throw log.jgroupsRemoteException( rsp.getSender(), rsp.getException(), rsp.getException() );
 				}
 			}
 		}
@@ -207,6 +231,35 @@ private static ChannelContainer buildChannel(Properties props) {
 		}
 	}
 
+	private static final class ResponsesListener implements FutureListener<RspList<Object>> {
+
+		private final AcknowledgementListener listener;
+		private final AtomicBoolean notified = new AtomicBoolean();
+
+		ResponsesListener(AcknowledgementListener listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public void futureDone(Future<RspList<Object>> future) {
+			if ( !notified.compareAndSet( false, true ) ) {
+				return;
+			}
+			try {
+				checkResponses( future.get() );
+			}
+			catch (ExecutionException e) {
+				listener.failed( e.getCause() );
+				return;
+			}
+			catch (Exception e) {
+				listener.failed( e );
+				return;
+			}
+			listener.acknowledged();
+		}
+	}
+
 	private interface ChannelContainer {
 		JChannel getChannel();
 		void close();
@@ -73,6 +73,43 @@ public class JGroupsBackendQueueProcessor implements BackendQueueProcessor {
 	 */
 	public static final int DEFAULT_MESSAGE_TIMEOUT = 20000;
 
+	/**
+	 * When enabled, the works of the transactions are sent to the master node by a dedicated
+	 * thread of this index, which coalesces the works of concurrent transactions into a single message,
+	 * and keeps several messages waiting for their ACK.
+	 * Disabled by default: each transaction sends its own message.
+	 */
+	public static final String PIPELINE = "pipeline";
+
+	/**
+	 * The maximum number of works coalesced into a single message, when {@link #PIPELINE} is enabled.
+	 * The works of a single transaction are never split in several messages.
+	 */
+	public static final String PIPELINE_MAX_WORKS = "pipeline_max_works";
+
+	/**
+	 * Default value for the {@link #PIPELINE_MAX_WORKS} configuration property.
+	 */
+	public static final int DEFAULT_PIPELINE_MAX_WORKS = 1000;
+
+	/**
+	 * How long the sending thread waits for more works before sending a message, when {@link #PIPELINE} is enabled.
+	 * Value interpreted in milliseconds; by default it doesn't wait, only coalescing the works submitted
+	 * while the previous message was being sent.
+	 */
+	public static final String PIPELINE_WINDOW_MS = "pipeline_window";
+
+	/**
+	 * The maximum number of messages waiting for their ACK at the same time, when {@link #PIPELINE}
+	 * and {@link #BLOCK_WAITING_ACK} are enabled.
+	 */
+	public static final String PIPELINE_MAX_MESSAGES_IN_FLIGHT = "pipeline_max_messages_in_flight";
+
+	/**
+	 * Default value for the {@link #PIPELINE_MAX_MESSAGES_IN_FLIGHT} configuration property.
+	 */
+	public static final int DEFAULT_PIPELINE_MAX_MESSAGES_IN_FLIGHT = 4;
+
 	private static final Log log = LoggerFactory.make( Log.class );
 
 	private final NodeSelectorStrategy selectionStrategy;
@@ -85,6 +122,7 @@ public class JGroupsBackendQueueProcessor implements BackendQueueProcessor {
 	private ServiceManager serviceManager;
 
 	private JGroupsBackendQueueTask jgroupsProcessor;
+	private JGroupsMessagePipeline pipeline;
 	private BackendQueueProcessor delegatedBackend;
 
 	public JGroupsBackendQueueProcessor(NodeSelectorStrategy selectionStrategy) {
@@ -110,6 +148,16 @@ public void initialize(Properties props, WorkerBuildContext context, DirectoryBa
 
 		log.jgroupsBlockWaitingForAck( indexName, block );
 		jgroupsProcessor = new JGroupsBackendQueueTask( this, indexManager, masterNodeSelector, block, messageTimeout );
+		if ( ConfigurationParseHelper.getBooleanValue( jgroupsProperties, PIPELINE, false ) ) {
+			pipeline = new JGroupsMessagePipeline(
+					jgroupsProcessor,
+					messageSender,
+					context.getErrorHandler(),
+					ConfigurationParseHelper.getIntValue( jgroupsProperties, PIPELINE_MAX_WORKS, DEFAULT_PIPELINE_MAX_WORKS ),
+					ConfigurationParseHelper.getLongValue( jgroupsProperties, PIPELINE_WINDOW_MS, 0L ),
+					ConfigurationParseHelper.getIntValue( jgroupsProperties, PIPELINE_MAX_MESSAGES_IN_FLIGHT, DEFAULT_PIPELINE_MAX_MESSAGES_IN_FLIGHT )
+			);
+		}
 
 		String backend = ConfigurationParseHelper.getString( jgroupsProperties, DELEGATE_BACKEND, "lucene" );
 		delegatedBackend = BackendFactory.createBackend( backend, indexManager, context, props );
@@ -117,6 +165,9 @@ public void initialize(Properties props, WorkerBuildContext context, DirectoryBa
 
 	@Override
 	public void close() {
+		if ( pipeline != null ) {
+			pipeline.close();
+		}
 		serviceManager.releaseService( NodeSelectorService.class );
 		serviceManager.releaseService( MessageSenderService.class );
 		delegatedBackend.close();
@@ -152,7 +203,7 @@ public void applyWork(List<LuceneWork> workList, IndexingMonitor monitor) {
 			if ( workList == null ) {
 				throw new IllegalArgumentException( "workList should not be null" );
 			}
-			jgroupsProcessor.sendLuceneWorkList( workList );
+			sendLuceneWorkList( workList );
 		}
 	}
 
@@ -163,7 +214,16 @@ public void applyStreamWork(LuceneWork singleOperation, IndexingMonitor monitor)
 		}
 		else {
 			//TODO optimize for single operation?
-			jgroupsProcessor.sendLuceneWorkList( Collections.singletonList( singleOperation ) );
+			sendLuceneWorkList( Collections.singletonList( singleOperation ) );
+		}
+	}
+
+	private void sendLuceneWorkList(List<LuceneWork> workList) {
+		if ( pipeline != null ) {
+			pipeline.submit( workList );
+		}
+		else {
+			jgroupsProcessor.sendLuceneWorkList( workList );
 		}
 	}
 
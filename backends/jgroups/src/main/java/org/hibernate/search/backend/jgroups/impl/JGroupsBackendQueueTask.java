@@ -46,6 +46,28 @@ public JGroupsBackendQueueTask(JGroupsBackendQueueProcessor factory, IndexManage
 	}
 
 	public void sendLuceneWorkList(List<LuceneWork> queue) {
+		boolean trace = log.isTraceEnabled();
+		List<LuceneWork> filteredQueue = filterWorks( queue );
+		if ( filteredQueue.isEmpty() ) {
+			return;
+		}
+		Message message = createMessage( filteredQueue );
+		try {
+			factory.getMessageSenderService().send( message, blockForACK, messageTimeout );
+			if ( trace ) {
+				log.tracef( "Lucene works have been sent from slave %s to master node.", factory.getAddress() );
+			}
+		}
+		catch (Exception e) {
+			throw log.unableToSendWorkViaJGroups( e );
+		}
+	}
+
+	/**
+	 * @param queue the works to send to the master node
+	 * @return the works which need to be sent, possibly none
+	 */
+	List<LuceneWork> filterWorks(List<LuceneWork> queue) {
 		boolean trace = log.isTraceEnabled();
 		List<LuceneWork> filteredQueue = new ArrayList<LuceneWork>( queue );
 		if ( trace ) {
@@ -69,21 +91,22 @@ public void sendLuceneWorkList(List<LuceneWork> queue) {
 			if ( trace ) {
 				log.trace( "Nothing to send. Propagating works to a cluster has been skipped." );
 			}
-			return;
 		}
-		byte[] data = indexManager.getSerializer().toSerializedModel( filteredQueue );
+		return filteredQueue;
+	}
+
+	/**
+	 * @param works the works to send to the master node, as returned by {@link #filterWorks(List)}
+	 * @return the message to send to the master node
+	 */
+	Message createMessage(List<LuceneWork> works) {
+		byte[] data = indexManager.getSerializer().toSerializedModel( works );
 		data = MessageSerializationHelper.prependString( indexName, data );
+		return masterNodeSelector.createMessage( data );
+	}
 
-		try {
-			Message message = masterNodeSelector.createMessage( data );
-			factory.getMessageSenderService().send( message, blockForACK, messageTimeout );
-			if ( trace ) {
-				log.tracef( "Lucene works have been sent from slave %s to master node.", factory.getAddress() );
-			}
-		}
-		catch (Exception e) {
-			throw log.unableToSendWorkViaJGroups( e );
-		}
+	String getIndexName() {
+		return indexName;
 	}
 
 	public boolean blocksForACK() {
@@ -0,0 +1,268 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.jgroups.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.jgroups.logging.impl.Log;
+import org.hibernate.search.exception.ErrorHandler;
+import org.hibernate.search.exception.impl.ErrorContextBuilder;
+import org.hibernate.search.util.impl.Executors;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+import org.jgroups.Message;
+
+/**
+ * Sends the Lucene works of an index to the master node from a dedicated thread, coalescing
+ * the work lists submitted by concurrent transactions into a single message.
+ * <p>
+ * A message is sent as soon as the sending thread is available, including all the work lists
+ * submitted meanwhile, up to a maximum number of works; optionally the sending thread waits for
+ * more work lists during a time window before sending a message.
+ * <p>
+ * When blocking for ACKs, several messages can be waiting for their ACK at the same time, and the
+ * threads which submitted the works of a message are released when it's acknowledged.
+ * Messages are sent from a single thread, so they are received by the master in the same order
+ * as the works were submitted.
+ */
+final class JGroupsMessagePipeline {
+
+	private static final Log log = LoggerFactory.make( Log.class );
+
+	/**
+	 * Marks the end of the queue
+	 */
+	private static final PendingWorks STOP = new PendingWorks( Collections.<LuceneWork>emptyList() );
+
+	private final JGroupsBackendQueueTask task;
+	private final MessageSenderService messageSender;
+	private final ErrorHandler errorHandler;
+	private final int maxWorks;
+	private final long windowNanos;
+	private final int maxMessagesInFlight;
+	private final Semaphore messagesInFlight;
+	private final BlockingQueue<PendingWorks> queue = new LinkedBlockingQueue<PendingWorks>();
+	private final ExecutorService senderExecutor;
+	private volatile boolean stopped = false;
+
+	JGroupsMessagePipeline(JGroupsBackendQueueTask task, MessageSenderService messageSender, ErrorHandler errorHandler,
+			int maxWorks, long windowMs, int maxMessagesInFlight) {
+		this.task = task;
+		this.messageSender = messageSender;
+		this.errorHandler = errorHandler;
+		this.maxWorks = maxWorks;
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos( windowMs );
+		this.maxMessagesInFlight = maxMessagesInFlight;
+		this.messagesInFlight = new Semaphore( maxMessagesInFlight );
+		log.jgroupsPipelineConfiguration( task.getIndexName(), maxWorks, windowMs, maxMessagesInFlight );
+		this.senderExecutor = Executors.newFixedThreadPool( 1, "JGroups sender for index " + task.getIndexName() );
+		this.senderExecutor.execute( new Sender() );
+	}
+
+	/**
+	 * Queues the works to be sent to the master node. When blocking for ACKs, waits until
+	 * the master acknowledged them.
+	 *
+	 * @param works the works to send
+	 */
+	void submit(List<LuceneWork> works) {
+		final List<LuceneWork> filteredWorks = task.filterWorks( works );
+		if ( filteredWorks.isEmpty() ) {
+			return;
+		}
+		final PendingWorks pending = new PendingWorks( filteredWorks );
+		if ( stopped ) {
+			throw log.jgroupsPipelineClosed( task.getIndexName() );
+		}
+		queue.add( pending );
+		if ( stopped && queue.remove( pending ) ) {
+			// raced with close(): the sender might be gone already
+			throw log.jgroupsPipelineClosed( task.getIndexName() );
+		}
+		if ( task.blocksForACK() ) {
+			pending.await();
+		}
+	}
+
+	/**
+	 * Sends the works already submitted, waits for the ACKs of the messages in flight,
+	 * and stops the sending thread.
+	 */
+	void close() {
+		stopped = true;
+		queue.add( STOP );
+		senderExecutor.shutdown();
+		try {
+			senderExecutor.awaitTermination( task.getMessageTimeout(), TimeUnit.MILLISECONDS );
+			messagesInFlight.tryAcquire( maxMessagesInFlight, task.getMessageTimeout(), TimeUnit.MILLISECONDS );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		final List<PendingWorks> unsent = new ArrayList<PendingWorks>();
+		queue.drainTo( unsent );
+		unsent.remove( STOP );
+		if ( !unsent.isEmpty() ) {
+			fail( unsent, log.jgroupsPipelineClosed( task.getIndexName() ) );
+		}
+	}
+
+	private void send(List<PendingWorks> batch) {
+		final List<LuceneWork> works = new ArrayList<LuceneWork>();
+		for ( PendingWorks pending : batch ) {
+			works.addAll( pending.works );
+		}
+		boolean acquired = false;
+		try {
+			final Message message = task.createMessage( works );
+			if ( task.blocksForACK() ) {
+				messagesInFlight.acquire();
+				acquired = true;
+				messageSender.sendAsync( message, task.getMessageTimeout(), new BatchAcknowledgementListener( batch ) );
+			}
+			else {
+				messageSender.send( message, false, task.getMessageTimeout() );
+				complete( batch );
+			}
+			if ( log.isTraceEnabled() ) {
+				log.tracef( "%d Lucene works of %d transactions have been sent to master node.", works.size(), batch.size() );
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			fail( batch, e );
+		}
+		catch (Exception e) {
+			if ( acquired ) {
+				messagesInFlight.release();
+			}
+			fail( batch, e );
+		}
+	}
+
+	private static void complete(List<PendingWorks> batch) {
+		for ( PendingWorks pending : batch ) {
+			pending.complete( null );
+		}
+	}
+
+	private void fail(List<PendingWorks> batch, Throwable cause) {
+		if ( task.blocksForACK() ) {
+			// the submitting threads are waiting, they will report the failure
+			for ( PendingWorks pending : batch ) {
+				pending.complete( cause );
+			}
+		}
+		else {
+			final ErrorContextBuilder builder = new ErrorContextBuilder();
+			for ( PendingWorks pending : batch ) {
+				builder.allWorkToBeDone( pending.works );
+				pending.complete( cause );
+			}
+			builder.errorThatOccurred( cause );
+			errorHandler.handle( builder.createErrorContext() );
+		}
+	}
+
+	private final class Sender implements Runnable {
+
+		@Override
+		public void run() {
+			boolean stopRequested = false;
+			try {
+				while ( !stopRequested ) {
+					final PendingWorks first = queue.take();
+					if ( first == STOP ) {
+						return;
+					}
+					final List<PendingWorks> batch = new ArrayList<PendingWorks>();
+					batch.add( first );
+					int batchWorks = first.works.size();
+					final long deadline = System.nanoTime() + windowNanos;
+					while ( batchWorks < maxWorks ) {
+						final PendingWorks next = queue.poll( deadline - System.nanoTime(), TimeUnit.NANOSECONDS );
+						if ( next == null ) {
+							break;
+						}
+						if ( next == STOP ) {
+							stopRequested = true;
+							break;
+						}
+						batch.add( next );
+						batchWorks += next.works.size();
+					}
+					send( batch );
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private final class BatchAcknowledgementListener implements AcknowledgementListener {
+
+		private final List<PendingWorks> batch;
+
+		BatchAcknowledgementListener(List<PendingWorks> batch) {
+			this.batch = batch;
+		}
+
+		@Override
+		public void acknowledged() {
+			messagesInFlight.release();
+			complete( batch );
+		}
+
+		@Override
+		public void failed(Throwable cause) {
+			messagesInFlight.release();
+			fail( batch, cause );
+		}
+	}
+
+	/**
+	 * The works submitted by a transaction, and the outcome of their sending
+	 */
+	private static final class PendingWorks {
+
+		private final List<LuceneWork> works;
+		private final CountDownLatch done = new CountDownLatch( 1 );
+		private volatile Throwable failure;
+
+		PendingWorks(List<LuceneWork> works) {
+			this.works = works;
+		}
+
+		void complete(Throwable failure) {
+			this.failure = failure;
+			done.countDown();
+		}
+
+		void await() {
+			try {
+				done.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw log.unableToSendWorkViaJGroups( e );
+			}
+			if ( failure != null ) {
+				throw log.unableToSendWorkViaJGroups( failure );
+			}
+		}
+	}
+
+}
@@ -30,6 +30,16 @@ public interface MessageSenderService extends Service {
 	 */
 	void send(Message message, boolean synchronous, long messageTimeout) throws Exception;
 
+	/**
+	 * Send message without blocking, and get notified when the ACKs are received.
+	 *
+	 * @param message the JGroups message
+	 * @param messageTimeout in milliseconds
+	 * @param listener notified once, from a JGroups thread, when the ACKs are received or the message failed
+	 * @throws java.lang.Exception for any error sending the message; the listener is not notified in this case
+	 */
+	void sendAsync(Message message, long messageTimeout, AcknowledgementListener listener) throws Exception;
+
 	/**
 	 * Get sender's address.
 	 *
@@ -121,4 +121,11 @@ public interface Log extends org.hibernate.search.util.logging.impl.Log {
 	@Message(id = JGROUPS_BACKEND_MESSAGES_START_ID + 23, value = "JGroups channel configuration should be specified in the global section [hibernate.search.services.jgroups.], " +
 			"not as an IndexManager property for index '%1$s'. See http://docs.jboss.org/hibernate/search/5.0/reference/en-US/html_single/#jgroups-backend")
 	SearchException legacyJGroupsConfigurationDefined(String indexName);
+
+	@Message(id = JGROUPS_BACKEND_MESSAGES_START_ID + 24, value = "The JGroups backend of index '%1$s' is shutting down: Lucene works can not be sent any more")
+	SearchException jgroupsPipelineClosed(String indexName);
+
+	@LogMessage(level = Logger.Level.DEBUG)
+	@Message(id = JGROUPS_BACKEND_MESSAGES_START_ID + 25, value = "JGroups backend of index '%1$s' coalescing up to %2$d Lucene works per message, waiting up to %3$d ms for more works, with up to %4$d messages waiting for ACK")
+	void jgroupsPipelineConfiguration(String indexName, int maxWorks, long windowMs, int maxMessagesInFlight);
 }
@@ -0,0 +1,76 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.jgroups.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.search.backend.IndexingMonitor;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.spi.BackendQueueProcessor;
+
+/**
+ * A JGroups based BackendQueueProcessor recording the identifiers of the works it receives,
+ * and the number of messages they were received in.
+ */
+public class JGroupsRecordingMockBackend extends JGroupsBackendQueueProcessor implements BackendQueueProcessor {
+
+	private final List<Serializable> receivedIds = Collections.synchronizedList( new ArrayList<Serializable>() );
+	private final AtomicInteger receivedMessages = new AtomicInteger();
+	private volatile long processingDelay = 0L;
+	private volatile boolean failOnMessage = false;
+
+	public JGroupsRecordingMockBackend() {
+		super( new MasterNodeSelector() );
+	}
+
+	@Override
+	public void applyWork(List<LuceneWork> workList, IndexingMonitor monitor) {
+		if ( failOnMessage ) {
+			throw new NullPointerException( "Simulated Failure" );
+		}
+		receivedMessages.incrementAndGet();
+		for ( LuceneWork work : workList ) {
+			receivedIds.add( work.getId() );
+		}
+		if ( processingDelay > 0 ) {
+			try {
+				Thread.sleep( processingDelay );
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	@Override
+	public void applyStreamWork(LuceneWork singleOperation, IndexingMonitor monitor) {
+		applyWork( Collections.singletonList( singleOperation ), monitor );
+	}
+
+	public List<Serializable> getReceivedIds() {
+		synchronized ( receivedIds ) {
+			return new ArrayList<Serializable>( receivedIds );
+		}
+	}
+
+	public int getReceivedMessages() {
+		return receivedMessages.get();
+	}
+
+	public void setProcessingDelay(long processingDelay) {
+		this.processingDelay = processingDelay;
+	}
+
+	public void induceFailure() {
+		failOnMessage = true;
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.jgroups.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.backend.spi.BackendQueueProcessor;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.hibernate.search.util.impl.Executors;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies that the works of concurrent transactions are coalesced by the pipeline of the JGroups backend,
+ * without losing works nor changing their order, and that the transactions are released by the ACKs.
+ */
+public class PipelinedJGroupsBackendTest {
+
+	private static final String JGROUPS_CONFIGURATION = "testing-flush-loopback.xml";
+	private static final int THREADS = 8;
+	private static final int TRANSACTIONS_PER_THREAD = 25;
+
+	@Rule
+	public SearchFactoryHolder slaveNode = new SearchFactoryHolder( Dvd.class )
+		.withProperty( "hibernate.search.default.worker.backend", "jgroupsSlave" )
+		.withProperty( "hibernate.search.dvds.jgroups." + JGroupsBackendQueueProcessor.BLOCK_WAITING_ACK, "true" )
+		.withProperty( "hibernate.search.dvds.jgroups." + JGroupsBackendQueueProcessor.PIPELINE, "true" )
+		.withProperty( "hibernate.search.dvds.jgroups." + JGroupsBackendQueueProcessor.PIPELINE_WINDOW_MS, "5" )
+		.withProperty( DispatchMessageSender.CONFIGURATION_FILE, JGROUPS_CONFIGURATION );
+
+	@Rule
+	public SearchFactoryHolder masterNode = new SearchFactoryHolder( Dvd.class )
+		.withProperty( "hibernate.search.default.worker.backend", JGroupsRecordingMockBackend.class.getName() )
+		.withProperty( DispatchMessageSender.CONFIGURATION_FILE, JGROUPS_CONFIGURATION );
+
+	@Test
+	public void worksOfConcurrentTransactionsAreCoalesced() throws Exception {
+		final JGroupsRecordingMockBackend master = extractMockBackend();
+		master.setProcessingDelay( 5 );
+
+		ExecutorService executor = Executors.newFixedThreadPool( THREADS, "pipelined JGroups backend test" );
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for ( int i = 0; i < THREADS; i++ ) {
+				final int thread = i;
+				futures.add( executor.submit( new Callable<Void>() {
+					@Override
+					public Void call() {
+						for ( int j = 0; j < TRANSACTIONS_PER_THREAD; j++ ) {
+							storeDvd( thread * TRANSACTIONS_PER_THREAD + j );
+						}
+						return null;
+					}
+				} ) );
+			}
+			for ( Future<Void> future : futures ) {
+				future.get( 1, TimeUnit.MINUTES );
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		// the transactions were blocked until the ACK, so the master received all works already
+		List<Serializable> receivedIds = master.getReceivedIds();
+		Assert.assertEquals( THREADS * TRANSACTIONS_PER_THREAD, receivedIds.size() );
+		Assert.assertEquals( THREADS * TRANSACTIONS_PER_THREAD, new HashSet<Serializable>( receivedIds ).size() );
+		Assert.assertTrue(
+				"Expected less messages than transactions, got " + master.getReceivedMessages(),
+				master.getReceivedMessages() < THREADS * TRANSACTIONS_PER_THREAD
+		);
+		// the transactions of each thread are received in order
+		long[] lastIdOfThread = new long[THREADS];
+		for ( Serializable id : receivedIds ) {
+			long value = (Long) id;
+			int thread = (int) ( value / TRANSACTIONS_PER_THREAD );
+			Assert.assertTrue( value >= lastIdOfThread[thread] );
+			lastIdOfThread[thread] = value;
+		}
+	}
+
+	@Test
+	public void failureOnMasterIsReportedToTransaction() {
+		extractMockBackend().induceFailure();
+		try {
+			storeDvd( 1 );
+			Assert.fail( "The failure of the master should have been reported" );
+		}
+		catch (SearchException se) {
+			Throwable cause = se.getCause();
+			while ( cause.getCause() != null ) {
+				cause = cause.getCause();
+			}
+			Assert.assertTrue( "Cause was not a NullPointerException but a " + cause, cause instanceof NullPointerException );
+			Assert.assertEquals( "Simulated Failure", cause.getMessage() );
+		}
+	}
+
+	private JGroupsRecordingMockBackend extractMockBackend() {
+		DirectoryBasedIndexManager indexManager = (DirectoryBasedIndexManager) masterNode.getSearchFactory()
+				.getIndexManagerHolder().getIndexManager( "dvds" );
+		BackendQueueProcessor backendQueueProcessor = indexManager.getBackendQueueProcessor();
+		Assert.assertTrue( "Backend not using the configured Mock!", backendQueueProcessor instanceof JGroupsRecordingMockBackend );
+		return (JGroupsRecordingMockBackend) backendQueueProcessor;
+	}
+
+	private void storeDvd(long id) {
+		Dvd dvd = new Dvd();
+		dvd.id = id;
+		dvd.title = "Dvd " + id;
+		Work work = new Work( dvd, id, WorkType.ADD, false );
+		TransactionContextForTest tc = new TransactionContextForTest();
+		slaveNode.getSearchFactory().getWorker().performWork( work, tc );
+		tc.end();
+	}
+
+	@Indexed(index = "dvds")
+	public static final class Dvd {
+		@DocumentId long id;
+		@Field String title;
+	}
+
+}
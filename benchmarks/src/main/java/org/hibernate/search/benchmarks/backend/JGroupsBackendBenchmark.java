@@ -0,0 +1,119 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.benchmarks.backend;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.search.backend.jgroups.impl.DispatchMessageSender;
+import org.hibernate.search.backend.jgroups.impl.JGroupsBackendQueueProcessor;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.benchmarks.model.Book;
+import org.hibernate.search.benchmarks.model.Books;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.spi.SearchIntegratorBuilder;
+import org.hibernate.search.testsupport.setup.SearchConfigurationForTest;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of transactions sent by a slave node to a master node through
+ * the JGroups backend, blocking for ACKs, with and without the pipeline coalescing the
+ * works of concurrent transactions.
+ * Both nodes run in this JVM, connected by a shared loopback transport; the master doesn't
+ * apply the works, so the network round trips are the only cost being measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Threads(16)
+@Fork(1)
+public class JGroupsBackendBenchmark {
+
+	private static final String JGROUPS_CONFIGURATION = "benchmarks-loopback.xml";
+
+	@Param({ "false", "true" })
+	private boolean pipeline;
+
+	/**
+	 * How long the pipeline waits for more works before sending a message, in milliseconds
+	 */
+	@Param({ "0" })
+	private long window;
+
+	private final AtomicLong nextId = new AtomicLong();
+	private ExtendedSearchIntegrator master;
+	private ExtendedSearchIntegrator slave;
+
+	@Setup
+	public void startCluster() {
+		final String clusterName = "benchmarks-" + UUID.randomUUID();
+		master = createNode( clusterName )
+				.addProperty( "hibernate.search.default.worker.backend", "jgroupsMaster" )
+				.addProperty( "hibernate.search.default.jgroups.delegate_backend", "blackhole" )
+				.build();
+		slave = createNode( clusterName )
+				.addProperty( "hibernate.search.default.worker.backend", "jgroupsSlave" )
+				.addProperty( "hibernate.search.default.jgroups." + JGroupsBackendQueueProcessor.BLOCK_WAITING_ACK, "true" )
+				.addProperty( "hibernate.search.default.jgroups." + JGroupsBackendQueueProcessor.PIPELINE, String.valueOf( pipeline ) )
+				.addProperty( "hibernate.search.default.jgroups." + JGroupsBackendQueueProcessor.PIPELINE_WINDOW_MS, String.valueOf( window ) )
+				.build();
+	}
+
+	@TearDown
+	public void stopCluster() {
+		slave.close();
+		master.close();
+	}
+
+	@Benchmark
+	public void indexOnSlave() {
+		final long id = nextId.getAndIncrement();
+		final TransactionContextForTest tc = new TransactionContextForTest();
+		slave.getWorker().performWork( new Work( Books.create( id ), id, WorkType.ADD, false ), tc );
+		tc.end();
+	}
+
+	private static Node createNode(String clusterName) {
+		return new Node()
+				.addProperty( "hibernate.search.default.directory_provider", "ram" )
+				.addProperty( DispatchMessageSender.CONFIGURATION_FILE, JGROUPS_CONFIGURATION )
+				.addProperty( DispatchMessageSender.CLUSTER_NAME, clusterName );
+	}
+
+	private static final class Node {
+
+		private final SearchConfigurationForTest cfg = new SearchConfigurationForTest().addClass( Book.class );
+
+		Node addProperty(String key, String value) {
+			cfg.addProperty( key, value );
+			return this;
+		}
+
+		ExtendedSearchIntegrator build() {
+			return new SearchIntegratorBuilder().configuration( cfg ).buildSearchIntegrator()
+					.unwrap( ExtendedSearchIntegrator.class );
+		}
+	}
+
+}
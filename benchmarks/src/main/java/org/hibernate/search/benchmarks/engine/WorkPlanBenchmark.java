@@ -0,0 +1,96 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.benchmarks.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.benchmarks.model.Books;
+import org.hibernate.search.benchmarks.support.SearchIntegrators;
+import org.hibernate.search.engine.impl.WorkPlan;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the merging of the changes of a transaction into the minimal list of
+ * {@link LuceneWork}, including the creation of the documents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class WorkPlanBenchmark {
+
+	private static final WorkType[] WORK_TYPES = { WorkType.ADD, WorkType.UPDATE, WorkType.DELETE };
+
+	/**
+	 * The number of changes in the transaction
+	 */
+	@Param({ "10", "1000" })
+	private int works;
+
+	/**
+	 * Percentage of the changes applied to an entity already changed in the same transaction
+	 */
+	@Param({ "0", "50" })
+	private int duplicates;
+
+	private File indexBase;
+	private ExtendedSearchIntegrator integrator;
+	private List<Work> transactionWorks;
+
+	@Setup
+	public void createWorks() throws IOException {
+		indexBase = SearchIntegrators.createTempIndexBase();
+		integrator = SearchIntegrators.create( SearchIntegrators.RAM, indexBase );
+		final Random random = new Random( 42L );
+		transactionWorks = new ArrayList<Work>( works );
+		long nextId = 0;
+		for ( int i = 0; i < works; i++ ) {
+			final long id = nextId > 0 && random.nextInt( 100 ) < duplicates ? random.nextInt( (int) nextId ) : nextId++;
+			final WorkType type = WORK_TYPES[random.nextInt( WORK_TYPES.length )];
+			transactionWorks.add( new Work( Books.create( id ), id, type, false ) );
+		}
+	}
+
+	@TearDown
+	public void close() throws IOException {
+		integrator.close();
+		SearchIntegrators.delete( indexBase );
+	}
+
+	@Benchmark
+	public List<LuceneWork> planWork() {
+		final WorkPlan plan = new WorkPlan( integrator );
+		for ( Work work : transactionWorks ) {
+			plan.addWork( work );
+		}
+		plan.processContainedInAndPrepareExecution();
+		return plan.getPlannedLuceneWork();
+	}
+
+}
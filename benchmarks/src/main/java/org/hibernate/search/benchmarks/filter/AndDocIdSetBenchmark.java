@@ -0,0 +1,142 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.benchmarks.filter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.FixedBitSet;
+import org.hibernate.search.filter.impl.AndDocIdSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the strategies of {@link AndDocIdSet} to intersect the results of several filters:
+ * <ul>
+ * <li>word by word, when all filters produce bitsets;</li>
+ * <li>by advancing the iterators, when the filters produce other kinds of DocIdSet;</li>
+ * <li>the naive approach of checking every document of the cheapest iterator against all other sets.</li>
+ * </ul>
+ * The density of the filters controls whether the result is materialized or evaluated lazily.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AndDocIdSetBenchmark {
+
+	@Param({ "1000000" })
+	private int maxDoc;
+
+	@Param({ "2", "4", "6" })
+	private int filters;
+
+	/**
+	 * Percentage of the documents matched by each filter
+	 */
+	@Param({ "0.5", "10", "50" })
+	private double density;
+
+	private List<DocIdSet> bitSets;
+	private List<DocIdSet> iteratorOnlySets;
+
+	@Setup
+	public void createFilterResults() {
+		final Random random = new Random( 42L );
+		bitSets = new ArrayList<DocIdSet>( filters );
+		iteratorOnlySets = new ArrayList<DocIdSet>( filters );
+		for ( int i = 0; i < filters; i++ ) {
+			final FixedBitSet bitSet = new FixedBitSet( maxDoc );
+			for ( int doc = 0; doc < maxDoc; doc++ ) {
+				if ( random.nextDouble() * 100 < density ) {
+					bitSet.set( doc );
+				}
+			}
+			bitSets.add( bitSet );
+			iteratorOnlySets.add( new IteratorOnlyDocIdSet( bitSet ) );
+		}
+	}
+
+	@Benchmark
+	public int andBitSets() throws IOException {
+		return consume( new AndDocIdSet( bitSets, maxDoc ) );
+	}
+
+	@Benchmark
+	public int andIterators() throws IOException {
+		return consume( new AndDocIdSet( iteratorOnlySets, maxDoc ) );
+	}
+
+	@Benchmark
+	public int checkEveryDocument() throws IOException {
+		final DocIdSetIterator lead = bitSets.get( 0 ).iterator();
+		final List<Bits> others = new ArrayList<Bits>( filters - 1 );
+		for ( int i = 1; i < filters; i++ ) {
+			others.add( bitSets.get( i ).bits() );
+		}
+		int count = 0;
+		nextDoc:
+		for ( int doc = lead.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = lead.nextDoc() ) {
+			for ( Bits other : others ) {
+				if ( !other.get( doc ) ) {
+					continue nextDoc;
+				}
+			}
+			count++;
+		}
+		return count;
+	}
+
+	private static int consume(DocIdSet docIdSet) throws IOException {
+		final DocIdSetIterator iterator = docIdSet.iterator();
+		int count = 0;
+		while ( iterator.nextDoc() != DocIdSetIterator.NO_MORE_DOCS ) {
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Hides the bitset, as filters based on postings or doc values do
+	 */
+	private static final class IteratorOnlyDocIdSet extends DocIdSet {
+
+		private final FixedBitSet bitSet;
+
+		IteratorOnlyDocIdSet(FixedBitSet bitSet) {
+			this.bitSet = bitSet;
+		}
+
+		@Override
+		public DocIdSetIterator iterator() {
+			return bitSet.iterator();
+		}
+
+		@Override
+		public boolean isCacheable() {
+			return true;
+		}
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.benchmarks.indexing;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.document.Document;
+import org.hibernate.search.benchmarks.model.Book;
+import org.hibernate.search.benchmarks.model.Books;
+import org.hibernate.search.benchmarks.support.SearchIntegrators;
+import org.hibernate.search.bridge.util.impl.ContextualExceptionBridgeHelper;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the conversion of an entity into a Lucene {@link Document}, which happens
+ * for every entity added or updated in the index.
+ * <p>
+ * Run with the GC profiler ({@code -prof gc}) to compare the memory allocated per document
+ * ({@code gc.alloc.rate.norm}) as well as the time spent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DocumentBuilderBenchmark {
+
+	private static final int BOOKS = 1024;
+
+	private File indexBase;
+	private ExtendedSearchIntegrator integrator;
+	private DocumentBuilderIndexedEntity documentBuilder;
+	private Book[] books;
+	private int next;
+
+	@Setup
+	public void createDocumentBuilder() throws IOException {
+		indexBase = SearchIntegrators.createTempIndexBase();
+		integrator = SearchIntegrators.create( SearchIntegrators.RAM, indexBase );
+		documentBuilder = integrator.getIndexBinding( Book.class ).getDocumentBuilder();
+		books = new Book[BOOKS];
+		for ( int i = 0; i < BOOKS; i++ ) {
+			books[i] = Books.create( i );
+		}
+	}
+
+	@TearDown
+	public void close() throws IOException {
+		integrator.close();
+		SearchIntegrators.delete( indexBase );
+	}
+
+	@Benchmark
+	public Document getDocument() {
+		final Book book = books[next++ & ( BOOKS - 1 )];
+		return documentBuilder.getDocument(
+				null,
+				book,
+				book.getId(),
+				new HashMap<String, String>(),
+				null,
+				new ContextualExceptionBridgeHelper(),
+				null
+		);
+	}
+
+}
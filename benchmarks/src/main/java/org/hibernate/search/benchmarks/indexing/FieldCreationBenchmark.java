@@ -0,0 +1,83 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.benchmarks.indexing;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.facet.FacetsConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the steps of document building optimized in {@code DocumentBuilderIndexedEntity} and
+ * {@code LuceneOptionsImpl} with the way they used to be done:
+ * <ul>
+ * <li>{@link #legacyField()}: a field created with the deprecated constructor, which creates its own {@code FieldType}</li>
+ * <li>{@link #sharedFieldType()}: a field created with a frozen {@code FieldType} shared by all fields with the same options</li>
+ * <li>{@link #facetsConfigBuild()}: the copy of a document without facets made by {@code FacetsConfig.build},
+ * which is skipped for types without facets</li>
+ * </ul>
+ * Run with the GC profiler ({@code -prof gc}) to compare the allocations as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FieldCreationBenchmark {
+
+	private static final int FIELDS = 10;
+
+	private FieldType sharedFieldType;
+	private Document documentWithoutFacets;
+
+	@Setup
+	public void createFieldTypes() {
+		sharedFieldType = createFrozenFieldType();
+		documentWithoutFacets = new Document();
+		for ( int i = 0; i < FIELDS; i++ ) {
+			documentWithoutFacets.add( new Field( "field" + i, "value", sharedFieldType ) );
+		}
+	}
+
+	@Benchmark
+	@SuppressWarnings("deprecation")
+	public Field legacyField() {
+		return new Field( "title", "value", Field.Store.YES, Field.Index.ANALYZED, Field.TermVector.NO );
+	}
+
+	@Benchmark
+	public Field sharedFieldType() {
+		return new Field( "title", "value", sharedFieldType );
+	}
+
+	@Benchmark
+	public Document facetsConfigBuild() throws IOException {
+		return new FacetsConfig().build( documentWithoutFacets );
+	}
+
+	@SuppressWarnings("deprecation")
+	private static FieldType createFrozenFieldType() {
+		FieldType fieldType = Field.translateFieldType( Field.Store.YES, Field.Index.ANALYZED, Field.TermVector.NO );
+		fieldType.freeze();
+		return fieldType;
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.benchmarks.model;
+
+import java.util.Date;
+
+import org.hibernate.search.annotations.Analyze;
+import org.hibernate.search.annotations.DateBridge;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Facet;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.IndexedEmbedded;
+import org.hibernate.search.annotations.Latitude;
+import org.hibernate.search.annotations.Longitude;
+import org.hibernate.search.annotations.NumericField;
+import org.hibernate.search.annotations.Resolution;
+import org.hibernate.search.annotations.Spatial;
+import org.hibernate.search.annotations.Store;
+
+/**
+ * A mapping using the most common features: analyzed and stored text, facets, numeric and date
+ * fields, an embedded object and coordinates.
+ */
+@Indexed
+@Spatial(name = Book.LOCATION)
+public class Book {
+
+	public static final String LOCATION = "location";
+
+	@DocumentId
+	private final Long id;
+
+	@Field(store = Store.YES)
+	private final String title;
+
+	@Field
+	private final String summary;
+
+	@Field(analyze = Analyze.NO, store = Store.YES)
+	@Facet
+	private final String category;
+
+	@Field(analyze = Analyze.NO, store = Store.YES)
+	@NumericField
+	@Facet
+	private final double price;
+
+	@Field(analyze = Analyze.NO)
+	@DateBridge(resolution = Resolution.DAY)
+	private final Date publicationDate;
+
+	@IndexedEmbedded
+	private final Author author;
+
+	@Latitude(of = LOCATION)
+	private final double latitude;
+
+	@Longitude(of = LOCATION)
+	private final double longitude;
+
+	public Book(Long id, String title, String summary, String category, double price, Date publicationDate,
+			Author author, double latitude, double longitude) {
+		this.id = id;
+		this.title = title;
+		this.summary = summary;
+		this.category = category;
+		this.price = price;
+		this.publicationDate = publicationDate;
+		this.author = author;
+		this.latitude = latitude;
+		this.longitude = longitude;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public String getSummary() {
+		return summary;
+	}
+
+	public String getCategory() {
+		return category;
+	}
+
+	public double getPrice() {
+		return price;
+	}
+
+	public Date getPublicationDate() {
+		return publicationDate;
+	}
+
+	public Author getAuthor() {
+		return author;
+	}
+
+	public double getLatitude() {
+		return latitude;
+	}
+
+	public double getLongitude() {
+		return longitude;
+	}
+
+}
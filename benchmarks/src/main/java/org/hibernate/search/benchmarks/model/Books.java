@@ -0,0 +1,64 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.benchmarks.model;
+
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * Generates books with reproducible random content.
+ */
+public final class Books {
+
+	public static final String[] CATEGORIES = { "fiction", "history", "science", "travel", "cooking", "poetry", "art", "biography" };
+
+	private static final String[] WORDS = {
+			"search", "index", "query", "lucene", "entity", "document", "field", "bridge", "shard", "segment",
+			"river", "mountain", "journey", "kitchen", "garden", "history", "empire", "war", "peace", "star",
+			"ocean", "island", "winter", "summer", "city", "village", "light", "shadow", "stone", "glass"
+	};
+
+	private static final String[] COUNTRIES = { "Italy", "France", "Germany", "Spain", "Japan", "Brazil" };
+
+	private static final long DAY = 24L * 60L * 60L * 1000L;
+
+	private Books() {
+		//not allowed
+	}
+
+	/**
+	 * @param id the identifier of the book
+	 * @return a book whose content only depends on the identifier
+	 */
+	public static Book create(long id) {
+		final Random random = new Random( id );
+		return new Book(
+				id,
+				sentence( random, 3 ),
+				sentence( random, 40 ),
+				CATEGORIES[random.nextInt( CATEGORIES.length )],
+				random.nextInt( 10000 ) / 100d,
+				new Date( random.nextInt( 20000 ) * DAY ),
+				new Author( sentence( random, 2 ), COUNTRIES[random.nextInt( COUNTRIES.length )] ),
+				// around Europe
+				35d + random.nextDouble() * 25d,
+				-10d + random.nextDouble() * 40d
+		);
+	}
+
+	private static String sentence(Random random, int words) {
+		final StringBuilder sentence = new StringBuilder();
+		for ( int i = 0; i < words; i++ ) {
+			if ( i > 0 ) {
+				sentence.append( ' ' );
+			}
+			sentence.append( WORDS[random.nextInt( WORDS.length )] );
+		}
+		return sentence.toString();
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.benchmarks.query;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.hibernate.search.benchmarks.model.Book;
+import org.hibernate.search.benchmarks.support.IndexState;
+import org.hibernate.search.engine.ProjectionConstants;
+import org.hibernate.search.query.dsl.QueryBuilder;
+import org.hibernate.search.query.dsl.Unit;
+import org.hibernate.search.query.engine.spi.EntityInfo;
+import org.hibernate.search.query.engine.spi.HSQuery;
+import org.hibernate.search.query.facet.FacetingRequest;
+import org.hibernate.search.spatial.DistanceSortField;
+import org.hibernate.search.spatial.impl.Point;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the execution of queries and the extraction of their results:
+ * faceting and spatial queries go through {@code QueryHits}, projections through
+ * {@code DocumentExtractorImpl}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class QueryBenchmark {
+
+	private static final String CATEGORY_FACET = "categoryFacet";
+	private static final String PRICE_FACET = "priceFacet";
+	private static final int MAX_RESULTS = 100;
+
+	// Paris
+	private static final double CENTER_LATITUDE = 48.8566;
+	private static final double CENTER_LONGITUDE = 2.3522;
+
+	private static final List<Class<?>> TARGETED_ENTITIES = Collections.<Class<?>>singletonList( Book.class );
+
+	private FacetingRequest categoryFacetingRequest;
+	private FacetingRequest priceFacetingRequest;
+	private Query keywordQuery;
+	private Query spatialQuery;
+
+	@Setup
+	public void createQueries(IndexState index) {
+		final QueryBuilder queryBuilder = index.getIntegrator().buildQueryBuilder().forEntity( Book.class ).get();
+		categoryFacetingRequest = queryBuilder.facet()
+				.name( CATEGORY_FACET )
+				.onField( "category" )
+				.discrete()
+				.createFacetingRequest();
+		priceFacetingRequest = queryBuilder.facet()
+				.name( PRICE_FACET )
+				.onField( "price" )
+				.range()
+				.below( 10d )
+				.from( 10d ).to( 50d )
+				.above( 50d ).excludeLimit()
+				.createFacetingRequest();
+		keywordQuery = queryBuilder.keyword()
+				.onFields( "title", "summary" )
+				.matching( "journey mountain" )
+				.createQuery();
+		spatialQuery = queryBuilder.spatial()
+				.onField( Book.LOCATION )
+				.within( 300, Unit.KM )
+				.ofLatitude( CENTER_LATITUDE )
+				.andLongitude( CENTER_LONGITUDE )
+				.createQuery();
+	}
+
+	@Benchmark
+	public void facets(IndexState index, Blackhole blackhole) {
+		final HSQuery query = index.getIntegrator().createHSQuery()
+				.luceneQuery( new MatchAllDocsQuery() )
+				.targetedEntities( TARGETED_ENTITIES )
+				.maxResults( 0 );
+		query.getFacetManager()
+				.enableFaceting( categoryFacetingRequest )
+				.enableFaceting( priceFacetingRequest );
+		blackhole.consume( query.getFacetManager().getFacets( CATEGORY_FACET ) );
+		blackhole.consume( query.getFacetManager().getFacets( PRICE_FACET ) );
+	}
+
+	@Benchmark
+	public List<EntityInfo> spatialSortedByDistance(IndexState index) {
+		return index.getIntegrator().createHSQuery()
+				.luceneQuery( spatialQuery )
+				.targetedEntities( TARGETED_ENTITIES )
+				.setSpatialParameters( Point.fromDegrees( CENTER_LATITUDE, CENTER_LONGITUDE ), Book.LOCATION )
+				.projection( ProjectionConstants.ID, ProjectionConstants.SPATIAL_DISTANCE )
+				.sort( new Sort( new DistanceSortField( CENTER_LATITUDE, CENTER_LONGITUDE, Book.LOCATION ) ) )
+				.maxResults( MAX_RESULTS )
+				.queryEntityInfos();
+	}
+
+	@Benchmark
+	public List<EntityInfo> projections(IndexState index) {
+		return index.getIntegrator().createHSQuery()
+				.luceneQuery( keywordQuery )
+				.targetedEntities( TARGETED_ENTITIES )
+				.projection( ProjectionConstants.ID, ProjectionConstants.SCORE, "title", "category", "price", "author.name_untokenized" )
+				.maxResults( MAX_RESULTS )
+				.queryEntityInfos();
+	}
+
+}
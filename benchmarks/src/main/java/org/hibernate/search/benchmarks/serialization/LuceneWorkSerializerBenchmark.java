@@ -0,0 +1,110 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.benchmarks.serialization;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.search.backend.DeleteLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.benchmarks.model.Book;
+import org.hibernate.search.benchmarks.model.Books;
+import org.hibernate.search.benchmarks.support.SearchIntegrators;
+import org.hibernate.search.bridge.util.impl.ContextualExceptionBridgeHelper;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
+import org.hibernate.search.engine.spi.EntityIndexBinding;
+import org.hibernate.search.indexes.serialization.spi.LuceneWorkSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the serialization of the works sent to a remote master node,
+ * using the Avro serialization provider.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LuceneWorkSerializerBenchmark {
+
+	/**
+	 * The number of works serialized together, as for a transaction
+	 */
+	@Param({ "1", "100" })
+	private int works;
+
+	private File indexBase;
+	private ExtendedSearchIntegrator integrator;
+	private LuceneWorkSerializer serializer;
+	private List<LuceneWork> luceneWorks;
+	private byte[] serializedWorks;
+
+	@Setup
+	public void createWorks() throws IOException {
+		indexBase = SearchIntegrators.createTempIndexBase();
+		integrator = SearchIntegrators.create( SearchIntegrators.RAM, indexBase );
+		final EntityIndexBinding indexBinding = integrator.getIndexBinding( Book.class );
+		serializer = indexBinding.getIndexManagers()[0].getSerializer();
+		final DocumentBuilderIndexedEntity documentBuilder = indexBinding.getDocumentBuilder();
+		luceneWorks = new ArrayList<LuceneWork>( works );
+		for ( long id = 0; id < works; id++ ) {
+			if ( id % 10 == 9 ) {
+				luceneWorks.add( new DeleteLuceneWork( id, String.valueOf( id ), Book.class ) );
+			}
+			else {
+				luceneWorks.add( documentBuilder.createAddWork(
+						null,
+						Book.class,
+						Books.create( id ),
+						id,
+						String.valueOf( id ),
+						null,
+						new ContextualExceptionBridgeHelper()
+				) );
+			}
+		}
+		serializedWorks = serializer.toSerializedModel( luceneWorks );
+	}
+
+	@TearDown
+	public void close() throws IOException {
+		integrator.close();
+		SearchIntegrators.delete( indexBase );
+	}
+
+	@Benchmark
+	public byte[] serialize() {
+		return serializer.toSerializedModel( luceneWorks );
+	}
+
+	@Benchmark
+	public List<LuceneWork> deserialize() {
+		return serializer.toLuceneWorks( serializedWorks );
+	}
+
+	@Benchmark
+	public List<LuceneWork> roundTrip() {
+		return serializer.toLuceneWorks( serializer.toSerializedModel( luceneWorks ) );
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.benchmarks.support;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * An index of books shared by all benchmark threads, on the directory selected by the
+ * {@code directory} parameter.
+ */
+@State(Scope.Benchmark)
+public class IndexState {
+
+	@Param({ SearchIntegrators.RAM, SearchIntegrators.FILESYSTEM })
+	private String directory;
+
+	@Param({ "10000" })
+	private int indexSize;
+
+	private File indexBase;
+	private ExtendedSearchIntegrator integrator;
+
+	@Setup
+	public void createIndex() throws IOException {
+		indexBase = SearchIntegrators.createTempIndexBase();
+		integrator = SearchIntegrators.create( directory, indexBase );
+		SearchIntegrators.indexBooks( integrator, indexSize );
+	}
+
+	@TearDown
+	public void deleteIndex() throws IOException {
+		integrator.close();
+		SearchIntegrators.delete( indexBase );
+	}
+
+	public ExtendedSearchIntegrator getIntegrator() {
+		return integrator;
+	}
+
+	public int getIndexSize() {
+		return indexSize;
+	}
+
+}
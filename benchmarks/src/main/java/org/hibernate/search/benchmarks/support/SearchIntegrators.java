@@ -0,0 +1,93 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.benchmarks.support;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.backend.spi.Worker;
+import org.hibernate.search.benchmarks.model.Book;
+import org.hibernate.search.benchmarks.model.Books;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.spi.SearchIntegratorBuilder;
+import org.hibernate.search.testsupport.setup.SearchConfigurationForTest;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+
+/**
+ * Boots Hibernate Search without any ORM or database, mapping {@link Book}
+ * on a RAMDirectory or an FSDirectory.
+ */
+public final class SearchIntegrators {
+
+	public static final String RAM = "ram";
+	public static final String FILESYSTEM = "filesystem";
+
+	private static final int BATCH_SIZE = 1000;
+
+	private SearchIntegrators() {
+		//not allowed
+	}
+
+	/**
+	 * @param directoryProvider either {@link #RAM} or {@link #FILESYSTEM}
+	 * @param indexBase where the filesystem indexes are created
+	 * @return a new integrator, to be closed by the caller
+	 */
+	public static ExtendedSearchIntegrator create(String directoryProvider, File indexBase) {
+		SearchConfigurationForTest cfg = new SearchConfigurationForTest()
+				.addClass( Book.class )
+				.addProperty( "hibernate.search.default.directory_provider", directoryProvider )
+				.addProperty( "hibernate.search.default.indexBase", indexBase.getAbsolutePath() );
+		return new SearchIntegratorBuilder().configuration( cfg ).buildSearchIntegrator()
+				.unwrap( ExtendedSearchIntegrator.class );
+	}
+
+	/**
+	 * Indexes the books having an identifier from 0 (included) to {@code count} (excluded).
+	 *
+	 * @param integrator the integrator to index the books with
+	 * @param count the number of books
+	 */
+	public static void indexBooks(ExtendedSearchIntegrator integrator, int count) {
+		final Worker worker = integrator.getWorker();
+		for ( int batchStart = 0; batchStart < count; batchStart += BATCH_SIZE ) {
+			TransactionContextForTest tc = new TransactionContextForTest();
+			for ( long id = batchStart; id < Math.min( count, batchStart + BATCH_SIZE ); id++ ) {
+				worker.performWork( new Work( Books.create( id ), id, WorkType.ADD, false ), tc );
+			}
+			tc.end();
+		}
+	}
+
+	public static File createTempIndexBase() throws IOException {
+		return Files.createTempDirectory( "hsearch-benchmarks" ).toFile();
+	}
+
+	public static void delete(File indexBase) throws IOException {
+		Files.walkFileTree( indexBase.toPath(), new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				Files.delete( file );
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+				Files.delete( dir );
+				return FileVisitResult.CONTINUE;
+			}
+		} );
+	}
+
+}
@@ -24,6 +24,10 @@
  * {@code SpatialMode.HASH} approach. The size of the grid can be adjusted with {@code topSpatialHashLevel}
  * and {@code bottomSpatialHashLevel}.
  *
+ * Finally, they can be indexed as the numeric id of their cell at the {@code bottomSpatialHashLevel} of the grid,
+ * cells covering an area being searched as a few ranges of ids. This is known as the {@code SpatialMode.NUMERIC_HASH}
+ * approach.
+ *
  * For more information on which model to use, read the Hibernate Search reference documentation.
  *
  * If your longitude and latitude information are hosted on free properties,
@@ -96,7 +100,8 @@
 	int topSpatialHashLevel() default SpatialFieldBridgeByHash.DEFAULT_TOP_SPATIAL_HASH_LEVEL;
 
 	/**
-	 * @return bottom spatial hash level for spatial indexing
+	 * @return bottom spatial hash level for spatial indexing, and the level of the cell ids when using
+	 * {@code SpatialMode.NUMERIC_HASH}
 	 */
 	int bottomSpatialHashLevel() default SpatialFieldBridgeByHash.DEFAULT_BOTTOM_SPATIAL_HASH_LEVEL;
 }
@@ -19,5 +19,9 @@ public enum SpatialMode {
 	/**
 	 * Hash mode : Spatial hash index query + distance filer
 	 */
-	HASH
+	HASH,
+	/**
+	 * Numeric hash mode : numeric ranges of spatial hash cell ids query + distance filter
+	 */
+	NUMERIC_HASH
 }
@@ -33,8 +33,12 @@ public class BatchedQueueingProcessor implements QueueingProcessor {
 
 	private final Map<Class<?>, EntityIndexBinding> entityIndexBindings;
 
-	public BatchedQueueingProcessor(Map<Class<?>, EntityIndexBinding> entityIndexBindings, Properties properties) {
+	private final IndexOperationsDispatcher dispatcher;
+
+	public BatchedQueueingProcessor(Map<Class<?>, EntityIndexBinding> entityIndexBindings, Properties properties,
+			IndexOperationsDispatcher dispatcher) {
 		this.entityIndexBindings = entityIndexBindings;
+		this.dispatcher = dispatcher;
 		batchSize = ConfigurationParseHelper.getIntValue( properties, Environment.QUEUEINGPROCESSOR_BATCHSIZE, 0 );
 	}
 
@@ -78,7 +82,7 @@ public void performWorks(WorkQueue workQueue) {
 			TransactionalOperationExecutor executor = work.acceptIndexWorkVisitor( TransactionalOperationExecutorSelector.INSTANCE, null );
 			executor.performOperation( work, shardingStrategy, context );
 		}
-		context.commitOperations( null );
+		context.commitOperations( null, dispatcher );
 	}
 
 	@Override
@@ -0,0 +1,141 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.hibernate.search.backend.IndexingMonitor;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.exception.ErrorHandler;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.exception.impl.ErrorContextBuilder;
+import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+import org.hibernate.search.util.impl.Executors;
+
+/**
+ * Passes the operations of a transaction or of a batch to the IndexManagers they target.
+ * <p>
+ * By default each IndexManager is invoked in turn, so that with synchronous backends the latency
+ * is the sum of the latencies of each index. When {@link Environment#WORKER_DISPATCH_THREADS} is
+ * greater than 1, the IndexManagers are invoked concurrently from a bounded executor shared by the
+ * whole SearchIntegrator, and the latency is the one of the slowest index.
+ * <p>
+ * In parallel mode all indexes are processed even when one of them fails: the first failure is
+ * rethrown to the caller as with the sequential mode, any other failure is passed to the {@link ErrorHandler}.
+ */
+public class IndexOperationsDispatcher {
+
+	private final ErrorHandler errorHandler;
+
+	/**
+	 * The executor invoking the IndexManagers, or {@code null} when they are invoked sequentially
+	 */
+	private final ThreadPoolExecutor executor;
+
+	public IndexOperationsDispatcher(Properties properties, ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+		int threads = ConfigurationParseHelper.getIntValue( properties, Environment.WORKER_DISPATCH_THREADS, 1 );
+		this.executor = threads > 1 ? Executors.newFixedThreadPool( threads, "Index operations dispatcher" ) : null;
+	}
+
+	/**
+	 * Performs the operations of each index and returns when all of them are done.
+	 *
+	 * @param plans the operations of each index
+	 * @param monitor a {@link org.hibernate.search.backend.IndexingMonitor} object, or {@code null}
+	 */
+	void performOperations(Collection<WorkQueuePerIndexSplitter.WorkPlan> plans, IndexingMonitor monitor) {
+		if ( executor == null || plans.size() < 2 ) {
+			for ( WorkQueuePerIndexSplitter.WorkPlan plan : plans ) {
+				plan.indexManager.performOperations( plan.queue, monitor );
+			}
+			return;
+		}
+		final Iterator<WorkQueuePerIndexSplitter.WorkPlan> iterator = plans.iterator();
+		// the calling thread takes care of the first index
+		final WorkQueuePerIndexSplitter.WorkPlan first = iterator.next();
+		final List<WorkQueuePerIndexSplitter.WorkPlan> submittedPlans = new ArrayList<WorkQueuePerIndexSplitter.WorkPlan>( plans.size() - 1 );
+		final List<Future<?>> futures = new ArrayList<Future<?>>( plans.size() - 1 );
+		while ( iterator.hasNext() ) {
+			WorkQueuePerIndexSplitter.WorkPlan plan = iterator.next();
+			submittedPlans.add( plan );
+			futures.add( executor.submit( new PerformOperationsTask( plan.indexManager, plan.queue, monitor ) ) );
+		}
+		RuntimeException failure = null;
+		try {
+			first.indexManager.performOperations( first.queue, monitor );
+		}
+		catch (RuntimeException e) {
+			failure = e;
+		}
+		for ( int i = 0; i < futures.size(); i++ ) {
+			try {
+				futures.get( i ).get();
+			}
+			catch (InterruptedException e) {
+				// the remaining operations keep running in the background
+				Thread.currentThread().interrupt();
+				if ( failure == null ) {
+					failure = new SearchException( e );
+				}
+				break;
+			}
+			catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if ( failure == null ) {
+					failure = cause instanceof RuntimeException ? (RuntimeException) cause : new SearchException( cause );
+				}
+				else {
+					errorHandler.handle( new ErrorContextBuilder()
+							.errorThatOccurred( cause )
+							.addAllWorkThatFailed( submittedPlans.get( i ).queue )
+							.createErrorContext() );
+				}
+			}
+		}
+		if ( failure != null ) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Stops the executor once the pending operations are done.
+	 */
+	public void close() {
+		if ( executor != null ) {
+			executor.shutdown();
+		}
+	}
+
+	private static final class PerformOperationsTask implements Runnable {
+
+		private final IndexManager indexManager;
+		private final List<LuceneWork> queue;
+		private final IndexingMonitor monitor;
+
+		private PerformOperationsTask(IndexManager indexManager, List<LuceneWork> queue, IndexingMonitor monitor) {
+			this.indexManager = indexManager;
+			this.queue = queue;
+			this.monitor = monitor;
+		}
+
+		@Override
+		public void run() {
+			indexManager.performOperations( queue, monitor );
+		}
+	}
+
+}
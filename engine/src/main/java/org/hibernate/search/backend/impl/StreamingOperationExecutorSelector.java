@@ -18,6 +18,7 @@
 import org.hibernate.search.backend.spi.DeleteByQueryLuceneWork;
 import org.hibernate.search.indexes.spi.IndexManager;
 import org.hibernate.search.store.IndexShardingStrategy;
+import org.hibernate.search.store.spi.RelocatingIndexShardingStrategy;
 
 /**
  * This visitor applies the selection logic from the plugged IndexShardingStrategies to stream operations, as used by
@@ -104,6 +105,20 @@ public final void performStreamOperation(LuceneWork work,
 					work.getDocument()
 			);
 			indexManager.performStreamOperation( work, monitor, forceAsync );
+			if ( shardingStrategy instanceof RelocatingIndexShardingStrategy ) {
+				// remove the stale documents the id may have left in the shards it was moved from
+				IndexManager[] formerIndexManagers = ( (RelocatingIndexShardingStrategy) shardingStrategy )
+						.getIndexManagersForFormerLocations( work.getEntityClass(), work.getId(), work.getIdInString() );
+				for ( IndexManager formerIndexManager : formerIndexManagers ) {
+					if ( formerIndexManager != indexManager ) {
+						formerIndexManager.performStreamOperation(
+								new DeleteLuceneWork( work.getTenantId(), work.getId(), work.getIdInString(), work.getEntityClass() ),
+								monitor,
+								forceAsync
+						);
+					}
+				}
+			}
 		}
 
 	}
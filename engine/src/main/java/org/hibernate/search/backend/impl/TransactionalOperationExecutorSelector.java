@@ -17,6 +17,7 @@
 import org.hibernate.search.backend.spi.DeleteByQueryLuceneWork;
 import org.hibernate.search.indexes.spi.IndexManager;
 import org.hibernate.search.store.IndexShardingStrategy;
+import org.hibernate.search.store.spi.RelocatingIndexShardingStrategy;
 
 /**
  * This visitor applies the selection logic from the plugged IndexShardingStrategies to transactional operations, so
@@ -93,6 +94,18 @@ public final void performOperation(LuceneWork work, IndexShardingStrategy shardi
 					work.getDocument()
 			);
 			context.getIndexManagerQueue( indexManager ).add( work );
+			if ( shardingStrategy instanceof RelocatingIndexShardingStrategy ) {
+				// remove the stale documents the id may have left in the shards it was moved from
+				IndexManager[] formerIndexManagers = ( (RelocatingIndexShardingStrategy) shardingStrategy )
+						.getIndexManagersForFormerLocations( work.getEntityClass(), work.getId(), work.getIdInString() );
+				for ( IndexManager formerIndexManager : formerIndexManagers ) {
+					if ( formerIndexManager != indexManager ) {
+						context.getIndexManagerQueue( formerIndexManager ).add(
+								new DeleteLuceneWork( work.getTenantId(), work.getId(), work.getIdInString(), work.getEntityClass() )
+						);
+					}
+				}
+			}
 		}
 
 	}
@@ -44,15 +44,25 @@ public List<LuceneWork> getIndexManagerQueue(final IndexManager indexManager) {
 	 * @param monitor a {@link org.hibernate.search.backend.IndexingMonitor} object.
 	 */
 	public void commitOperations(IndexingMonitor monitor) {
-		// FIXME move executor here to parallel work - optionally? See HSEARCH-826
 		for ( WorkPlan plan : queues.values() ) {
 			plan.indexManager.performOperations( plan.queue, monitor );
 		}
 	}
 
-	private static class WorkPlan {
-		private final IndexManager indexManager;
-		private final LinkedList<LuceneWork> queue = new LinkedList<LuceneWork>();
+	/**
+	 * Send all operations stored so far to the backend to be performed, possibly sending the operations
+	 * of each index in parallel.
+	 *
+	 * @param monitor a {@link org.hibernate.search.backend.IndexingMonitor} object.
+	 * @param dispatcher invokes the IndexManagers, and returns when all of them are done
+	 */
+	public void commitOperations(IndexingMonitor monitor, IndexOperationsDispatcher dispatcher) {
+		dispatcher.performOperations( queues.values(), monitor );
+	}
+
+	static class WorkPlan {
+		final IndexManager indexManager;
+		final LinkedList<LuceneWork> queue = new LinkedList<LuceneWork>();
 		WorkPlan(IndexManager indexManager) {
 			this.indexManager = indexManager;
 		}
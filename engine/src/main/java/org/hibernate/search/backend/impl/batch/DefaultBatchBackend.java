@@ -13,6 +13,7 @@
 import org.hibernate.search.backend.FlushLuceneWork;
 import org.hibernate.search.backend.LuceneWork;
 import org.hibernate.search.backend.OptimizeLuceneWork;
+import org.hibernate.search.backend.impl.IndexOperationsDispatcher;
 import org.hibernate.search.backend.impl.StreamingOperationExecutor;
 import org.hibernate.search.backend.impl.StreamingOperationExecutorSelector;
 import org.hibernate.search.backend.impl.TransactionalOperationExecutor;
@@ -37,10 +38,13 @@ public class DefaultBatchBackend implements BatchBackend {
 
 	private final SearchIntegrator integrator;
 	private final MassIndexerProgressMonitor progressMonitor;
+	private final IndexOperationsDispatcher dispatcher;
 
-	public DefaultBatchBackend(SearchIntegrator integrator, MassIndexerProgressMonitor progressMonitor) {
+	public DefaultBatchBackend(SearchIntegrator integrator, MassIndexerProgressMonitor progressMonitor,
+			IndexOperationsDispatcher dispatcher) {
 		this.integrator = integrator;
 		this.progressMonitor = progressMonitor;
+		this.dispatcher = dispatcher;
 	}
 
 	@Override
@@ -65,7 +69,7 @@ private void sendWorkToShards(LuceneWork work, boolean forceAsync) {
 			WorkQueuePerIndexSplitter workContext = new WorkQueuePerIndexSplitter();
 			TransactionalOperationExecutor executor = work.acceptIndexWorkVisitor( TransactionalOperationExecutorSelector.INSTANCE, null );
 			executor.performOperation( work, shardingStrategy, workContext );
-			workContext.commitOperations( progressMonitor ); //FIXME I need a "Force sync" actually for when using PurgeAll before the indexing starts
+			workContext.commitOperations( progressMonitor, dispatcher ); //FIXME I need a "Force sync" actually for when using PurgeAll before the indexing starts
 		}
 	}
 
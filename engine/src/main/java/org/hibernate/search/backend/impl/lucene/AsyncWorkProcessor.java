@@ -8,7 +8,10 @@
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.hibernate.search.backend.IndexingMonitor;
 import org.hibernate.search.backend.LuceneWork;
@@ -18,7 +21,14 @@
 
 /**
  * This is the asynchronous backend logic for the LuceneBackendQueueProcessor.
- * It merely forwards batches of indexing work to the async Executor for this indexing backend.
+ * It forwards batches of indexing work to the async Executor for this indexing backend.
+ * <p>
+ * Each submitted changeset is queued, and a task is passed to the Executor: the first task to run
+ * drains the queued changesets and applies them as a group, so that they are committed once instead
+ * of once per changeset. The following tasks find their changeset already applied and return immediately.
+ * As each changeset still has its task in the Executor queue, the producers are blocked when it is full.
+ * A group is bounded by {@link LuceneBackendResources#getMaxGroupCommitSize()} operations only: the task
+ * never waits for more changesets to arrive, it groups the ones already queued, so there is no time based bound.
  *
  * @author Sanne Grinovero <sanne@hibernate.org> (C) 2014 Red Hat Inc.
  * @since 5.0
@@ -27,6 +37,9 @@ final class AsyncWorkProcessor implements WorkProcessor {
 
 	private static final Log log = LoggerFactory.make();
 
+	private final Queue<Changeset> pendingChangesets = new ConcurrentLinkedQueue<>();
+	private final Runnable groupCommitTask = new GroupCommitTask();
+
 	private volatile LuceneBackendResources resources;
 
 	public AsyncWorkProcessor(LuceneBackendResources resources) {
@@ -51,12 +64,8 @@ public void submit(List<LuceneWork> workList, IndexingMonitor monitor) {
 			// skip that work
 			return;
 		}
-		LuceneBackendQueueTask luceneBackendQueueProcessor = new LuceneBackendQueueTask(
-				workList,
-				resources,
-				monitor
-		);
-		resources.getAsynchIndexingExecutor().execute( luceneBackendQueueProcessor );
+		pendingChangesets.add( new Changeset( workList, null, monitor ) );
+		resources.getAsynchIndexingExecutor().execute( groupCommitTask );
 	}
 
 	@Override
@@ -64,4 +73,36 @@ public void updateResources(LuceneBackendResources resources) {
 		this.resources = resources;
 	}
 
+	/**
+	 * Applies the queued changesets in groups, from the single thread of the async Executor.
+	 */
+	private final class GroupCommitTask implements Runnable {
+
+		@Override
+		public void run() {
+			final LuceneBackendResources currentResources = resources;
+			final int maxGroupCommitSize = currentResources.getMaxGroupCommitSize();
+			final List<Changeset> group = new ArrayList<>();
+			IndexingMonitor monitor = null;
+			int groupSize = 0;
+			Changeset changeset;
+			// this is the only consumer, so the peeked changeset is the one polled
+			while ( ( changeset = pendingChangesets.peek() ) != null ) {
+				if ( ! group.isEmpty() && ( groupSize + changeset.size() > maxGroupCommitSize || changeset.getMonitor() != monitor ) ) {
+					break;
+				}
+				pendingChangesets.poll();
+				group.add( changeset );
+				groupSize += changeset.size();
+				monitor = changeset.getMonitor();
+			}
+			if ( group.isEmpty() ) {
+				// already applied with a previous group
+				return;
+			}
+			new LuceneBackendQueueTask( new ChangesetList( group ), currentResources, monitor ).run();
+			currentResources.groupCommitApplied( group.size() );
+		}
+	}
+
 }
@@ -35,6 +35,10 @@ Iterator<LuceneWork> getWorkListIterator() {
 		return workList.iterator();
 	}
 
+	int size() {
+		return workList.size();
+	}
+
 	IndexingMonitor getMonitor() {
 		return monitor;
 	}
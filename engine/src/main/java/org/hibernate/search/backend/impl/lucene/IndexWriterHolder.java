@@ -28,7 +28,9 @@
 import org.hibernate.search.exception.ErrorContext;
 import org.hibernate.search.exception.ErrorHandler;
 import org.hibernate.search.exception.impl.ErrorContextBuilder;
+import org.hibernate.search.indexes.impl.AsyncRefreshingReaderProvider;
 import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
+import org.hibernate.search.indexes.spi.ReaderProvider;
 import org.hibernate.search.store.DirectoryProvider;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
@@ -43,6 +45,7 @@ class IndexWriterHolder {
 	private final ParameterSet indexParameters;
 	private final DirectoryProvider directoryProvider;
 	private final String indexName;
+	private final DirectoryBasedIndexManager indexManager;
 
 	// variable state:
 
@@ -67,6 +70,7 @@ class IndexWriterHolder {
 	IndexWriterHolder(ErrorHandler errorHandler, DirectoryBasedIndexManager indexManager) {
 		this.errorHandler = errorHandler;
 		this.indexName = indexManager.getIndexName();
+		this.indexManager = indexManager;
 		this.luceneParameters = indexManager.getIndexingParameters();
 		this.indexParameters = luceneParameters.getIndexParameters();
 		this.directoryProvider = indexManager.getDirectoryProvider();
@@ -147,6 +151,7 @@ public void commitIndexWriter(ErrorContextBuilder errorContextBuilder) {
 			try {
 				indexWriter.commit();
 				log.trace( "Index changes committed." );
+				notifyReaderProvider();
 			}
 			catch (IOException ioe) {
 				handleIOException( ioe, errorContextBuilder );
@@ -154,6 +159,17 @@ public void commitIndexWriter(ErrorContextBuilder errorContextBuilder) {
 		}
 	}
 
+	/**
+	 * Reader providers refreshing in background want to know as soon as there is something new to see.
+	 * The ReaderProvider is created after the backend, so it needs to be looked up lazily.
+	 */
+	private void notifyReaderProvider() {
+		ReaderProvider readerProvider = indexManager.getReaderProvider();
+		if ( readerProvider instanceof AsyncRefreshingReaderProvider ) {
+			( (AsyncRefreshingReaderProvider) readerProvider ).indexChanged();
+		}
+	}
+
 	/**
 	 * @see #commitIndexWriter(ErrorContextBuilder)
 	 */
@@ -6,7 +6,13 @@
  */
 package org.hibernate.search.backend.impl.lucene;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.locks.Lock;
 
 import org.hibernate.search.backend.IndexingMonitor;
@@ -67,7 +73,7 @@ private void handleException(Exception e) {
 	}
 
 	/**
-	 * Applies all modifications to the index in parallel using the workers executor
+	 * Applies all modifications to the index, in parallel if several apply threads are configured
 	 * @throws ExecutionException
 	 * @throws InterruptedException
 	 */
@@ -86,12 +92,18 @@ private void applyUpdates() throws InterruptedException, ExecutionException {
 		boolean taskExecutionSuccessful = true;
 		LuceneWork currentOperation = null; // to nicely report errors
 		try {
-			for ( LuceneWork luceneWork : workList ) {
-				currentOperation = luceneWork;
-				performWork( luceneWork, resources, delegate, monitor );
-				errorContextBuilder.workCompleted( currentOperation );
+			List<WorkPartition> partitions = partitionWork( delegate );
+			if ( partitions == null ) {
+				for ( LuceneWork luceneWork : workList ) {
+					currentOperation = luceneWork;
+					performWork( luceneWork, resources, delegate, monitor );
+					errorContextBuilder.workCompleted( currentOperation );
+				}
+				currentOperation = null;
+			}
+			else {
+				applyPartitions( partitions, errorContextBuilder );
 			}
-			currentOperation = null;
 			workspace.optimizerPhase();
 		}
 		catch (RuntimeException re) {
@@ -106,6 +118,112 @@ private void applyUpdates() throws InterruptedException, ExecutionException {
 		}
 	}
 
+	/**
+	 * Splits the work among the configured apply threads, so that all operations
+	 * on the same entity identifier are in the same partition and keep their order.
+	 *
+	 * @return the non empty partitions, or null if the work has to be applied sequentially
+	 */
+	private List<WorkPartition> partitionWork(IndexWriterDelegate delegate) {
+		final int partitionCount = resources.getApplyThreads();
+		if ( partitionCount == 1 ) {
+			return null;
+		}
+		final WorkPartition[] partitions = new WorkPartition[partitionCount];
+		int workCount = 0;
+		for ( LuceneWork luceneWork : workList ) {
+			final String id = luceneWork.getIdInString();
+			if ( id == null ) {
+				// purge, optimize, flush and delete by query operations affect other entities: keep the sequence
+				return null;
+			}
+			final int index = ( id.hashCode() & Integer.MAX_VALUE ) % partitionCount;
+			if ( partitions[index] == null ) {
+				partitions[index] = new WorkPartition( delegate );
+			}
+			partitions[index].works.add( luceneWork );
+			workCount++;
+		}
+		if ( workCount < 2 ) {
+			return null;
+		}
+		final List<WorkPartition> nonEmptyPartitions = new ArrayList<WorkPartition>( partitionCount );
+		for ( WorkPartition partition : partitions ) {
+			if ( partition != null ) {
+				nonEmptyPartitions.add( partition );
+			}
+		}
+		return nonEmptyPartitions;
+	}
+
+	/**
+	 * Applies each partition from a different thread, the current one included.
+	 * Failures are reported to the {@code ErrorContextBuilder} only once all partitions
+	 * are done, as it is not threadsafe.
+	 */
+	private void applyPartitions(List<WorkPartition> partitions, ErrorContextBuilder errorContextBuilder)
+			throws InterruptedException, ExecutionException {
+		final ExecutorService applyExecutor = resources.getApplyExecutor();
+		final List<Future<Void>> futures = new ArrayList<Future<Void>>( partitions.size() - 1 );
+		for ( WorkPartition partition : partitions.subList( 1, partitions.size() ) ) {
+			try {
+				futures.add( applyExecutor.submit( partition ) );
+			}
+			catch (RejectedExecutionException e) {
+				// shutting down: apply it from this thread
+				partition.call();
+			}
+		}
+		partitions.get( 0 ).call();
+		for ( Future<Void> future : futures ) {
+			future.get();
+		}
+		RuntimeException failure = null;
+		for ( WorkPartition partition : partitions ) {
+			for ( int i = 0; i < partition.completed; i++ ) {
+				errorContextBuilder.workCompleted( partition.works.get( i ) );
+			}
+			if ( partition.failure != null ) {
+				errorContextBuilder.addWorkThatFailed( partition.works.get( partition.completed ) );
+				if ( failure == null ) {
+					failure = partition.failure;
+				}
+			}
+		}
+		if ( failure != null ) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * A sequence of operations applied by a single thread, up to the first failure.
+	 */
+	private final class WorkPartition implements Callable<Void> {
+
+		private final IndexWriterDelegate delegate;
+		private final List<LuceneWork> works = new ArrayList<LuceneWork>();
+		private int completed = 0;
+		private RuntimeException failure;
+
+		WorkPartition(IndexWriterDelegate delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Void call() {
+			try {
+				for ( LuceneWork luceneWork : works ) {
+					performWork( luceneWork, resources, delegate, monitor );
+					completed++;
+				}
+			}
+			catch (RuntimeException re) {
+				failure = re;
+			}
+			return null;
+		}
+	}
+
 	static void performWork(final LuceneWork work, final LuceneBackendResources resources, final IndexWriterDelegate delegate, final IndexingMonitor monitor) {
 		work.acceptIndexWorkVisitor( resources.getWorkVisitor(), null ).performWork( work, delegate, monitor );
 	}
@@ -9,6 +9,7 @@
 import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
@@ -39,18 +40,31 @@ public final class LuceneBackendResources {
 	private final AbstractWorkspaceImpl workspace;
 	private final ErrorHandler errorHandler;
 	private final int maxQueueLength;
+	private final int applyThreads;
+	private final int maxGroupCommitSize;
 	private final String indexName;
 
+	/**
+	 * The number of group commits of the async backend, and the number of changesets they applied
+	 */
+	private final AtomicLong groupCommitCount;
+	private final AtomicLong groupCommittedChangesetCount;
+
 	private final ReadLock readLock;
 	private final WriteLock writeLock;
 
 	private volatile ExecutorService asyncIndexingExecutor;
+	private volatile ExecutorService applyExecutor;
 
 	LuceneBackendResources(WorkerBuildContext context, DirectoryBasedIndexManager indexManager, Properties props, AbstractWorkspaceImpl workspace) {
 		this.indexName = indexManager.getIndexName();
 		this.errorHandler = context.getErrorHandler();
 		this.workspace = workspace;
 		this.maxQueueLength = PropertiesParseHelper.extractMaxQueueSize( indexName, props );
+		this.applyThreads = PropertiesParseHelper.extractApplyThreads( indexName, props );
+		this.maxGroupCommitSize = PropertiesParseHelper.extractMaxGroupCommitSize( indexName, props );
+		this.groupCommitCount = new AtomicLong();
+		this.groupCommittedChangesetCount = new AtomicLong();
 		ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
 		readLock = readWriteLock.readLock();
 		writeLock = readWriteLock.writeLock();
@@ -61,7 +75,12 @@ private LuceneBackendResources(LuceneBackendResources previous) {
 		this.errorHandler = previous.errorHandler;
 		this.workspace = previous.workspace;
 		this.maxQueueLength = previous.maxQueueLength;
+		this.applyThreads = previous.applyThreads;
+		this.maxGroupCommitSize = previous.maxGroupCommitSize;
+		this.groupCommitCount = previous.groupCommitCount;
+		this.groupCommittedChangesetCount = previous.groupCommittedChangesetCount;
 		this.asyncIndexingExecutor = previous.asyncIndexingExecutor;
+		this.applyExecutor = previous.applyExecutor;
 		this.readLock = previous.readLock;
 		this.writeLock = previous.writeLock;
 	}
@@ -87,6 +106,68 @@ private synchronized ExecutorService getAsynchIndexingExecutorSynchronized() {
 		}
 	}
 
+	/**
+	 * @return the number of threads which apply a batch of changes, including the thread which received the batch
+	 */
+	public int getApplyThreads() {
+		return applyThreads;
+	}
+
+	/**
+	 * @return the executor helping to apply a batch of changes, or {@code null} if batches are applied by a single thread
+	 */
+	public ExecutorService getApplyExecutor() {
+		if ( applyThreads == 1 ) {
+			return null;
+		}
+		ExecutorService executor = applyExecutor;
+		if ( executor != null ) {
+			return executor;
+		}
+		else {
+			return getApplyExecutorSynchronized();
+		}
+	}
+
+	private synchronized ExecutorService getApplyExecutorSynchronized() {
+		ExecutorService executor = applyExecutor;
+		if ( executor != null ) {
+			return executor;
+		}
+		else {
+			// the thread submitting the batch applies a share of it as well
+			this.applyExecutor = Executors.newFixedThreadPool( applyThreads - 1, "Index updates applier for index " + indexName );
+			return this.applyExecutor;
+		}
+	}
+
+	/**
+	 * @return the maximum number of operations the async backend applies and commits as a group
+	 */
+	public int getMaxGroupCommitSize() {
+		return maxGroupCommitSize;
+	}
+
+	void groupCommitApplied(int changesets) {
+		groupCommitCount.incrementAndGet();
+		groupCommittedChangesetCount.addAndGet( changesets );
+	}
+
+	/**
+	 * @return the number of groups of changesets committed by the async backend
+	 */
+	public long getGroupCommitCount() {
+		return groupCommitCount.get();
+	}
+
+	/**
+	 * @return the average number of changesets committed together by the async backend, or 0 if none was committed
+	 */
+	public double getAverageGroupCommitSize() {
+		long groups = groupCommitCount.get();
+		return groups == 0 ? 0 : (double) groupCommittedChangesetCount.get() / groups;
+	}
+
 	public int getMaxQueueLength() {
 		return maxQueueLength;
 	}
@@ -112,7 +193,14 @@ public void shutdown() {
 			flushCloseExecutor();
 		}
 		finally {
-			workspace.shutDownNow();
+			try {
+				if ( applyExecutor != null ) {
+					applyExecutor.shutdown();
+				}
+			}
+			finally {
+				workspace.shutDownNow();
+			}
 		}
 	}
 
@@ -8,7 +8,7 @@
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicReference;
 
 
 /**
@@ -19,40 +19,32 @@
  * Specifically, we need to maintain the order of elements being added, but on
  * a drain we'll only ever need to iterate the list sequentially, and the
  * drain needs to atomically reset the queue.
+ * <p>
+ * Writers never block each other: elements are pushed on a lock-free stack
+ * with a single CAS operation, and the single reader atomically detaches the
+ * whole stack and restores the insertion order by reversing it.
  *
  * @author Sanne Grinovero <sanne@hibernate.org> (C) 2014 Red Hat Inc.
  * @since 5.0
  */
 final class MultiWriteDrainableLinkedList<T> {
 
-	private final ReentrantLock lock = new ReentrantLock();
-
-	//Guarded by lock
-	private Node<T> first = null;
-
-	//Guarded by lock
-	private Node<T> last = null;
+	/**
+	 * The most recently added node, linked to the previously added ones.
+	 */
+	private final AtomicReference<Node<T>> last = new AtomicReference<Node<T>>();
 
 	/**
 	 * Adds a new entry to this list.
 	 */
 	void add(T element) {
 		final Node<T> newnode = new Node<T>( element );
-		final ReentrantLock lock = this.lock;
-		lock.lock();
-		try {
-			if ( first == null ) {
-				first = newnode;
-				last = newnode;
-			}
-			else {
-				last.next = newnode;
-				last = newnode;
-			}
-		}
-		finally {
-			lock.unlock();
+		Node<T> previous;
+		do {
+			previous = last.get();
+			newnode.next = previous;
 		}
+		while ( ! last.compareAndSet( previous, newnode ) );
 	}
 
 	/**
@@ -63,18 +55,16 @@ void add(T element) {
 	 * @return an Iterable, or null if there is no data.
 	 */
 	Iterable<T> drainToDetachedIterable() {
-		final Node<T> head;
-		final ReentrantLock lock = this.lock;
-		lock.lock();
-		try {
-			head = first;
-			first = null;
-			last = null;
-		}
-		finally {
-			lock.unlock();
-		}
-		if ( head != null ) {
+		Node<T> current = last.getAndSet( null );
+		if ( current != null ) {
+			// Nodes are detached now: nobody else can see them, so we can relink them in insertion order
+			Node<T> head = null;
+			while ( current != null ) {
+				final Node<T> next = current.next;
+				current.next = head;
+				head = current;
+				current = next;
+			}
 			return new DetachedNodeIterable<T>( head );
 		}
 		else {
@@ -34,6 +34,21 @@ final class SyncWorkProcessor implements WorkProcessor {
 
 	private static final Log log = LoggerFactory.make();
 
+	/**
+	 * Bounds of the number of times a producer checks whether its changeset was applied before parking.
+	 * The actual number adapts to the time it takes to apply the changesets of this index: a spin yielding
+	 * costs far less than parking and waking up a thread, but is wasted when the changesets take
+	 * longer to apply than the whole spin, for instance when the commit has to be flushed to disk.
+	 * The lower bound keeps probing whether spinning pays off again.
+	 */
+	private static final int MIN_SPINS = 8;
+	private static final int MAX_SPINS = 512;
+
+	/**
+	 * Racy updates are fine: it is only a hint shared by the producers.
+	 */
+	private volatile int spinsBeforeParking = 64;
+
 	private final MultiWriteDrainableLinkedList<Changeset> transferQueue = new MultiWriteDrainableLinkedList<>();
 
 	private volatile LuceneBackendResources resources;
@@ -83,17 +98,41 @@ public void submit(List<LuceneWork> workList, IndexingMonitor monitor) {
 		transferQueue.add( changeset );
 		wakeUpConsumer();
 		boolean interrupted = false;
+		boolean parked = false;
+		int spinLimit = spinsBeforeParking;
+		int spins = spinLimit;
 		while ( ! changeset.isProcessed() && ! interrupted ) {
-			parkCurrentThread();
-			if ( Thread.interrupted() ) {
-				interrupted = true;
+			if ( spins > 0 ) {
+				// Small changesets are often applied quickly: spinning avoids the cost of parking
+				spins--;
+				Thread.yield();
+			}
+			else {
+				parked = true;
+				parkCurrentThread();
+				if ( Thread.interrupted() ) {
+					interrupted = true;
+				}
 			}
 		}
+		adaptSpins( spinLimit, parked );
 		if ( interrupted ) {
 			Thread.currentThread().interrupt();
 		}
 	}
 
+	/**
+	 * Spins longer when the changeset was applied while spinning, shorter when the producer had to park anyway.
+	 */
+	private void adaptSpins(int spinLimit, boolean parked) {
+		if ( parked ) {
+			spinsBeforeParking = Math.max( MIN_SPINS, spinLimit / 2 );
+		}
+		else if ( spinLimit < MAX_SPINS ) {
+			spinsBeforeParking = Math.min( MAX_SPINS, spinLimit * 2 );
+		}
+	}
+
 	/**
 	 * Wakes up consumer thread if necessary
 	 */
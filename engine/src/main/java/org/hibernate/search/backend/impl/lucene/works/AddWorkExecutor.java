@@ -7,7 +7,10 @@
 package org.hibernate.search.backend.impl.lucene.works;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.lucene.analysis.Analyzer;
 
@@ -22,7 +25,9 @@
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
 /**
- * Stateless implementation that performs an <code>AddLuceneWork</code>.
+ * Performs an <code>AddLuceneWork</code>.
+ * The only state is a cache of the analyzers resolved for the dynamic analyzer mappings
+ * of the documents, so that the documents using the same combination of analyzers share them.
  *
  * @author Emmanuel Bernard
  * @author Hardy Ferentschik
@@ -34,7 +39,15 @@
 class AddWorkExecutor implements LuceneWorkExecutor {
 
 	private static final Log log = LoggerFactory.make();
+
+	/**
+	 * Maximum number of combinations of analyzers kept in cache: an {@code AnalyzerDiscriminator}
+	 * usually picks among a few analyzers, so exceeding it means the combinations are not reused.
+	 */
+	private static final int MAX_CACHED_ANALYZERS = 256;
+
 	protected final Workspace workspace;
+	private final ConcurrentMap<AnalyzerCombination, ScopedAnalyzer> analyzerCombinations = new ConcurrentHashMap<>();
 
 	AddWorkExecutor(Workspace workspace) {
 		this.workspace = workspace;
@@ -46,7 +59,7 @@ public void performWork(LuceneWork work, IndexWriterDelegate delegate, IndexingM
 		DocumentBuilderIndexedEntity documentBuilder = workspace.getDocumentBuilder( entityType );
 		Map<String, String> fieldToAnalyzerMap = work.getFieldToAnalyzerMap();
 		ScopedAnalyzer analyzer = documentBuilder.getAnalyzer();
-		analyzer = updateAnalyzerMappings( workspace, analyzer, fieldToAnalyzerMap );
+		analyzer = updateAnalyzerMappings( analyzer, fieldToAnalyzerMap );
 		if ( log.isTraceEnabled() ) {
 			log.trace( "add to Lucene index: " + entityType + "#" + work.getId() + ":" + work.getDocument() );
 		}
@@ -68,32 +81,84 @@ public void performWork(LuceneWork work, IndexWriterDelegate delegate, IndexingM
 	/**
 	 * Allows to override the otherwise static field to analyzer mapping in <code>scopedAnalyzer</code>.
 	 *
-	 * @param workspace The current work context
 	 * @param scopedAnalyzer The scoped analyzer created at startup time.
 	 * @param fieldToAnalyzerMap A map of <code>Document</code> field names for analyzer names. This map gets creates
 	 * when the Lucene <code>Document</code> gets created and uses the state of the entity to index to determine analyzers
 	 * dynamically at index time.
 	 *
 	 * @return <code>scopedAnalyzer</code> in case <code>fieldToAnalyzerMap</code> is <code>null</code> or empty. Otherwise
-	 *         a clone of <code>scopedAnalyzer</code> is created where the analyzers get overriden according to <code>fieldToAnalyzerMap</code>.
+	 *         an overlay of <code>scopedAnalyzer</code> where the analyzers get overriden according to <code>fieldToAnalyzerMap</code>;
+	 *         the same instance is returned for equal mappings.
 	 */
-	static ScopedAnalyzer updateAnalyzerMappings(Workspace workspace, ScopedAnalyzer scopedAnalyzer, Map<String, String> fieldToAnalyzerMap) {
+	ScopedAnalyzer updateAnalyzerMappings(ScopedAnalyzer scopedAnalyzer, Map<String, String> fieldToAnalyzerMap) {
 		// for backwards compatibility
 		if ( fieldToAnalyzerMap == null || fieldToAnalyzerMap.isEmpty() ) {
 			return scopedAnalyzer;
 		}
 
-		ScopedAnalyzer analyzerClone = scopedAnalyzer.clone();
+		final AnalyzerCombination key = new AnalyzerCombination( scopedAnalyzer, fieldToAnalyzerMap );
+		ScopedAnalyzer overlay = analyzerCombinations.get( key );
+		if ( overlay == null ) {
+			overlay = createOverlay( scopedAnalyzer, fieldToAnalyzerMap );
+			if ( analyzerCombinations.size() < MAX_CACHED_ANALYZERS ) {
+				// the map of the work might be mutable, the key keeps a copy
+				ScopedAnalyzer previous = analyzerCombinations.putIfAbsent( key.copy(), overlay );
+				if ( previous != null ) {
+					overlay = previous;
+				}
+			}
+		}
+		return overlay;
+	}
+
+	private ScopedAnalyzer createOverlay(ScopedAnalyzer scopedAnalyzer, Map<String, String> fieldToAnalyzerMap) {
+		Map<String, Analyzer> overrides = new HashMap<>( fieldToAnalyzerMap.size() );
 		for ( Map.Entry<String, String> entry : fieldToAnalyzerMap.entrySet() ) {
 			Analyzer analyzer = workspace.getAnalyzer( entry.getValue() );
 			if ( analyzer == null ) {
 				log.unableToRetrieveNamedAnalyzer( entry.getValue() );
 			}
 			else {
-				analyzerClone.addScopedAnalyzer( entry.getKey(), analyzer );
+				overrides.put( entry.getKey(), analyzer );
 			}
 		}
-		return analyzerClone;
+		return scopedAnalyzer.overlay( overrides );
+	}
+
+	/**
+	 * Identifies the analyzers to use for a document: the analyzer of its entity type, compared by reference,
+	 * and the analyzers picked dynamically for some of its fields.
+	 */
+	private static final class AnalyzerCombination {
+
+		private final ScopedAnalyzer scopedAnalyzer;
+		private final Map<String, String> fieldToAnalyzerMap;
+
+		AnalyzerCombination(ScopedAnalyzer scopedAnalyzer, Map<String, String> fieldToAnalyzerMap) {
+			this.scopedAnalyzer = scopedAnalyzer;
+			this.fieldToAnalyzerMap = fieldToAnalyzerMap;
+		}
+
+		AnalyzerCombination copy() {
+			return new AnalyzerCombination( scopedAnalyzer, new HashMap<>( fieldToAnalyzerMap ) );
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if ( this == obj ) {
+				return true;
+			}
+			if ( !( obj instanceof AnalyzerCombination ) ) {
+				return false;
+			}
+			AnalyzerCombination other = (AnalyzerCombination) obj;
+			return scopedAnalyzer == other.scopedAnalyzer && fieldToAnalyzerMap.equals( other.fieldToAnalyzerMap );
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode( scopedAnalyzer ) + fieldToAnalyzerMap.hashCode();
+		}
 	}
 
 }
@@ -76,7 +76,7 @@ public void performWork(LuceneWork work, IndexWriterDelegate delegate, IndexingM
 				Term idTerm = new Term( builder.getIdKeywordName(), work.getIdInString() );
 				Map<String, String> fieldToAnalyzerMap = work.getFieldToAnalyzerMap();
 				ScopedAnalyzer analyzer = builder.getAnalyzer();
-				analyzer = AddWorkExecutor.updateAnalyzerMappings( workspace, analyzer, fieldToAnalyzerMap );
+				analyzer = addDelegate.updateAnalyzerMappings( analyzer, fieldToAnalyzerMap );
 				delegate.updateDocument( idTerm, work.getDocument(), analyzer );
 			}
 			workspace.notifyWorkApplied( work );
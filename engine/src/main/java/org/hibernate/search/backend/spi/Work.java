@@ -21,6 +21,7 @@ public class Work {
 	private final WorkType type;
 	private final boolean identifierWasRolledBack;
 	private final String tenantIdentifier;
+	private final String[] dirtyPropertyNames;
 
 	public Work(Object entity, Serializable id, WorkType type) {
 		this( null, entity, null, id, type, false );
@@ -54,14 +55,32 @@ public Work(String tenantId, Object entity, WorkType type) {
 		this( tenantId, entity, null, null, type, false );
 	}
 
+	/**
+	 * Creates the work updating an entity of which only some properties changed.
+	 *
+	 * @param tenantId the tenant identifier
+	 * @param entity the updated entity
+	 * @param id the entity identifier
+	 * @param dirtyPropertyNames the names of the changed properties, or {@code null} if they are unknown
+	 */
+	public Work(String tenantId, Object entity, Serializable id, String[] dirtyPropertyNames) {
+		this( tenantId, entity, null, id, WorkType.UPDATE, false, dirtyPropertyNames );
+	}
+
 	private Work(String tenantId, Object entity, Class<?> entityClass, Serializable id,
 			WorkType type, boolean identifierWasRolledBack) {
+		this( tenantId, entity, entityClass, id, type, identifierWasRolledBack, null );
+	}
+
+	private Work(String tenantId, Object entity, Class<?> entityClass, Serializable id,
+			WorkType type, boolean identifierWasRolledBack, String[] dirtyPropertyNames) {
 		this.entity = entity;
 		this.entityClass = entityClass;
 		this.id = id;
 		this.type = type;
 		this.identifierWasRolledBack = identifierWasRolledBack;
 		this.tenantIdentifier = tenantId;
+		this.dirtyPropertyNames = dirtyPropertyNames;
 	}
 
 	public Class<?> getEntityClass() {
@@ -88,6 +107,13 @@ public boolean isIdentifierWasRolledBack() {
 		return identifierWasRolledBack;
 	}
 
+	/**
+	 * @return the names of the changed properties of an updated entity, or {@code null} if any property might have changed
+	 */
+	public String[] getDirtyPropertyNames() {
+		return dirtyPropertyNames;
+	}
+
 	@Override
 	public String toString() {
 		final StringBuilder sb = new StringBuilder( "Work{" );
@@ -0,0 +1,30 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.batchindexing;
+
+/**
+ * A {@link MassIndexerProgressMonitor} also notified of the throughput of each stage of the
+ * indexing pipeline when the MassIndexer adapts the loading of entities to it.
+ * <p/>
+ * Like other monitors, implementations must be threadsafe.
+ */
+public interface MassIndexerPipelineMonitor extends MassIndexerProgressMonitor {
+
+	/**
+	 * Invoked periodically for each entity type being indexed, when the sizing of the pipeline is adaptive.
+	 *
+	 * @param entityType the root entity type being indexed
+	 * @param identifiersPerSecond the rate at which identifiers of the type have been loaded
+	 * @param entitiesPerSecond the rate at which entities of the type have been loaded
+	 * @param documentsPerSecond the rate at which documents have been added to the index by the backend,
+	 * for all types being indexed
+	 * @param threadsToLoadObjects the number of threads now loading entities of the type
+	 * @param batchSizeToLoadObjects the batch size now used to load entities of the type
+	 */
+	void pipelineThroughput(Class<?> entityType, float identifiersPerSecond, float entitiesPerSecond,
+			float documentsPerSecond, int threadsToLoadObjects, int batchSizeToLoadObjects);
+}
@@ -13,6 +13,7 @@
 import org.hibernate.search.annotations.SpatialMode;
 import org.hibernate.search.bridge.FieldBridge;
 import org.hibernate.search.spatial.SpatialFieldBridgeByHash;
+import org.hibernate.search.spatial.SpatialFieldBridgeByNumericHash;
 import org.hibernate.search.spatial.SpatialFieldBridgeByRange;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
@@ -67,6 +68,14 @@ public static FieldBridge buildSpatialBridge(Spatial spatial, String latitudeFie
 					bridge = new SpatialFieldBridgeByHash( spatial.topSpatialHashLevel(), spatial.bottomSpatialHashLevel() );
 				}
 			}
+			else if ( spatial.spatialMode() == SpatialMode.NUMERIC_HASH ) {
+				if ( latitudeField != null && longitudeField != null ) {
+					bridge = new SpatialFieldBridgeByNumericHash( spatial.bottomSpatialHashLevel(), latitudeField, longitudeField );
+				}
+				else {
+					bridge = new SpatialFieldBridgeByNumericHash( spatial.bottomSpatialHashLevel() );
+				}
+			}
 			else {
 				if ( latitudeField != null && longitudeField != null ) {
 					bridge = new SpatialFieldBridgeByRange( latitudeField, longitudeField );
@@ -35,6 +35,32 @@ public final class Environment {
 	 */
 	public static final String DATABASE_RETRIEVAL_METHOD = "hibernate.search.query.database_retrieval_method";
 
+	/**
+	 * The number of threads searching slices of the index segments concurrently, shared by all queries.
+	 * Defaults to 1: each query runs in the calling thread. Top documents, facets and distances of the
+	 * slices are merged, so that the results are the same as when searching sequentially.
+	 */
+	public static final String QUERY_SEARCH_THREADS = "hibernate.search.query.search_threads";
+
+	/**
+	 * The minimum number of documents of the targeted indexes for a query to be searched concurrently,
+	 * as splitting the search of cheap queries only adds overhead. Defaults to 100000.
+	 */
+	public static final String QUERY_PARALLEL_SEARCH_MIN_DOCS = "hibernate.search.query.parallel_search_min_docs";
+
+	/**
+	 * The number of threads loading entities of unrelated entity hierarchies concurrently with the
+	 * {@code PARALLEL_QUERY} database retrieval method, and extracting the next results of forward only
+	 * scrolls from the index when {@link #QUERY_SCROLL_PREFETCH} is enabled, shared by all queries. Defaults to 4.
+	 */
+	public static final String QUERY_LOADING_THREADS = "hibernate.search.query.loading_threads";
+
+	/**
+	 * When set to {@code true}, forward only scrolls extract the next results from the index in the background,
+	 * while the current ones are processed. Defaults to {@code false}.
+	 */
+	public static final String QUERY_SCROLL_PREFETCH = "hibernate.search.query.scroll_prefetch";
+
 	/**
 	 * Enable listeners auto registration in Hibernate Annotations and EntityManager. Default to true.
 	 */
@@ -71,6 +97,30 @@ public final class Environment {
 	public static final String WORKER_BACKEND = WORKER_PREFIX + "backend";
 	public static final String WORKER_EXECUTION = WORKER_PREFIX + "execution";
 
+	/**
+	 * The Lucene backend applies the changes of each index from a single thread. When set to a value
+	 * greater than 1, each batch of changes is split by entity identifier and applied concurrently by
+	 * this number of threads on the shared IndexWriter. Changes to the same identifier are still
+	 * applied in order. Defaults to 1.
+	 */
+	public static final String WORKER_APPLY_THREADS = WORKER_PREFIX + "apply_threads";
+
+	/**
+	 * In async mode the Lucene backend applies the changesets queued for an index as a group, and
+	 * commits the group once. This is the maximum number of operations of a group, unless a single
+	 * changeset is bigger. Set it to 1 to commit each changeset separately. Defaults to 1000.
+	 * The backend never waits for more changesets to form a group, so there is no time based bound.
+	 */
+	public static final String WORKER_MAX_GROUP_COMMIT_SIZE = WORKER_PREFIX + "max_group_commit_size";
+
+	/**
+	 * The number of threads used to pass the operations of a transaction to the indexes it changes.
+	 * When set to a value greater than 1, the operations of each index are passed concurrently, which
+	 * lowers the commit latency of synchronous backends when a transaction changes several indexes or shards.
+	 * Defaults to 1: the indexes are invoked in turn.
+	 */
+	public static final String WORKER_DISPATCH_THREADS = "hibernate.search." + WORKER_PREFIX + "dispatch_threads";
+
 	/**
 	 * Defines the maximum number of indexing operation batched per transaction
 	 */
@@ -96,6 +146,14 @@ public final class Environment {
 	 */
 	public static final String CACHE_DOCIDRESULTS_SIZE = "hibernate.search.filter.cache_docidresults.size";
 
+	/**
+	 * Maximum amount of memory, in megabytes, used by the docidresults cached out of the Java heap.
+	 * When set, the results of all filters are cached in a shared off-heap cache instead of
+	 * soft references. Evicted results are released by the garbage collector, so the native memory
+	 * used can temporarily exceed this budget. Defaults to 0: disabled.
+	 */
+	public static final String CACHE_DOCIDRESULTS_OFF_HEAP_SIZE = "hibernate.search.filter.cache_docidresults.off_heap_size";
+
 	/**
 	 * When set to true a lock on the index will not be released until the
 	 * SearchIntegrator (or SessionFactory) is closed.
@@ -188,6 +246,15 @@ public final class Environment {
 	 */
 	public static final String ENABLE_DIRTY_CHECK = "hibernate.search.enable_dirty_check";
 
+	/**
+	 * When set to {@code true} the entity class and the identifier of each document are also indexed as DocValues,
+	 * and queries load them from the DocValues rather than from the stored fields when the projection allows it.
+	 * The identifier needs to be encoded as a string or by a numeric field bridge; indexes containing documents
+	 * written without this option fall back to the stored fields for these documents.
+	 * Defaults to {@code false}.
+	 */
+	public static final String PROJECTION_DOC_VALUES = "hibernate.search.projection_doc_values";
+
 	/**
 	 * The lucene backend has a separate writing thread for each index, the work pushed to each thread
 	 * is put in a queue which grows up to a maximum number of elements, which is configured by this
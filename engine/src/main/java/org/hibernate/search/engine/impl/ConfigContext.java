@@ -38,6 +38,7 @@
 import org.hibernate.search.filter.ShardSensitiveOnlyFilter;
 import org.hibernate.search.spi.BuildContext;
 import org.hibernate.search.util.StringHelper;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
 import org.hibernate.search.util.impl.ClassLoaderHelper;
 import org.hibernate.search.util.impl.DelegateNamedAnalyzer;
 import org.hibernate.search.util.impl.ReflectionHelper;
@@ -104,6 +105,7 @@ public final class ConfigContext {
 	private final Version luceneMatchVersion;
 	private final String nullToken;
 	private final boolean implicitProvidedId;
+	private final boolean projectionDocValues;
 	private final SearchMapping searchMapping;
 	private final ServiceManager serviceManager;
 
@@ -118,6 +120,9 @@ public ConfigContext(SearchConfiguration searchConfiguration, BuildContext build
 		this.jpaPresent = isPresent( "javax.persistence.Id" );
 		this.nullToken = initNullToken( searchConfiguration );
 		this.implicitProvidedId = searchConfiguration.isIdProvidedImplicit();
+		this.projectionDocValues = ConfigurationParseHelper.getBooleanValue(
+				searchConfiguration.getProperties(), Environment.PROJECTION_DOC_VALUES, false
+		);
 		this.searchMapping = searchMapping;
 	}
 
@@ -392,6 +397,13 @@ public boolean isProvidedIdImplicit() {
 		return implicitProvidedId;
 	}
 
+	/**
+	 * @return {@code true} if the entity class and identifier are to be indexed as DocValues as well
+	 */
+	public boolean isProjectionDocValuesEnabled() {
+		return projectionDocValues;
+	}
+
 	/**
 	 * Returns class bridge instances configured via the programmatic API, if any. The returned map's values are
 	 * {@code @ClassBridge} annotations representing the corresponding analyzer etc. configuration.
@@ -80,6 +80,14 @@ public ShardIdentifierProvider getShardIdentifierProvider() {
 		return shardingStrategy.getShardIdentifierProvider();
 	}
 
+	/**
+	 * @param shardIdentifier the identifier of a shard
+	 * @return the index manager of the shard, started if it is not running yet
+	 */
+	public IndexManager getIndexManager(String shardIdentifier) {
+		return shardingStrategy.getIndexManager( shardIdentifier );
+	}
+
 	@Override
 	public DocumentBuilderIndexedEntity getDocumentBuilder() {
 		return documentBuilder;
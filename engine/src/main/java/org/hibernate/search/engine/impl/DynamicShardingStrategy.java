@@ -8,6 +8,7 @@
 package org.hibernate.search.engine.impl;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Properties;
 import java.util.Set;
@@ -18,12 +19,14 @@
 import org.hibernate.search.indexes.spi.IndexManager;
 import org.hibernate.search.store.IndexShardingStrategy;
 import org.hibernate.search.store.ShardIdentifierProvider;
+import org.hibernate.search.store.spi.RelocatingIndexShardingStrategy;
+import org.hibernate.search.store.spi.RelocatingShardIdentifierProvider;
 
 /**
  * @author Hardy Ferentschik
  * @author Emmanuel Bernard <emmanuel@hibernate.org>
  */
-class DynamicShardingStrategy implements IndexShardingStrategy {
+class DynamicShardingStrategy implements IndexShardingStrategy, RelocatingIndexShardingStrategy {
 	private final ShardIdentifierProvider shardIdentifierProvider;
 	private final IndexManagerHolder indexManagerHolder;
 	private final String rootIndexName;
@@ -71,6 +74,24 @@ public IndexManager[] getIndexManagersForQuery(FullTextFilterImplementor[] fullT
 		return getIndexManagersFromShards( shards );
 	}
 
+	@Override
+	public IndexManager[] getIndexManagersForFormerLocations(Class<?> entity, Serializable id, String idInString) {
+		Set<String> shardIdentifiers = Collections.emptySet();
+		if ( shardIdentifierProvider instanceof RelocatingShardIdentifierProvider ) {
+			shardIdentifiers = ( (RelocatingShardIdentifierProvider) shardIdentifierProvider )
+					.getFormerShardIdentifiers( entity, id, idInString );
+		}
+		return getIndexManagersFromShards( shardIdentifiers );
+	}
+
+	IndexManager getIndexManager(String shardIdentifier) {
+		return indexManagerHolder.getOrCreateIndexManager(
+				rootIndexName,
+				shardIdentifier,
+				entityIndexBinding
+		);
+	}
+
 	ShardIdentifierProvider getShardIdentifierProvider() {
 		return shardIdentifierProvider;
 	}
@@ -13,6 +13,7 @@
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.lucene.analysis.Analyzer;
+import org.hibernate.search.backend.impl.IndexOperationsDispatcher;
 import org.hibernate.search.backend.impl.batch.DefaultBatchBackend;
 import org.hibernate.search.backend.spi.BatchBackend;
 import org.hibernate.search.backend.spi.Worker;
@@ -32,6 +33,7 @@
 import org.hibernate.search.exception.ErrorHandler;
 import org.hibernate.search.exception.SearchException;
 import org.hibernate.search.filter.FilterCachingStrategy;
+import org.hibernate.search.filter.impl.OffHeapFilterCache;
 import org.hibernate.search.indexes.IndexReaderAccessor;
 import org.hibernate.search.indexes.impl.DefaultIndexReaderAccessor;
 import org.hibernate.search.indexes.impl.IndexManagerHolder;
@@ -45,7 +47,10 @@
 import org.hibernate.search.query.ObjectLookupMethod;
 import org.hibernate.search.query.dsl.QueryContextBuilder;
 import org.hibernate.search.query.dsl.impl.ConnectedQueryContextBuilder;
+import org.hibernate.search.query.engine.impl.EntityLoadingExecutor;
+import org.hibernate.search.query.engine.impl.FacetReaderStateCache;
 import org.hibernate.search.query.engine.impl.HSQueryImpl;
+import org.hibernate.search.query.engine.impl.ParallelSearchExecutor;
 import org.hibernate.search.query.engine.spi.HSQuery;
 import org.hibernate.search.query.engine.spi.TimeoutExceptionFactory;
 import org.hibernate.search.spi.IndexingMode;
@@ -90,6 +95,8 @@ public class ImmutableSearchFactory implements ExtendedSearchIntegratorWithShare
 	private final Properties configurationProperties;
 	private final PolymorphicIndexHierarchy indexHierarchy;
 	private final StatisticsImpl statistics;
+	private final FacetReaderStateCache facetReaderStateCache;
+	private final OffHeapFilterCache offHeapFilterCache;
 	private final boolean transactionManagerExpected;
 	private final IndexManagerHolder allIndexesManager;
 	private final ErrorHandler errorHandler;
@@ -100,6 +107,9 @@ public class ImmutableSearchFactory implements ExtendedSearchIntegratorWithShare
 	private final InstanceInitializer instanceInitializer;
 	private final TimeoutExceptionFactory timeoutExceptionFactory;
 	private final TimingSource timingSource;
+	private final IndexOperationsDispatcher indexOperationsDispatcher;
+	private final ParallelSearchExecutor parallelSearchExecutor;
+	private final EntityLoadingExecutor entityLoadingExecutor;
 	private final SearchMapping mapping;
 	private final boolean indexMetadataIsComplete;
 	private final boolean isDeleteByTermEnforced;
@@ -128,8 +138,12 @@ public ImmutableSearchFactory(SearchFactoryState state) {
 		this.instanceInitializer = state.getInstanceInitializer();
 		this.timeoutExceptionFactory = state.getDefaultTimeoutExceptionFactory();
 		this.timingSource = state.getTimingSource();
+		this.indexOperationsDispatcher = state.getIndexOperationsDispatcher();
+		this.parallelSearchExecutor = state.getParallelSearchExecutor();
+		this.entityLoadingExecutor = state.getEntityLoadingExecutor();
 		this.mapping = state.getProgrammaticMapping();
 		this.statistics = new StatisticsImpl( this );
+		this.facetReaderStateCache = new FacetReaderStateCache( statistics );
 		this.indexMetadataIsComplete = state.isIndexMetadataComplete();
 		this.isDeleteByTermEnforced = state.isDeleteByTermEnforced();
 		this.isIdProvidedImplicit = state.isIdProvidedImplicit();
@@ -143,6 +157,11 @@ public ImmutableSearchFactory(SearchFactoryState state) {
 				configurationProperties, Environment.ENABLE_DIRTY_CHECK, true
 		);
 
+		int offHeapFilterCacheSize = ConfigurationParseHelper.getIntValue(
+				configurationProperties, Environment.CACHE_DOCIDRESULTS_OFF_HEAP_SIZE, 0
+		);
+		this.offHeapFilterCache = offHeapFilterCacheSize > 0 ? new OffHeapFilterCache( offHeapFilterCacheSize * 1024L * 1024L ) : null;
+
 		if ( isJMXEnabled() ) {
 			this.statisticsMBeanName = registerMBeans();
 		}
@@ -216,8 +235,14 @@ public void close() {
 				log.workerException( e );
 			}
 
+			this.indexOperationsDispatcher.close();
+			this.parallelSearchExecutor.close();
+			this.entityLoadingExecutor.close();
 			this.allIndexesManager.stop();
 			this.timingSource.stop();
+			if ( offHeapFilterCache != null ) {
+				offHeapFilterCache.clear();
+			}
 
 			serviceManager.releaseAllServices();
 
@@ -350,6 +375,11 @@ public int getFilterCacheBitResultsSize() {
 		return cacheBitResultsSize;
 	}
 
+	@Override
+	public OffHeapFilterCache getOffHeapFilterCache() {
+		return offHeapFilterCache;
+	}
+
 	@Override
 	public Set<Class<?>> getIndexedTypesPolymorphic(Class<?>[] classes) {
 		return indexHierarchy.getIndexedClasses( classes );
@@ -357,7 +387,7 @@ public Set<Class<?>> getIndexedTypesPolymorphic(Class<?>[] classes) {
 
 	@Override
 	public BatchBackend makeBatchBackend(MassIndexerProgressMonitor progressMonitor) {
-		return new DefaultBatchBackend( this, progressMonitor );
+		return new DefaultBatchBackend( this, progressMonitor, indexOperationsDispatcher );
 	}
 
 	@Override
@@ -497,6 +527,26 @@ public TimingSource getTimingSource() {
 		return this.timingSource;
 	}
 
+	@Override
+	public IndexOperationsDispatcher getIndexOperationsDispatcher() {
+		return this.indexOperationsDispatcher;
+	}
+
+	@Override
+	public ParallelSearchExecutor getParallelSearchExecutor() {
+		return this.parallelSearchExecutor;
+	}
+
+	@Override
+	public EntityLoadingExecutor getEntityLoadingExecutor() {
+		return this.entityLoadingExecutor;
+	}
+
+	@Override
+	public FacetReaderStateCache getFacetReaderStateCache() {
+		return this.facetReaderStateCache;
+	}
+
 	@Override
 	public SearchMapping getProgrammaticMapping() {
 		return mapping;
@@ -42,6 +42,12 @@ public class LuceneOptionsImpl implements LuceneOptions {
 		TYPE_COMPRESSED.freeze();
 	}
 
+	/**
+	 * The frozen field types of the valid combinations of store, index and term vector options,
+	 * indexed by {@link #fieldTypeIndex(boolean, Index, TermVector)}, so that fields don't each create their own
+	 */
+	private static final FieldType[] STANDARD_FIELD_TYPES = createStandardFieldTypes();
+
 	private final boolean storeCompressed;
 	private final boolean storeUncompressed;
 	private boolean documentBoostApplied = false; //needs to be applied only once
@@ -58,6 +64,12 @@ public class LuceneOptionsImpl implements LuceneOptions {
 	private final Store storeType;
 	private final String indexNullAs;
 
+	/**
+	 * The type of the fields added by {@link #addFieldToDocument(String, String, Document)}, or {@code null}
+	 * if the options are not valid, in which case Lucene will reject the field when it's added
+	 */
+	private final FieldType standardFieldType;
+
 	public LuceneOptionsImpl(DocumentFieldMetadata fieldMetadata, float fieldLevelBoost, float inheritedBoost) {
 		this.inheritedBoost = inheritedBoost;
 		this.indexMode = fieldMetadata.getIndex();
@@ -67,6 +79,7 @@ public LuceneOptionsImpl(DocumentFieldMetadata fieldMetadata, float fieldLevelBo
 		this.storeCompressed = this.storeType.equals( Store.COMPRESS );
 		this.storeUncompressed = this.storeType.equals( Store.YES );
 		this.indexNullAs = fieldMetadata.indexNullAs();
+		this.standardFieldType = STANDARD_FIELD_TYPES[fieldTypeIndex( storeUncompressed, indexMode, termVector )];
 	}
 
 	@Override
@@ -83,11 +96,40 @@ public void addFieldToDocument(String name, String indexedString, Document docum
 	}
 
 	private void standardFieldAdd(String name, String indexedString, Document document) {
-		Field field = new Field( name, indexedString, storeUncompressed ? Field.Store.YES : Field.Store.NO, indexMode, termVector );
+		Field field;
+		if ( standardFieldType != null ) {
+			field = new Field( name, indexedString, standardFieldType );
+		}
+		else {
+			// let Lucene report the invalid options
+			field = new Field( name, indexedString, storeUncompressed ? Field.Store.YES : Field.Store.NO, indexMode, termVector );
+		}
 		setBoost( field );
 		document.add( field );
 	}
 
+	private static int fieldTypeIndex(boolean stored, Index index, TermVector termVector) {
+		return ( ( stored ? 1 : 0 ) * Index.values().length + index.ordinal() ) * TermVector.values().length + termVector.ordinal();
+	}
+
+	private static FieldType[] createStandardFieldTypes() {
+		FieldType[] fieldTypes = new FieldType[2 * Index.values().length * TermVector.values().length];
+		for ( Field.Store store : new Field.Store[] { Field.Store.YES, Field.Store.NO } ) {
+			for ( Index index : Index.values() ) {
+				for ( TermVector termVector : TermVector.values() ) {
+					boolean stored = store == Field.Store.YES;
+					boolean valid = ( stored || index.isIndexed() ) && ( index.isIndexed() || termVector == TermVector.NO );
+					if ( valid ) {
+						FieldType fieldType = Field.translateFieldType( store, index, termVector );
+						fieldType.freeze();
+						fieldTypes[fieldTypeIndex( stored, index, termVector )] = fieldType;
+					}
+				}
+			}
+		}
+		return fieldTypes;
+	}
+
 	private void compressedFieldAdd(String name, String indexedString, Document document) {
 		byte[] compressedString = CompressionTools.compressString( indexedString );
 		// indexed is implicitly set to false when using byte[]
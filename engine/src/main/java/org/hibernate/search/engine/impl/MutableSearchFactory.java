@@ -13,6 +13,7 @@
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.lucene.analysis.Analyzer;
+import org.hibernate.search.backend.impl.IndexOperationsDispatcher;
 import org.hibernate.search.backend.spi.BatchBackend;
 import org.hibernate.search.backend.spi.Worker;
 import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
@@ -25,6 +26,7 @@
 import org.hibernate.search.engine.spi.TimingSource;
 import org.hibernate.search.exception.ErrorHandler;
 import org.hibernate.search.filter.FilterCachingStrategy;
+import org.hibernate.search.filter.impl.OffHeapFilterCache;
 import org.hibernate.search.indexes.IndexReaderAccessor;
 import org.hibernate.search.indexes.impl.IndexManagerHolder;
 import org.hibernate.search.indexes.spi.IndexManager;
@@ -32,6 +34,9 @@
 import org.hibernate.search.query.DatabaseRetrievalMethod;
 import org.hibernate.search.query.ObjectLookupMethod;
 import org.hibernate.search.query.dsl.QueryContextBuilder;
+import org.hibernate.search.query.engine.impl.EntityLoadingExecutor;
+import org.hibernate.search.query.engine.impl.FacetReaderStateCache;
+import org.hibernate.search.query.engine.impl.ParallelSearchExecutor;
 import org.hibernate.search.query.engine.spi.HSQuery;
 import org.hibernate.search.query.engine.spi.TimeoutExceptionFactory;
 import org.hibernate.search.spi.IndexingMode;
@@ -147,6 +152,11 @@ public int getFilterCacheBitResultsSize() {
 		return delegate.getFilterCacheBitResultsSize();
 	}
 
+	@Override
+	public OffHeapFilterCache getOffHeapFilterCache() {
+		return delegate.getOffHeapFilterCache();
+	}
+
 	@Override
 	public Set<Class<?>> getIndexedTypesPolymorphic(Class<?>[] classes) {
 		return delegate.getIndexedTypesPolymorphic( classes );
@@ -297,6 +307,26 @@ public TimingSource getTimingSource() {
 		return delegate.getTimingSource();
 	}
 
+	@Override
+	public IndexOperationsDispatcher getIndexOperationsDispatcher() {
+		return delegate.getIndexOperationsDispatcher();
+	}
+
+	@Override
+	public ParallelSearchExecutor getParallelSearchExecutor() {
+		return delegate.getParallelSearchExecutor();
+	}
+
+	@Override
+	public EntityLoadingExecutor getEntityLoadingExecutor() {
+		return delegate.getEntityLoadingExecutor();
+	}
+
+	@Override
+	public FacetReaderStateCache getFacetReaderStateCache() {
+		return delegate.getFacetReaderStateCache();
+	}
+
 	@Override
 	public SearchMapping getProgrammaticMapping() {
 		return delegate.getProgrammaticMapping();
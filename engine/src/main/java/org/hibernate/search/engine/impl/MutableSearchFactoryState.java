@@ -12,6 +12,7 @@
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.lucene.analysis.Analyzer;
+import org.hibernate.search.backend.impl.IndexOperationsDispatcher;
 import org.hibernate.search.backend.spi.BackendQueueProcessor;
 import org.hibernate.search.backend.spi.Worker;
 import org.hibernate.search.cfg.Environment;
@@ -24,6 +25,8 @@
 import org.hibernate.search.exception.ErrorHandler;
 import org.hibernate.search.filter.FilterCachingStrategy;
 import org.hibernate.search.indexes.impl.IndexManagerHolder;
+import org.hibernate.search.query.engine.impl.EntityLoadingExecutor;
+import org.hibernate.search.query.engine.impl.ParallelSearchExecutor;
 import org.hibernate.search.query.engine.spi.TimeoutExceptionFactory;
 import org.hibernate.search.spi.IndexingMode;
 import org.hibernate.search.spi.InstanceInitializer;
@@ -57,6 +60,9 @@ public class MutableSearchFactoryState implements SearchFactoryState {
 	private TimeoutExceptionFactory defaultTimeoutExceptionFactory;
 	private InstanceInitializer instanceInitializer;
 	private TimingSource timingSource;
+	private IndexOperationsDispatcher indexOperationsDispatcher;
+	private ParallelSearchExecutor parallelSearchExecutor;
+	private EntityLoadingExecutor entityLoadingExecutor;
 	private SearchMapping mapping;
 	private boolean indexMetadataIsComplete;
 	private boolean deleteByTermEnforced;
@@ -82,6 +88,9 @@ public void copyStateFromOldFactory(SearchFactoryState oldFactoryState) {
 		defaultTimeoutExceptionFactory = oldFactoryState.getDefaultTimeoutExceptionFactory();
 		instanceInitializer = oldFactoryState.getInstanceInitializer();
 		timingSource = oldFactoryState.getTimingSource();
+		indexOperationsDispatcher = oldFactoryState.getIndexOperationsDispatcher();
+		parallelSearchExecutor = oldFactoryState.getParallelSearchExecutor();
+		entityLoadingExecutor = oldFactoryState.getEntityLoadingExecutor();
 		mapping = oldFactoryState.getProgrammaticMapping();
 		indexMetadataIsComplete = oldFactoryState.isIndexMetadataComplete();
 		deleteByTermEnforced = oldFactoryState.isDeleteByTermEnforced();
@@ -258,6 +267,33 @@ public void setTimingSource(TimingSource timingSource) {
 		this.timingSource = timingSource;
 	}
 
+	@Override
+	public IndexOperationsDispatcher getIndexOperationsDispatcher() {
+		return indexOperationsDispatcher;
+	}
+
+	public void setIndexOperationsDispatcher(IndexOperationsDispatcher indexOperationsDispatcher) {
+		this.indexOperationsDispatcher = indexOperationsDispatcher;
+	}
+
+	@Override
+	public ParallelSearchExecutor getParallelSearchExecutor() {
+		return parallelSearchExecutor;
+	}
+
+	public void setParallelSearchExecutor(ParallelSearchExecutor parallelSearchExecutor) {
+		this.parallelSearchExecutor = parallelSearchExecutor;
+	}
+
+	@Override
+	public EntityLoadingExecutor getEntityLoadingExecutor() {
+		return entityLoadingExecutor;
+	}
+
+	public void setEntityLoadingExecutor(EntityLoadingExecutor entityLoadingExecutor) {
+		this.entityLoadingExecutor = entityLoadingExecutor;
+	}
+
 	public void setProgrammaticMapping(SearchMapping mapping) {
 		this.mapping = mapping;
 	}
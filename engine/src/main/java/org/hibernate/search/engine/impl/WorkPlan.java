@@ -8,7 +8,9 @@
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -393,6 +395,12 @@ private static class PerEntityWork {
 		 */
 		private boolean containedInProcessed = false;
 
+		/**
+		 * The names of the properties changed by the updates of the entity, or {@code null}
+		 * if any property might have changed.
+		 */
+		private Set<String> dirtyPropertyNames;
+
 		private final String tenantId;
 
 		/**
@@ -420,6 +428,9 @@ private PerEntityWork(Work work) {
 			entity = work.getEntity();
 			tenantId = work.getTenantIdentifier();
 			WorkType type = work.getType();
+			if ( type == WorkType.UPDATE && work.getDirtyPropertyNames() != null ) {
+				dirtyPropertyNames = new HashSet<String>( Arrays.asList( work.getDirtyPropertyNames() ) );
+			}
 			// sets the initial state:
 			switch ( type ) {
 				case ADD:
@@ -461,6 +472,14 @@ private PerEntityWork(Work work) {
 		public void addWork(Work work) {
 			entity = work.getEntity();
 			WorkType type = work.getType();
+			if ( dirtyPropertyNames != null ) {
+				if ( type == WorkType.UPDATE && work.getDirtyPropertyNames() != null ) {
+					dirtyPropertyNames.addAll( Arrays.asList( work.getDirtyPropertyNames() ) );
+				}
+				else {
+					dirtyPropertyNames = null;
+				}
+			}
 			switch ( type ) {
 				case INDEX:
 				case UPDATE:
@@ -532,7 +551,9 @@ public void processContainedIn(AbstractDocumentBuilder entityBuilder, WorkPlan w
 			if ( entity != null && !containedInProcessed ) {
 				containedInProcessed = true;
 				if ( add || delete ) {
-					entityBuilder.appendContainedInWorkForInstance( entity, workplan, null, getTenantIdentifier() );
+					// containing entities are updated only if they depend on the changed properties
+					Set<String> changedProperties = add && delete ? dirtyPropertyNames : null;
+					entityBuilder.appendContainedInWorkForInstance( entity, workplan, null, getTenantIdentifier(), changedProperties );
 				}
 			}
 		}
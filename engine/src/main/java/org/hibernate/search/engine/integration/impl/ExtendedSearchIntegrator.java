@@ -15,9 +15,13 @@
 import org.hibernate.search.engine.spi.EntityIndexBinding;
 import org.hibernate.search.engine.spi.TimingSource;
 import org.hibernate.search.filter.FilterCachingStrategy;
+import org.hibernate.search.filter.impl.OffHeapFilterCache;
 import org.hibernate.search.indexes.impl.IndexManagerHolder;
 import org.hibernate.search.query.DatabaseRetrievalMethod;
 import org.hibernate.search.query.ObjectLookupMethod;
+import org.hibernate.search.query.engine.impl.FacetReaderStateCache;
+import org.hibernate.search.query.engine.impl.EntityLoadingExecutor;
+import org.hibernate.search.query.engine.impl.ParallelSearchExecutor;
 import org.hibernate.search.spi.InstanceInitializer;
 import org.hibernate.search.spi.SearchIntegrator;
 import org.hibernate.search.stat.spi.StatisticsImplementor;
@@ -46,6 +50,11 @@ public interface ExtendedSearchIntegrator extends SearchIntegrator {
 
 	int getFilterCacheBitResultsSize();
 
+	/**
+	 * @return the cache storing the filter results out of the Java heap, or {@code null} if disabled
+	 */
+	OffHeapFilterCache getOffHeapFilterCache();
+
 	Set<Class<?>> getIndexedTypesPolymorphic(Class<?>[] classes);
 
 	boolean isJMXEnabled();
@@ -75,6 +84,21 @@ public interface ExtendedSearchIntegrator extends SearchIntegrator {
 
 	TimingSource getTimingSource();
 
+	/**
+	 * @return the cache of the state needed for discrete faceting, shared by all queries
+	 */
+	FacetReaderStateCache getFacetReaderStateCache();
+
+	/**
+	 * @return the executor searching slices of the indexes concurrently, shared by all queries
+	 */
+	ParallelSearchExecutor getParallelSearchExecutor();
+
+	/**
+	 * @return the executor loading entities of unrelated hierarchies concurrently, shared by all queries
+	 */
+	EntityLoadingExecutor getEntityLoadingExecutor();
+
 	/**
 	 * @return the configuration properties for this factory
 	 */
@@ -204,7 +204,7 @@ private void createPropertyMetadataForEmbeddedId(XProperty member, TypeMetadata.
 						.idInEmbedded()
 						.build();
 
-		PropertyMetadata propertyMetadata = new PropertyMetadata.Builder( member )
+		PropertyMetadata propertyMetadata = new PropertyMetadata.Builder( member, reflectionManager )
 				.addDocumentField( fieldMetadata )
 				.dynamicBoostStrategy( AnnotationProcessingHelper.getDynamicBoost( member ) )
 				.build();
@@ -268,7 +268,7 @@ private void createIdPropertyMetadata(XProperty member,
 						.boost( AnnotationProcessingHelper.getBoost( member, null ) )
 						.fieldBridge( idBridge )
 						.build();
-		PropertyMetadata idPropertyMetadata = new PropertyMetadata.Builder( member )
+		PropertyMetadata idPropertyMetadata = new PropertyMetadata.Builder( member, reflectionManager )
 				.addDocumentField( fieldMetadata )
 				.build();
 		typeMetadataBuilder.idProperty( idPropertyMetadata );
@@ -339,7 +339,7 @@ private void initializeProvidedIdMetadata(ProvidedId providedId, XClass clazz, T
 						.fieldBridge( providedIdFieldBridge )
 						.boost( 1.0f )
 						.build();
-		propertyMetadata = new PropertyMetadata.Builder( null )
+		propertyMetadata = new PropertyMetadata.Builder( null, reflectionManager )
 				.addDocumentField( fieldMetadata )
 				.build();
 		typeMetadataBuilder.idProperty( propertyMetadata );
@@ -617,7 +617,7 @@ private void bindSpatialAnnotation(Spatial spatialAnnotation,
 				.fieldBridge( fieldBridge )
 				.build();
 
-		PropertyMetadata propertyMetadata = new PropertyMetadata.Builder( member )
+		PropertyMetadata propertyMetadata = new PropertyMetadata.Builder( member, reflectionManager )
 				.addDocumentField( fieldMetadata )
 				.build();
 
@@ -776,7 +776,7 @@ private void checkForContainedIn(XProperty member, TypeMetadata.Builder typeMeta
 			return;
 		}
 
-		ContainedInMetadataBuilder containedInMetadataBuilder = new ContainedInMetadataBuilder( member );
+		ContainedInMetadataBuilder containedInMetadataBuilder = new ContainedInMetadataBuilder( member, reflectionManager );
 		updateContainedInMaxDepths( containedInMetadataBuilder, member );
 		typeMetadataBuilder.addContainedIn( containedInMetadataBuilder.createContainedInMetadata() );
 
@@ -870,7 +870,7 @@ private void checkForField(XProperty member,
 
 		if ( fieldAnnotation != null ) {
 			if ( isFieldInPath( fieldAnnotation, member, pathsContext, prefix ) || !parseContext.isMaxLevelReached() ) {
-				PropertyMetadata.Builder propertyMetadataBuilder = new PropertyMetadata.Builder( member )
+				PropertyMetadata.Builder propertyMetadataBuilder = new PropertyMetadata.Builder( member, reflectionManager )
 						.dynamicBoostStrategy( AnnotationProcessingHelper.getDynamicBoost( member ) );
 
 				Set<Facet> facetAnnotations = findMatchingFacetAnnotations( member, fieldAnnotation.name() );
@@ -1255,7 +1255,7 @@ private void checkForFields(XProperty member,
 						pathsContext,
 						prefix
 				) || !parseContext.isMaxLevelReached() ) {
-					PropertyMetadata.Builder propertyMetadataBuilder = new PropertyMetadata.Builder( member )
+					PropertyMetadata.Builder propertyMetadataBuilder = new PropertyMetadata.Builder( member, reflectionManager )
 							.dynamicBoostStrategy( AnnotationProcessingHelper.getDynamicBoost( member ) );
 					Set<Facet> facetAnnotations = findMatchingFacetAnnotations( member, fieldAnnotation.name() );
 					bindFieldAnnotation(
@@ -1379,6 +1379,7 @@ private void checkForIndexedEmbedded(
 					new EmbeddedTypeMetadata.Builder(
 							reflectionManager.toClass( elementClass ),
 							member,
+							reflectionManager,
 							typeMetadataBuilder.getScopedAnalyzer()
 					);
 
@@ -0,0 +1,157 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.metadata.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.annotations.common.reflection.ReflectionManager;
+import org.hibernate.annotations.common.reflection.XClass;
+import org.hibernate.annotations.common.reflection.XMember;
+import org.hibernate.search.engine.BoostStrategy;
+import org.hibernate.search.engine.impl.DefaultBoostStrategy;
+
+/**
+ * Resolves, for each {@code @ContainedIn} property, the names of the properties of the type declaring it
+ * which are embedded in the documents of the containing entities, so that changes to other properties
+ * don't trigger the reindexing of the containing entities.
+ * <p>
+ * The embeddings of a type are looked up in the metadata of all indexed types, at any depth: an embedding
+ * is considered to be reached through a {@code @ContainedIn} property when its embedded type and the type
+ * declaring the {@code @IndexedEmbedded} property are compatible with the types at both ends of the
+ * {@code @ContainedIn} property. When no embedding is found, or when the embedding might depend on any
+ * property (class bridges, dynamic boost, field bridges applied to the embedded property itself), any change
+ * requires the containing entities to be reindexed.
+ */
+public final class ContainedInDependencies {
+
+	private ContainedInDependencies() {
+		//not allowed
+	}
+
+	/**
+	 * @param indexedTypes the metadata of all indexed types
+	 * @param typesWithContainedIn the metadata of the types which might declare {@code @ContainedIn} properties
+	 * @param reflectionManager to resolve the types of the {@code @ContainedIn} properties
+	 */
+	public static void resolve(Collection<TypeMetadata> indexedTypes, Collection<TypeMetadata> typesWithContainedIn,
+			ReflectionManager reflectionManager) {
+		List<Embedding> embeddings = new ArrayList<Embedding>();
+		for ( TypeMetadata indexedType : indexedTypes ) {
+			collectEmbeddings( indexedType, embeddings );
+		}
+		for ( TypeMetadata type : typesWithContainedIn ) {
+			for ( ContainedInMetadata containedInMetadata : type.getContainedInMetadata() ) {
+				Class<?> containingType = getElementType( containedInMetadata.getContainedInMember(), reflectionManager );
+				Set<String> dependencies = getDependencies( type.getType(), containingType, embeddings );
+				if ( dependencies != null ) {
+					addAssociations( type, dependencies );
+				}
+				containedInMetadata.setContainingDocumentDependencies( dependencies );
+			}
+		}
+	}
+
+	/**
+	 * Changing an association pointing to the containing entities, such as moving the entity to another parent,
+	 * changes which documents embed the entity: the new containing entities have to be reindexed.
+	 */
+	private static void addAssociations(TypeMetadata type, Set<String> dependencies) {
+		for ( ContainedInMetadata containedInMetadata : type.getContainedInMetadata() ) {
+			dependencies.add( containedInMetadata.getContainedInMember().getName() );
+		}
+	}
+
+	private static Set<String> getDependencies(Class<?> containedType, Class<?> containingType, List<Embedding> embeddings) {
+		if ( containingType == null ) {
+			return null;
+		}
+		Set<String> dependencies = null;
+		for ( Embedding embedding : embeddings ) {
+			if ( areRelated( embedding.embeddedType, containedType ) && areRelated( embedding.owningType, containingType ) ) {
+				if ( embedding.usedProperties == null ) {
+					return null;
+				}
+				if ( dependencies == null ) {
+					dependencies = new HashSet<String>();
+				}
+				dependencies.addAll( embedding.usedProperties );
+			}
+		}
+		// null when no embedding was found: the containing entities might use the property in any way
+		return dependencies;
+	}
+
+	private static void collectEmbeddings(TypeMetadata owningType, List<Embedding> embeddings) {
+		for ( EmbeddedTypeMetadata embeddedTypeMetadata : owningType.getEmbeddedTypeMetadata() ) {
+			embeddings.add( new Embedding(
+					owningType.getType(),
+					embeddedTypeMetadata.getType(),
+					getUsedProperties( owningType, embeddedTypeMetadata )
+			) );
+			collectEmbeddings( embeddedTypeMetadata, embeddings );
+		}
+	}
+
+	private static Set<String> getUsedProperties(TypeMetadata owningType, EmbeddedTypeMetadata embeddedTypeMetadata) {
+		if ( !embeddedTypeMetadata.areStateInspectionOptimizationsEnabled() || embeddedTypeMetadata.areClassBridgesUsed() ) {
+			return null;
+		}
+		BoostStrategy boostStrategy = embeddedTypeMetadata.getDynamicBoost();
+		if ( boostStrategy != null && !( boostStrategy instanceof DefaultBoostStrategy ) ) {
+			return null;
+		}
+		String embeddedPropertyName = embeddedTypeMetadata.getEmbeddedGetter().getName();
+		if ( owningType.getPropertyMetadataForProperty( embeddedPropertyName ) != null ) {
+			// a field bridge is applied to the embedded entity itself
+			return null;
+		}
+		Set<String> usedProperties = new HashSet<String>();
+		for ( PropertyMetadata propertyMetadata : embeddedTypeMetadata.getAllPropertyMetadata() ) {
+			usedProperties.add( propertyMetadata.getPropertyAccessorName() );
+		}
+		if ( embeddedTypeMetadata.getIdPropertyMetadata() != null ) {
+			usedProperties.add( embeddedTypeMetadata.getIdPropertyMetadata().getPropertyAccessorName() );
+		}
+		for ( EmbeddedTypeMetadata nestedEmbeddedTypeMetadata : embeddedTypeMetadata.getEmbeddedTypeMetadata() ) {
+			usedProperties.add( nestedEmbeddedTypeMetadata.getEmbeddedGetter().getName() );
+		}
+		if ( embeddedTypeMetadata.getDiscriminatorGetter() != null ) {
+			usedProperties.add( embeddedTypeMetadata.getDiscriminatorGetter().getName() );
+		}
+		return usedProperties;
+	}
+
+	private static Class<?> getElementType(XMember member, ReflectionManager reflectionManager) {
+		XClass elementType = member.isCollection() || member.isArray() ? member.getElementClass() : member.getType();
+		return elementType == null ? null : reflectionManager.toClass( elementType );
+	}
+
+	private static boolean areRelated(Class<?> type, Class<?> otherType) {
+		return type.isAssignableFrom( otherType ) || otherType.isAssignableFrom( type );
+	}
+
+	private static final class Embedding {
+
+		private final Class<?> owningType;
+		private final Class<?> embeddedType;
+
+		/**
+		 * The names of the properties of the embedded type the embedding depends on, or {@code null} for any property
+		 */
+		private final Set<String> usedProperties;
+
+		private Embedding(Class<?> owningType, Class<?> embeddedType, Set<String> usedProperties) {
+			this.owningType = owningType;
+			this.embeddedType = embeddedType;
+			this.usedProperties = usedProperties;
+		}
+	}
+}
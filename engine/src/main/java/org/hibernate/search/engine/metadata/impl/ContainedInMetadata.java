@@ -6,7 +6,12 @@
  */
 package org.hibernate.search.engine.metadata.impl;
 
+import java.util.Collections;
+import java.util.Set;
+
+import org.hibernate.annotations.common.reflection.ReflectionManager;
 import org.hibernate.annotations.common.reflection.XMember;
+import org.hibernate.search.util.impl.MemberValueReader;
 import org.hibernate.search.util.impl.ReflectionHelper;
 
 /**
@@ -15,11 +20,19 @@
 public class ContainedInMetadata {
 
 	private final XMember containedInMember;
+	private final MemberValueReader containedInValueReader;
 	private final Integer maxDepth;
 
-	public ContainedInMetadata(XMember containedInMember, Integer maxDepth) {
+	/**
+	 * The names of the properties the documents of the containing entities depend on,
+	 * or {@code null} if they might depend on any property
+	 */
+	private volatile Set<String> containingDocumentDependencies;
+
+	public ContainedInMetadata(XMember containedInMember, ReflectionManager reflectionManager, Integer maxDepth) {
 		this.containedInMember = containedInMember;
 		ReflectionHelper.setAccessible( this.containedInMember );
+		this.containedInValueReader = MemberValueReader.of( containedInMember, reflectionManager );
 		this.maxDepth = maxDepth;
 	}
 
@@ -27,15 +40,49 @@ public XMember getContainedInMember() {
 		return containedInMember;
 	}
 
+	/**
+	 * @param instance the instance owning the property
+	 * @return the value of the property marked with {@code @ContainedIn}
+	 */
+	public Object getContainedInValue(Object instance) {
+		return containedInValueReader.getValue( instance );
+	}
+
 	public Integer getMaxDepth() {
 		return maxDepth;
 	}
 
+	/**
+	 * @param dependencies the names of the properties the documents of the containing entities depend on,
+	 * or {@code null} if they might depend on any property
+	 */
+	public void setContainingDocumentDependencies(Set<String> dependencies) {
+		this.containingDocumentDependencies = dependencies == null ? null : Collections.unmodifiableSet( dependencies );
+	}
+
+	/**
+	 * @param dirtyPropertyNames the names of the changed properties, or {@code null} if they are unknown
+	 * @return {@code true} if the documents of the containing entities might be affected by the changes
+	 */
+	public boolean isContainingDocumentAffectedBy(Set<String> dirtyPropertyNames) {
+		Set<String> dependencies = containingDocumentDependencies;
+		if ( dependencies == null || dirtyPropertyNames == null ) {
+			return true;
+		}
+		for ( String dirtyPropertyName : dirtyPropertyNames ) {
+			if ( dependencies.contains( dirtyPropertyName ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public String toString() {
 		final StringBuilder sb = new StringBuilder( "ContainedInMetadata{" );
 		sb.append( "containedInMember=" ).append( containedInMember );
 		sb.append( ", maxDepth=" ).append( maxDepth );
+		sb.append( ", containingDocumentDependencies=" ).append( containingDocumentDependencies );
 		sb.append( '}' );
 		return sb.toString();
 	}
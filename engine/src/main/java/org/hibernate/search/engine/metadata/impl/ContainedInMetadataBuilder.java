@@ -6,6 +6,7 @@
  */
 package org.hibernate.search.engine.metadata.impl;
 
+import org.hibernate.annotations.common.reflection.ReflectionManager;
 import org.hibernate.annotations.common.reflection.XMember;
 
 /**
@@ -14,11 +15,13 @@
 public class ContainedInMetadataBuilder {
 
 	private final XMember containedInMember;
+	private final ReflectionManager reflectionManager;
 
 	private Integer maxDepth;
 
-	public ContainedInMetadataBuilder(XMember containedInMember) {
+	public ContainedInMetadataBuilder(XMember containedInMember, ReflectionManager reflectionManager) {
 		this.containedInMember = containedInMember;
+		this.reflectionManager = reflectionManager;
 	}
 
 	public ContainedInMetadataBuilder maxDepth(Integer maxDepth) {
@@ -27,7 +30,7 @@ public ContainedInMetadataBuilder maxDepth(Integer maxDepth) {
 	}
 
 	public ContainedInMetadata createContainedInMetadata() {
-		return new ContainedInMetadata( containedInMember, maxDepth );
+		return new ContainedInMetadata( containedInMember, reflectionManager, maxDepth );
 	}
 
 }
@@ -9,8 +9,10 @@
 
 import java.util.Map;
 
+import org.hibernate.annotations.common.reflection.ReflectionManager;
 import org.hibernate.annotations.common.reflection.XMember;
 import org.hibernate.search.bridge.FieldBridge;
+import org.hibernate.search.util.impl.MemberValueReader;
 import org.hibernate.search.util.impl.ReflectionHelper;
 import org.hibernate.search.util.impl.ScopedAnalyzer;
 
@@ -22,6 +24,7 @@
 public class EmbeddedTypeMetadata extends TypeMetadata {
 	private final String embeddedFieldName;
 	private final XMember embeddedGetter;
+	private final MemberValueReader embeddedValueReader;
 	private final Container embeddedContainer;
 
 	private final String embeddedNullFieldName;
@@ -32,6 +35,7 @@ private EmbeddedTypeMetadata(Builder builder) {
 		super( builder );
 		this.embeddedFieldName = builder.embeddedFieldName;
 		this.embeddedGetter = builder.embeddedGetter;
+		this.embeddedValueReader = builder.embeddedValueReader;
 		this.embeddedContainer = builder.embeddedContainer;
 
 		this.embeddedNullFieldName = builder.embeddedNullFieldName;
@@ -47,6 +51,14 @@ public XMember getEmbeddedGetter() {
 		return embeddedGetter;
 	}
 
+	/**
+	 * @param instance the instance owning the embedded property
+	 * @return the value of the embedded property
+	 */
+	public Object getEmbeddedValue(Object instance) {
+		return embeddedValueReader.getValue( instance );
+	}
+
 	public Container getEmbeddedContainer() {
 		return embeddedContainer;
 	}
@@ -79,17 +91,19 @@ public String toString() {
 	public static class Builder extends TypeMetadata.Builder {
 		private String embeddedFieldName;
 		private XMember embeddedGetter;
+		private MemberValueReader embeddedValueReader;
 		private Container embeddedContainer;
 
 		private String embeddedNullFieldName;
 		private String embeddedNullToken;
 		private FieldBridge embeddedNullFieldBridge;
 
-		public Builder(Class<?> indexedType, XMember embeddedGetter, ScopedAnalyzer scopedAnalyzer) {
+		public Builder(Class<?> indexedType, XMember embeddedGetter, ReflectionManager reflectionManager, ScopedAnalyzer scopedAnalyzer) {
 			super( indexedType, scopedAnalyzer );
 			ReflectionHelper.setAccessible( embeddedGetter );
 			this.embeddedFieldName = embeddedGetter.getName();
 			this.embeddedGetter = embeddedGetter;
+			this.embeddedValueReader = MemberValueReader.of( embeddedGetter, reflectionManager );
 			this.embeddedContainer = determineContainerType( embeddedGetter );
 		}
 
@@ -14,9 +14,11 @@
 import java.util.Map;
 import java.util.Set;
 
+import org.hibernate.annotations.common.reflection.ReflectionManager;
 import org.hibernate.annotations.common.reflection.XProperty;
 import org.hibernate.search.engine.BoostStrategy;
 import org.hibernate.search.engine.impl.DefaultBoostStrategy;
+import org.hibernate.search.util.impl.MemberValueReader;
 import org.hibernate.search.util.impl.ReflectionHelper;
 
 /**
@@ -28,6 +30,7 @@
  */
 public class PropertyMetadata {
 	private final XProperty propertyAccessor;
+	private final MemberValueReader propertyValueReader;
 	private final Map<String, DocumentFieldMetadata> documentFieldMetadataMap;
 	private final Set<DocumentFieldMetadata> documentFieldMetadataList;
 	private final BoostStrategy dynamicBoostStrategy;
@@ -35,6 +38,7 @@ public class PropertyMetadata {
 
 	private PropertyMetadata(Builder builder) {
 		this.propertyAccessor = builder.propertyAccessor;
+		this.propertyValueReader = builder.propertyValueReader;
 		this.documentFieldMetadataList = Collections.unmodifiableSet( builder.fieldMetadataSet );
 		this.documentFieldMetadataMap = createDocumentFieldMetadataMap( builder.fieldMetadataSet );
 		this.propertyAccessorName = propertyAccessor == null ? null : propertyAccessor.getName();
@@ -58,6 +62,14 @@ public XProperty getPropertyAccessor() {
 		return propertyAccessor;
 	}
 
+	/**
+	 * @param instance the instance owning the property
+	 * @return the value of the property
+	 */
+	public Object getPropertyValue(Object instance) {
+		return propertyValueReader.getValue( instance );
+	}
+
 	public String getPropertyAccessorName() {
 		return propertyAccessorName;
 	}
@@ -78,14 +90,19 @@ public BoostStrategy getDynamicBoostStrategy() {
 	public static class Builder {
 		// required parameters
 		private final XProperty propertyAccessor;
+		private final MemberValueReader propertyValueReader;
 		private final Set<DocumentFieldMetadata> fieldMetadataSet;
 
 		// optional parameters
 		private BoostStrategy dynamicBoostStrategy;
 
-		public Builder(XProperty propertyAccessor) {
+		public Builder(XProperty propertyAccessor, ReflectionManager reflectionManager) {
 			if ( propertyAccessor != null ) {
 				ReflectionHelper.setAccessible( propertyAccessor );
+				this.propertyValueReader = MemberValueReader.of( propertyAccessor, reflectionManager );
+			}
+			else {
+				this.propertyValueReader = null;
 			}
 			this.propertyAccessor = propertyAccessor;
 			this.fieldMetadataSet = new HashSet<>();
@@ -28,7 +28,6 @@
 import org.hibernate.search.engine.metadata.impl.TypeMetadata;
 import org.hibernate.search.exception.AssertionFailure;
 import org.hibernate.search.spi.InstanceInitializer;
-import org.hibernate.search.util.impl.ReflectionHelper;
 import org.hibernate.search.util.impl.ScopedAnalyzer;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
@@ -180,7 +179,28 @@ public void appendContainedInWorkForInstance(Object instance, WorkPlan workPlan,
 	 * @param currentDepth the current {@link org.hibernate.search.engine.spi.DepthValidator} object used to check the graph traversal
 	 */
 	public void appendContainedInWorkForInstance(Object instance, WorkPlan workPlan, DepthValidator currentDepth, String tenantIdentifier) {
+		appendContainedInWorkForInstance( instance, workPlan, currentDepth, tenantIdentifier, null );
+	}
+
+	/**
+	 * If we have a work instance we have to check whether the instance to be indexed is contained in any other indexed entities for a tenant,
+	 * skipping the containing entities whose documents don't depend on the changed properties.
+	 *
+	 * @see #appendContainedInWorkForInstance(Object, WorkPlan, DepthValidator, String)
+	 * @param instance the instance to be indexed
+	 * @param workPlan the current work plan
+	 * @param currentDepth the current {@link org.hibernate.search.engine.spi.DepthValidator} object used to check the graph traversal
+	 * @param tenantIdentifier the tenant identifier
+	 * @param dirtyPropertyNames the names of the changed properties of the instance, or {@code null} if they are unknown
+	 */
+	public void appendContainedInWorkForInstance(Object instance, WorkPlan workPlan, DepthValidator currentDepth, String tenantIdentifier,
+			Set<String> dirtyPropertyNames) {
+		final boolean skipUnaffectedContainingEntities = dirtyPropertyNames != null && stateInspectionOptimizationsEnabled();
 		for ( ContainedInMetadata containedInMetadata : typeMetadata.getContainedInMetadata() ) {
+			if ( skipUnaffectedContainingEntities && !containedInMetadata.isContainingDocumentAffectedBy( dirtyPropertyNames ) ) {
+				log.tracef( "Skipping %s as the changes of %s don't affect the containing entities", containedInMetadata, dirtyPropertyNames );
+				continue;
+			}
 			XMember member = containedInMetadata.getContainedInMember();
 			Object unproxiedInstance = instanceInitializer.unproxy( instance );
 
@@ -191,7 +211,7 @@ public void appendContainedInWorkForInstance(Object instance, WorkPlan workPlan,
 				return;
 			}
 
-			Object value = ReflectionHelper.getMemberValue( unproxiedInstance, member );
+			Object value = containedInMetadata.getContainedInValue( unproxiedInstance );
 
 			if ( value == null ) {
 				continue;
@@ -331,6 +351,13 @@ public boolean isDirty(String[] dirtyPropertyNames) {
 					return true;
 				}
 			}
+
+			// consider ContainedIn: the entity might now be embedded in other entities
+			for ( ContainedInMetadata containedInMetadata : typeMetadata.getContainedInMetadata() ) {
+				if ( containedInMetadata.getContainedInMember().getName().equals( dirtyPropertyName ) ) {
+					return true;
+				}
+			}
 		}
 		return false;
 	}
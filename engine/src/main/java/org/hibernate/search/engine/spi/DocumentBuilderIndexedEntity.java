@@ -24,10 +24,14 @@
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.FieldType;
 import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.facet.FacetField;
 import org.apache.lucene.facet.FacetsConfig;
 import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.taxonomy.AssociationFacetField;
 import org.apache.lucene.index.FieldInfo.IndexOptions;
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.util.BytesRef;
 
 import org.hibernate.annotations.common.reflection.ReflectionManager;
 import org.hibernate.annotations.common.reflection.XClass;
@@ -60,6 +64,8 @@
 import org.hibernate.search.engine.metadata.impl.TypeMetadata;
 import org.hibernate.search.exception.AssertionFailure;
 import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.query.fieldcache.impl.ClassLoadingStrategySelector;
+import org.hibernate.search.query.fieldcache.impl.FieldCacheLoadingType;
 import org.hibernate.search.spi.InstanceInitializer;
 import org.hibernate.search.util.impl.ReflectionHelper;
 import org.hibernate.search.util.logging.impl.Log;
@@ -81,6 +87,12 @@ public class DocumentBuilderIndexedEntity extends AbstractDocumentBuilder {
 	 */
 	public static final String TENANT_ID_FIELDNAME = "__HSearch_TenantId";
 
+	/**
+	 * Prefix of the DocValues fields containing the document id, followed by the name of its encoding.
+	 * The types sharing an index may use different encodings for ids indexed in the same field.
+	 */
+	public static final String ID_DOC_VALUES_FIELDNAME_PREFIX = "__HSearch_IdDocValues_";
+
 	private static final Log log = LoggerFactory.make();
 
 	private static final LuceneOptions NULL_EMBEDDED_MARKER_OPTIONS;
@@ -100,6 +112,11 @@ public class DocumentBuilderIndexedEntity extends AbstractDocumentBuilder {
 
 	private static final FieldType TENANT_ID_FIELDTYPE = createTenantIdFieldType();
 
+	@SuppressWarnings( "deprecation" )
+	private static final FieldType OBJECT_CLASS_FIELDTYPE = createFrozenFieldType(
+			Field.Store.YES, Field.Index.NOT_ANALYZED_NO_NORMS, Field.TermVector.NO
+	);
+
 	/**
 	 * Flag indicating whether {@link org.apache.lucene.search.IndexSearcher#doc(int, org.apache.lucene.index.StoredFieldVisitor)}
 	 * can be used in order to retrieve documents. This is only safe to do if we know that
@@ -120,6 +137,31 @@ public class DocumentBuilderIndexedEntity extends AbstractDocumentBuilder {
 	 */
 	private final String idFieldName;
 
+	/**
+	 * Whether the entity class is indexed as DocValues as well, see {@link org.hibernate.search.cfg.Environment#PROJECTION_DOC_VALUES}
+	 */
+	private final boolean classDocValues;
+
+	/**
+	 * How the document id is indexed as DocValues, or {@code null} if it isn't
+	 */
+	private final FieldCacheLoadingType idDocValuesType;
+
+	/**
+	 * The name of the DocValues field containing the document id, or {@code null} if it isn't indexed as DocValues
+	 */
+	private final String idDocValuesFieldName;
+
+	/**
+	 * The class name of the indexed type as DocValues, shared by the documents of instances of this exact type
+	 */
+	private final BytesRef classNameDocValue;
+
+	/**
+	 * Whether the metadata of the type or of its embedded types declare facets, and thus need a {@code FacetsConfig}
+	 */
+	private final boolean hasFacets;
+
 	/**
 	 * The property metadata for the document id (not that in the case of a provided id the id getter can be {@code null}.
 	 */
@@ -153,6 +195,18 @@ public DocumentBuilderIndexedEntity(XClass clazz, TypeMetadata typeMetadata, Con
 
 		idFieldName = idPropertyMetadata.getFieldMetadata().iterator().next().getName();
 
+		classDocValues = context.isProjectionDocValuesEnabled();
+		if ( classDocValues ) {
+			// null when the bridge encoding is unknown: the id will be read from the stored fields
+			idDocValuesType = ClassLoadingStrategySelector.guessAppropriateCollectorType( getIdBridge() );
+		}
+		else {
+			idDocValuesType = null;
+		}
+		idDocValuesFieldName = idDocValuesType == null ? null : ID_DOC_VALUES_FIELDNAME_PREFIX + idDocValuesType.name();
+		classNameDocValue = new BytesRef( getBeanClass().getName() );
+		hasFacets = hasFacets( getTypeMetadata() );
+
 		checkAllowFieldSelection();
 		if ( log.isDebugEnabled() ) {
 			log.debugf(
@@ -304,22 +358,19 @@ public Document getDocument(
 		}
 
 		Document doc = new Document();
-		FacetsConfig facetConfig = new FacetsConfig();
+		// only needed when facets are declared; facet fields added by custom bridges are handled below
+		FacetsConfig facetConfig = hasFacets ? new FacetsConfig() : null;
 		Class<?> entityType = objectInitializer.getClass( instance );
 		float documentLevelBoost = getMetadata().getClassBoost( instance );
 
 		// add the class name of the entity to the document
 		if ( containsFieldName( ProjectionConstants.OBJECT_CLASS, includedFieldNames ) ) {
-			@SuppressWarnings( "deprecation" )
-			Field classField =
-					new Field(
-							ProjectionConstants.OBJECT_CLASS,
-							entityType.getName(),
-							Field.Store.YES,
-							Field.Index.NOT_ANALYZED_NO_NORMS,
-							Field.TermVector.NO
-					);
+			Field classField = new Field( ProjectionConstants.OBJECT_CLASS, entityType.getName(), OBJECT_CLASS_FIELDTYPE );
 			doc.add( classField );
+			if ( classDocValues ) {
+				BytesRef className = entityType == getBeanClass() ? classNameDocValue : new BytesRef( entityType.getName() );
+				doc.add( new SortedDocValuesField( ProjectionConstants.OBJECT_CLASS, className ) );
+			}
 		}
 
 		addTenantIdIfRequired( tenantId, doc );
@@ -338,6 +389,9 @@ public Document getDocument(
 			finally {
 				conversionContext.popProperty();
 			}
+			if ( idDocValuesType != null ) {
+				addIdDocValues( doc, idFieldMetaData.getName(), id, conversionContext );
+			}
 		}
 
 		// finally add all other document fields
@@ -355,14 +409,46 @@ public Document getDocument(
 				documentLevelBoost
 		);
 
+		// building the facets copies the document, skip it when there is nothing to translate
+		if ( facetConfig != null || containsFacetFields( doc ) ) {
+			try {
+				doc = ( facetConfig != null ? facetConfig : new FacetsConfig() ).build( doc );
+			}
+			catch (IOException e) {
+				throw log.errorDuringFacetingIndexing( e );
+			}
+		}
+		return doc;
+	}
 
-		try {
-			doc = facetConfig.build( doc );
+	private static boolean hasFacets(TypeMetadata typeMetadata) {
+		// includes the fields of embedded types
+		for ( DocumentFieldMetadata fieldMetadata : typeMetadata.getAllDocumentFieldMetadata() ) {
+			if ( fieldMetadata.hasFacets() ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean containsFacetFields(Document doc) {
+		for ( IndexableField field : doc.getFields() ) {
+			if ( field instanceof SortedSetDocValuesFacetField || field instanceof FacetField || field instanceof AssociationFacetField ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void addIdDocValues(Document doc, String fieldName, Serializable id, ConversionContext conversionContext) {
+		final Object value;
+		if ( idDocValuesType == FieldCacheLoadingType.STRING ) {
+			value = objectToString( getIdBridge(), fieldName, id, conversionContext );
 		}
-		catch (IOException e) {
-			throw log.errorDuringFacetingIndexing( e );
+		else {
+			value = id;
 		}
-		return doc;
+		doc.add( idDocValuesType.createDocValuesField( idDocValuesFieldName, value ) );
 	}
 
 	private void addTenantIdIfRequired(String tenantId, Document doc) {
@@ -375,6 +461,13 @@ private void addTenantIdIfRequired(String tenantId, Document doc) {
 		}
 	}
 
+	@SuppressWarnings( "deprecation" )
+	private static FieldType createFrozenFieldType(Field.Store store, Field.Index index, Field.TermVector termVector) {
+		FieldType type = Field.translateFieldType( store, index, termVector );
+		type.freeze();
+		return type;
+	}
+
 	private static FieldType createTenantIdFieldType() {
 		FieldType type = new FieldType();
 		type.setStored( false );
@@ -449,11 +542,10 @@ private void buildDocumentFieldsForEmbeddedObjects(Document doc,
 			float inheritedBoost,
 			Object unproxiedInstance) {
 		for ( EmbeddedTypeMetadata embeddedTypeMetadata : typeMetadata.getEmbeddedTypeMetadata() ) {
-			XMember member = embeddedTypeMetadata.getEmbeddedGetter();
 			float embeddedBoost = inheritedBoost * embeddedTypeMetadata.getStaticBoost();
 			conversionContext.pushProperty( embeddedTypeMetadata.getEmbeddedFieldName() );
 			try {
-				Object value = ReflectionHelper.getMemberValue( unproxiedInstance, member );
+				Object value = embeddedTypeMetadata.getEmbeddedValue( unproxiedInstance );
 				if ( value == null ) {
 					processEmbeddedNullValue( doc, embeddedTypeMetadata, conversionContext );
 					continue;
@@ -553,7 +645,7 @@ private void buildDocumentFieldsForProperties(Document document,
 			XMember member = propertyMetadata.getPropertyAccessor();
 			if ( previousMember != member ) {
 				currentFieldValue = unproxy(
-						ReflectionHelper.getMemberValue( unproxiedInstance, member ),
+						propertyMetadata.getPropertyValue( unproxiedInstance ),
 						objectInitializer
 				);
 				previousMember = member;
@@ -801,6 +893,30 @@ public Set<org.hibernate.search.annotations.FieldCacheType> getFieldCacheOption(
 		return Collections.emptySet();
 	}
 
+	/**
+	 * @return {@code true} if the entity class can be loaded from the DocValues of the
+	 * {@link ProjectionConstants#OBJECT_CLASS} field
+	 */
+	public boolean isClassDocValuesEnabled() {
+		return classDocValues;
+	}
+
+	/**
+	 * @return the type of DocValues in which the document id is indexed as well,
+	 * or {@code null} if it is only available from the stored fields
+	 */
+	public FieldCacheLoadingType getIdDocValuesType() {
+		return idDocValuesType;
+	}
+
+	/**
+	 * @return the name of the DocValues field in which the document id is indexed as well,
+	 * or {@code null} if it is only available from the stored fields
+	 */
+	public String getIdDocValuesFieldName() {
+		return idDocValuesFieldName;
+	}
+
 	public TwoWayFieldBridge getIdBridge() {
 		return (TwoWayFieldBridge) idPropertyMetadata.getFieldMetadata( idFieldName ).getFieldBridge();
 	}
@@ -821,10 +937,7 @@ public Serializable getId(Object entity) {
 			throw new IllegalStateException( "Cannot guess id from entity" );
 		}
 		Object unproxiedEntity = getInstanceInitializer().unproxy( entity );
-		return (Serializable) ReflectionHelper.getMemberValue(
-				unproxiedEntity,
-				idPropertyMetadata.getPropertyAccessor()
-		);
+		return (Serializable) idPropertyMetadata.getPropertyValue( unproxiedEntity );
 	}
 
 	public String objectToString(String fieldName, Object value, ConversionContext conversionContext) {
@@ -8,28 +8,54 @@
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 import org.apache.lucene.search.DocIdSet;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.FixedBitSet;
 import org.apache.lucene.util.OpenBitSet;
 
-import static java.lang.Math.max;
-
 /**
  * A DocIdSet built as applying "AND" operation to a list of other DocIdSet(s).
  * The DocIdSetIterator returned will return only document ids contained
  * in all DocIdSet(s) handed to the constructor.
+ * <p>
+ * The DocIdSet(s) backed by bitsets are intersected a 64 bits word at a time, the other ones
+ * are intersected by advancing their iterators, starting from the one matching the fewest documents.
+ * The result is materialized in a bitset, allowing random access, unless it's sparse enough
+ * for a lazily evaluated conjunction to be cheaper.
  *
  * @author Sanne Grinovero
  * @author Hardy Ferentschik
  */
 public class AndDocIdSet extends DocIdSet {
 
+	/**
+	 * When the cheapest iterator matches less than one document every {@code SPARSE_RATIO}
+	 * the result is not materialized: allocating and scanning a bitset would cost more than
+	 * advancing the iterators.
+	 */
+	private static final int SPARSE_RATIO = 64;
+
+	private static final Comparator<DocIdSetIterator> BY_COST = new Comparator<DocIdSetIterator>() {
+		@Override
+		public int compare(DocIdSetIterator o1, DocIdSetIterator o2) {
+			return Long.compare( o1.cost(), o2.cost() );
+		}
+	};
+
 	private DocIdSet docIdBitSet;
 	private final List<DocIdSet> andedDocIdSets;
 	private final int maxDocNumber;
+	private final boolean cacheable;
+
+	/**
+	 * The iterators created to decide whether the result is materialized, not consumed yet
+	 */
+	private DocIdSetIterator[] unusedIterators;
 
 	public AndDocIdSet(List<DocIdSet> andedDocIdSets, int maxDocs) {
 		if ( andedDocIdSets == null || andedDocIdSets.size() < 2 ) {
@@ -37,122 +63,234 @@ public AndDocIdSet(List<DocIdSet> andedDocIdSets, int maxDocs) {
 		}
 		this.andedDocIdSets = new ArrayList<DocIdSet>( andedDocIdSets ); // make a defensive mutable copy
 		this.maxDocNumber = maxDocs;
+		boolean allCacheable = true;
+		for ( DocIdSet docIdSet : andedDocIdSets ) {
+			allCacheable &= docIdSet == null || docIdSet.isCacheable();
+		}
+		this.cacheable = allCacheable;
 	}
 
 	@Override
 	public DocIdSetIterator iterator() throws IOException {
-		return buildBitSet().iterator();
+		DocIdSet materialized = buildBitSet();
+		if ( materialized != null ) {
+			return materialized.iterator();
+		}
+		return createConjunction();
 	}
 
+	@Override
+	public Bits bits() throws IOException {
+		DocIdSet materialized = buildBitSet();
+		return materialized == null ? null : materialized.bits();
+	}
+
+	/**
+	 * The set keeps references to the anded sets: it is only cacheable when all of them are.
+	 */
 	@Override
 	public boolean isCacheable() {
-		return true;
+		return cacheable;
 	}
 
+	/**
+	 * @return the materialized result, or null if the result is evaluated lazily
+	 */
 	private synchronized DocIdSet buildBitSet() throws IOException {
-		if ( docIdBitSet != null ) {
+		if ( docIdBitSet != null || unusedIterators != null ) {
 			return docIdBitSet;
 		} // check for concurrent initialization
-		//TODO if all andedDocIdSets are actually DocIdBitSet, use their internal BitSet instead of next algo.
-		//TODO if some andedDocIdSets are DocIdBitSet, merge them first.
-		int size = andedDocIdSets.size();
-		DocIdSetIterator[] iterators = new DocIdSetIterator[size];
-		for ( int i = 0; i < size; i++ ) {
-			DocIdSet docIdSet = andedDocIdSets.get( i );
+		final List<DocIdSet> bitSets = new ArrayList<DocIdSet>( andedDocIdSets.size() );
+		final List<DocIdSetIterator> iterators = new ArrayList<DocIdSetIterator>( andedDocIdSets.size() );
+		for ( DocIdSet docIdSet : andedDocIdSets ) {
 			if ( docIdSet == null ) {
 				// Since Lucene 4 even the docIdSet could be returned at null to signify an empty match
-				return EMPTY_DOCIDSET;
+				return docIdBitSet = EMPTY_DOCIDSET;
+			}
+			if ( isWordAddressable( docIdSet ) ) {
+				bitSets.add( docIdSet );
+				continue;
 			}
 			// build all iterators
 			DocIdSetIterator docIdSetIterator = docIdSet.iterator();
 			if ( docIdSetIterator == null ) {
 				// the Lucene API permits to return null on any iterator for empty matches
-				return EMPTY_DOCIDSET;
+				return docIdBitSet = EMPTY_DOCIDSET;
 			}
-			iterators[i] = docIdSetIterator;
+			iterators.add( docIdSetIterator );
+		}
+		final DocIdSetIterator[] sortedIterators = iterators.toArray( new DocIdSetIterator[iterators.size()] );
+		Arrays.sort( sortedIterators, BY_COST );
+		if ( bitSets.isEmpty() && sortedIterators[0].cost() < maxDocNumber / SPARSE_RATIO ) {
+			// the contained DocIdSets are needed to create new iterators
+			unusedIterators = sortedIterators;
+			return null;
 		}
 		andedDocIdSets.clear(); // contained DocIdSets are not needed any more, release them.
-		docIdBitSet = makeDocIdSetOnAgreedBits( iterators ); // before returning hold a copy as cache
+		docIdBitSet = makeDocIdSetOnAgreedBits( bitSets, sortedIterators ); // before returning hold a copy as cache
 		return docIdBitSet;
 	}
 
-	private DocIdSet makeDocIdSetOnAgreedBits(final DocIdSetIterator[] iterators) throws IOException {
-		final OpenBitSet result = new OpenBitSet( maxDocNumber );
-		final int numberOfIterators = iterators.length;
+	private synchronized DocIdSetIterator createConjunction() throws IOException {
+		DocIdSetIterator[] iterators = unusedIterators;
+		if ( iterators.length == 0 ) {
+			iterators = new DocIdSetIterator[andedDocIdSets.size()];
+			for ( int i = 0; i < iterators.length; i++ ) {
+				iterators[i] = andedDocIdSets.get( i ).iterator();
+				if ( iterators[i] == null ) {
+					return DocIdSetIterator.empty();
+				}
+			}
+			Arrays.sort( iterators, BY_COST );
+		}
+		else {
+			unusedIterators = new DocIdSetIterator[0];
+		}
+		return new ConjunctionDocIdSetIterator( iterators );
+	}
 
-		int targetPosition = findFirstTargetPosition( iterators, result );
+	private DocIdSet makeDocIdSetOnAgreedBits(final List<DocIdSet> bitSets, final DocIdSetIterator[] iterators) throws IOException {
+		final FixedBitSet result = new FixedBitSet( maxDocNumber );
+		if ( bitSets.isEmpty() ) {
+			final DocIdSetIterator conjunction = new ConjunctionDocIdSetIterator( iterators );
+			for ( int doc = conjunction.nextDoc(); doc < maxDocNumber; doc = conjunction.nextDoc() ) {
+				result.set( doc );
+			}
+			return result;
+		}
+		andWords( result, bitSets );
+		for ( DocIdSetIterator iterator : iterators ) {
+			result.and( iterator );
+		}
+		return result;
+	}
 
-		if ( targetPosition == DocIdSetIterator.NO_MORE_DOCS ) {
-			return EMPTY_DOCIDSET;
+	/**
+	 * Sets in {@code result} the bits set in all bitsets, a 64 bits word at a time.
+	 */
+	private void andWords(final FixedBitSet result, final List<DocIdSet> bitSets) {
+		final long[] resultWords = result.getBits();
+		int numWords = resultWords.length;
+		for ( DocIdSet bitSet : bitSets ) {
+			numWords = Math.min( numWords, getNumWords( bitSet ) );
+		}
+		copyWords( bitSets.get( 0 ), resultWords, numWords );
+		for ( int i = 1; i < bitSets.size(); i++ ) {
+			andWords( bitSets.get( i ), resultWords, numWords );
 		}
+		final int ghostBits = maxDocNumber & 63;
+		if ( numWords == resultWords.length && ghostBits != 0 ) {
+			// the input sets might have bits beyond maxDocNumber
+			resultWords[numWords - 1] &= ( 1L << ghostBits ) - 1;
+		}
+	}
 
-		// Each iterator can vote "ok" for the current target to
-		// be reached; when all agree the bit is set.
-		// if an iterator disagrees (it jumped longer), it's current position becomes the new targetPosition
-		// for the others and he is considered "first" in the voting round (every iterator votes for himself ;-)
+	private static boolean isWordAddressable(DocIdSet docIdSet) {
+		return docIdSet instanceof FixedBitSet || docIdSet instanceof OpenBitSet || docIdSet instanceof OffHeapBitSet;
+	}
 
-		int i = 0;
-		int votes = 0; //could be smarter but would make the code even more complex for a minor optimization out of cycle.
-		// enter main loop:
-		while ( true ) {
-			final DocIdSetIterator iterator = iterators[i];
-			int position = targetPosition;
-			if ( !iteratorAlreadyOnTargetPosition( targetPosition, iterator ) ) {
-				position = iterator.advance( targetPosition );
+	private static int getNumWords(DocIdSet bitSet) {
+		if ( bitSet instanceof FixedBitSet ) {
+			return FixedBitSet.bits2words( ( (FixedBitSet) bitSet ).length() );
+		}
+		else if ( bitSet instanceof OpenBitSet ) {
+			return ( (OpenBitSet) bitSet ).getNumWords();
+		}
+		else {
+			return ( (OffHeapBitSet) bitSet ).getNumWords();
+		}
+	}
+
+	private static void copyWords(DocIdSet bitSet, long[] resultWords, int numWords) {
+		if ( bitSet instanceof OffHeapBitSet ) {
+			final OffHeapBitSet offHeapBitSet = (OffHeapBitSet) bitSet;
+			for ( int i = 0; i < numWords; i++ ) {
+				resultWords[i] = offHeapBitSet.getWord( i );
 			}
-			if ( position == DocIdSetIterator.NO_MORE_DOCS ) {
-				return result;
-			} //exit condition
-			if ( position == targetPosition ) {
-				if ( ++votes == numberOfIterators ) {
-					result.fastSet( position );
-					votes = 0;
-					targetPosition++;
-				}
+		}
+		else {
+			System.arraycopy( getHeapWords( bitSet ), 0, resultWords, 0, numWords );
+		}
+	}
+
+	private static void andWords(DocIdSet bitSet, long[] resultWords, int numWords) {
+		if ( bitSet instanceof OffHeapBitSet ) {
+			final OffHeapBitSet offHeapBitSet = (OffHeapBitSet) bitSet;
+			for ( int i = 0; i < numWords; i++ ) {
+				resultWords[i] &= offHeapBitSet.getWord( i );
 			}
-			else {
-				votes = 1;
-				targetPosition = position;
+		}
+		else {
+			final long[] words = getHeapWords( bitSet );
+			for ( int i = 0; i < numWords; i++ ) {
+				resultWords[i] &= words[i];
 			}
-			i = ++i % numberOfIterators;
 		}
 	}
 
-	// see  HSEARCH-610
-	private boolean iteratorAlreadyOnTargetPosition(int targetPosition, DocIdSetIterator iterator) {
-		return iterator.docID() == targetPosition;
+	private static long[] getHeapWords(DocIdSet bitSet) {
+		if ( bitSet instanceof FixedBitSet ) {
+			return ( (FixedBitSet) bitSet ).getBits();
+		}
+		else {
+			return ( (OpenBitSet) bitSet ).getBits();
+		}
 	}
 
-	private int findFirstTargetPosition(final DocIdSetIterator[] iterators, OpenBitSet result) throws IOException {
-		int targetPosition = iterators[0].nextDoc();
-		if ( targetPosition == DocIdSetIterator.NO_MORE_DOCS ) {
-			// first iterator has no values, so skip all
-			return DocIdSetIterator.NO_MORE_DOCS;
+	/**
+	 * Iterates on the documents matched by all iterators: the first one, which should be
+	 * the cheapest, leads and the others are advanced to its position; when one of them
+	 * jumps beyond it, the leader is advanced in turn.
+	 */
+	private static final class ConjunctionDocIdSetIterator extends DocIdSetIterator {
+
+		private final DocIdSetIterator lead;
+		private final DocIdSetIterator[] others;
+		private int doc = -1;
+
+		ConjunctionDocIdSetIterator(DocIdSetIterator[] iterators) {
+			this.lead = iterators[0];
+			this.others = Arrays.copyOfRange( iterators, 1, iterators.length );
 		}
 
-		boolean allIteratorsShareSameFirstTarget = true;
+		@Override
+		public int docID() {
+			return doc;
+		}
 
-		//iterator initialize, just one "next" for each DocIdSetIterator
-		for ( int i = 1; i < iterators.length; i++ ) {
-			final DocIdSetIterator iterator = iterators[i];
-			final int position = iterator.nextDoc();
-			if ( position == DocIdSetIterator.NO_MORE_DOCS ) {
-				//current iterator has no values, so skip all
-				return DocIdSetIterator.NO_MORE_DOCS;
-			}
-			if ( targetPosition != position ) {
-				targetPosition = max( targetPosition, position );
-				allIteratorsShareSameFirstTarget = false;
-			}
+		@Override
+		public int nextDoc() throws IOException {
+			return doNext( lead.nextDoc() );
 		}
-		// end iterator initialize
 
-		if ( allIteratorsShareSameFirstTarget ) {
-			result.fastSet( targetPosition );
-			targetPosition++;
+		@Override
+		public int advance(int target) throws IOException {
+			return doNext( lead.advance( target ) );
 		}
 
-		return targetPosition;
+		private int doNext(int target) throws IOException {
+			advanceLead:
+			while ( target != NO_MORE_DOCS ) {
+				for ( DocIdSetIterator other : others ) {
+					// see  HSEARCH-610: an iterator might already be on the target position
+					int position = other.docID();
+					if ( position < target ) {
+						position = other.advance( target );
+					}
+					if ( position > target ) {
+						target = lead.advance( position );
+						continue advanceLead;
+					}
+				}
+				return doc = target;
+			}
+			return doc = NO_MORE_DOCS;
+		}
+
+		@Override
+		public long cost() {
+			return lead.cost();
+		}
 	}
 
 	public static final DocIdSet EMPTY_DOCIDSET = new DocIdSet() {
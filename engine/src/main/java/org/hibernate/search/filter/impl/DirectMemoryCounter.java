@@ -0,0 +1,70 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.filter.impl;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocates direct buffers and counts the native memory they use until the garbage collector
+ * reclaims them, which is when the JVM frees their memory.
+ */
+final class DirectMemoryCounter {
+
+	private final AtomicLong allocatedBytes = new AtomicLong();
+	private final ReferenceQueue<ByteBuffer> collected = new ReferenceQueue<ByteBuffer>();
+
+	/**
+	 * The references of the buffers not reclaimed yet: they need to be reachable to be enqueued.
+	 */
+	private final Set<BufferReference> pending = Collections.newSetFromMap( new ConcurrentHashMap<BufferReference, Boolean>() );
+
+	/**
+	 * @param capacity the size of the buffer, in bytes
+	 * @return a new direct buffer
+	 */
+	ByteBuffer allocate(int capacity) {
+		expungeCollected();
+		final ByteBuffer buffer = ByteBuffer.allocateDirect( capacity );
+		pending.add( new BufferReference( buffer, collected ) );
+		allocatedBytes.addAndGet( capacity );
+		return buffer;
+	}
+
+	/**
+	 * @return the native memory used by the buffers not reclaimed yet, in bytes
+	 */
+	long getAllocatedBytes() {
+		expungeCollected();
+		return allocatedBytes.get();
+	}
+
+	private void expungeCollected() {
+		BufferReference reference;
+		while ( ( reference = (BufferReference) collected.poll() ) != null ) {
+			if ( pending.remove( reference ) ) {
+				allocatedBytes.addAndGet( -reference.capacity );
+			}
+		}
+	}
+
+	private static final class BufferReference extends PhantomReference<ByteBuffer> {
+
+		private final int capacity;
+
+		BufferReference(ByteBuffer buffer, ReferenceQueue<ByteBuffer> queue) {
+			super( buffer, queue );
+			this.capacity = buffer.capacity();
+		}
+	}
+
+}
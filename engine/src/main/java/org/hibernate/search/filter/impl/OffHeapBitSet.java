@@ -0,0 +1,170 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.filter.impl;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.Bits;
+
+/**
+ * An immutable set of document ids of a segment, stored as a bitset in a direct buffer
+ * so that it doesn't use any space in the Java heap.
+ * <p>
+ * The native memory is released by the garbage collector, once the set is not referenced anymore.
+ *
+ * @see OffHeapFilterCache
+ */
+final class OffHeapBitSet extends DocIdSet implements Bits {
+
+	private final LongBuffer words;
+	private final int numBits;
+	private final int cardinality;
+
+	private OffHeapBitSet(LongBuffer words, int numBits, int cardinality) {
+		this.words = words;
+		this.numBits = numBits;
+		this.cardinality = cardinality;
+	}
+
+	/**
+	 * Copies the documents matched by an iterator, without allocating on the heap.
+	 *
+	 * @param iterator the documents to copy; they are consumed
+	 * @param maxDoc the number of documents in the segment
+	 * @param memory allocates the direct buffer and counts its memory
+	 * @return a new set containing all documents returned by the iterator
+	 * @throws IOException if the iterator fails reading the index
+	 */
+	static OffHeapBitSet copyOf(DocIdSetIterator iterator, int maxDoc, DirectMemoryCounter memory) throws IOException {
+		final int numWords = bits2words( maxDoc );
+		// the view keeps the buffer reachable
+		final LongBuffer words = memory.allocate( numWords * 8 ).order( ByteOrder.nativeOrder() ).asLongBuffer();
+		int cardinality = 0;
+		int currentWordIndex = 0;
+		long currentWord = 0L;
+		for ( int doc = iterator.nextDoc(); doc < maxDoc; doc = iterator.nextDoc() ) {
+			final int wordIndex = doc >> 6;
+			if ( wordIndex != currentWordIndex ) {
+				words.put( currentWordIndex, currentWord );
+				currentWordIndex = wordIndex;
+				currentWord = 0L;
+			}
+			currentWord |= 1L << doc;
+			cardinality++;
+		}
+		if ( numWords > 0 ) {
+			words.put( currentWordIndex, currentWord );
+		}
+		return new OffHeapBitSet( words, maxDoc, cardinality );
+	}
+
+	/**
+	 * @return the amount of native memory used by this set, in bytes
+	 */
+	long offHeapBytesUsed() {
+		return words.capacity() * 8L;
+	}
+
+	/**
+	 * @return the number of 64 bits words of this set
+	 */
+	int getNumWords() {
+		return words.capacity();
+	}
+
+	/**
+	 * @param wordIndex the index of the word, lower than {@link #getNumWords()}
+	 * @return the bits of the documents from {@code wordIndex * 64} to {@code wordIndex * 64 + 63}
+	 */
+	long getWord(int wordIndex) {
+		return words.get( wordIndex );
+	}
+
+	@Override
+	public boolean get(int index) {
+		return ( words.get( index >> 6 ) & ( 1L << index ) ) != 0;
+	}
+
+	@Override
+	public int length() {
+		return numBits;
+	}
+
+	@Override
+	public DocIdSetIterator iterator() {
+		return new OffHeapBitSetIterator();
+	}
+
+	@Override
+	public Bits bits() {
+		return this;
+	}
+
+	/**
+	 * The set is owned by the {@link OffHeapFilterCache}, which accounts for its memory and evicts it:
+	 * Lucene's caches, which keep their entries per segment core across reopens, must not retain it.
+	 */
+	@Override
+	public boolean isCacheable() {
+		return false;
+	}
+
+	@Override
+	public long ramBytesUsed() {
+		// only the wrapping objects are on the heap
+		return 64;
+	}
+
+	private static int bits2words(int numBits) {
+		return ( ( numBits - 1 ) >> 6 ) + 1;
+	}
+
+	private final class OffHeapBitSetIterator extends DocIdSetIterator {
+
+		private final int numWords = words.capacity();
+		private int doc = -1;
+
+		@Override
+		public int docID() {
+			return doc;
+		}
+
+		@Override
+		public int nextDoc() {
+			return advance( doc + 1 );
+		}
+
+		@Override
+		public int advance(int target) {
+			if ( target >= numBits ) {
+				return doc = NO_MORE_DOCS;
+			}
+			int wordIndex = target >> 6;
+			long word = words.get( wordIndex ) >>> target;
+			if ( word != 0 ) {
+				return doc = target + Long.numberOfTrailingZeros( word );
+			}
+			while ( ++wordIndex < numWords ) {
+				word = words.get( wordIndex );
+				if ( word != 0 ) {
+					return doc = ( wordIndex << 6 ) + Long.numberOfTrailingZeros( word );
+				}
+			}
+			return doc = NO_MORE_DOCS;
+		}
+
+		@Override
+		public long cost() {
+			return cardinality;
+		}
+	}
+
+}
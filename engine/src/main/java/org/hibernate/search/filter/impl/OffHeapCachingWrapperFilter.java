@@ -0,0 +1,62 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.filter.impl;
+
+import java.io.IOException;
+
+import org.apache.lucene.index.AtomicReaderContext;
+import org.apache.lucene.search.BitsFilteredDocIdSet;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.util.Bits;
+
+/**
+ * Alternative to {@link CachingWrapperFilter} keeping the filter results in an {@link OffHeapFilterCache}.
+ * The results are cached per segment regardless of deletions, which are applied on each invocation:
+ * they don't need to be computed again when documents are deleted from the segment.
+ *
+ * @see org.hibernate.search.cfg.Environment#CACHE_DOCIDRESULTS_OFF_HEAP_SIZE
+ */
+@SuppressWarnings("serial")
+public class OffHeapCachingWrapperFilter extends Filter {
+
+	private final Filter filter;
+	private final OffHeapFilterCache cache;
+
+	/**
+	 * @param filter Filter to cache results of
+	 * @param cache the cache storing the results
+	 */
+	public OffHeapCachingWrapperFilter(Filter filter, OffHeapFilterCache cache) {
+		this.filter = filter;
+		this.cache = cache;
+	}
+
+	@Override
+	public DocIdSet getDocIdSet(AtomicReaderContext context, Bits acceptDocs) throws IOException {
+		return BitsFilteredDocIdSet.wrap( cache.getDocIdSet( filter, context ), acceptDocs );
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getName() + "(" + filter + ")";
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( !( o instanceof OffHeapCachingWrapperFilter ) ) {
+			return false;
+		}
+		return this.filter.equals( ( (OffHeapCachingWrapperFilter) o ).filter );
+	}
+
+	@Override
+	public int hashCode() {
+		return filter.hashCode() ^ 0x5E1F0A7B;
+	}
+
+}
@@ -0,0 +1,285 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.filter.impl;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.lucene.index.AtomicReader;
+import org.apache.lucene.index.AtomicReaderContext;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.Filter;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Caches the results of filters for each segment as bitsets stored out of the Java heap,
+ * so that large cached filters don't need to be promoted to the old generation and are
+ * not flushed under memory pressure as soft references are.
+ * <p>
+ * The memory used by the cache is bounded by a budget in bytes: when it is exceeded, the least
+ * recently used results are evicted. The results of a segment are also evicted as soon as
+ * the segment is closed.
+ * The results of a given filter and segment are computed only once even when requested
+ * concurrently, without blocking threads using other filters or segments.
+ * <p>
+ * The budget only accounts for the cached results: the native memory of evicted results is released
+ * by the garbage collector, once the queries which used them don't reference them anymore. It is not
+ * a hard limit of the native memory used: {@link #getAllocatedBytes()} also includes the evicted results
+ * not reclaimed yet.
+ * <p>
+ * One instance is shared by all filters of a {@code SearchIntegrator}.
+ *
+ * @see OffHeapCachingWrapperFilter
+ */
+public final class OffHeapFilterCache {
+
+	private static final Log log = LoggerFactory.make();
+
+	private final long maxBytes;
+	private final AtomicLong usedBytes = new AtomicLong();
+	private final DirectMemoryCounter memory = new DirectMemoryCounter();
+
+	/**
+	 * Cached results per segment core key, then per filter.
+	 */
+	private final ConcurrentMap<Object, ConcurrentMap<Filter, Entry>> segments = new ConcurrentHashMap<Object, ConcurrentMap<Filter, Entry>>();
+
+	/**
+	 * The results accounted in the budget, least recently used first; guarded by itself.
+	 */
+	private final LinkedHashMap<Entry, Entry> recency = new LinkedHashMap<Entry, Entry>( 16, 0.75f, true );
+
+	/**
+	 * @param maxBytes the maximum amount of native memory the cached results can use
+	 */
+	public OffHeapFilterCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+		if ( log.isDebugEnabled() ) {
+			log.debugf( "Initialising off-heap filter cache with a budget of %d bytes", maxBytes );
+		}
+	}
+
+	/**
+	 * Returns the documents of a segment matching the filter, computing them if they are not cached.
+	 * Deleted documents are not excluded: they need to be filtered out by the caller.
+	 *
+	 * @param filter the filter to apply
+	 * @param context the segment
+	 * @return the matching documents, or {@code null} if there are none
+	 * @throws IOException if the filter fails reading the index
+	 */
+	public DocIdSet getDocIdSet(final Filter filter, final AtomicReaderContext context) throws IOException {
+		final AtomicReader reader = context.reader();
+		final ConcurrentMap<Filter, Entry> segmentEntries = getSegmentEntries( reader );
+		Entry entry = segmentEntries.get( filter );
+		if ( entry == null ) {
+			final Entry newEntry = new Entry( segmentEntries, filter, context, memory );
+			entry = segmentEntries.putIfAbsent( filter, newEntry );
+			if ( entry == null ) {
+				entry = newEntry;
+				entry.compute();
+			}
+		}
+		final OffHeapBitSet docIdSet;
+		try {
+			docIdSet = entry.get();
+		}
+		catch (IOException | RuntimeException e) {
+			// don't cache failures: next invocations will try again
+			segmentEntries.remove( filter, entry );
+			throw e;
+		}
+		if ( docIdSet == null ) {
+			return null;
+		}
+		if ( entry.accounted.compareAndSet( 0, docIdSet.offHeapBytesUsed() ) ) {
+			reserve( entry, docIdSet.offHeapBytesUsed() );
+		}
+		else if ( entry.accounted.get() > 0 ) {
+			touch( entry );
+		}
+		return docIdSet;
+	}
+
+	/**
+	 * @return the amount of native memory currently used by the cached results, in bytes
+	 */
+	public long getUsedBytes() {
+		return usedBytes.get();
+	}
+
+	/**
+	 * @return the amount of native memory currently allocated, in bytes: the cached results and the evicted
+	 * results not reclaimed by the garbage collector yet
+	 */
+	public long getAllocatedBytes() {
+		return memory.getAllocatedBytes();
+	}
+
+	/**
+	 * Discards all cached results.
+	 */
+	public void clear() {
+		for ( Object coreKey : segments.keySet() ) {
+			evictSegment( coreKey );
+		}
+	}
+
+	private ConcurrentMap<Filter, Entry> getSegmentEntries(AtomicReader reader) {
+		final Object coreKey = reader.getCoreCacheKey();
+		ConcurrentMap<Filter, Entry> segmentEntries = segments.get( coreKey );
+		if ( segmentEntries == null ) {
+			final ConcurrentMap<Filter, Entry> newEntries = new ConcurrentHashMap<Filter, Entry>();
+			segmentEntries = segments.putIfAbsent( coreKey, newEntries );
+			if ( segmentEntries == null ) {
+				segmentEntries = newEntries;
+				reader.addCoreClosedListener( new AtomicReader.CoreClosedListener() {
+					@Override
+					public void onClose(Object ownerCoreCacheKey) {
+						evictSegment( ownerCoreCacheKey );
+					}
+				} );
+			}
+		}
+		return segmentEntries;
+	}
+
+	private void evictSegment(Object coreKey) {
+		final Map<Filter, Entry> segmentEntries = segments.remove( coreKey );
+		if ( segmentEntries != null ) {
+			for ( Entry entry : segmentEntries.values() ) {
+				evict( entry );
+			}
+		}
+	}
+
+	private void evict(Entry entry) {
+		entry.segmentEntries.remove( entry.filter, entry );
+		final long bytes = entry.accounted.getAndSet( -1 );
+		if ( bytes > 0 ) {
+			synchronized ( recency ) {
+				if ( recency.remove( entry ) != null ) {
+					usedBytes.addAndGet( -bytes );
+				}
+			}
+		}
+	}
+
+	private void touch(Entry entry) {
+		synchronized ( recency ) {
+			recency.get( entry );
+		}
+	}
+
+	private void reserve(Entry entry, long bytes) {
+		if ( bytes > maxBytes ) {
+			// would evict everything else: just don't keep it
+			evict( entry );
+			return;
+		}
+		synchronized ( recency ) {
+			// unless evicted meanwhile
+			if ( entry.accounted.get() > 0 ) {
+				recency.put( entry, entry );
+				usedBytes.addAndGet( bytes );
+			}
+		}
+		while ( usedBytes.get() > maxBytes ) {
+			final Entry eldest;
+			synchronized ( recency ) {
+				final Iterator<Entry> iterator = recency.keySet().iterator();
+				if ( !iterator.hasNext() ) {
+					return;
+				}
+				eldest = iterator.next();
+			}
+			evict( eldest );
+		}
+	}
+
+	/**
+	 * The results of a filter on a segment, computed by the first thread requesting them.
+	 */
+	private static final class Entry {
+
+		private final ConcurrentMap<Filter, Entry> segmentEntries;
+		private final Filter filter;
+		private final FutureTask<OffHeapBitSet> task;
+
+		/**
+		 * The number of bytes accounted in the cache budget: 0 until computed, -1 once evicted.
+		 */
+		private final AtomicLong accounted = new AtomicLong();
+
+		Entry(ConcurrentMap<Filter, Entry> segmentEntries, final Filter filter, final AtomicReaderContext context,
+				final DirectMemoryCounter memory) {
+			this.segmentEntries = segmentEntries;
+			this.filter = filter;
+			this.task = new FutureTask<OffHeapBitSet>( new Callable<OffHeapBitSet>() {
+				@Override
+				public OffHeapBitSet call() throws IOException {
+					final DocIdSet docIdSet = filter.getDocIdSet( context, null );
+					if ( docIdSet == null ) {
+						return null;
+					}
+					final DocIdSetIterator iterator = docIdSet.iterator();
+					if ( iterator == null ) {
+						return null;
+					}
+					return OffHeapBitSet.copyOf( iterator, context.reader().maxDoc(), memory );
+				}
+			} );
+		}
+
+		void compute() {
+			task.run();
+		}
+
+		OffHeapBitSet get() throws IOException {
+			boolean interrupted = false;
+			try {
+				while ( true ) {
+					try {
+						return task.get();
+					}
+					catch (InterruptedException e) {
+						interrupted = true;
+					}
+				}
+			}
+			catch (ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if ( cause instanceof IOException ) {
+					throw (IOException) cause;
+				}
+				else if ( cause instanceof RuntimeException ) {
+					throw (RuntimeException) cause;
+				}
+				else if ( cause instanceof Error ) {
+					throw (Error) cause;
+				}
+				throw new IOException( cause );
+			}
+			finally {
+				if ( interrupted ) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+
+}
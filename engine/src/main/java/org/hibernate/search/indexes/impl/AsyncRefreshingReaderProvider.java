@@ -0,0 +1,271 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.indexes.impl;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.store.Directory;
+import org.hibernate.search.exception.AssertionFailure;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
+import org.hibernate.search.indexes.spi.DirectoryBasedReaderProvider;
+import org.hibernate.search.store.DirectoryProvider;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+import org.hibernate.search.util.impl.Executors;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * This <code>ReaderProvider</code> shares IndexReaders like {@link SharingBufferReaderProvider},
+ * but never refreshes them on the query thread: a dedicated background thread reopens the
+ * current IndexReader periodically and whenever the backend notifies it about a commit.
+ * <p>
+ * Opening a reader is then a volatile read and an increment of the reference counter;
+ * the trade off is that queries might see index changes with a delay up to the configured
+ * refresh period (or the time needed to react to a commit notification).
+ */
+public class AsyncRefreshingReaderProvider implements DirectoryBasedReaderProvider {
+
+	/**
+	 * Maximum time in milliseconds between two refresh attempts of the shared IndexReader,
+	 * relative to the <code>hibernate.search.[default|indexname].reader</code> scope.
+	 * A value of 0 disables periodic refreshes: only commit notifications will trigger them.
+	 */
+	public static final String REFRESH_PERIOD = "async_refresh_period_ms";
+
+	public static final int DEFAULT_REFRESH_PERIOD_MS = 1000;
+
+	private static final Log log = LoggerFactory.make();
+
+	/**
+	 * contains all Readers (the current one and all unclosed old readers)
+	 */
+	private final Map<IndexReader, ReaderUsagePair> allReaders = new ConcurrentHashMap<IndexReader, ReaderUsagePair>();
+
+	/**
+	 * Prevents enqueueing a new refresh when one is pending already: bursts of commits are coalesced.
+	 */
+	private final AtomicBoolean refreshPending = new AtomicBoolean( false );
+
+	/**
+	 * Only written by the refresher thread (and at initialization), read by any query thread.
+	 */
+	private volatile ReaderUsagePair current;
+
+	/**
+	 * Set before the readers are closed by {@link #stop()}: {@link #current} is never replaced afterwards.
+	 */
+	private volatile boolean stopped;
+
+	private DirectoryProvider<?> directoryProvider;
+	private String indexName;
+	private ScheduledExecutorService refresher;
+
+	private final Runnable refreshTask = new Runnable() {
+		@Override
+		public void run() {
+			refreshPending.set( false );
+			refresh();
+		}
+	};
+
+	@Override
+	public DirectoryReader openIndexReader() {
+		log.tracef( "Opening IndexReader for directoryProvider %s", indexName );
+		while ( true ) {
+			final ReaderUsagePair pair = current;
+			if ( pair.tryIncrementUsage() ) {
+				return pair.reader;
+			}
+			if ( stopped ) {
+				throw log.readerProviderStopped( indexName );
+			}
+			// else the refresher just replaced and closed it: read the new one
+		}
+	}
+
+	@Override
+	public void closeIndexReader(IndexReader reader) {
+		if ( reader == null ) {
+			return;
+		}
+		log.tracef( "Closing IndexReader: %s", reader );
+		ReaderUsagePair container = allReaders.get( reader );
+		container.close();
+	}
+
+	@Override
+	public void initialize(DirectoryBasedIndexManager indexManager, Properties props) {
+		this.directoryProvider = indexManager.getDirectoryProvider();
+		this.indexName = indexManager.getIndexName();
+		int refreshPeriod = ConfigurationParseHelper.getIntValue( props, REFRESH_PERIOD, DEFAULT_REFRESH_PERIOD_MS );
+		if ( refreshPeriod < 0 ) {
+			throw log.negativeRefreshPeriod( REFRESH_PERIOD, indexName, refreshPeriod );
+		}
+		this.current = openNewPair( directoryProvider.getDirectory() );
+		this.refresher = Executors.newScheduledThreadPool( "IndexReader refresher for " + indexName );
+		if ( refreshPeriod > 0 ) {
+			refresher.scheduleWithFixedDelay( refreshTask, refreshPeriod, refreshPeriod, TimeUnit.MILLISECONDS );
+		}
+	}
+
+	/**
+	 * Invoked by the backend after it committed changes to the index:
+	 * schedules an asynchronous refresh of the shared IndexReader.
+	 * Never blocks the caller.
+	 */
+	public void indexChanged() {
+		if ( refreshPending.compareAndSet( false, true ) ) {
+			try {
+				refresher.execute( refreshTask );
+			}
+			catch (RejectedExecutionException e) {
+				// we're being stopped
+				refreshPending.set( false );
+			}
+		}
+	}
+
+	@Override
+	public void stop() {
+		stopped = true;
+		refresher.shutdownNow();
+		try {
+			refresher.awaitTermination( Long.MAX_VALUE, TimeUnit.SECONDS );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		for ( ReaderUsagePair usage : allReaders.values() ) {
+			usage.close();
+		}
+		if ( allReaders.size() != 0 ) {
+			log.readersNotProperlyClosedInReaderProvider();
+		}
+	}
+
+	/**
+	 * Only ever invoked by the single refresher thread, so no locking is needed to replace {@link #current}.
+	 */
+	private void refresh() {
+		final ReaderUsagePair beforeUpdate = current;
+		// #getDirectory must be invoked each time as the underlying directory might "dance" as in
+		// org.hibernate.search.store.impl.FSSlaveDirectoryProvider
+		final Directory directory = directoryProvider.getDirectory();
+		final ReaderUsagePair updated;
+		try {
+			if ( beforeUpdate.reader.directory() != directory ) {
+				updated = openNewPair( directory );
+			}
+			else {
+				DirectoryReader updatedReader = DirectoryReader.openIfChanged( beforeUpdate.reader );
+				if ( updatedReader == null ) {
+					return;
+				}
+				updated = newPair( updatedReader );
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			log.unableToRefreshIndexReader( indexName, e );
+			return;
+		}
+		current = updated;
+		beforeUpdate.close(); // release the token marking it as current
+	}
+
+	private ReaderUsagePair openNewPair(Directory directory) {
+		try {
+			return newPair( readerFactory( directory ) );
+		}
+		catch (IOException e) {
+			throw new SearchException( "Unable to open Lucene IndexReader for IndexManager " + this.indexName, e );
+		}
+	}
+
+	private ReaderUsagePair newPair(DirectoryReader reader) {
+		ReaderUsagePair pair = new ReaderUsagePair( reader );
+		allReaders.put( reader, pair );
+		return pair;
+	}
+
+	//overridable method for testability:
+	protected DirectoryReader readerFactory(final Directory directory) throws IOException {
+		return DirectoryReader.open( directory );
+	}
+
+	/**
+	 * Container for the couple IndexReader,UsageCounter.
+	 */
+	private final class ReaderUsagePair {
+
+		private final DirectoryReader reader;
+
+		/**
+		 * When reaching 0 the reader is closed and discarded, and can never be used again.
+		 * Starts at 1 because the first usage token is artificial: means "current" is not to be closed.
+		 */
+		private final AtomicInteger usageCounter = new AtomicInteger( 1 );
+
+		ReaderUsagePair(DirectoryReader r) {
+			reader = r;
+		}
+
+		/**
+		 * @return {@code false} if the reader was closed already, in which case the caller didn't acquire a token.
+		 */
+		boolean tryIncrementUsage() {
+			while ( true ) {
+				int refCount = usageCounter.get();
+				if ( refCount <= 0 ) {
+					return false;
+				}
+				if ( usageCounter.compareAndSet( refCount, refCount + 1 ) ) {
+					return true;
+				}
+			}
+		}
+
+		/**
+		 * Closes the <code>IndexReader</code> if no other resource is using it
+		 * in which case the reference to this container will also be removed.
+		 */
+		void close() {
+			int refCount = usageCounter.decrementAndGet();
+			if ( refCount == 0 ) {
+				ReaderUsagePair removed = allReaders.remove( reader );
+				try {
+					reader.close();
+				}
+				catch (IOException e) {
+					log.unableToCloseLuceneIndexReader( e );
+				}
+				assert removed != null;
+			}
+			else if ( refCount < 0 ) {
+				throw new AssertionFailure(
+						"Closing an IndexReader for which you didn't own a lock-token, or somebody else which didn't own closed already."
+				);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "Reader:" + this.hashCode() + " ref.count=" + usageCounter.get();
+		}
+	}
+
+}
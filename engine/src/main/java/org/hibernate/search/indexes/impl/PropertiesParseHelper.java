@@ -38,6 +38,8 @@ public class PropertiesParseHelper {
 
 	private static final Log log = LoggerFactory.make();
 
+	private static final int DEFAULT_MAX_GROUP_COMMIT_SIZE = 1000;
+
 	private PropertiesParseHelper() {
 		// no need to create instances
 	}
@@ -95,6 +97,36 @@ public static int extractMaxQueueSize(String indexName, Properties indexProps) {
 		}
 	}
 
+	/**
+	 * @param indexName the index name (used for logging)
+	 * @param indexProps MaskedProperties for this IndexManager
+	 *
+	 * @return the number of threads applying each batch of changes to this index
+	 */
+	public static int extractApplyThreads(String indexName, Properties indexProps) {
+		int applyThreads = ConfigurationParseHelper.getIntValue( indexProps, Environment.WORKER_APPLY_THREADS, 1 );
+		if ( applyThreads < 1 ) {
+			throw new SearchException(
+					"Property " + Environment.WORKER_APPLY_THREADS + " on index "
+							+ indexName + " must be strictly positive"
+			);
+		}
+		return applyThreads;
+	}
+
+	public static int extractMaxGroupCommitSize(String indexName, Properties indexProps) {
+		int maxGroupCommitSize = ConfigurationParseHelper.getIntValue(
+				indexProps, Environment.WORKER_MAX_GROUP_COMMIT_SIZE, DEFAULT_MAX_GROUP_COMMIT_SIZE
+		);
+		if ( maxGroupCommitSize < 1 ) {
+			throw new SearchException(
+					"Property " + Environment.WORKER_MAX_GROUP_COMMIT_SIZE + " on index "
+							+ indexName + " must be strictly positive"
+			);
+		}
+		return maxGroupCommitSize;
+	}
+
 	public static OptimizerStrategy getOptimizerStrategy(IndexManager callback,
 			Properties indexProperties,
 			WorkerBuildContext buildContext) {
@@ -157,6 +189,9 @@ else if ( "not-shared".equalsIgnoreCase( readerProviderImplName ) ) {
 		else if ( "shared".equalsIgnoreCase( readerProviderImplName ) ) {
 			readerProvider = new SharingBufferReaderProvider();
 		}
+		else if ( "async".equalsIgnoreCase( readerProviderImplName ) ) {
+			readerProvider = new AsyncRefreshingReaderProvider();
+		}
 		else {
 			ServiceManager serviceManager = buildContext.getServiceManager();
 			readerProvider = ClassLoaderHelper.instanceFromName(
@@ -176,6 +176,36 @@ public long getObjectsLoadedCount() {
 			return delegate.getObjectsLoadedCount();
 		}
 
+		@Override
+		public long getFacetReaderStateCacheHitCount() {
+			return delegate.getFacetReaderStateCacheHitCount();
+		}
+
+		@Override
+		public long getFacetReaderStateCacheMissCount() {
+			return delegate.getFacetReaderStateCacheMissCount();
+		}
+
+		@Override
+		public Map<String, Long> getQueryPhaseLatencyPercentilesByIndex(String phase, double percentile) {
+			return delegate.getQueryPhaseLatencyPercentilesByIndex( phase, percentile );
+		}
+
+		@Override
+		public Map<String, Long> getQueryPhaseLatencyPercentilesByEntity(String phase, double percentile) {
+			return delegate.getQueryPhaseLatencyPercentilesByEntity( phase, percentile );
+		}
+
+		@Override
+		public Map<String, Long> getGroupCommitCountByIndex() {
+			return delegate.getGroupCommitCountByIndex();
+		}
+
+		@Override
+		public Map<String, Double> getAverageGroupCommitSizeByIndex() {
+			return delegate.getAverageGroupCommitSizeByIndex();
+		}
+
 		@Override
 		public boolean isStatisticsEnabled() {
 			return delegate.isStatisticsEnabled();
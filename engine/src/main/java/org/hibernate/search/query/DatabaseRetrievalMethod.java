@@ -24,5 +24,14 @@ public enum DatabaseRetrievalMethod {
 	 * Load each object by its identifier one by one.
 	 * Useful if a batch size is set in the entity's mapping
 	 */
-	FIND_BY_ID
+	FIND_BY_ID,
+
+	/**
+	 * Like {@link #QUERY}, but the queries loading entities of different id spaces
+	 * (unrelated entity hierarchies) are executed concurrently, each one in its own stateless session.
+	 * The loaded objects are detached: their lazy associations can't be initialized.
+	 *
+	 * Useful for read-only result pages mixing several entity types
+	 */
+	PARALLEL_QUERY
 }
@@ -0,0 +1,110 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.query;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.util.BytesRef;
+
+/**
+ * An opaque position in the results of a query: the sort values and the document of a result.
+ * <p>
+ * A query resumed after a cursor only collects the results sorted after it, so the cost of
+ * retrieving a page doesn't depend on its depth, unlike using the {@code firstResult} pagination
+ * parameter.
+ * <p>
+ * A cursor can only be used with a query having the same sort as the query it was created from.
+ * If the index changes between two pages, some results might be skipped or returned twice, as
+ * with {@code firstResult} pagination.
+ * <p>
+ * Cursors are serializable, as long as the values of the sort fields are.
+ *
+ * @see org.hibernate.search.query.engine.spi.HSQuery#searchAfter(SearchCursor)
+ */
+public final class SearchCursor implements Serializable {
+
+	private final int doc;
+	private final float score;
+	private final int shardIndex;
+
+	/**
+	 * The sort values of the document, {@code null} when sorting by relevance.
+	 * {@code BytesRef}s are replaced by {@code SerializableBytes}.
+	 */
+	private final Object[] fields;
+
+	private SearchCursor(int doc, float score, int shardIndex, Object[] fields) {
+		this.doc = doc;
+		this.score = score;
+		this.shardIndex = shardIndex;
+		this.fields = fields;
+	}
+
+	/**
+	 * @param scoreDoc a result of a query
+	 * @return a cursor positioned on the given result
+	 */
+	public static SearchCursor fromScoreDoc(ScoreDoc scoreDoc) {
+		Object[] fields = null;
+		if ( scoreDoc instanceof FieldDoc ) {
+			final Object[] sortValues = ( (FieldDoc) scoreDoc ).fields;
+			fields = new Object[sortValues.length];
+			for ( int i = 0; i < sortValues.length; i++ ) {
+				fields[i] = sortValues[i] instanceof BytesRef ? new SerializableBytes( (BytesRef) sortValues[i] ) : sortValues[i];
+			}
+		}
+		return new SearchCursor( scoreDoc.doc, scoreDoc.score, scoreDoc.shardIndex, fields );
+	}
+
+	/**
+	 * @return the result the cursor is positioned on, a {@code FieldDoc} if the query is sorted by fields
+	 */
+	public ScoreDoc toScoreDoc() {
+		if ( fields == null ) {
+			return new ScoreDoc( doc, score, shardIndex );
+		}
+		final Object[] sortValues = new Object[fields.length];
+		for ( int i = 0; i < fields.length; i++ ) {
+			sortValues[i] = fields[i] instanceof SerializableBytes ? ( (SerializableBytes) fields[i] ).toBytesRef() : fields[i];
+		}
+		return new FieldDoc( doc, score, sortValues, shardIndex );
+	}
+
+	/**
+	 * @return the number of sort values of the cursor, 0 for a query sorted by relevance
+	 */
+	public int getSortFieldsCount() {
+		return fields == null ? 0 : fields.length;
+	}
+
+	@Override
+	public String toString() {
+		return "SearchCursor{doc=" + doc + ", score=" + score + ", fields=" + Arrays.toString( fields ) + '}';
+	}
+
+	private static final class SerializableBytes implements Serializable {
+
+		private final byte[] bytes;
+
+		SerializableBytes(BytesRef bytesRef) {
+			this.bytes = Arrays.copyOfRange( bytesRef.bytes, bytesRef.offset, bytesRef.offset + bytesRef.length );
+		}
+
+		BytesRef toBytesRef() {
+			return new BytesRef( bytes );
+		}
+
+		@Override
+		public String toString() {
+			return new BytesRef( bytes ).utf8ToString();
+		}
+	}
+
+}
@@ -12,6 +12,7 @@
 import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
 import org.hibernate.search.query.dsl.SpatialTermination;
 import org.hibernate.search.spatial.SpatialFieldBridgeByHash;
+import org.hibernate.search.spatial.SpatialFieldBridgeByNumericHash;
 import org.hibernate.search.spatial.SpatialFieldBridgeByRange;
 import org.hibernate.search.spatial.impl.SpatialQueryBuilderFromCoordinates;
 import org.hibernate.search.util.logging.impl.Log;
@@ -52,6 +53,14 @@ private Query createSpatialQuery() {
 					spatialContext.getRadiusDistance(), // always in KM so far, no need to convert
 					coordinatesField );
 		}
+		else if ( fieldBridge instanceof SpatialFieldBridgeByNumericHash ) {
+			return SpatialQueryBuilderFromCoordinates.buildSpatialQueryByNumericHash(
+					spatialContext.getCoordinates(),
+					spatialContext.getRadiusDistance(), // always in KM so far, no need to convert
+					coordinatesField,
+					( (SpatialFieldBridgeByNumericHash) fieldBridge ).getSpatialHashLevel(),
+					queryContext.getFactory() );
+		}
 		else if ( fieldBridge instanceof SpatialFieldBridgeByRange ) {
 			return SpatialQueryBuilderFromCoordinates.buildSpatialQueryByRange(
 					spatialContext.getCoordinates(),
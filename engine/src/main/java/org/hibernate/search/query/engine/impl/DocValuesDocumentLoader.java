@@ -0,0 +1,138 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.query.engine.impl;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.AtomicReaderContext;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.ReaderUtil;
+import org.hibernate.search.engine.ProjectionConstants;
+import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
+import org.hibernate.search.query.fieldcache.impl.FieldCacheLoadingType;
+import org.hibernate.search.query.fieldcache.impl.FieldLoadingStrategy;
+import org.hibernate.search.query.fieldcache.impl.StringFieldLoadingStrategy;
+
+/**
+ * Rebuilds the entity class and id fields of a matching document from DocValues, avoiding
+ * to decompress its stored fields. The returned {@code Document} only contains these fields,
+ * so it can be processed by the field bridges exactly as a document loaded with field selection.
+ * <p>
+ * Not threadsafe: each {@code DocumentExtractor} uses its own instance.
+ */
+final class DocValuesDocumentLoader {
+
+	private final List<AtomicReaderContext> leaves;
+	private final Map<String, Class<?>> targetedClasses;
+	private final Class<?> singleClassIfPossible;
+	private final boolean needId;
+
+	/**
+	 * Loading strategies for the class name, per leaf; null if the class is known in advance
+	 */
+	private final FieldLoadingStrategy[] classLoaders;
+
+	/**
+	 * Loading strategies for the document id, per class and per leaf
+	 */
+	private final Map<Class<?>, FieldLoadingStrategy[]> idLoaders = new HashMap<Class<?>, FieldLoadingStrategy[]>();
+	private final Map<Class<?>, DocumentBuilderIndexedEntity> documentBuilders;
+
+	DocValuesDocumentLoader(IndexReader indexReader,
+			Map<String, Class<?>> targetedClasses,
+			Class<?> singleClassIfPossible,
+			boolean needId,
+			Map<Class<?>, DocumentBuilderIndexedEntity> documentBuilders) {
+		this.leaves = indexReader.leaves();
+		this.targetedClasses = targetedClasses;
+		this.singleClassIfPossible = singleClassIfPossible;
+		this.needId = needId;
+		this.documentBuilders = documentBuilders;
+		this.classLoaders = singleClassIfPossible == null ? new FieldLoadingStrategy[leaves.size()] : null;
+	}
+
+	/**
+	 * @param docId the document id relative to the top level reader
+	 * @return a document containing the needed class and id fields, or {@code null} if some DocValues are missing
+	 * for this document, in which case its stored fields need to be loaded
+	 * @throws IOException if the index can't be read
+	 */
+	Document load(int docId) throws IOException {
+		final int leafIndex = ReaderUtil.subIndex( docId, leaves );
+		final AtomicReaderContext leaf = leaves.get( leafIndex );
+		final int relativeDocId = docId - leaf.docBase;
+		final Document document = new Document();
+		final Class<?> clazz;
+		if ( singleClassIfPossible != null ) {
+			clazz = singleClassIfPossible;
+		}
+		else {
+			FieldLoadingStrategy classLoader = classLoaders[leafIndex];
+			if ( classLoader == null ) {
+				classLoader = new StringFieldLoadingStrategy( ProjectionConstants.OBJECT_CLASS );
+				classLoader.loadNewCacheValues( leaf );
+				classLoaders[leafIndex] = classLoader;
+			}
+			final String className = (String) classLoader.collect( relativeDocId );
+			clazz = className == null ? null : targetedClasses.get( className );
+			if ( clazz == null ) {
+				return null;
+			}
+			document.add( new StoredField( ProjectionConstants.OBJECT_CLASS, className ) );
+		}
+		if ( needId ) {
+			final DocumentBuilderIndexedEntity documentBuilder = documentBuilders.get( clazz );
+			final Object id = getIdLoader( clazz, documentBuilder, leafIndex ).collect( relativeDocId );
+			if ( id == null ) {
+				return null;
+			}
+			document.add( createStoredField( documentBuilder.getIdKeywordName(), id ) );
+		}
+		return document;
+	}
+
+	private FieldLoadingStrategy getIdLoader(Class<?> clazz, DocumentBuilderIndexedEntity documentBuilder, int leafIndex) throws IOException {
+		FieldLoadingStrategy[] loaders = idLoaders.get( clazz );
+		if ( loaders == null ) {
+			loaders = new FieldLoadingStrategy[leaves.size()];
+			idLoaders.put( clazz, loaders );
+		}
+		FieldLoadingStrategy loader = loaders[leafIndex];
+		if ( loader == null ) {
+			FieldCacheLoadingType type = documentBuilder.getIdDocValuesType();
+			loader = type.createLoadingStrategy( documentBuilder.getIdDocValuesFieldName() );
+			loader.loadNewCacheValues( leaves.get( leafIndex ) );
+			loaders[leafIndex] = loader;
+		}
+		return loader;
+	}
+
+	private static StoredField createStoredField(String fieldName, Object value) {
+		if ( value instanceof String ) {
+			return new StoredField( fieldName, (String) value );
+		}
+		else if ( value instanceof Long ) {
+			return new StoredField( fieldName, (Long) value );
+		}
+		else if ( value instanceof Float ) {
+			return new StoredField( fieldName, (Float) value );
+		}
+		else if ( value instanceof Double ) {
+			return new StoredField( fieldName, (Double) value );
+		}
+		else {
+			// Byte and Short ids are indexed as int fields
+			return new StoredField( fieldName, ( (Number) value ).intValue() );
+		}
+	}
+
+}
@@ -22,6 +22,8 @@
 import org.hibernate.search.bridge.util.impl.ContextualExceptionBridgeHelper;
 import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
 import org.hibernate.search.engine.impl.DocumentBuilderHelper;
+import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
+import org.hibernate.search.engine.spi.EntityIndexBinding;
 import org.hibernate.search.query.engine.spi.DocumentExtractor;
 import org.hibernate.search.query.engine.spi.EntityInfo;
 
@@ -57,11 +59,13 @@ public class DocumentExtractorImpl implements DocumentExtractor {
 	private ReusableDocumentStoredFieldVisitor fieldLoadingVisitor;
 	private boolean allowFieldSelection;
 	private boolean needId;
-	private final Map<String, Class> targetedClasses;
+	private boolean needProjectedFields;
+	private DocValuesDocumentLoader docValuesLoader;
+	private final Map<String, Class<?>> targetedClasses;
 	private int firstIndex;
 	private int maxIndex;
 	private Query query;
-	private final Class singleClassIfPossible; //null when not possible
+	private final Class<?> singleClassIfPossible; //null when not possible
 	private final ConversionContext exceptionWrap = new ContextualExceptionBridgeHelper();
 
 	public DocumentExtractorImpl(QueryHits queryHits,
@@ -83,7 +87,7 @@ public DocumentExtractorImpl(QueryHits queryHits,
 		}
 		this.queryHits = queryHits;
 		this.allowFieldSelection = allowFieldSelection;
-		this.targetedClasses = new HashMap<String, Class>( classesAndSubclasses.size() );
+		this.targetedClasses = new HashMap<String, Class<?>>( classesAndSubclasses.size() );
 		for ( Class<?> clazz : classesAndSubclasses ) {
 			//useful to reload classes from index without using reflection
 			targetedClasses.put( clazz.getName(), clazz );
@@ -99,6 +103,7 @@ public DocumentExtractorImpl(QueryHits queryHits,
 		this.firstIndex = firstIndex;
 		this.maxIndex = maxIndex;
 		initFieldSelection( projection, idFieldNames );
+		initDocValuesLoading( classesAndSubclasses );
 	}
 
 	private void initFieldSelection(String[] projection, Set<String> idFieldNames) {
@@ -142,6 +147,7 @@ else if ( ProjectionConstants.SPATIAL_DISTANCE.equals( projectionName ) ) {
 					continue;
 				}
 				else {
+					needProjectedFields = true;
 					fields.add( projectionName );
 				}
 			}
@@ -160,6 +166,34 @@ else if ( ProjectionConstants.SPATIAL_DISTANCE.equals( projectionName ) ) {
 		// else: this.fieldSelector = null; //We need no fields at all
 	}
 
+	/**
+	 * When only the entity class and id are needed and all involved entities index them as DocValues,
+	 * these can be read from DocValues rather than from the stored fields.
+	 */
+	private void initDocValuesLoading(Set<Class<?>> classesAndSubclasses) {
+		if ( fieldLoadingVisitor == null || !allowFieldSelection || needProjectedFields ) {
+			return;
+		}
+		Map<Class<?>, DocumentBuilderIndexedEntity> documentBuilders = new HashMap<Class<?>, DocumentBuilderIndexedEntity>( classesAndSubclasses.size() );
+		for ( Class<?> clazz : classesAndSubclasses ) {
+			EntityIndexBinding binding = extendedIntegrator.getIndexBinding( clazz );
+			if ( binding == null ) {
+				return;
+			}
+			DocumentBuilderIndexedEntity documentBuilder = binding.getDocumentBuilder();
+			if ( singleClassIfPossible == null && !documentBuilder.isClassDocValuesEnabled() ) {
+				return;
+			}
+			if ( needId && documentBuilder.getIdDocValuesType() == null ) {
+				return;
+			}
+			documentBuilders.put( clazz, documentBuilder );
+		}
+		this.docValuesLoader = new DocValuesDocumentLoader(
+				searcher.getIndexReader(), targetedClasses, singleClassIfPossible, needId, documentBuilders
+		);
+	}
+
 	private EntityInfo extractEntityInfo(int docId, Document document, int scoreDocIndex, ConversionContext exceptionWrap) throws IOException {
 		Class clazz = extractClass( docId, document, scoreDocIndex );
 		String idName = DocumentBuilderHelper.getDocumentIdName( extendedIntegrator, clazz );
@@ -201,7 +235,13 @@ private Class extractClass(int docId, Document document, int scoreDocIndex) thro
 	@Override
 	public EntityInfo extract(int scoreDocIndex) throws IOException {
 		int docId = queryHits.docId( scoreDocIndex );
-		Document document = extractDocument( scoreDocIndex );
+		Document document = null;
+		if ( docValuesLoader != null ) {
+			document = docValuesLoader.load( docId );
+		}
+		if ( document == null ) {
+			document = extractDocument( scoreDocIndex );
+		}
 
 		EntityInfo entityInfo = extractEntityInfo( docId, document, scoreDocIndex, exceptionWrap );
 		Object[] eip = entityInfo.getProjection();
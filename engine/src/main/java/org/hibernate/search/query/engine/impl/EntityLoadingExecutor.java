@@ -0,0 +1,61 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.query.engine.impl;
+
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+import org.hibernate.search.util.impl.Executors;
+
+/**
+ * Runs the queries loading the entities matching a full-text query concurrently, when they target
+ * several unrelated entity hierarchies, and extracts the next results of forward only scrolls from the index
+ * in the background when {@link Environment#QUERY_SCROLL_PREFETCH} is enabled.
+ * <p>
+ * The executor is shared by all queries of a SearchIntegrator, its size is set by
+ * {@link Environment#QUERY_LOADING_THREADS}. Its threads are only started once entities are loaded concurrently.
+ */
+public class EntityLoadingExecutor {
+
+	private static final int DEFAULT_LOADING_THREADS = 4;
+
+	private final ThreadPoolExecutor executor;
+	private final boolean scrollPrefetchEnabled;
+
+	public EntityLoadingExecutor(Properties properties) {
+		int threads = ConfigurationParseHelper.getIntValue( properties, Environment.QUERY_LOADING_THREADS, DEFAULT_LOADING_THREADS );
+		executor = Executors.newFixedThreadPool( Math.max( threads, 1 ), "Entity loading" );
+		scrollPrefetchEnabled = ConfigurationParseHelper.getBooleanValue( properties, Environment.QUERY_SCROLL_PREFETCH, false );
+	}
+
+	/**
+	 * @return {@code true} if forward only scrolls should extract their next results with this executor
+	 */
+	public boolean isScrollPrefetchEnabled() {
+		return scrollPrefetchEnabled;
+	}
+
+	/**
+	 * @param task the loading or extraction task
+	 * @return the pending result of the task
+	 */
+	public <T> Future<T> submit(Callable<T> task) {
+		return executor.submit( task );
+	}
+
+	/**
+	 * Stops the executor once the pending loading tasks are done.
+	 */
+	public void close() {
+		executor.shutdown();
+	}
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.query.engine.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexReaderContext;
+import org.apache.lucene.index.IndexReader.ReaderClosedListener;
+import org.apache.lucene.index.MultiReader;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.hibernate.search.stat.spi.StatisticsImplementor;
+
+/**
+ * Caches the {@code SortedSetDocValuesReaderState} needed for discrete faceting.
+ * Building such a state computes the global ordinals across all segments, which is
+ * expensive on large indexes, while it only depends on the segments being searched.
+ * <p>
+ * Each query is run on a new top level reader, but as long as the indexes aren't changed
+ * the shared readers of each index are the same instances: entries are keyed on the
+ * ordered list of these index readers and evicted as soon as any of them is closed.
+ */
+public final class FacetReaderStateCache {
+
+	private final ConcurrentHashMap<ReadersKey, CacheEntry> cache = new ConcurrentHashMap<ReadersKey, CacheEntry>();
+	private final StatisticsImplementor statistics;
+
+	public FacetReaderStateCache(StatisticsImplementor statistics) {
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Returns a {@code SortedSetDocValuesReaderState} for the default facets field
+	 * which can be used to count facets on the given top level reader.
+	 *
+	 * @param topReader the reader being searched. Needs to be kept open while the returned state is in use.
+	 * @return the reader state
+	 * @throws IOException if the index can't be read
+	 * @throws IllegalArgumentException if the reader contains no facets
+	 */
+	public SortedSetDocValuesReaderState getReaderState(IndexReader topReader) throws IOException {
+		final List<IndexReaderContext> children = topReader.getContext().children();
+		final IndexReader[] indexReaders;
+		if ( children == null ) {
+			indexReaders = new IndexReader[] { topReader };
+		}
+		else {
+			indexReaders = new IndexReader[children.size()];
+			for ( int i = 0; i < indexReaders.length; i++ ) {
+				indexReaders[i] = children.get( i ).reader();
+			}
+		}
+		final ReadersKey key = new ReadersKey( indexReaders );
+		CacheEntry entry = cache.get( key );
+		if ( entry == null ) {
+			CacheEntry newEntry = new CacheEntry( key );
+			entry = cache.putIfAbsent( key, newEntry );
+			if ( entry == null ) {
+				entry = newEntry;
+				// The index readers are kept open by the caller, so none of them can be closed before this
+				// registration: they will notify us when the index changed.
+				for ( IndexReader indexReader : indexReaders ) {
+					indexReader.addReaderClosedListener( newEntry );
+				}
+			}
+		}
+		return new ReaderStateView( entry.getState(), topReader );
+	}
+
+	/**
+	 * @return the number of cached reader states
+	 */
+	public int size() {
+		return cache.size();
+	}
+
+	private void evict(CacheEntry entry) {
+		cache.remove( entry.key, entry );
+		// index readers which are still open might be used by later queries: don't leak listeners on them
+		for ( IndexReader indexReader : entry.key.indexReaders ) {
+			try {
+				indexReader.removeReaderClosedListener( entry );
+			}
+			catch (AlreadyClosedException e) {
+				// listeners of closed readers are not invoked anymore
+			}
+		}
+	}
+
+	private final class CacheEntry implements ReaderClosedListener {
+
+		private final ReadersKey key;
+
+		//guarded by this
+		private SortedSetDocValuesReaderState state;
+
+		CacheEntry(ReadersKey key) {
+			this.key = key;
+		}
+
+		synchronized SortedSetDocValuesReaderState getState() throws IOException {
+			if ( state != null ) {
+				statistics.facetReaderStateCacheHit();
+				return state;
+			}
+			statistics.facetReaderStateCacheMiss();
+			try {
+				// closeSubReaders=true only prevents the MultiReader from incrementing the reference counts:
+				// this view is never closed and the index readers are owned by the ReaderProviders.
+				// The leaves are the same as the ones of the top level reader, in the same order.
+				state = new DefaultSortedSetDocValuesReaderState( new MultiReader( key.indexReaders, true ) );
+			}
+			catch (IOException | RuntimeException e) {
+				// don't cache failures: it might be that there are no facets yet
+				evict( this );
+				throw e;
+			}
+			return state;
+		}
+
+		@Override
+		public void onClose(IndexReader reader) {
+			evict( this );
+		}
+	}
+
+	/**
+	 * Identifies a sequence of index readers. Equal keys produce the same global ordinals;
+	 * readers are compared by identity since the cached state reads from them.
+	 */
+	private static final class ReadersKey {
+
+		private final IndexReader[] indexReaders;
+		private final int hashCode;
+
+		ReadersKey(IndexReader[] indexReaders) {
+			this.indexReaders = indexReaders;
+			this.hashCode = Arrays.hashCode( indexReaders );
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if ( this == obj ) {
+				return true;
+			}
+			if ( !( obj instanceof ReadersKey ) ) {
+				return false;
+			}
+			return Arrays.equals( indexReaders, ( (ReadersKey) obj ).indexReaders );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	/**
+	 * Presents a cached state as if it was created for the top level reader of the current query:
+	 * {@code SortedSetDocValuesFacetCounts} verifies the searched reader is the same instance.
+	 */
+	private static final class ReaderStateView extends SortedSetDocValuesReaderState {
+
+		private final SortedSetDocValuesReaderState delegate;
+		private final IndexReader topReader;
+
+		ReaderStateView(SortedSetDocValuesReaderState delegate, IndexReader topReader) {
+			this.delegate = delegate;
+			this.topReader = topReader;
+		}
+
+		@Override
+		public SortedSetDocValues getDocValues() throws IOException {
+			return delegate.getDocValues();
+		}
+
+		@Override
+		public String getField() {
+			return delegate.getField();
+		}
+
+		@Override
+		public OrdRange getOrdRange(String dim) {
+			return delegate.getOrdRange( dim );
+		}
+
+		@Override
+		public Map<String, OrdRange> getPrefixToOrdRange() {
+			return delegate.getPrefixToOrdRange();
+		}
+
+		@Override
+		public IndexReader getOrigReader() {
+			return topReader;
+		}
+
+		@Override
+		public int getSize() {
+			return delegate.getSize();
+		}
+	}
+
+}
@@ -23,6 +23,7 @@
 import org.apache.lucene.search.Explanation;
 import org.apache.lucene.search.Filter;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.Sort;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.similarities.Similarity;
@@ -42,7 +43,10 @@
 import org.hibernate.search.filter.impl.ChainedFilter;
 import org.hibernate.search.filter.impl.DefaultFilterKey;
 import org.hibernate.search.filter.impl.FullTextFilterImpl;
+import org.hibernate.search.filter.impl.OffHeapCachingWrapperFilter;
+import org.hibernate.search.filter.impl.OffHeapFilterCache;
 import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.query.SearchCursor;
 import org.hibernate.search.query.engine.spi.DocumentExtractor;
 import org.hibernate.search.query.engine.spi.EntityInfo;
 import org.hibernate.search.query.engine.spi.HSQuery;
@@ -51,6 +55,8 @@
 import org.hibernate.search.reader.impl.MultiReaderFactory;
 import org.hibernate.search.spatial.Coordinates;
 import org.hibernate.search.spi.SearchIntegrator;
+import org.hibernate.search.stat.QueryPhase;
+import org.hibernate.search.stat.spi.StatisticsImplementor;
 import org.hibernate.search.store.IndexShardingStrategy;
 import org.hibernate.search.util.StringHelper;
 import org.hibernate.search.util.impl.ClassLoaderHelper;
@@ -100,10 +106,14 @@ public class HSQueryImpl implements HSQuery, Serializable {
 	//optimization: if we can avoid the filter clause (we can most of the time) do it as it has a significant perf impact
 	private boolean needClassFilterClause;
 	private Set<String> idFieldNames;
+	//the index managers selected by the sharding strategies for the last searcher built, for the statistics
+	private transient IndexManager[] searchedIndexes;
 	private transient FacetManagerImpl facetManager;
 	private transient TimeoutExceptionFactory timeoutExceptionFactory;
 	private Coordinates spatialSearchCenter = null;
 	private String spatialFieldName = null;
+	private SearchCursor searchAfter;
+	private SearchCursor lastResultCursor;
 
 	/**
 	 * The number of results for this query. This field gets populated once {@link #queryResultSize}, {@link #queryEntityInfos}
@@ -204,6 +214,17 @@ public HSQuery maxResults(int maxResults) {
 		return this;
 	}
 
+	@Override
+	public HSQuery searchAfter(SearchCursor cursor) {
+		this.searchAfter = cursor;
+		return this;
+	}
+
+	@Override
+	public SearchCursor getSearchCursor() {
+		return lastResultCursor;
+	}
+
 	/**
 	 * List of targeted entities as described by the user
 	 */
@@ -262,12 +283,18 @@ public List<EntityInfo> queryEntityInfos() {
 		try {
 			QueryHits queryHits = getQueryHits( searcher, calculateTopDocsRetrievalSize() );
 			int first = getFirstResultIndex();
-			int max = max( first, queryHits.getTotalHits() );
+			int max = max( first, getRetrievableHits( queryHits ) );
 
 			int size = max - first + 1 < 0 ? 0 : max - first + 1;
 			if ( size == 0 ) {
+				lastResultCursor = null;
 				return Collections.emptyList();
 			}
+			boolean stats = extendedIntegrator.getStatistics().isStatisticsEnabled();
+			long startTime = 0;
+			if ( stats ) {
+				startTime = System.nanoTime();
+			}
 			List<EntityInfo> infos = new ArrayList<EntityInfo>( size );
 			DocumentExtractor extractor = buildDocumentExtractor( searcher, queryHits, first, max );
 			for ( int index = first; index <= max; index++ ) {
@@ -277,6 +304,11 @@ public List<EntityInfo> queryEntityInfos() {
 					getTimeoutManager().isTimedOut();
 				}
 			}
+			if ( stats ) {
+				extendedIntegrator.getStatisticsImplementor()
+						.queryPhaseExecuted( QueryPhase.DOCUMENT_EXTRACTION, classesAndSubclasses, searchedIndexes, System.nanoTime() - startTime );
+			}
+			lastResultCursor = SearchCursor.fromScoreDoc( queryHits.scoreDoc( max ) );
 			return infos;
 		}
 		catch (IOException e) {
@@ -319,7 +351,7 @@ public DocumentExtractor queryDocumentExtractor() {
 		try {
 			QueryHits queryHits = getQueryHits( openSearcher, calculateTopDocsRetrievalSize() );
 			int first = getFirstResultIndex();
-			int max = max( first, queryHits.getTotalHits() );
+			int max = max( first, getRetrievableHits( queryHits ) );
 			return buildDocumentExtractor( openSearcher, queryHits, first, max );
 		}
 		catch (IOException e) {
@@ -443,6 +475,7 @@ private QueryHits getQueryHits(LazyQueryState searcher, Integer n) throws IOExce
 					searcher,
 					filter,
 					sort,
+					getSearchAfterDoc(),
 					getTimeoutManagerImpl(),
 					facetManager.getFacetRequests(),
 					this.timeoutExceptionFactory,
@@ -455,6 +488,7 @@ else if ( 0 == n) {
 					searcher,
 					filter,
 					null,
+					null,
 					0,
 					getTimeoutManagerImpl(),
 					null,
@@ -468,6 +502,7 @@ else if ( 0 == n) {
 					searcher,
 					filter,
 					sort,
+					getSearchAfterDoc(),
 					n,
 					getTimeoutManagerImpl(),
 					facetManager.getFacetRequests(),
@@ -479,13 +514,34 @@ else if ( 0 == n) {
 		resultSize = queryHits.getTotalHits();
 
 		if ( stats ) {
-			extendedIntegrator.getStatisticsImplementor()
-					.searchExecuted( searcher.describeQuery(), System.nanoTime() - startTime );
+			long time = System.nanoTime() - startTime;
+			StatisticsImplementor statisticsImplementor = extendedIntegrator.getStatisticsImplementor();
+			statisticsImplementor.searchExecuted( searcher.describeQuery(), time );
+			statisticsImplementor.queryPhaseExecuted( QueryPhase.SEARCH, classesAndSubclasses, searchedIndexes, time );
 		}
 		facetManager.setFacetResults( queryHits.getFacets() );
 		return queryHits;
 	}
 
+	private int getRetrievableHits(QueryHits queryHits) throws IOException {
+		Integer retrievalSize = calculateTopDocsRetrievalSize();
+		return queryHits.getRetrievableHits( retrievalSize == null ? Integer.MAX_VALUE : retrievalSize );
+	}
+
+	/**
+	 * @return the last document of the previous page, or {@code null} if the results are collected from the first one
+	 */
+	private ScoreDoc getSearchAfterDoc() {
+		if ( searchAfter == null ) {
+			return null;
+		}
+		int sortFieldsCount = sort == null ? 0 : sort.getSort().length;
+		if ( searchAfter.getSortFieldsCount() != sortFieldsCount ) {
+			throw log.searchCursorSortMismatch( searchAfter, searchAfter.getSortFieldsCount(), sortFieldsCount );
+		}
+		return searchAfter.toScoreDoc();
+	}
+
 	/**
 	 * @return Calculates the number of <code>TopDocs</code> which should be retrieved as part of the query. If Hibernate's
 	 *         pagination parameters are set returned value is <code>first + maxResults</code>. Otherwise <code>null</code> is
@@ -611,6 +667,7 @@ private LazyQueryState buildSearcher(ExtendedSearchIntegrator extendedIntegrator
 		final IndexManager[] indexManagers = targetedIndexes.toArray(
 				new IndexManager[targetedIndexes.size()]
 		);
+		this.searchedIndexes = indexManagers;
 		final IndexReader compoundReader = MultiReaderFactory.openReader( indexManagers );
 
 		final Query filteredQuery = filterQueryByTenantId( filterQueryByClasses( luceneQuery ) );
@@ -831,8 +888,14 @@ private Filter createFilter(FilterDef def, Object filterOrFactory) {
 	 */
 	private Filter addCachingWrapperFilter(Filter filter, FilterDef def) {
 		if ( cacheResults( def.getCacheMode() ) ) {
-			int cachingWrapperFilterSize = extendedIntegrator.getFilterCacheBitResultsSize();
-			filter = new CachingWrapperFilter( filter, cachingWrapperFilterSize );
+			OffHeapFilterCache offHeapFilterCache = extendedIntegrator.getOffHeapFilterCache();
+			if ( offHeapFilterCache != null ) {
+				filter = new OffHeapCachingWrapperFilter( filter, offHeapFilterCache );
+			}
+			else {
+				int cachingWrapperFilterSize = extendedIntegrator.getFilterCacheBitResultsSize();
+				filter = new CachingWrapperFilter( filter, cachingWrapperFilterSize );
+			}
 		}
 
 		return filter;
@@ -8,16 +8,22 @@
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.apache.lucene.document.Document;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.AtomicReaderContext;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.StoredFieldVisitor;
 import org.apache.lucene.search.Collector;
 import org.apache.lucene.search.Explanation;
 import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.FilteredQuery;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Weight;
@@ -42,7 +48,7 @@ public final class LazyQueryState implements Closeable {
 	private static final Log QUERY_LOG = LoggerFactory.make( LogCategory.QUERY );
 
 	private final Query userQuery;
-	private final IndexSearcher searcher;
+	private final SlicingIndexSearcher searcher;
 	private final boolean fieldSortDoTrackScores;
 	private final boolean fieldSortDoMaxScore;
 	private final ExtendedSearchIntegrator extendedIntegrator;
@@ -50,6 +56,7 @@ public final class LazyQueryState implements Closeable {
 
 	private Query rewrittenQuery;
 	private Weight queryWeight;
+	private List<List<AtomicReaderContext>> slices;
 
 	public LazyQueryState(Query userQuery,
 			IndexReader reader,
@@ -61,7 +68,7 @@ public LazyQueryState(Query userQuery,
 		this.userQuery = userQuery;
 		this.fieldSortDoTrackScores = fieldSortDoTrackScores;
 		this.fieldSortDoMaxScore = fieldSortDoMaxScore;
-		this.searcher = new IndexSearcher( reader );
+		this.searcher = new SlicingIndexSearcher( reader );
 		this.searcher.setSimilarity( searcherSimilarity );
 		this.extendedIntegrator = extendedIntegrator;
 		this.targetedTypes = targetedTypes;
@@ -106,10 +113,59 @@ public void search(final Filter filter, final Collector collector) throws IOExce
 		searcher.search( rewrittenQuery(), filter, collector );
 	}
 
+	/**
+	 * @return the number of slices of the index which can be searched concurrently, each with its own collector;
+	 * 1 when the search runs in the calling thread
+	 */
+	public int getSliceCount() {
+		return getSlices().size();
+	}
+
+	/**
+	 * Searches each slice of the index concurrently, and returns when all of them are done.
+	 *
+	 * @param filter the filter to apply, or {@code null}
+	 * @param sliceCollectors a collector for each slice, see {@link #getSliceCount()}
+	 * @throws IOException in case of failure of the search
+	 */
+	public void search(final Filter filter, final List<? extends Collector> sliceCollectors) throws IOException {
+		final List<List<AtomicReaderContext>> slices = getSlices();
+		if ( slices.size() == 1 ) {
+			search( filter, sliceCollectors.get( 0 ) );
+			return;
+		}
+		validateQuery();
+		QUERY_LOG.executingLuceneQuery( userQuery );
+		final Query query = filter == null ? rewrittenQuery() : new FilteredQuery( rewrittenQuery(), filter );
+		// the Weight is shared by the slices, as IndexSearcher does when given an executor
+		final Weight weight = searcher.createNormalizedWeight( query );
+		final List<Callable<Void>> tasks = new ArrayList<>( slices.size() );
+		for ( int i = 0; i < slices.size(); i++ ) {
+			final List<AtomicReaderContext> slice = slices.get( i );
+			final Collector collector = sliceCollectors.get( i );
+			tasks.add( new Callable<Void>() {
+				@Override
+				public Void call() throws IOException {
+					searcher.searchLeaves( slice, weight, collector );
+					return null;
+				}
+			} );
+		}
+		extendedIntegrator.getParallelSearchExecutor().invokeAll( tasks );
+	}
+
 	public IndexReader getIndexReader() {
 		return searcher.getIndexReader();
 	}
 
+	/**
+	 * @return the state needed to count discrete facets on the current IndexReader, shared with other queries
+	 * @throws IOException
+	 */
+	public SortedSetDocValuesReaderState getFacetReaderState() throws IOException {
+		return extendedIntegrator.getFacetReaderStateCache().getReaderState( searcher.getIndexReader() );
+	}
+
 	@Override
 	public void close() {
 		final IndexReader indexReader = searcher.getIndexReader();
@@ -201,4 +257,25 @@ private Query rewrittenQuery() throws IOException {
 		}
 		return rewrittenQuery;
 	}
+
+	private List<List<AtomicReaderContext>> getSlices() {
+		if ( slices == null ) {
+			slices = extendedIntegrator.getParallelSearchExecutor().slices( searcher.getIndexReader() );
+		}
+		return slices;
+	}
+
+	/**
+	 * Gives access to the search of a subset of the segments.
+	 */
+	private static final class SlicingIndexSearcher extends IndexSearcher {
+
+		SlicingIndexSearcher(IndexReader reader) {
+			super( reader );
+		}
+
+		void searchLeaves(List<AtomicReaderContext> leaves, Weight weight, Collector collector) throws IOException {
+			search( leaves, weight, collector );
+		}
+	}
 }
@@ -0,0 +1,146 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.query.engine.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.lucene.index.AtomicReaderContext;
+import org.apache.lucene.index.IndexReader;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+import org.hibernate.search.util.impl.Executors;
+
+/**
+ * Runs the search of a query on slices of the index segments concurrently, so that the latency of
+ * expensive queries over many shards or segments isn't bound by a single core.
+ * <p>
+ * The executor is shared by all queries of a SearchIntegrator and is disabled unless
+ * {@link Environment#QUERY_SEARCH_THREADS} is greater than 1. Queries on indexes with fewer than
+ * {@link Environment#QUERY_PARALLEL_SEARCH_MIN_DOCS} documents are considered cheap and run in the calling thread.
+ */
+public class ParallelSearchExecutor {
+
+	private static final int DEFAULT_PARALLEL_SEARCH_MIN_DOCS = 100000;
+
+	private final int threads;
+	private final int minDocs;
+
+	/**
+	 * The executor searching the slices, or {@code null} when the queries run in the calling thread
+	 */
+	private final ThreadPoolExecutor executor;
+
+	public ParallelSearchExecutor(Properties properties) {
+		threads = ConfigurationParseHelper.getIntValue( properties, Environment.QUERY_SEARCH_THREADS, 1 );
+		minDocs = ConfigurationParseHelper.getIntValue(
+				properties, Environment.QUERY_PARALLEL_SEARCH_MIN_DOCS, DEFAULT_PARALLEL_SEARCH_MIN_DOCS
+		);
+		executor = threads > 1 ? Executors.newFixedThreadPool( threads, "Parallel search" ) : null;
+	}
+
+	/**
+	 * Splits the segments of the reader in contiguous slices of similar size, one for each thread.
+	 *
+	 * @param reader the reader to search
+	 * @return the slices to search, ordered by document base; a single slice when the search should run in the calling thread
+	 */
+	public List<List<AtomicReaderContext>> slices(IndexReader reader) {
+		final List<AtomicReaderContext> leaves = reader.leaves();
+		if ( executor == null || leaves.size() < 2 || reader.maxDoc() < minDocs ) {
+			return Collections.singletonList( leaves );
+		}
+		final int sliceCount = Math.min( threads, leaves.size() );
+		final List<List<AtomicReaderContext>> slices = new ArrayList<List<AtomicReaderContext>>( sliceCount );
+		int remainingDocs = reader.maxDoc();
+		List<AtomicReaderContext> slice = new ArrayList<AtomicReaderContext>();
+		int sliceDocs = 0;
+		for ( int i = 0; i < leaves.size(); i++ ) {
+			AtomicReaderContext leaf = leaves.get( i );
+			slice.add( leaf );
+			sliceDocs += leaf.reader().maxDoc();
+			int remainingSlices = sliceCount - slices.size();
+			int remainingLeaves = leaves.size() - i - 1;
+			// close the slice once it holds its share of the remaining documents, keeping a leaf for each remaining slice
+			if ( remainingSlices > 1 && ( sliceDocs * remainingSlices >= remainingDocs || remainingLeaves < remainingSlices ) ) {
+				slices.add( slice );
+				remainingDocs -= sliceDocs;
+				slice = new ArrayList<AtomicReaderContext>();
+				sliceDocs = 0;
+			}
+		}
+		slices.add( slice );
+		return slices;
+	}
+
+	/**
+	 * Runs the tasks concurrently, the first one in the calling thread, and returns when all of them are done.
+	 *
+	 * @param tasks the tasks to run
+	 * @throws IOException the first failure of a task, if it's an {@code IOException}
+	 */
+	void invokeAll(List<Callable<Void>> tasks) throws IOException {
+		final List<Future<Void>> futures = new ArrayList<Future<Void>>( tasks.size() - 1 );
+		for ( int i = 1; i < tasks.size(); i++ ) {
+			futures.add( executor.submit( tasks.get( i ) ) );
+		}
+		Throwable failure = null;
+		try {
+			tasks.get( 0 ).call();
+		}
+		catch (Exception e) {
+			failure = e;
+		}
+		for ( Future<Void> future : futures ) {
+			try {
+				future.get();
+			}
+			catch (ExecutionException e) {
+				if ( failure == null ) {
+					failure = e.getCause();
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				if ( failure == null ) {
+					failure = e;
+				}
+				break;
+			}
+		}
+		if ( failure instanceof IOException ) {
+			throw (IOException) failure;
+		}
+		else if ( failure instanceof RuntimeException ) {
+			throw (RuntimeException) failure;
+		}
+		else if ( failure instanceof Error ) {
+			throw (Error) failure;
+		}
+		else if ( failure != null ) {
+			throw new SearchException( failure );
+		}
+	}
+
+	/**
+	 * Stops the executor once the pending searches are done.
+	 */
+	public void close() {
+		if ( executor != null ) {
+			executor.shutdown();
+		}
+	}
+
+}
@@ -27,7 +27,6 @@
 import org.apache.lucene.facet.range.DoubleRangeFacetCounts;
 import org.apache.lucene.facet.range.LongRange;
 import org.apache.lucene.facet.range.LongRangeFacetCounts;
-import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
 import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
 import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
 import org.apache.lucene.index.AtomicReader;
@@ -38,9 +37,11 @@
 import org.apache.lucene.index.TermsEnum;
 import org.apache.lucene.search.Collector;
 import org.apache.lucene.search.Explanation;
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.Filter;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.TimeLimitingCollector;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TopDocsCollector;
@@ -61,6 +62,7 @@
 import org.hibernate.search.query.facet.FacetSortOrder;
 import org.hibernate.search.spatial.Coordinates;
 import org.hibernate.search.spatial.impl.DistanceCollector;
+import org.hibernate.search.spatial.impl.DistanceComparatorSource;
 import org.hibernate.search.util.impl.ReflectionHelper;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
@@ -88,10 +90,12 @@ public class QueryHits {
 	private final LazyQueryState searcher;
 	private final Filter filter;
 	private final Sort sort;
+	private final ScoreDoc after;
 	private final Map<String, FacetingRequestImpl> facetRequests;
 	private final TimeoutManagerImpl timeoutManager;
 
 	private int totalHits;
+	private int requestedTopDocs;
 	private TopDocs topDocs;
 	private Map<String, List<Facet>> facetMap;
 	private FacetsCollector facetsCollector;
@@ -99,6 +103,11 @@ public class QueryHits {
 
 	private Coordinates spatialSearchCenter = null;
 	private String spatialFieldName = null;
+	/**
+	 * Position of the sort field sorting by distance to the spatial search center, whose sort values
+	 * are the distances of the hits; -1 if the hits are not sorted by distance
+	 */
+	private int distanceSortFieldPosition = -1;
 
 	private final TimeoutExceptionFactory timeoutExceptionFactory;
 
@@ -115,6 +124,30 @@ public QueryHits(LazyQueryState searcher,
 				searcher,
 				filter,
 				sort,
+				null,
+				timeoutManager,
+				facetRequests,
+				timeoutExceptionFactory,
+				spatialSearchCenter,
+				spatialFieldName
+		);
+	}
+
+	public QueryHits(LazyQueryState searcher,
+			Filter filter,
+			Sort sort,
+			ScoreDoc after,
+			TimeoutManagerImpl timeoutManager,
+			Map<String, FacetingRequestImpl> facetRequests,
+			TimeoutExceptionFactory timeoutExceptionFactory,
+			Coordinates spatialSearchCenter,
+			String spatialFieldName)
+			throws IOException {
+		this(
+				searcher,
+				filter,
+				sort,
+				after,
 				DEFAULT_TOP_DOC_RETRIEVAL_SIZE,
 				timeoutManager,
 				facetRequests,
@@ -127,6 +160,7 @@ public QueryHits(LazyQueryState searcher,
 	public QueryHits(LazyQueryState searcher,
 			Filter filter,
 			Sort sort,
+			ScoreDoc after,
 			Integer n,
 			TimeoutManagerImpl timeoutManager,
 			Map<String, FacetingRequestImpl> facetRequests,
@@ -138,10 +172,19 @@ public QueryHits(LazyQueryState searcher,
 		this.searcher = searcher;
 		this.filter = filter;
 		this.sort = sort;
+		this.after = after;
 		this.facetRequests = facetRequests;
 		this.timeoutExceptionFactory = timeoutExceptionFactory;
 		this.spatialSearchCenter = spatialSearchCenter;
 		this.spatialFieldName = spatialFieldName;
+		if ( sort != null && spatialSearchCenter != null && spatialFieldName != null ) {
+			SortField[] sortFields = sort.getSort();
+			for ( int i = 0; i < sortFields.length && distanceSortFieldPosition < 0; i++ ) {
+				if ( DistanceComparatorSource.isDistanceSort( sortFields[i], spatialSearchCenter, spatialFieldName ) ) {
+					distanceSortFieldPosition = i;
+				}
+			}
+		}
 		updateTopDocs( n );
 	}
 
@@ -193,6 +236,10 @@ public Double spatialDistance(int index) throws IOException {
 		if ( spatialSearchCenter == null ) {
 			return null;
 		}
+		if ( distanceSortFieldPosition >= 0 ) {
+			// the distance was computed when sorting
+			return (Double) ( (FieldDoc) scoreDoc( index ) ).fields[distanceSortFieldPosition];
+		}
 		return Double.valueOf( distanceCollector.getDistance( docId( index ) ) );
 	}
 
@@ -206,6 +253,25 @@ public int getTotalHits() {
 		return totalHits;
 	}
 
+	/**
+	 * @param needed the number of hits the caller is interested in
+	 *
+	 * @return the number of hits which can be retrieved, up to {@code needed}: all hits, or only the ones sorted
+	 * after the search cursor when there is one
+	 *
+	 * @throws IOException in case a search exception occurs
+	 */
+	public int getRetrievableHits(int needed) throws IOException {
+		if ( after == null || topDocs == null ) {
+			return totalHits;
+		}
+		// the total number of hits includes the ones before the cursor: collect until exhausted
+		while ( topDocs.scoreDocs.length == requestedTopDocs && requestedTopDocs < needed && requestedTopDocs < totalHits ) {
+			updateTopDocs( (int) Math.min( 2L * requestedTopDocs, Integer.MAX_VALUE - 1 ) );
+		}
+		return topDocs.scoreDocs.length;
+	}
+
 	public TopDocs getTopDocs() {
 		return topDocs;
 	}
@@ -226,28 +292,22 @@ public Map<String, List<Facet>> getFacets() {
 	private void updateTopDocs(int n) throws IOException {
 		final int totalMaxDocs = searcher.maxDoc();
 		final int maxDocs = Math.min( n, totalMaxDocs );
+		requestedTopDocs = maxDocs;
 
-		final TopDocsCollector<?> topDocCollector;
-		final TotalHitCountCollector hitCountCollector;
-		Collector collector;
-		if ( maxDocs != 0 ) {
-			topDocCollector = createTopDocCollector( maxDocs );
-			hitCountCollector = null;
-			collector = topDocCollector;
-			collector = optionallyEnableFacetingCollector( collector );
-			collector = optionallyEnableDistanceCollector( collector, maxDocs );
+		// the slices of the index searched concurrently each need their own collectors
+		final int sliceCount = searcher.getSliceCount();
+		final List<CollectorChain> chains = new ArrayList<>( sliceCount );
+		final List<Collector> collectors = new ArrayList<>( sliceCount );
+		for ( int i = 0; i < sliceCount; i++ ) {
+			CollectorChain chain = new CollectorChain( maxDocs );
+			chains.add( chain );
+			collectors.add( chain.collector );
 		}
-		else {
-			topDocCollector = null;
-			hitCountCollector = new TotalHitCountCollector();
-			collector = hitCountCollector;
-		}
-		collector = decorateWithTimeOutCollector( collector );
 
 		boolean timeoutNow = isImmediateTimeout();
 		if ( !timeoutNow ) {
 			try {
-				searcher.search( filter, collector );
+				searcher.search( filter, collectors );
 			}
 			catch (TimeLimitingCollector.TimeExceededException e) {
 				//we have reached the time limit and stopped before the end
@@ -258,8 +318,7 @@ private void updateTopDocs(int n) throws IOException {
 
 		// update top docs and totalHits
 		if ( maxDocs != 0 ) {
-			this.topDocs = topDocCollector.topDocs();
-			this.totalHits = topDocs.totalHits;
+			mergeTopDocs( chains, maxDocs );
 			// if we were collecting facet data we have to update our instance state
 			if ( facetsCollector != null ) {
 				updateFacets();
@@ -267,11 +326,52 @@ private void updateTopDocs(int n) throws IOException {
 		}
 		else {
 			this.topDocs = null;
-			this.totalHits = hitCountCollector.getTotalHits();
+			this.totalHits = 0;
+			for ( CollectorChain chain : chains ) {
+				this.totalHits += chain.hitCountCollector.getTotalHits();
+			}
 		}
 		timeoutManager.isTimedOut();
 	}
 
+	private void mergeTopDocs(List<CollectorChain> chains, int maxDocs) throws IOException {
+		final CollectorChain first = chains.get( 0 );
+		if ( chains.size() == 1 ) {
+			this.topDocs = first.topDocCollector.topDocs();
+			this.totalHits = topDocs.totalHits;
+			this.facetsCollector = first.facetsCollector;
+			this.distanceCollector = first.distanceCollector;
+			return;
+		}
+		final TopDocs[] sliceTopDocs = new TopDocs[chains.size()];
+		int mergedTotalHits = 0;
+		for ( int i = 0; i < chains.size(); i++ ) {
+			sliceTopDocs[i] = chains.get( i ).topDocCollector.topDocs();
+			mergedTotalHits += chains.get( i ).topDocCollector.getTotalHits();
+		}
+		// ties are sorted by slice, then by position in the slice: by document id as the slices are contiguous
+		this.topDocs = TopDocs.merge( sort, maxDocs, sliceTopDocs );
+		// the slices not holding any hit after the search cursor still counted the hits
+		this.topDocs.totalHits = mergedTotalHits;
+		this.totalHits = mergedTotalHits;
+		if ( first.facetsCollector != null ) {
+			MergedFacetsCollector mergedFacetsCollector = new MergedFacetsCollector();
+			for ( CollectorChain chain : chains ) {
+				mergedFacetsCollector.matchingDocs.addAll( chain.facetsCollector.getMatchingDocs() );
+			}
+			this.facetsCollector = mergedFacetsCollector;
+		}
+		else {
+			this.facetsCollector = null;
+		}
+		if ( first.distanceCollector != null ) {
+			for ( int i = 1; i < chains.size(); i++ ) {
+				first.distanceCollector.addSegmentsOf( chains.get( i ).distanceCollector );
+			}
+		}
+		this.distanceCollector = first.distanceCollector;
+	}
+
 	private void updateFacets() throws IOException {
 		facetMap = new HashMap<>();
 		for ( FacetingRequestImpl facetRequest : facetRequests.values() ) {
@@ -398,7 +498,7 @@ private FacetResult getFacetResultForLongRange(RangeFacetRequest<?> facetRequest
 	private ArrayList<Facet> updateStringFacets(DiscreteFacetRequest facetRequest) throws IOException {
 		SortedSetDocValuesReaderState docValuesReaderState;
 		try {
-			docValuesReaderState = new DefaultSortedSetDocValuesReaderState( searcher.getIndexReader() );
+			docValuesReaderState = searcher.getFacetReaderState();
 		}
 		catch (IllegalArgumentException e) {
 			// happens in case there are no facets at all configured for the matching documents
@@ -467,21 +567,12 @@ private Set<String> findAllTermsForField(String fieldName, IndexReader reader) t
 		return termValues;
 	}
 
-	private Collector optionallyEnableFacetingCollector(Collector collector) {
-		if ( facetRequests == null || facetRequests.isEmpty() ) {
-			return collector;
-		}
-		facetsCollector = new FacetsCollector();
-		return new FacetsCollectorDecorator( facetsCollector, collector );
+	private boolean isFacetingEnabled() {
+		return facetRequests != null && !facetRequests.isEmpty();
 	}
 
-	private Collector optionallyEnableDistanceCollector(Collector collector, int maxDocs) {
-		if ( spatialFieldName == null || spatialFieldName.isEmpty() || spatialSearchCenter == null ) {
-			return collector;
-		}
-		distanceCollector = new DistanceCollector( collector, spatialSearchCenter, maxDocs, spatialFieldName );
-
-		return distanceCollector;
+	private boolean isDistanceCollectionEnabled() {
+		return spatialFieldName != null && !spatialFieldName.isEmpty() && spatialSearchCenter != null && distanceSortFieldPosition < 0;
 	}
 
 	private boolean isImmediateTimeout() {
@@ -520,13 +611,14 @@ private Collector decorateWithTimeOutCollector(Collector collector) {
 	private TopDocsCollector<?> createTopDocCollector(int maxDocs) throws IOException {
 		TopDocsCollector<?> topCollector;
 		if ( sort == null ) {
-			topCollector = TopScoreDocCollector.create( maxDocs, !searcher.scoresDocsOutOfOrder() );
+			topCollector = TopScoreDocCollector.create( maxDocs, after, !searcher.scoresDocsOutOfOrder() );
 		}
 		else {
 			boolean fillFields = true;
 			topCollector = TopFieldCollector.create(
 					sort,
 					maxDocs,
+					(FieldDoc) after,
 					fillFields,
 					searcher.isFieldSortDoTrackScores(),
 					searcher.isFieldSortDoMaxScore(),
@@ -536,6 +628,62 @@ private TopDocsCollector<?> createTopDocCollector(int maxDocs) throws IOExceptio
 		return topCollector;
 	}
 
+	/**
+	 * The collectors of a slice of the index.
+	 */
+	private final class CollectorChain {
+
+		private final TopDocsCollector<?> topDocCollector;
+		private final TotalHitCountCollector hitCountCollector;
+		private final FacetsCollector facetsCollector;
+		private final DistanceCollector distanceCollector;
+		private final Collector collector;
+
+		private CollectorChain(int maxDocs) throws IOException {
+			Collector chain;
+			if ( maxDocs != 0 ) {
+				topDocCollector = createTopDocCollector( maxDocs );
+				hitCountCollector = null;
+				chain = topDocCollector;
+				if ( isFacetingEnabled() ) {
+					facetsCollector = new FacetsCollector();
+					chain = new FacetsCollectorDecorator( facetsCollector, chain );
+				}
+				else {
+					facetsCollector = null;
+				}
+				if ( isDistanceCollectionEnabled() ) {
+					distanceCollector = new DistanceCollector( chain, spatialSearchCenter, maxDocs, spatialFieldName );
+					chain = distanceCollector;
+				}
+				else {
+					distanceCollector = null;
+				}
+			}
+			else {
+				topDocCollector = null;
+				hitCountCollector = new TotalHitCountCollector();
+				facetsCollector = null;
+				distanceCollector = null;
+				chain = hitCountCollector;
+			}
+			collector = decorateWithTimeOutCollector( chain );
+		}
+	}
+
+	/**
+	 * Exposes the documents matched in all slices of the index to the facet counts.
+	 */
+	private static final class MergedFacetsCollector extends FacetsCollector {
+
+		private final List<MatchingDocs> matchingDocs = new ArrayList<>();
+
+		@Override
+		public List<MatchingDocs> getMatchingDocs() {
+			return matchingDocs;
+		}
+	}
+
 	public static class FacetComparator implements Comparator<Facet>, Serializable {
 		private final FacetSortOrder sortOder;
 
@@ -16,6 +16,7 @@
 import org.hibernate.search.engine.ProjectionConstants;
 import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
 import org.hibernate.search.filter.FullTextFilter;
+import org.hibernate.search.query.SearchCursor;
 import org.hibernate.search.spatial.Coordinates;
 import org.hibernate.search.spi.SearchIntegrator;
 
@@ -133,6 +134,25 @@ public interface HSQuery extends ProjectionConstants {
 	 */
 	HSQuery maxResults(int maxResults);
 
+	/**
+	 * Only retrieve the results sorted after the given cursor, as returned by {@link #getSearchCursor()}
+	 * after fetching the previous page.
+	 * The {@code firstResult} pagination parameter is then relative to the cursor, while
+	 * {@link #queryResultSize()} still counts all results.
+	 * <p>
+	 * Unlike {@link #firstResult(int)}, the cost of retrieving a page doesn't increase with its depth.
+	 *
+	 * @param cursor the position to resume the query from, or {@code null} to start from the first result
+	 * @return {@code this} to allow for method chaining
+	 */
+	HSQuery searchAfter(SearchCursor cursor);
+
+	/**
+	 * @return a cursor positioned on the last result returned by the last execution of {@link #queryEntityInfos()},
+	 * or {@code null} if it returned no result
+	 */
+	SearchCursor getSearchCursor();
+
 	/**
 	 * @return the targeted entity types
 	 */
@@ -10,9 +10,18 @@
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.lucene.document.DoubleDocValuesField;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FloatDocValuesField;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.util.BytesRef;
+
 /**
  * Just an indirection to different constructors, pointing to the proper
- * FieldCache extractor per type.
+ * DocValues extractor per type, and to the DocValues field to index so that
+ * the extractor can find the value.
  *
  * @author Sanne Grinovero <sanne@hibernate.org> (C) 2011 Red Hat Inc.
  */
@@ -22,48 +31,88 @@ public enum FieldCacheLoadingType {
 		public FieldLoadingStrategy createLoadingStrategy(String fieldName) {
 			return new MultiStringFieldLoadingStrategy( fieldName );
 		}
+
+		@Override
+		public Field createDocValuesField(String fieldName, Object value) {
+			return new SortedSetDocValuesField( fieldName, new BytesRef( (String) value ) );
+		}
 	},
 	STRING {
 		@Override
 		public FieldLoadingStrategy createLoadingStrategy(String fieldName) {
 			return new StringFieldLoadingStrategy( fieldName );
 		}
+
+		@Override
+		public Field createDocValuesField(String fieldName, Object value) {
+			return new SortedDocValuesField( fieldName, new BytesRef( (String) value ) );
+		}
 	},
 	BYTE_AS_SHORT {
 		@Override
 		public FieldLoadingStrategy createLoadingStrategy(String fieldName) {
 			return new IntFieldAsByteLoadingStrategy( fieldName );
 		}
+
+		@Override
+		public Field createDocValuesField(String fieldName, Object value) {
+			return new NumericDocValuesField( fieldName, ( (Number) value ).longValue() );
+		}
 	},
 	INT_AS_SHORT {
 		@Override
 		public FieldLoadingStrategy createLoadingStrategy(String fieldName) {
 			return new IntFieldAsShortLoadingStrategy( fieldName );
 		}
+
+		@Override
+		public Field createDocValuesField(String fieldName, Object value) {
+			return new NumericDocValuesField( fieldName, ( (Number) value ).longValue() );
+		}
 	},
 	INT {
 		@Override
 		public FieldLoadingStrategy createLoadingStrategy(String fieldName) {
 			return new IntFieldLoadingStrategy( fieldName );
 		}
+
+		@Override
+		public Field createDocValuesField(String fieldName, Object value) {
+			return new NumericDocValuesField( fieldName, ( (Number) value ).longValue() );
+		}
 	},
 	LONG {
 		@Override
 		public FieldLoadingStrategy createLoadingStrategy(String fieldName) {
 			return new LongFieldLoadingStrategy( fieldName );
 		}
+
+		@Override
+		public Field createDocValuesField(String fieldName, Object value) {
+			return new NumericDocValuesField( fieldName, ( (Number) value ).longValue() );
+		}
 	},
 	DOUBLE {
 		@Override
 		public FieldLoadingStrategy createLoadingStrategy(String fieldName) {
 			return new DoubleFieldLoadingStrategy( fieldName );
 		}
+
+		@Override
+		public Field createDocValuesField(String fieldName, Object value) {
+			return new DoubleDocValuesField( fieldName, ( (Number) value ).doubleValue() );
+		}
 	},
 	FLOAT {
 		@Override
 		public FieldLoadingStrategy createLoadingStrategy(String fieldName) {
 			return new FloatFieldLoadingStrategy( fieldName );
 		}
+
+		@Override
+		public Field createDocValuesField(String fieldName, Object value) {
+			return new FloatDocValuesField( fieldName, ( (Number) value ).floatValue() );
+		}
 	};
 
 	static Map<Class<?>, FieldCacheLoadingType> fieldCacheTypes = new HashMap<Class<?>, FieldCacheLoadingType>();
@@ -79,6 +128,13 @@ public FieldLoadingStrategy createLoadingStrategy(String fieldName) {
 
 	public abstract FieldLoadingStrategy createLoadingStrategy(String fieldName);
 
+	/**
+	 * @param fieldName the name of the field
+	 * @param value a single value: a {@code String} for the string types, a {@code Number} otherwise
+	 * @return the field to add to the document to make the value available to {@link #createLoadingStrategy(String)}
+	 */
+	public abstract Field createDocValuesField(String fieldName, Object value);
+
 	public static FieldLoadingStrategy getLoadingStrategy(String fieldName, Class<?> type) {
 		return fieldCacheTypes.get( type ).createLoadingStrategy( fieldName );
 	}
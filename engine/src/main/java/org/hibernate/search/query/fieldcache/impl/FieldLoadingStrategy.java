@@ -35,7 +35,8 @@ public interface FieldLoadingStrategy {
 	 * Only at this point we convert primitives into an object if needed.
 	 *
 	 * @param relativeDocId the doc id relative to the current reader
-	 * @return the cached field value for the document with the relative id {@code relativeDocId}.
+	 * @return the cached field value for the document with the relative id {@code relativeDocId},
+	 * or {@code null} if no DocValues were indexed for this document.
 	 */
 	Object collect(int relativeDocId);
 }
@@ -11,11 +11,11 @@
 
 import org.apache.lucene.index.AtomicReader;
 import org.apache.lucene.index.AtomicReaderContext;
-import org.apache.lucene.search.FieldCache;
-import org.apache.lucene.search.FieldCache.Floats;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.util.Bits;
 
 /**
- * We need a collection of similar implementations, one per each FieldCache.DEFAULT.accessmethod
+ * We need a collection of similar implementations, one per each numeric type stored in NumericDocValues
  * to be able to deal with arrays of primitive values without autoboxing all of them.
  *
  * @author Sanne Grinovero <sanne@hibernate.org> (C) 2011 Red Hat Inc.
@@ -23,7 +23,8 @@
  */
 public final class FloatFieldLoadingStrategy implements FieldLoadingStrategy {
 	private final String fieldName;
-	private Floats currentCache;
+	private NumericDocValues currentCache;
+	private Bits docsWithField;
 
 	public FloatFieldLoadingStrategy(String fieldName) {
 		this.fieldName = fieldName;
@@ -32,11 +33,15 @@ public FloatFieldLoadingStrategy(String fieldName) {
 	@Override
 	public void loadNewCacheValues(AtomicReaderContext context) throws IOException {
 		final AtomicReader reader = context.reader();
-		currentCache = FieldCache.DEFAULT.getFloats( reader, fieldName, false );
+		currentCache = reader.getNumericDocValues( fieldName );
+		docsWithField = reader.getDocsWithField( fieldName );
 	}
 
 	@Override
 	public Float collect(int relativeDocId) {
-		return currentCache.get( relativeDocId );
+		if ( currentCache == null || ! docsWithField.get( relativeDocId ) ) {
+			return null;
+		}
+		return Float.intBitsToFloat( (int) currentCache.get( relativeDocId ) );
 	}
 }
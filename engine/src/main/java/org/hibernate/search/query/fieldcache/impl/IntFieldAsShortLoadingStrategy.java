@@ -11,8 +11,8 @@
 
 import org.apache.lucene.index.AtomicReader;
 import org.apache.lucene.index.AtomicReaderContext;
-import org.apache.lucene.search.FieldCache;
-import org.apache.lucene.search.FieldCache.Ints;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.util.Bits;
 
 /**
  * Loading strategy which loads shorts from int fields.
@@ -21,7 +21,8 @@
  */
 public final class IntFieldAsShortLoadingStrategy implements FieldLoadingStrategy {
 	private final String fieldName;
-	private Ints currentCache;
+	private NumericDocValues currentCache;
+	private Bits docsWithField;
 
 	public IntFieldAsShortLoadingStrategy(String fieldName) {
 		this.fieldName = fieldName;
@@ -30,11 +31,15 @@ public IntFieldAsShortLoadingStrategy(String fieldName) {
 	@Override
 	public void loadNewCacheValues(AtomicReaderContext context) throws IOException {
 		final AtomicReader reader = context.reader();
-		currentCache = FieldCache.DEFAULT.getInts( reader, fieldName, false );
+		currentCache = reader.getNumericDocValues( fieldName );
+		docsWithField = reader.getDocsWithField( fieldName );
 	}
 
 	@Override
 	public Short collect(int relativeDocId) {
+		if ( currentCache == null || ! docsWithField.get( relativeDocId ) ) {
+			return null;
+		}
 		return (short) currentCache.get( relativeDocId );
 	}
 }
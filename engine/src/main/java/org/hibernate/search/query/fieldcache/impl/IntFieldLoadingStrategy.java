@@ -11,11 +11,11 @@
 
 import org.apache.lucene.index.AtomicReader;
 import org.apache.lucene.index.AtomicReaderContext;
-import org.apache.lucene.search.FieldCache;
-import org.apache.lucene.search.FieldCache.Ints;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.util.Bits;
 
 /**
- * We need a collection of similar implementations, one per each FieldCache.DEFAULT.accessmethod
+ * We need a collection of similar implementations, one per each numeric type stored in NumericDocValues
  * to be able to deal with arrays of primitive values without autoboxing all of them.
  *
  * @author Sanne Grinovero <sanne@hibernate.org> (C) 2011 Red Hat Inc.
@@ -23,7 +23,8 @@
  */
 public final class IntFieldLoadingStrategy implements FieldLoadingStrategy {
 	private final String fieldName;
-	private Ints currentCache;
+	private NumericDocValues currentCache;
+	private Bits docsWithField;
 
 	public IntFieldLoadingStrategy(String fieldName) {
 		this.fieldName = fieldName;
@@ -32,11 +33,15 @@ public IntFieldLoadingStrategy(String fieldName) {
 	@Override
 	public void loadNewCacheValues(AtomicReaderContext context) throws IOException {
 		final AtomicReader reader = context.reader();
-		currentCache = FieldCache.DEFAULT.getInts( reader, fieldName, false );
+		currentCache = reader.getNumericDocValues( fieldName );
+		docsWithField = reader.getDocsWithField( fieldName );
 	}
 
 	@Override
 	public Integer collect(int relativeDocId) {
-		return currentCache.get( relativeDocId );
+		if ( currentCache == null || ! docsWithField.get( relativeDocId ) ) {
+			return null;
+		}
+		return (int) currentCache.get( relativeDocId );
 	}
 }
@@ -13,7 +13,6 @@
 
 import org.apache.lucene.index.AtomicReaderContext;
 import org.apache.lucene.index.SortedSetDocValues;
-import org.apache.lucene.search.FieldCache;
 import org.apache.lucene.util.BytesRef;
 
 /**
@@ -32,14 +31,15 @@ public MultiStringFieldLoadingStrategy(String fieldName) {
 
 	@Override
 	public void loadNewCacheValues(AtomicReaderContext context) throws IOException {
-		// FieldCache.getDocTermOrd allows to get all terms for a given multi value field per document. SortedSetDocValues
-		// allows to retrieve the term values via iterator like API
-		// See also https://issues.apache.org/jira/browse/LUCENE-3354
-		sortedSetDocValues = FieldCache.DEFAULT.getDocTermOrds( context.reader(), fieldName );
+		// SortedSetDocValues allows to retrieve all values of a multi value field per document via iterator like API
+		sortedSetDocValues = context.reader().getSortedSetDocValues( fieldName );
 	}
 
 	@Override
 	public String[] collect(int relativeDocId) {
+		if ( sortedSetDocValues == null ) {
+			return null;
+		}
 		// use the loaded SortedSetDocValues to retrieve all values for the field
 		sortedSetDocValues.setDocument( relativeDocId );
 		List<String> values = new ArrayList<String>();
@@ -11,12 +11,11 @@
 
 import org.apache.lucene.index.AtomicReader;
 import org.apache.lucene.index.AtomicReaderContext;
-import org.apache.lucene.index.BinaryDocValues;
-import org.apache.lucene.search.FieldCache;
+import org.apache.lucene.index.SortedDocValues;
 import org.apache.lucene.util.BytesRef;
 
 /**
- * We need a collection of similar implementations, one per each FieldCache.DEFAULT.accessmethod
+ * We need a collection of similar implementations, one per each type of DocValues
  * to be able to deal with arrays of primitive values without autoboxing all of them.
  * This particular implementation doesn't do any conversion.
  *
@@ -26,7 +25,7 @@
 public final class StringFieldLoadingStrategy implements FieldLoadingStrategy {
 
 	private final String fieldName;
-	private BinaryDocValues currentCache;
+	private SortedDocValues currentCache;
 
 	public StringFieldLoadingStrategy(String fieldName) {
 		this.fieldName = fieldName;
@@ -35,12 +34,19 @@ public StringFieldLoadingStrategy(String fieldName) {
 	@Override
 	public void loadNewCacheValues(AtomicReaderContext context) throws IOException {
 		final AtomicReader reader = context.reader();
-		currentCache = FieldCache.DEFAULT.getTerms( reader, fieldName, false );
+		currentCache = reader.getSortedDocValues( fieldName );
 	}
 
 	@Override
 	public String collect(final int relativeDocId) {
-		BytesRef term = currentCache.get( relativeDocId );
+		if ( currentCache == null ) {
+			return null;
+		}
+		final int ord = currentCache.getOrd( relativeDocId );
+		if ( ord == -1 ) {
+			return null;
+		}
+		BytesRef term = currentCache.lookupOrd( ord );
 		return term.utf8ToString();
 	}
 
@@ -7,7 +7,8 @@
 
 
 /**
- * The classes in this package define a framework for using Lucene's field cache API. It abstract the different
- * method to access data from {@link org.apache.lucene.search.FieldCache}.
+ * The classes in this package define a framework for loading field values from Lucene's DocValues.
+ * It abstracts the different methods to access the column stored data of each field type; no field is
+ * ever uninverted, so values are only available when the corresponding DocValues were indexed.
  */
 package org.hibernate.search.query.fieldcache.impl;
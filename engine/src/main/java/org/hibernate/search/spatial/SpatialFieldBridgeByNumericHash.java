@@ -0,0 +1,97 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.spatial;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.hibernate.search.bridge.LuceneOptions;
+import org.hibernate.search.spatial.impl.Point;
+import org.hibernate.search.spatial.impl.SpatialHelper;
+import org.hibernate.search.spatial.impl.SpatialNumericDocValueField;
+
+/**
+ * Hibernate Search field bridge, binding a Coordinates to a numeric spatial hash field in the index,
+ * holding the Z-order code of the spatial hash cell of the coordinates at a single level,
+ * and to two numeric fields for latitude and longitude
+ *
+ * @see SpatialHelper#getNumericSpatialHashCellId(Point, int)
+ */
+public class SpatialFieldBridgeByNumericHash extends SpatialFieldBridge {
+
+	private final int spatialHashLevel;
+
+	public SpatialFieldBridgeByNumericHash() {
+		this( SpatialFieldBridgeByHash.DEFAULT_BOTTOM_SPATIAL_HASH_LEVEL );
+	}
+
+	public SpatialFieldBridgeByNumericHash(int spatialHashLevel) {
+		if ( spatialHashLevel < 0 || spatialHashLevel > SpatialHelper.MAX_NUMERIC_SPATIAL_HASH_LEVEL ) {
+			throw new IllegalArgumentException( "The spatial hash level of a numeric spatial hash must be between 0 and "
+					+ SpatialHelper.MAX_NUMERIC_SPATIAL_HASH_LEVEL + ", but was " + spatialHashLevel );
+		}
+		this.spatialHashLevel = spatialHashLevel;
+	}
+
+	public SpatialFieldBridgeByNumericHash(int spatialHashLevel, String latitudeField, String longitudeField) {
+		this( spatialHashLevel );
+		this.latitudeField = latitudeField;
+		this.longitudeField = longitudeField;
+	}
+
+	/**
+	 * @return the spatial hash level of the indexed cell ids
+	 */
+	public int getSpatialHashLevel() {
+		return spatialHashLevel;
+	}
+
+	/**
+	 * Actual overridden method that does the indexing
+	 *
+	 * @param name of the field
+	 * @param value of the field
+	 * @param document document being indexed
+	 * @param luceneOptions current indexing options and accessors
+	 */
+	@Override
+	public void set(String name, Object value, Document document, LuceneOptions luceneOptions) {
+		if ( value != null ) {
+
+			Double latitude = getLatitude( value );
+			Double longitude = getLongitude( value );
+
+			if ( ( latitude != null ) && ( longitude != null ) ) {
+				luceneOptions.addNumericFieldToDocument(
+						SpatialHelper.formatNumericHashFieldName( name ),
+						SpatialHelper.getNumericSpatialHashCellId( Point.fromDegrees( latitude, longitude ), spatialHashLevel ),
+						document
+				);
+
+				final String latitudeFieldName = SpatialHelper.formatLatitude( name );
+				final String longitudeFieldName = SpatialHelper.formatLongitude( name );
+
+				luceneOptions.addNumericFieldToDocument(
+						latitudeFieldName,
+						latitude,
+						document
+				);
+
+				luceneOptions.addNumericFieldToDocument(
+						longitudeFieldName,
+						longitude,
+						document
+				);
+
+				Field latitudeDocValuesField = new SpatialNumericDocValueField( latitudeFieldName, latitude );
+				document.add( latitudeDocValuesField );
+
+				Field longitudeDocValuesField = new SpatialNumericDocValueField( longitudeFieldName, longitude );
+				document.add( longitudeDocValuesField );
+			}
+		}
+	}
+}
@@ -41,6 +41,32 @@ public static Query buildSpatialQueryByHash(double latitude, double longitude, d
 						fieldName );
 	}
 
+	/**
+	 * Returns a Lucene Query which relies on Hibernate Search Spatial
+	 * numeric spatial hash indexation to find candidate documents and filter its results
+	 * in radius range by a DistanceFilter
+	 *
+	 * @param latitude WGS84 latitude of the center of the search
+	 * @param longitude WGS84 longitude of the center of the search
+	 * @param radius distance max to center in km
+	 * @param fieldName name of the Lucene Field implementing Coordinates
+	 * @param spatialHashLevel spatial hash level the numeric cell ids were indexed at
+	 *
+	 * @return Lucene Query to be used in a search
+	 *
+	 * @see	Query
+	 * @see	Coordinates
+	 * @see SpatialFieldBridgeByNumericHash
+	 */
+	public static Query buildSpatialQueryByNumericHash(double latitude, double longitude, double radius, String fieldName, int spatialHashLevel) {
+		return SpatialQueryBuilderFromCoordinates
+				.buildSpatialQueryByNumericHash(
+						Point.fromDegrees( latitude, longitude ),
+						radius,
+						fieldName,
+						spatialHashLevel );
+	}
+
 	/**
 	 * Returns a Lucene Query which relies on Hibernate Search Spatial
 	 * double range indexation to filter document at radius and filter its results
@@ -7,10 +7,11 @@
 package org.hibernate.search.spatial.impl;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.apache.lucene.index.AtomicReader;
 import org.apache.lucene.index.AtomicReaderContext;
+import org.apache.lucene.index.DocValues;
 import org.apache.lucene.index.NumericDocValues;
 import org.apache.lucene.search.Collector;
 import org.apache.lucene.search.Scorer;
@@ -19,6 +20,10 @@
 
 /**
  * A Lucene distance {@code Collector} for spatial searches.
+ * <p>
+ * Nothing is stored while collecting besides the coordinates doc values of each segment: the distance
+ * of a document is computed the first time it is requested, so only for the hits actually retrieved,
+ * and cached in an open addressing map of primitives.
  *
  * @author Sanne Grinovero
  * @author Nicolas Helleringer
@@ -28,19 +33,22 @@ public class DistanceCollector extends Collector {
 	private final Point center;
 	private final boolean acceptsDocsOutOfOrder;
 	private final Collector delegate;
-	private final SpatialResultsCollector distances;
 	private final String latitudeField;
 	private final String longitudeField;
+	private final DistanceCache distances;
 
-	private int docBase = 0;
-	private NumericDocValues latitudeValues;
-	private NumericDocValues longitudeValues;
+	// parallel arrays of the segments, sorted by doc base
+	private int segments = 0;
+	private AtomicReaderContext[] contexts = new AtomicReaderContext[4];
+	private int[] docBases = new int[4];
+	private NumericDocValues[] latitudeValues = new NumericDocValues[4];
+	private NumericDocValues[] longitudeValues = new NumericDocValues[4];
 
 	public DistanceCollector(Collector delegate, Coordinates centerCoordinates, int hitsCount, String fieldname) {
 		this.delegate = delegate;
 		this.acceptsDocsOutOfOrder = delegate.acceptsDocsOutOfOrder();
 		this.center = Point.fromCoordinates( centerCoordinates );
-		this.distances = new SpatialResultsCollector( hitsCount );
+		this.distances = new DistanceCache( hitsCount );
 		this.latitudeField = SpatialHelper.formatLatitude( fieldname );
 		this.longitudeField = SpatialHelper.formatLongitude( fieldname );
 	}
@@ -53,19 +61,52 @@ public void setScorer(final Scorer scorer) throws IOException {
 	@Override
 	public void collect(final int doc) throws IOException {
 		delegate.collect( doc );
-		final int absolute = docBase + doc;
-		double lat = Double.longBitsToDouble( latitudeValues.get( doc ) );
-		double lon = Double.longBitsToDouble( longitudeValues.get( doc ) );
-		distances.put( absolute, lat, lon );
 	}
 
 	@Override
 	public void setNextReader(AtomicReaderContext newContext) throws IOException {
 		delegate.setNextReader( newContext );
-		final AtomicReader atomicReader = newContext.reader();
-		latitudeValues = atomicReader.getNumericDocValues( latitudeField );
-		longitudeValues = atomicReader.getNumericDocValues( longitudeField );
-		this.docBase = newContext.docBase;
+		addSegment( newContext );
+	}
+
+	/**
+	 * Makes the distances of the documents collected by another collector of the same query available,
+	 * when slices of the index are collected concurrently. Must be invoked once the collection is done.
+	 *
+	 * @param other the collector of another slice of the index
+	 * @throws IOException in case of failure reading the coordinates
+	 */
+	public void addSegmentsOf(DistanceCollector other) throws IOException {
+		for ( int i = 0; i < other.segments; i++ ) {
+			// the doc values are read again as their instances are not meant to be shared among threads
+			addSegment( other.contexts[i] );
+		}
+	}
+
+	private void addSegment(AtomicReaderContext context) throws IOException {
+		final AtomicReader atomicReader = context.reader();
+		NumericDocValues currentLatitudeValues = atomicReader.getNumericDocValues( latitudeField );
+		NumericDocValues currentLongitudeValues = atomicReader.getNumericDocValues( longitudeField );
+		if ( segments == docBases.length ) {
+			contexts = Arrays.copyOf( contexts, segments * 2 );
+			docBases = Arrays.copyOf( docBases, segments * 2 );
+			latitudeValues = Arrays.copyOf( latitudeValues, segments * 2 );
+			longitudeValues = Arrays.copyOf( longitudeValues, segments * 2 );
+		}
+		// keep the segments sorted by doc base
+		int position = segments;
+		while ( position > 0 && docBases[position - 1] > context.docBase ) {
+			contexts[position] = contexts[position - 1];
+			docBases[position] = docBases[position - 1];
+			latitudeValues[position] = latitudeValues[position - 1];
+			longitudeValues[position] = longitudeValues[position - 1];
+			position--;
+		}
+		contexts[position] = context;
+		docBases[position] = context.docBase;
+		latitudeValues[position] = currentLatitudeValues == null ? DocValues.emptyNumeric() : currentLatitudeValues;
+		longitudeValues[position] = currentLongitudeValues == null ? DocValues.emptyNumeric() : currentLongitudeValues;
+		segments++;
 	}
 
 	@Override
@@ -74,78 +115,96 @@ public boolean acceptsDocsOutOfOrder() {
 	}
 
 	public double getDistance(final int index) {
-		return distances.get( index, center );
+		double distance = distances.get( index );
+		if ( Double.isNaN( distance ) ) {
+			int segment = segmentOf( index );
+			if ( segment < 0 ) {
+				throw new SearchException( "Unexpected index: this documentId was not collected" );
+			}
+			int doc = index - docBases[segment];
+			distance = center.getDistanceTo(
+					Double.longBitsToDouble( latitudeValues[segment].get( doc ) ),
+					Double.longBitsToDouble( longitudeValues[segment].get( doc ) )
+			);
+			distances.put( index, distance );
+		}
+		return distance;
 	}
 
 	/**
-	 * We'll store matching hits in HitEntry instances so to allow retrieving results
-	 * in a second phase after the Collector has run.
-	 * Also take the opportunity to lazily calculate the actual distance: only store
-	 * latitude and longitude coordinates.
+	 * @return the position of the segment containing the document, or -1 if no segment was collected
 	 */
-	private static class HitEntry {
-		int documentId;
-		double latitude;
-		double longitude;
-
-		private HitEntry(int documentId, double latitude, double longitude) {
-			this.documentId = documentId;
-			this.latitude = latitude;
-			this.longitude = longitude;
-		}
-
-		double getDistance(final Point center) {
-			return center.getDistanceTo( latitude, longitude );
-		}
+	private int segmentOf(final int index) {
+		int position = Arrays.binarySearch( docBases, 0, segments, index );
+		// the segment starting at the greatest doc base lower than the document
+		return position >= 0 ? position : -position - 2;
 	}
 
 	/**
-	 * A custom structure to store all HitEntry instances.
-	 * Based on an array, as in most cases we'll append sequentially and iterate the
-	 * results in the same order too. The size is well known in most situations so we can
-	 * also guess an appropriate allocation size.
-	 *
-	 * Iteration of the results will in practice follow a monotonic index, unless a non natural
-	 * Sort is specified. So by keeping track of the position in the array of the last request,
-	 * and look from that pointer first, the cost of get operations is O(1) in most common use
-	 * cases.
+	 * Maps document ids to their distance, in open addressing arrays of primitives with linear probing.
+	 * The cache is sized for the number of hits to retrieve, up to a limit as they are not always all retrieved.
 	 */
-	private static class SpatialResultsCollector {
-		final ArrayList<HitEntry> orderedEntries;
-		int currentIterator = 0;
+	private static final class DistanceCache {
+
+		private static final int FREE = -1;
+		private static final int MAX_INITIAL_SIZE = 256;
 
-		private SpatialResultsCollector(int size) {
-			orderedEntries = new ArrayList<HitEntry>( size );
+		private int[] documentIds;
+		private double[] distances;
+		private int size = 0;
+
+		private DistanceCache(int expectedSize) {
+			// keep the load factor below 0.5
+			allocate( Integer.highestOneBit( Math.max( 4, Math.min( expectedSize, MAX_INITIAL_SIZE ) ) * 4 - 1 ) );
 		}
 
-		public double get(int index, Point center) {
-			//Optimize for an iteration having a monotonic index:
-			int startingPoint = currentIterator;
-			for ( ; currentIterator < orderedEntries.size(); currentIterator++ ) {
-				HitEntry currentEntry = orderedEntries.get( currentIterator );
-				if ( currentEntry == null ) {
-					break;
-				}
-				if ( currentEntry.documentId == index ) {
-					return currentEntry.getDistance( center );
+		/**
+		 * @return the distance of the document, or NaN if it's not in the cache
+		 */
+		double get(int documentId) {
+			int mask = documentIds.length - 1;
+			for ( int slot = hash( documentId ) & mask; documentIds[slot] != FREE; slot = ( slot + 1 ) & mask ) {
+				if ( documentIds[slot] == documentId ) {
+					return distances[slot];
 				}
 			}
+			return Double.NaN;
+		}
 
-			//No match yet! scan the remaining section from the beginning:
-			for ( currentIterator = 0; currentIterator < startingPoint; currentIterator++ ) {
-				HitEntry currentEntry = orderedEntries.get( currentIterator );
-				if ( currentEntry == null ) {
-					break;
-				}
-				if ( currentEntry.documentId == index ) {
-					return currentEntry.getDistance( center );
+		void put(int documentId, double distance) {
+			if ( 2 * ( size + 1 ) > documentIds.length ) {
+				int[] oldDocumentIds = documentIds;
+				double[] oldDistances = distances;
+				allocate( oldDocumentIds.length * 2 );
+				for ( int i = 0; i < oldDocumentIds.length; i++ ) {
+					if ( oldDocumentIds[i] != FREE ) {
+						insert( oldDocumentIds[i], oldDistances[i] );
+					}
 				}
 			}
-			throw new SearchException( "Unexpected index: this documentId was not collected" );
+			insert( documentId, distance );
+			size++;
+		}
+
+		private void insert(int documentId, double distance) {
+			int mask = documentIds.length - 1;
+			int slot = hash( documentId ) & mask;
+			while ( documentIds[slot] != FREE ) {
+				slot = ( slot + 1 ) & mask;
+			}
+			documentIds[slot] = documentId;
+			distances[slot] = distance;
+		}
+
+		private void allocate(int capacity) {
+			documentIds = new int[capacity];
+			Arrays.fill( documentIds, FREE );
+			distances = new double[capacity];
 		}
 
-		void put(int documentId, double latitude, double longitude) {
-			orderedEntries.add( new HitEntry( documentId, latitude, longitude ) );
+		private static int hash(int documentId) {
+			int hash = documentId * 0x9E3779B9;
+			return hash ^ ( hash >>> 16 );
 		}
 	}
 
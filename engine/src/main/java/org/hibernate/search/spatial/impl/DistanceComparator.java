@@ -13,16 +13,27 @@
 import org.apache.lucene.index.NumericDocValues;
 import org.apache.lucene.search.FieldComparator;
 
+/**
+ * Sorts documents by their distance to a center.
+ * The distance of a competitive document is computed once: {@link #compareBottom(int)} keeps it for the
+ * following {@link #copy(int, int)} of the same document, and the sort values are reused as the distance
+ * projection of the hits.
+ */
 public final class DistanceComparator extends FieldComparator<Double> {
 
 	private final Point center;
 	private final String latitudeField;
 	private final String longitudeField;
-	private double[] distances;
+	private final double[] distances;
 	private NumericDocValues latitudeValues;
 	private NumericDocValues longitudeValues;
-	private Double bottomDistance;
-	private Double topValue;
+	private double bottomDistance;
+	private boolean hasTopValue;
+	private double topValue;
+
+	// the distance of the last document compared to the bottom, -1 when none
+	private int lastDoc = -1;
+	private double lastDistance;
 
 	public DistanceComparator(Point center, int numHits, String fieldName) {
 		this.center = center;
@@ -43,41 +54,30 @@ public void setBottom(final int slot) {
 
 	@Override
 	public void setTopValue(Double value) {
-		topValue = value;
+		hasTopValue = value != null;
+		if ( hasTopValue ) {
+			topValue = value;
+		}
 	}
 
 	@Override
 	public int compareBottom(final int doc) throws IOException {
-		return Double.compare(
-				bottomDistance,
-				center.getDistanceTo( latitude( doc ), longitude( doc ) )
-		);
-	}
-
-	private double longitude(final int doc) {
-		return Double.longBitsToDouble( longitudeValues.get( doc ) );
-	}
-
-	private double latitude(final int doc) {
-		return Double.longBitsToDouble( latitudeValues.get( doc ) );
+		lastDoc = doc;
+		lastDistance = distance( doc );
+		return Double.compare( bottomDistance, lastDistance );
 	}
 
 	@Override
 	public int compareTop(int doc) throws IOException {
-		if ( topValue == null ) {
-			return 1; //we consider any doc "higher" than null
+		if ( !hasTopValue ) {
+			return -1; //we consider any doc "higher" than null
 		}
-
-		final double distanceTo = center.getDistanceTo( latitude( doc ), longitude( doc ) );
-		return Double.compare( distanceTo, topValue );
+		return Double.compare( topValue, distance( doc ) );
 	}
 
 	@Override
 	public void copy(final int slot, final int doc) throws IOException {
-		distances[slot] = center.getDistanceTo(
-				latitude( doc ),
-				longitude( doc )
-		);
+		distances[slot] = doc == lastDoc ? lastDistance : distance( doc );
 	}
 
 	@Override
@@ -85,6 +85,7 @@ public DistanceComparator setNextReader(final AtomicReaderContext context) throw
 		final AtomicReader atomicReader = context.reader();
 		latitudeValues = atomicReader.getNumericDocValues( latitudeField );
 		longitudeValues = atomicReader.getNumericDocValues( longitudeField );
+		lastDoc = -1;
 		return this;
 	}
 
@@ -92,4 +93,11 @@ public DistanceComparator setNextReader(final AtomicReaderContext context) throw
 	public Double value(final int slot) {
 		return distances[slot];
 	}
+
+	private double distance(final int doc) {
+		return center.getDistanceTo(
+				Double.longBitsToDouble( latitudeValues.get( doc ) ),
+				Double.longBitsToDouble( longitudeValues.get( doc ) )
+		);
+	}
 }
@@ -10,6 +10,7 @@
 
 import org.apache.lucene.search.FieldComparator;
 import org.apache.lucene.search.FieldComparatorSource;
+import org.apache.lucene.search.SortField;
 
 import org.hibernate.search.spatial.Coordinates;
 
@@ -21,6 +22,23 @@ public DistanceComparatorSource(Coordinates center) {
 		this.center = Point.fromCoordinates( center );
 	}
 
+	/**
+	 * @param sortField a field of a sort
+	 * @param center the center of a spatial query
+	 * @param fieldName the spatial field of the query
+	 * @return {@code true} if the sort field sorts by the distance to the given center on the given spatial field,
+	 * in which case its sort values are the distances of the hits
+	 */
+	public static boolean isDistanceSort(SortField sortField, Coordinates center, String fieldName) {
+		if ( !( sortField.getComparatorSource() instanceof DistanceComparatorSource ) || !fieldName.equals( sortField.getField() ) ) {
+			return false;
+		}
+		Point sortCenter = ( (DistanceComparatorSource) sortField.getComparatorSource() ).center;
+		Point queryCenter = Point.fromCoordinates( center );
+		return sortCenter.getLatitude().equals( queryCenter.getLatitude() )
+				&& sortCenter.getLongitude().equals( queryCenter.getLongitude() );
+	}
+
 	@Override
 	public FieldComparator<?> newComparator(String fieldName, int numHits, int sortPos, boolean reversed)
 			throws IOException {
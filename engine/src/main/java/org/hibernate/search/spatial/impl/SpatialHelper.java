@@ -7,6 +7,9 @@
 package org.hibernate.search.spatial.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import org.hibernate.search.spatial.Coordinates;
@@ -23,6 +26,18 @@ public abstract class SpatialHelper {
 
 	private static final double LOG2 = Math.log( 2 );
 
+	/**
+	 * Highest spatial hash level whose numeric cell ids, interleaving the bits of both cell indexes, fit in a long
+	 */
+	public static final int MAX_NUMERIC_SPATIAL_HASH_LEVEL = 31;
+
+	private static final Comparator<long[]> RANGE_COMPARATOR = new Comparator<long[]>() {
+		@Override
+		public int compare(long[] range1, long[] range2) {
+			return Long.compare( range1[0], range2[0] );
+		}
+	};
+
 	/**
 	 * Private constructor locking down utility class
 	 */
@@ -178,6 +193,161 @@ public static List<String> getSpatialHashCellsIds(Coordinates center, double rad
 		}
 	}
 
+	/**
+	 * Generate a numeric spatial hash cell id for a position: the Z-order (Morton) code of the cell, interleaving
+	 * the bits of the cell indexes on both axes. The cells at a coarser level are prefixes of this id, so the cells
+	 * of any level covering an area are a contiguous range of ids.
+	 *
+	 * @param point position to compute the numeric spatial hash cell id for
+	 * @param spatialHashLevel How many time the dimensions have been split in two, at most {@link #MAX_NUMERIC_SPATIAL_HASH_LEVEL}
+	 * @return the numeric cell id for the point at the given spatial hash level
+	 */
+	public static long getNumericSpatialHashCellId(Point point, int spatialHashLevel) {
+		double[] indexablesCoordinates = projectToIndexSpace( point );
+		long longitudeCellIndex = getNumericCellIndex(
+				indexablesCoordinates[0],
+				GeometricConstants.PROJECTED_LONGITUDE_RANGE,
+				spatialHashLevel
+		);
+		long latitudeCellIndex = getNumericCellIndex(
+				indexablesCoordinates[1],
+				GeometricConstants.PROJECTED_LATITUDE_RANGE,
+				spatialHashLevel
+		);
+		return interleave( longitudeCellIndex, latitudeCellIndex );
+	}
+
+	/**
+	 * Generate the ranges of numeric spatial hash cell ids covering the bounding box of a circular search area.
+	 * The box is covered by cells of decreasing size down to one level below the best level for the search range,
+	 * so that a handful of ranges is enough whatever the spatial hash level of the ids.
+	 *
+	 * @param center center of the search area
+	 * @param radius radius of the search area
+	 * @param spatialHashLevel spatial hash level of the indexed numeric cell ids
+	 * @return the lower and upper bounds (inclusive) of each range, sorted, in a flat array
+	 */
+	public static long[] getNumericSpatialHashCellsIdsRanges(Coordinates center, double radius, int spatialHashLevel) {
+		Rectangle boundingBox = Rectangle.fromBoundingCircle( center, radius );
+		int searchLevel = Math.min( spatialHashLevel, findBestSpatialHashLevelForSearchRange( 2.0d * radius ) + 1 );
+
+		double lowerLeftLatitude = boundingBox.getLowerLeft().getLatitudeRad();
+		double lowerLeftLongitude = boundingBox.getLowerLeft().getLongitudeRad();
+		double upperRightLatitude = boundingBox.getUpperRight().getLatitudeRad();
+		double upperRightLongitude = boundingBox.getUpperRight().getLongitudeRad();
+
+		List<long[]> ranges = new ArrayList<long[]>();
+		if ( upperRightLongitude < lowerLeftLongitude ) { // Box cross the 180 meridian
+			addNumericSpatialHashCellsIdsRanges( ranges, lowerLeftLatitude, lowerLeftLongitude, upperRightLatitude, Math.PI,
+					spatialHashLevel, searchLevel );
+			addNumericSpatialHashCellsIdsRanges( ranges, lowerLeftLatitude, -Math.PI, upperRightLatitude, upperRightLongitude,
+					spatialHashLevel, searchLevel );
+			Collections.sort( ranges, RANGE_COMPARATOR );
+		}
+		else {
+			addNumericSpatialHashCellsIdsRanges( ranges, lowerLeftLatitude, lowerLeftLongitude, upperRightLatitude, upperRightLongitude,
+					spatialHashLevel, searchLevel );
+		}
+
+		long[] bounds = new long[ranges.size() * 2];
+		int size = 0;
+		for ( long[] range : ranges ) {
+			if ( size > 0 && range[0] <= bounds[size - 1] + 1 ) {
+				bounds[size - 1] = Math.max( bounds[size - 1], range[1] );
+			}
+			else {
+				bounds[size++] = range[0];
+				bounds[size++] = range[1];
+			}
+		}
+		return Arrays.copyOf( bounds, size );
+	}
+
+	private static void addNumericSpatialHashCellsIdsRanges(List<long[]> ranges, double lowerLatitude, double lowerLongitude,
+			double upperLatitude, double upperLongitude, int spatialHashLevel, int searchLevel) {
+		// the projected longitude shrinks with the cosine of the latitude, which is the highest on the closest latitude to the equator
+		double closestToEquator = lowerLatitude > 0 ? lowerLatitude : ( upperLatitude < 0 ? upperLatitude : 0 );
+		double maxCosine = Math.cos( closestToEquator );
+		double minCosine = Math.min( Math.cos( lowerLatitude ), Math.cos( upperLatitude ) );
+
+		long startX = getNumericCellIndex(
+				Math.min( lowerLongitude * minCosine, lowerLongitude * maxCosine ),
+				GeometricConstants.PROJECTED_LONGITUDE_RANGE,
+				spatialHashLevel
+		);
+		long endX = getNumericCellIndex(
+				Math.max( upperLongitude * minCosine, upperLongitude * maxCosine ),
+				GeometricConstants.PROJECTED_LONGITUDE_RANGE,
+				spatialHashLevel
+		);
+		long startY = getNumericCellIndex( lowerLatitude, GeometricConstants.PROJECTED_LATITUDE_RANGE, spatialHashLevel );
+		long endY = getNumericCellIndex( upperLatitude, GeometricConstants.PROJECTED_LATITUDE_RANGE, spatialHashLevel );
+
+		addCoveringCells( ranges, 0, 0, 0, searchLevel, spatialHashLevel, startX, endX, startY, endY );
+	}
+
+	/**
+	 * Adds the ids of the cells of a quadrant intersecting the area, splitting it until the cells
+	 * are either inside the area or at the search level. Ranges are added in increasing order,
+	 * contiguous ranges being merged.
+	 */
+	private static void addCoveringCells(List<long[]> ranges, long quadrantX, long quadrantY, int quadrantLevel, int searchLevel,
+			int spatialHashLevel, long startX, long endX, long startY, long endY) {
+		int shift = spatialHashLevel - quadrantLevel;
+		long minX = quadrantX << shift;
+		long maxX = ( ( quadrantX + 1 ) << shift ) - 1;
+		long minY = quadrantY << shift;
+		long maxY = ( ( quadrantY + 1 ) << shift ) - 1;
+		if ( maxX < startX || minX > endX || maxY < startY || minY > endY ) {
+			return;
+		}
+		if ( quadrantLevel == searchLevel || ( minX >= startX && maxX <= endX && minY >= startY && maxY <= endY ) ) {
+			long first = interleave( minX, minY );
+			long last = interleave( maxX, maxY );
+			long[] previous = ranges.isEmpty() ? null : ranges.get( ranges.size() - 1 );
+			if ( previous != null && previous[1] + 1 == first ) {
+				previous[1] = last;
+			}
+			else {
+				ranges.add( new long[] { first, last } );
+			}
+			return;
+		}
+		// children in increasing order of their ids: the longitude bit is the lowest
+		for ( int y = 0; y < 2; y++ ) {
+			for ( int x = 0; x < 2; x++ ) {
+				addCoveringCells( ranges, quadrantX * 2 + x, quadrantY * 2 + y, quadrantLevel + 1, searchLevel,
+						spatialHashLevel, startX, endX, startY, endY );
+			}
+		}
+	}
+
+	/**
+	 * Generate a cell index on one axis, shifted to be positive: 0 for the first cell
+	 * and 2^spatialHashLevel - 1 for the last one.
+	 */
+	private static long getNumericCellIndex(double coordinate, double range, int spatialHashLevel) {
+		long cells = 1L << spatialHashLevel;
+		long index = getCellIndex( coordinate, range, spatialHashLevel ) + cells / 2;
+		return Math.max( 0, Math.min( cells - 1, index ) );
+	}
+
+	/**
+	 * @return the Z-order code of the cell, the bits of the longitude index being on even positions
+	 */
+	private static long interleave(long longitudeCellIndex, long latitudeCellIndex) {
+		return spread( longitudeCellIndex ) | ( spread( latitudeCellIndex ) << 1 );
+	}
+
+	private static long spread(long value) {
+		long spread = value & 0xFFFFFFFFL;
+		spread = ( spread | ( spread << 16 ) ) & 0x0000FFFF0000FFFFL;
+		spread = ( spread | ( spread << 8 ) ) & 0x00FF00FF00FF00FFL;
+		spread = ( spread | ( spread << 4 ) ) & 0x0F0F0F0F0F0F0F0FL;
+		spread = ( spread | ( spread << 2 ) ) & 0x3333333333333333L;
+		return ( spread | ( spread << 1 ) ) & 0x5555555555555555L;
+	}
+
 	/**
 	 * If point are searched at d distance from a point, a certain spatial hash cell level will problem spatial hash
 	 * cell that are big enough to contain the search area but the smallest possible. By returning this level we ensure
@@ -216,6 +386,10 @@ public static String formatFieldName(final int spatialHashLevel, final String fi
 		return fieldName + "_HSSI_" + spatialHashLevel;
 	}
 
+	public static String formatNumericHashFieldName(final String fieldName) {
+		return fieldName + "_HSSI_NumericHash";
+	}
+
 	public static String formatLatitude(final String fieldName) {
 		return fieldName + "_HSSI_Latitude";
 	}
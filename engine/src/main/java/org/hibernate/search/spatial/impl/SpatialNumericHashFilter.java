@@ -0,0 +1,95 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.spatial.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.lucene.index.AtomicReaderContext;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.NumericRangeFilter;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.FixedBitSet;
+
+/**
+ * Lucene Filter for filtering documents which have been indexed with the
+ * {@link org.hibernate.search.spatial.SpatialFieldBridgeByNumericHash}.
+ * <p>
+ * The cells covering the search area are a few ranges of numeric cell ids, each one resolved
+ * by a {@link NumericRangeFilter} enumerating a handful of trie terms instead of one term per cell.
+ * The returned document id sets are cacheable, and filters on the same ranges are equal,
+ * so their results are shared per segment through the filter cache of the SearchIntegrator.
+ *
+ * @see org.hibernate.search.spatial.SpatialFieldBridgeByNumericHash
+ * @see SpatialHelper#getNumericSpatialHashCellsIdsRanges(org.hibernate.search.spatial.Coordinates, double, int)
+ */
+public final class SpatialNumericHashFilter extends Filter {
+
+	private final long[] ranges;
+	private final String fieldName;
+	private final List<NumericRangeFilter<Long>> rangeFilters;
+
+	/**
+	 * @param ranges the lower and upper bounds (inclusive) of each range of cell ids, in a flat array
+	 * @param fieldName the name of the field holding the numeric cell ids
+	 */
+	public SpatialNumericHashFilter(long[] ranges, String fieldName) {
+		this.ranges = ranges;
+		this.fieldName = fieldName;
+		this.rangeFilters = new ArrayList<NumericRangeFilter<Long>>( ranges.length / 2 );
+		for ( int i = 0; i < ranges.length; i += 2 ) {
+			rangeFilters.add( NumericRangeFilter.newLongRange( fieldName, ranges[i], ranges[i + 1], true, true ) );
+		}
+	}
+
+	@Override
+	public DocIdSet getDocIdSet(AtomicReaderContext context, Bits acceptDocs) throws IOException {
+		FixedBitSet matchedDocumentsIds = null;
+		for ( NumericRangeFilter<Long> rangeFilter : rangeFilters ) {
+			DocIdSet rangeDocs = rangeFilter.getDocIdSet( context, acceptDocs );
+			DocIdSetIterator iterator = rangeDocs == null ? null : rangeDocs.iterator();
+			if ( iterator != null ) {
+				if ( matchedDocumentsIds == null ) {
+					matchedDocumentsIds = new FixedBitSet( context.reader().maxDoc() );
+				}
+				matchedDocumentsIds.or( iterator );
+			}
+		}
+		return matchedDocumentsIds;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || getClass() != o.getClass() ) {
+			return false;
+		}
+		SpatialNumericHashFilter that = (SpatialNumericHashFilter) o;
+		return fieldName.equals( that.fieldName ) && Arrays.equals( ranges, that.ranges );
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * fieldName.hashCode() + Arrays.hashCode( ranges );
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append( "SpatialNumericHashFilter" );
+		sb.append( "{ranges=" ).append( ranges.length / 2 );
+		sb.append( ", fieldName='" ).append( fieldName ).append( '\'' );
+		sb.append( '}' );
+		return sb.toString();
+	}
+}
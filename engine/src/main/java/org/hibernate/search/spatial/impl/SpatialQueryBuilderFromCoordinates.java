@@ -15,9 +15,16 @@
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.QueryWrapperFilter;
 
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.filter.FilterCachingStrategy;
+import org.hibernate.search.filter.impl.CachingWrapperFilter;
+import org.hibernate.search.filter.impl.DefaultFilterKey;
+import org.hibernate.search.filter.impl.OffHeapCachingWrapperFilter;
+import org.hibernate.search.filter.impl.OffHeapFilterCache;
 import org.hibernate.search.spatial.Coordinates;
 import org.hibernate.search.spatial.SpatialFieldBridgeByHash;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -49,6 +56,56 @@ public static Filter buildSpatialHashFilter(Coordinates center, double radius, S
 		return new SpatialHashFilter( spatialHashCellsIds, SpatialHelper.formatFieldName( bestSpatialHashLevel, fieldName ) );
 	}
 
+	/**
+	 * Returns a Lucene filter which relies on Hibernate Search Spatial
+	 * numeric spatial hash indexation to filter document at radius
+	 *
+	 * @param center center of the search discus
+	 * @param radius distance max to center in km
+	 * @param fieldName name of the Lucene Field implementing Coordinates
+	 * @param spatialHashLevel spatial hash level of the indexed numeric cell ids
+	 * @return Lucene filter to be used in a Query
+	 * @see org.hibernate.search.spatial.SpatialFieldBridgeByNumericHash
+	 */
+	public static Filter buildSpatialNumericHashFilter(Coordinates center, double radius, String fieldName, int spatialHashLevel) {
+		long[] ranges = SpatialHelper.getNumericSpatialHashCellsIdsRanges( center, radius, spatialHashLevel );
+		return new SpatialNumericHashFilter( ranges, SpatialHelper.formatNumericHashFieldName( fieldName ) );
+	}
+
+	/**
+	 * Returns the numeric spatial hash filter of {@link #buildSpatialNumericHashFilter(Coordinates, double, String, int)}
+	 * from the filter cache of the SearchIntegrator, so that queries on the same cells share their results per segment.
+	 *
+	 * @param center center of the search discus
+	 * @param radius distance max to center in km
+	 * @param fieldName name of the Lucene Field implementing Coordinates
+	 * @param spatialHashLevel spatial hash level of the indexed numeric cell ids
+	 * @param integrator the SearchIntegrator owning the filter caches
+	 * @return Lucene filter to be used in a Query
+	 */
+	public static Filter buildSpatialNumericHashFilter(Coordinates center, double radius, String fieldName, int spatialHashLevel,
+			ExtendedSearchIntegrator integrator) {
+		Filter filter = buildSpatialNumericHashFilter( center, radius, fieldName, spatialHashLevel );
+		// the filter is its own key: filters on the same cells are equal
+		DefaultFilterKey key = new DefaultFilterKey(
+				SpatialNumericHashFilter.class.getName(),
+				Collections.<String, Object>singletonMap( "filter", filter )
+		);
+		FilterCachingStrategy filterCachingStrategy = integrator.getFilterCachingStrategy();
+		Filter cachedFilter = filterCachingStrategy.getCachedFilter( key );
+		if ( cachedFilter == null ) {
+			OffHeapFilterCache offHeapFilterCache = integrator.getOffHeapFilterCache();
+			if ( offHeapFilterCache != null ) {
+				cachedFilter = new OffHeapCachingWrapperFilter( filter, offHeapFilterCache );
+			}
+			else {
+				cachedFilter = new CachingWrapperFilter( filter, integrator.getFilterCacheBitResultsSize() );
+			}
+			filterCachingStrategy.addCachedFilter( key, cachedFilter );
+		}
+		return cachedFilter;
+	}
+
 	/**
 	 * Returns a Lucene filter to fine filter document by distance
 	 *
@@ -143,6 +200,55 @@ public static Query buildSpatialQueryByHash(Coordinates center, double radius, S
 		);
 	}
 
+	/**
+	 * Returns a Lucene Query which relies on Hibernate Search Spatial
+	 * numeric spatial hash indexation to filter documents at radius and filter its results
+	 * by a fine DistanceFilter
+	 *
+	 * @param center center of the search discus
+	 * @param radius distance max to center in km
+	 * @param fieldName name of the Lucene Field implementing Coordinates
+	 * @param spatialHashLevel spatial hash level of the indexed numeric cell ids
+	 * @return Lucene Query to be used in a search
+	 * @see Query
+	 * @see org.hibernate.search.spatial.Coordinates
+	 */
+	public static Query buildSpatialQueryByNumericHash(Coordinates center, double radius, String fieldName, int spatialHashLevel) {
+		return new FilteredQuery( new MatchAllDocsQuery(),
+				buildDistanceFilter(
+						buildSpatialNumericHashFilter( center, radius, fieldName, spatialHashLevel ),
+						center,
+						radius,
+						fieldName
+				)
+		);
+	}
+
+	/**
+	 * Returns a Lucene Query which relies on Hibernate Search Spatial
+	 * numeric spatial hash indexation to filter documents at radius and filter its results
+	 * by a fine DistanceFilter, the numeric spatial hash filter results being cached by the SearchIntegrator
+	 *
+	 * @param center center of the search discus
+	 * @param radius distance max to center in km
+	 * @param fieldName name of the Lucene Field implementing Coordinates
+	 * @param spatialHashLevel spatial hash level of the indexed numeric cell ids
+	 * @param integrator the SearchIntegrator owning the filter caches
+	 * @return Lucene Query to be used in a search
+	 * @see #buildSpatialNumericHashFilter(Coordinates, double, String, int, ExtendedSearchIntegrator)
+	 */
+	public static Query buildSpatialQueryByNumericHash(Coordinates center, double radius, String fieldName, int spatialHashLevel,
+			ExtendedSearchIntegrator integrator) {
+		return new FilteredQuery( new MatchAllDocsQuery(),
+				buildDistanceFilter(
+						buildSpatialNumericHashFilter( center, radius, fieldName, spatialHashLevel, integrator ),
+						center,
+						radius,
+						fieldName
+				)
+		);
+	}
+
 	/**
 	 * Returns a Lucene Query which rely on double numeric range query
 	 * on Latitude / Longitude
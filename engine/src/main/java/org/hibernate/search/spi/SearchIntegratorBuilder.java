@@ -29,6 +29,7 @@
 import org.hibernate.search.annotations.FullTextFilterDefs;
 import org.hibernate.search.annotations.Indexed;
 import org.hibernate.search.backend.impl.BatchedQueueingProcessor;
+import org.hibernate.search.backend.impl.IndexOperationsDispatcher;
 import org.hibernate.search.backend.impl.QueueingProcessor;
 import org.hibernate.search.backend.impl.WorkerFactory;
 import org.hibernate.search.cfg.Environment;
@@ -47,6 +48,7 @@
 import org.hibernate.search.engine.impl.ReflectionReplacingSearchConfiguration;
 import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
 import org.hibernate.search.engine.metadata.impl.AnnotationMetadataProvider;
+import org.hibernate.search.engine.metadata.impl.ContainedInDependencies;
 import org.hibernate.search.engine.metadata.impl.TypeMetadata;
 import org.hibernate.search.engine.service.classloading.spi.ClassLoaderService;
 import org.hibernate.search.engine.service.impl.StandardServiceManager;
@@ -63,6 +65,8 @@
 import org.hibernate.search.filter.impl.CachingWrapperFilter;
 import org.hibernate.search.filter.impl.MRUFilterCachingStrategy;
 import org.hibernate.search.indexes.impl.IndexManagerHolder;
+import org.hibernate.search.query.engine.impl.EntityLoadingExecutor;
+import org.hibernate.search.query.engine.impl.ParallelSearchExecutor;
 import org.hibernate.search.spi.impl.ExtendedSearchIntegratorWithShareableState;
 import org.hibernate.search.spi.impl.PolymorphicIndexHierarchy;
 import org.hibernate.search.spi.impl.SearchFactoryState;
@@ -212,7 +216,8 @@ private ExtendedSearchIntegrator buildNewSearchFactory() {
 
 		QueueingProcessor queueingProcessor = new BatchedQueueingProcessor(
 				documentBuildersIndexedEntities,
-				cfg.getProperties()
+				cfg.getProperties(),
+				factoryState.getIndexOperationsDispatcher()
 		);
 		// build worker and back end components
 		factoryState.setWorker( WorkerFactory.createWorker( cfg, buildContext, queueingProcessor ) );
@@ -286,6 +291,11 @@ private void createCleanFactoryState(SearchConfiguration cfg, BuildContext build
 			);
 			factoryState.setAllIndexesManager( new IndexManagerHolder() );
 			factoryState.setErrorHandler( createErrorHandler( cfg ) );
+			factoryState.setIndexOperationsDispatcher(
+					new IndexOperationsDispatcher( cfg.getProperties(), factoryState.getErrorHandler() )
+			);
+			factoryState.setParallelSearchExecutor( new ParallelSearchExecutor( cfg.getProperties() ) );
+			factoryState.setEntityLoadingExecutor( new EntityLoadingExecutor( cfg.getProperties() ) );
 			factoryState.setInstanceInitializer( cfg.getInstanceInitializer() );
 			factoryState.setTimingSource( new DefaultTimingSource() );
 			factoryState.setIndexMetadataComplete( cfg.isIndexMetadataComplete() );
@@ -392,6 +402,12 @@ else if ( metadataProvider.containsSearchMetadata( mappedClass ) ) {
 				documentBuildersContainedEntities
 		);
 
+		resolveContainedInDependencies(
+				searchConfiguration.getReflectionManager(),
+				documentBuildersIndexedEntities,
+				documentBuildersContainedEntities
+		);
+
 		factoryState.addFilterDefinitions( configContext.initFilters() );
 		factoryState.addAnalyzers( configContext.initLazyAnalyzers() );
 	}
@@ -425,6 +441,24 @@ private void disableBlackListedTypesOptimization(Map<XClass, Class<?>> classMapp
 		}
 	}
 
+	/**
+	 * Computes which properties of the types declaring {@code @ContainedIn} are embedded in the containing entities,
+	 * for all types including the ones added previously.
+	 */
+	private void resolveContainedInDependencies(ReflectionManager reflectionManager,
+			Map<Class<?>, EntityIndexBinding> documentBuildersIndexedEntities,
+			Map<Class<?>, DocumentBuilderContainedEntity> documentBuildersContainedEntities) {
+		List<TypeMetadata> indexedTypes = new ArrayList<TypeMetadata>( documentBuildersIndexedEntities.size() );
+		for ( EntityIndexBinding entityIndexBinding : documentBuildersIndexedEntities.values() ) {
+			indexedTypes.add( entityIndexBinding.getDocumentBuilder().getTypeMetadata() );
+		}
+		List<TypeMetadata> allTypes = new ArrayList<TypeMetadata>( indexedTypes );
+		for ( DocumentBuilderContainedEntity documentBuilder : documentBuildersContainedEntities.values() ) {
+			allTypes.add( documentBuilder.getTypeMetadata() );
+		}
+		ContainedInDependencies.resolve( indexedTypes, allTypes, reflectionManager );
+	}
+
 	/**
 	 * prepares XClasses from configuration
 	 */
@@ -11,6 +11,7 @@
 import java.util.Properties;
 
 import org.apache.lucene.analysis.Analyzer;
+import org.hibernate.search.backend.impl.IndexOperationsDispatcher;
 import org.hibernate.search.backend.spi.Worker;
 import org.hibernate.search.cfg.SearchMapping;
 import org.hibernate.search.cfg.spi.IndexManagerFactory;
@@ -22,6 +23,8 @@
 import org.hibernate.search.exception.ErrorHandler;
 import org.hibernate.search.filter.FilterCachingStrategy;
 import org.hibernate.search.indexes.impl.IndexManagerHolder;
+import org.hibernate.search.query.engine.impl.EntityLoadingExecutor;
+import org.hibernate.search.query.engine.impl.ParallelSearchExecutor;
 import org.hibernate.search.query.engine.spi.TimeoutExceptionFactory;
 import org.hibernate.search.spi.IndexingMode;
 import org.hibernate.search.spi.InstanceInitializer;
@@ -66,6 +69,12 @@ public interface SearchFactoryState {
 
 	TimingSource getTimingSource();
 
+	IndexOperationsDispatcher getIndexOperationsDispatcher();
+
+	ParallelSearchExecutor getParallelSearchExecutor();
+
+	EntityLoadingExecutor getEntityLoadingExecutor();
+
 	SearchMapping getProgrammaticMapping();
 
 	boolean isIndexMetadataComplete();
@@ -0,0 +1,29 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.stat;
+
+/**
+ * The phases of the execution of a full-text query whose latency is recorded by the {@link Statistics}.
+ */
+public enum QueryPhase {
+
+	/**
+	 * Execution of the Lucene query, collecting the matching documents.
+	 */
+	SEARCH,
+
+	/**
+	 * Extraction of the identifiers and projections from the matching documents.
+	 */
+	DOCUMENT_EXTRACTION,
+
+	/**
+	 * Loading of the matching entities.
+	 */
+	OBJECT_LOADING
+
+}
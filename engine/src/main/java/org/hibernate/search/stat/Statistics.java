@@ -69,6 +69,62 @@ public interface Statistics {
 	 */
 	long getObjectsLoadedCount();
 
+	/**
+	 * Get the number of discrete faceting requests which could reuse the global ordinals
+	 * computed for the same index readers by a previous query.
+	 */
+	long getFacetReaderStateCacheHitCount();
+
+	/**
+	 * Get the number of discrete faceting requests which needed to compute the global ordinals
+	 * of the index readers, typically once after each index change.
+	 */
+	long getFacetReaderStateCacheMissCount();
+
+	/**
+	 * Get the latency in nanoseconds under which the given percentage of the executions of a query phase
+	 * completed, for each index searched by queries.
+	 * A query searching several indexes is recorded for each of them, the shards excluded by the sharding
+	 * strategy are not; the latency is estimated with a relative error below 12.5%.
+	 * The loading of the entities doesn't read the indexes, so {@link QueryPhase#OBJECT_LOADING} is only
+	 * recorded per entity type.
+	 *
+	 * @param phase the name of a {@link QueryPhase}
+	 * @param percentile the percentage of executions, between 0 and 100
+	 * @return a map of the latencies, keyed by index name
+	 * @throws java.lang.IllegalArgumentException in case the phase or the percentile are not valid
+	 */
+	Map<String, Long> getQueryPhaseLatencyPercentilesByIndex(String phase, double percentile);
+
+	/**
+	 * Get the latency in nanoseconds under which the given percentage of the executions of a query phase
+	 * completed, for each entity type targeted by queries, or loaded.
+	 * A query targeting several entity types is recorded for each of them; the latency is estimated
+	 * with a relative error below 12.5%.
+	 *
+	 * @param phase the name of a {@link QueryPhase}
+	 * @param percentile the percentage of executions, between 0 and 100
+	 * @return a map of the latencies, keyed by the fqc of the entity
+	 * @throws java.lang.IllegalArgumentException in case the phase or the percentile are not valid
+	 */
+	Map<String, Long> getQueryPhaseLatencyPercentilesByEntity(String phase, double percentile);
+
+	/**
+	 * Get the number of groups of changesets applied and committed together by the async Lucene backend,
+	 * for each index using the Lucene backend; it stays at 0 for the indexes in sync mode.
+	 *
+	 * @return a map of the group commit counts, keyed by index name
+	 */
+	Map<String, Long> getGroupCommitCountByIndex();
+
+	/**
+	 * Get the average number of changesets applied and committed together by the async Lucene backend,
+	 * for each index using the Lucene backend; it is 0 until a group is committed.
+	 *
+	 * @return a map of the average number of changesets per group commit, keyed by index name
+	 */
+	Map<String, Double> getAverageGroupCommitSizeByIndex();
+
 	/**
 	 * Are statistics logged
 	 */
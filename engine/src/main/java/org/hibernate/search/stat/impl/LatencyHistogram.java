@@ -0,0 +1,157 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.stat.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records latencies in nanoseconds into log-linear buckets: each power of two is divided in
+ * {@value #SUB_BUCKETS} buckets, so percentiles are estimated with a relative error below 12.5%.
+ * Latencies below 1 microsecond share the first bucket, latencies above about 36 minutes the last one.
+ * <p>
+ * Like {@link StripedCounter}, each thread updates the buckets of its own stripe: recording a latency
+ * is a couple of uncontended atomic increments, the stripes are summed when reading.
+ */
+final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int MIN_EXPONENT = 10;
+	private static final int MAX_EXPONENT = 40;
+
+	/**
+	 * One bucket below 2^MIN_EXPONENT, SUB_BUCKETS per power of two up to 2^(MAX_EXPONENT+1), one above
+	 */
+	private static final int BUCKETS = 2 + ( MAX_EXPONENT - MIN_EXPONENT + 1 ) * SUB_BUCKETS;
+
+	private static final int COUNT = 0;
+	private static final int TOTAL = 1;
+	private static final int FIRST_BUCKET = 2;
+
+	/**
+	 * Cells of a stripe, padded to avoid false sharing with the next stripe
+	 */
+	private static final int STRIPE_LENGTH = FIRST_BUCKET + BUCKETS + 16;
+
+	private final int stripes;
+	private final AtomicLongArray cells;
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Creates a histogram with a stripe per {@link StripedCounter} stripe, for latencies recorded by many threads.
+	 */
+	LatencyHistogram() {
+		this( StripedCounter.STRIPES );
+	}
+
+	/**
+	 * @param stripes the number of stripes, a power of two; each takes about 2KB
+	 */
+	LatencyHistogram(int stripes) {
+		this.stripes = stripes;
+		this.cells = new AtomicLongArray( stripes * STRIPE_LENGTH );
+	}
+
+	/**
+	 * @param time the latency in nanoseconds
+	 * @return {@code true} if the latency is the highest recorded so far
+	 */
+	boolean record(long time) {
+		int offset = ( StripedCounter.currentStripe() & ( stripes - 1 ) ) * STRIPE_LENGTH;
+		cells.incrementAndGet( offset + COUNT );
+		cells.addAndGet( offset + TOTAL, time );
+		cells.incrementAndGet( offset + FIRST_BUCKET + bucketOf( time ) );
+		for ( long old = max.get(); time > old; old = max.get() ) {
+			if ( max.compareAndSet( old, time ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	long getCount() {
+		return sum( COUNT );
+	}
+
+	long getTotalTime() {
+		return sum( TOTAL );
+	}
+
+	long getMaxTime() {
+		return max.get();
+	}
+
+	/**
+	 * @param percentile the percentage of the recorded latencies, between 0 and 100
+	 * @return the upper bound of the bucket containing the given percentile of the recorded latencies,
+	 * never more than the highest latency recorded; 0 if no latency was recorded
+	 */
+	long getPercentile(double percentile) {
+		if ( percentile < 0 || percentile > 100 ) {
+			throw new IllegalArgumentException( "Percentile must be between 0 and 100, but was " + percentile );
+		}
+		long[] counts = new long[BUCKETS];
+		long count = 0;
+		for ( int bucket = 0; bucket < BUCKETS; bucket++ ) {
+			counts[bucket] = sum( FIRST_BUCKET + bucket );
+			count += counts[bucket];
+		}
+		if ( count == 0 ) {
+			return 0;
+		}
+		long rank = Math.max( 1, (long) Math.ceil( percentile / 100 * count ) );
+		long seen = 0;
+		for ( int bucket = 0; bucket < BUCKETS; bucket++ ) {
+			seen += counts[bucket];
+			if ( seen >= rank ) {
+				return Math.min( upperBoundOf( bucket ), max.get() );
+			}
+		}
+		return max.get();
+	}
+
+	void reset() {
+		for ( int i = 0; i < cells.length(); i++ ) {
+			cells.set( i, 0 );
+		}
+		max.set( 0 );
+	}
+
+	private long sum(int cell) {
+		long sum = 0;
+		for ( int stripe = 0; stripe < stripes; stripe++ ) {
+			sum += cells.get( stripe * STRIPE_LENGTH + cell );
+		}
+		return sum;
+	}
+
+	static int bucketOf(long time) {
+		if ( time < ( 1L << MIN_EXPONENT ) ) {
+			return 0;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros( time );
+		if ( exponent > MAX_EXPONENT ) {
+			return BUCKETS - 1;
+		}
+		int subBucket = (int) ( time >>> ( exponent - SUB_BUCKET_BITS ) ) & ( SUB_BUCKETS - 1 );
+		return 1 + ( exponent - MIN_EXPONENT ) * SUB_BUCKETS + subBucket;
+	}
+
+	static long upperBoundOf(int bucket) {
+		if ( bucket == 0 ) {
+			return ( 1L << MIN_EXPONENT ) - 1;
+		}
+		if ( bucket == BUCKETS - 1 ) {
+			return Long.MAX_VALUE;
+		}
+		int exponent = MIN_EXPONENT + ( bucket - 1 ) / SUB_BUCKETS;
+		int subBucket = ( bucket - 1 ) % SUB_BUCKETS;
+		return ( (long) ( SUB_BUCKETS + subBucket + 1 ) << ( exponent - SUB_BUCKET_BITS ) ) - 1;
+	}
+
+}
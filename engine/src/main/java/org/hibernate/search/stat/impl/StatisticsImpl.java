@@ -7,14 +7,16 @@
 package org.hibernate.search.stat.impl;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.Term;
@@ -25,86 +27,90 @@
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 
+import org.hibernate.search.backend.impl.lucene.LuceneBackendQueueProcessor;
+import org.hibernate.search.backend.impl.lucene.LuceneBackendResources;
+import org.hibernate.search.backend.spi.BackendQueueProcessor;
 import org.hibernate.search.engine.ProjectionConstants;
 import org.hibernate.search.exception.SearchException;
 import org.hibernate.search.engine.Version;
 import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
 import org.hibernate.search.engine.service.classloading.spi.ClassLoadingException;
+import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
+import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.stat.QueryPhase;
 import org.hibernate.search.stat.Statistics;
 import org.hibernate.search.stat.spi.StatisticsImplementor;
 import org.hibernate.search.util.impl.ClassLoaderHelper;
 
 /**
  * A concurrent implementation of the {@code Statistics} interface.
+ * <p>
+ * Timings are recorded in striped {@link LatencyHistogram}s, so that queries executed concurrently
+ * don't contend on shared counters; the histograms of each index and entity type are created
+ * the first time they are queried, with a single stripe to limit their footprint.
  *
  * @author Hardy Ferentschik
  */
 public class StatisticsImpl implements Statistics, StatisticsImplementor {
 
-	private AtomicLong searchQueryCount = new AtomicLong();
-	private AtomicLong searchExecutionTotalTime = new AtomicLong();
-	private AtomicLong searchExecutionMaxTime = new AtomicLong();
+	private final LatencyHistogram searchLatency = new LatencyHistogram();
 	private volatile String queryExecutionMaxTimeQueryString;
 
-	private AtomicLong objectLoadedCount = new AtomicLong();
-	private AtomicLong objectLoadTotalTime = new AtomicLong();
-	private AtomicLong objectLoadMaxTime = new AtomicLong();
+	private final StripedCounter objectLoadedCount = new StripedCounter();
+	private final LatencyHistogram objectLoadLatency = new LatencyHistogram();
 
-	private volatile boolean isStatisticsEnabled;
+	private AtomicLong facetReaderStateCacheHitCount = new AtomicLong();
+	private AtomicLong facetReaderStateCacheMissCount = new AtomicLong();
+
+	private final ConcurrentMap<Class<?>, PhaseLatencies> entityLatencies = new ConcurrentHashMap<Class<?>, PhaseLatencies>();
+	private final ConcurrentMap<String, PhaseLatencies> indexLatencies = new ConcurrentHashMap<String, PhaseLatencies>();
 
-	private final Lock readLock;
-	private final Lock writeLock;
+	private volatile boolean isStatisticsEnabled;
 
 	private final ExtendedSearchIntegrator extendedIntegrator;
 
 	public StatisticsImpl(ExtendedSearchIntegrator extendedIntegrator) {
-		ReadWriteLock lock = new ReentrantReadWriteLock();
-		readLock = lock.readLock();
-		writeLock = lock.writeLock();
-
 		this.extendedIntegrator = extendedIntegrator;
 	}
 
 	@Override
 	public void clear() {
-		searchQueryCount.set( 0 );
-		searchExecutionTotalTime.set( 0 );
-		searchExecutionMaxTime.set( 0 );
+		searchLatency.reset();
 		queryExecutionMaxTimeQueryString = "";
 
-		objectLoadedCount.set( 0 );
-		objectLoadMaxTime.set( 0 );
-		objectLoadTotalTime.set( 0 );
+		objectLoadedCount.reset();
+		objectLoadLatency.reset();
+
+		entityLatencies.clear();
+		indexLatencies.clear();
+
+		facetReaderStateCacheHitCount.set( 0 );
+		facetReaderStateCacheMissCount.set( 0 );
 	}
 
 	@Override
 	public long getSearchQueryExecutionCount() {
-		return searchQueryCount.get();
+		return searchLatency.getCount();
 	}
 
 	@Override
 	public long getSearchQueryTotalTime() {
-		return searchExecutionTotalTime.get();
+		return searchLatency.getTotalTime();
 	}
 
 	@Override
 	public long getSearchQueryExecutionMaxTime() {
-		return searchExecutionMaxTime.get();
+		return searchLatency.getMaxTime();
 	}
 
 	@Override
 	public long getSearchQueryExecutionAvgTime() {
-		writeLock.lock();
-		try {
-			long avgExecutionTime = 0;
-			if ( searchQueryCount.get() > 0 ) {
-				avgExecutionTime = searchExecutionTotalTime.get() / searchQueryCount.get();
-			}
-			return avgExecutionTime;
-		}
-		finally {
-			writeLock.unlock();
+		long searchQueryCount = searchLatency.getCount();
+		long avgExecutionTime = 0;
+		if ( searchQueryCount > 0 ) {
+			avgExecutionTime = searchLatency.getTotalTime() / searchQueryCount;
 		}
+		return avgExecutionTime;
 	}
 
 	@Override
@@ -114,69 +120,159 @@ public String getSearchQueryExecutionMaxTimeQueryString() {
 
 	@Override
 	public void searchExecuted(String searchString, long time) {
-		readLock.lock();
-		try {
-			boolean isLongestQuery = false;
-			for ( long old = searchExecutionMaxTime.get();
-					( time > old ) && ( isLongestQuery = searchExecutionMaxTime.compareAndSet( old, time ) );
-					old = searchExecutionMaxTime.get() ) {
-				// no-op
-			}
-			if ( isLongestQuery ) {
-				queryExecutionMaxTimeQueryString = searchString;
-			}
-			searchQueryCount.getAndIncrement();
-			searchExecutionTotalTime.addAndGet( time );
-		}
-		finally {
-			readLock.unlock();
+		if ( searchLatency.record( time ) ) {
+			queryExecutionMaxTimeQueryString = searchString;
 		}
 	}
 
 	@Override
 	public long getObjectsLoadedCount() {
-		return objectLoadedCount.get();
+		return objectLoadedCount.sum();
 	}
 
 	@Override
 	public long getObjectLoadingTotalTime() {
-		return objectLoadTotalTime.get();
+		return objectLoadLatency.getTotalTime();
 	}
 
 	@Override
 	public long getObjectLoadingExecutionMaxTime() {
-		return objectLoadMaxTime.get();
+		return objectLoadLatency.getMaxTime();
 	}
 
 	@Override
 	public long getObjectLoadingExecutionAvgTime() {
-		writeLock.lock();
-		try {
-			long avgLoadingTime = 0;
-			if ( objectLoadedCount.get() > 0 ) {
-				avgLoadingTime = objectLoadTotalTime.get() / objectLoadedCount.get();
-			}
-			return avgLoadingTime;
-		}
-		finally {
-			writeLock.unlock();
+		long objectsLoaded = objectLoadedCount.sum();
+		long avgLoadingTime = 0;
+		if ( objectsLoaded > 0 ) {
+			avgLoadingTime = objectLoadLatency.getTotalTime() / objectsLoaded;
 		}
+		return avgLoadingTime;
 	}
 
 	@Override
 	public void objectLoadExecuted(long numberOfObjectsLoaded, long time) {
-		readLock.lock();
-		try {
-			for ( long old = objectLoadMaxTime.get();
-				( time > old ) && ( objectLoadMaxTime.compareAndSet( old, time ) );
-				old = objectLoadMaxTime.get() ) {
-				//no-op
+		objectLoadLatency.record( time );
+		objectLoadedCount.add( numberOfObjectsLoaded );
+	}
+
+	@Override
+	public void queryPhaseExecuted(QueryPhase phase, Collection<Class<?>> entityTypes, long time) {
+		for ( Class<?> entityType : entityTypes ) {
+			getEntityLatencies( entityType ).record( phase, time );
+		}
+	}
+
+	@Override
+	public void queryPhaseExecuted(QueryPhase phase, Collection<Class<?>> entityTypes, IndexManager[] searchedIndexes, long time) {
+		queryPhaseExecuted( phase, entityTypes, time );
+		for ( IndexManager indexManager : searchedIndexes ) {
+			getIndexLatencies( indexManager.getIndexName() ).record( phase, time );
+		}
+	}
+
+	@Override
+	public Map<String, Long> getQueryPhaseLatencyPercentilesByIndex(String phase, double percentile) {
+		return getPercentiles( indexLatencies.values(), QueryPhase.valueOf( phase ), percentile );
+	}
+
+	@Override
+	public Map<String, Long> getQueryPhaseLatencyPercentilesByEntity(String phase, double percentile) {
+		return getPercentiles( entityLatencies.values(), QueryPhase.valueOf( phase ), percentile );
+	}
+
+	@Override
+	public Map<String, Long> getGroupCommitCountByIndex() {
+		Map<String, Long> counts = new TreeMap<String, Long>();
+		for ( IndexManager indexManager : extendedIntegrator.getIndexManagerHolder().getIndexManagers() ) {
+			LuceneBackendResources resources = getLuceneBackendResources( indexManager );
+			if ( resources != null ) {
+				counts.put( indexManager.getIndexName(), resources.getGroupCommitCount() );
 			}
-			objectLoadedCount.addAndGet( numberOfObjectsLoaded );
-			objectLoadTotalTime.addAndGet( time );
 		}
-		finally {
-			readLock.unlock();
+		return counts;
+	}
+
+	@Override
+	public Map<String, Double> getAverageGroupCommitSizeByIndex() {
+		Map<String, Double> sizes = new TreeMap<String, Double>();
+		for ( IndexManager indexManager : extendedIntegrator.getIndexManagerHolder().getIndexManagers() ) {
+			LuceneBackendResources resources = getLuceneBackendResources( indexManager );
+			if ( resources != null ) {
+				sizes.put( indexManager.getIndexName(), resources.getAverageGroupCommitSize() );
+			}
+		}
+		return sizes;
+	}
+
+	private static LuceneBackendResources getLuceneBackendResources(IndexManager indexManager) {
+		if ( indexManager instanceof DirectoryBasedIndexManager ) {
+			BackendQueueProcessor backend = ( (DirectoryBasedIndexManager) indexManager ).getBackendQueueProcessor();
+			if ( backend instanceof LuceneBackendQueueProcessor ) {
+				return ( (LuceneBackendQueueProcessor) backend ).getIndexResources();
+			}
+		}
+		return null;
+	}
+
+	private static Map<String, Long> getPercentiles(Collection<? extends PhaseLatencies> latencies, QueryPhase phase, double percentile) {
+		Map<String, Long> percentiles = new TreeMap<String, Long>();
+		for ( PhaseLatencies phaseLatencies : latencies ) {
+			LatencyHistogram histogram = phaseLatencies.histograms.get( phase.ordinal() );
+			if ( histogram != null ) {
+				percentiles.put( phaseLatencies.name, histogram.getPercentile( percentile ) );
+			}
+		}
+		return percentiles;
+	}
+
+	private PhaseLatencies getEntityLatencies(Class<?> entityType) {
+		PhaseLatencies latencies = entityLatencies.get( entityType );
+		if ( latencies == null ) {
+			latencies = new PhaseLatencies( entityType.getName() );
+			PhaseLatencies existing = entityLatencies.putIfAbsent( entityType, latencies );
+			if ( existing != null ) {
+				latencies = existing;
+			}
+		}
+		return latencies;
+	}
+
+	private PhaseLatencies getIndexLatencies(String indexName) {
+		PhaseLatencies latencies = indexLatencies.get( indexName );
+		if ( latencies == null ) {
+			latencies = new PhaseLatencies( indexName );
+			PhaseLatencies existing = indexLatencies.putIfAbsent( indexName, latencies );
+			if ( existing != null ) {
+				latencies = existing;
+			}
+		}
+		return latencies;
+	}
+
+	@Override
+	public long getFacetReaderStateCacheHitCount() {
+		return facetReaderStateCacheHitCount.get();
+	}
+
+	@Override
+	public long getFacetReaderStateCacheMissCount() {
+		return facetReaderStateCacheMissCount.get();
+	}
+
+	@Override
+	public void facetReaderStateCacheHit() {
+		// invoked on each faceted query, unlike the other collectors which are only invoked when enabled
+		if ( isStatisticsEnabled ) {
+			facetReaderStateCacheHitCount.getAndIncrement();
+		}
+	}
+
+	@Override
+	public void facetReaderStateCacheMiss() {
+		// invoked on each faceted query, unlike the other collectors which are only invoked when enabled
+		if ( isStatisticsEnabled ) {
+			facetReaderStateCacheMissCount.getAndIncrement();
 		}
 	}
 
@@ -247,6 +343,29 @@ private Class<?> getEntityClass(String entity) {
 		}
 		return clazz;
 	}
-}
 
+	/**
+	 * The latencies of each query phase for an index or an entity type, whose histograms are
+	 * created when the phase is first recorded. A phase is recorded once per query for each of them,
+	 * so these histograms aren't striped: this keeps them around 2KB each.
+	 */
+	private static final class PhaseLatencies {
+
+		private final String name;
+		private final AtomicReferenceArray<LatencyHistogram> histograms =
+				new AtomicReferenceArray<LatencyHistogram>( QueryPhase.values().length );
+
+		PhaseLatencies(String name) {
+			this.name = name;
+		}
 
+		void record(QueryPhase phase, long time) {
+			LatencyHistogram histogram = histograms.get( phase.ordinal() );
+			if ( histogram == null ) {
+				histograms.compareAndSet( phase.ordinal(), null, new LatencyHistogram( 1 ) );
+				histogram = histograms.get( phase.ordinal() );
+			}
+			histogram.record( time );
+		}
+	}
+}
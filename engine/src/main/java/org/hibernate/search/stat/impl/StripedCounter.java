@@ -0,0 +1,57 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.stat.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter spreading its updates over several cells, so that threads updating it concurrently
+ * rarely contend on the same cache line; reading it sums all cells.
+ * The cell updated by a thread depends on the thread identifier.
+ */
+final class StripedCounter {
+
+	/**
+	 * Number of stripes: the number of processors rounded up to a power of two, at most 8
+	 */
+	static final int STRIPES = Integer.highestOneBit( Math.min( Runtime.getRuntime().availableProcessors(), 8 ) * 2 - 1 );
+
+	/**
+	 * Distance between two cells, 128 bytes, to avoid false sharing
+	 */
+	private static final int PADDING = 16;
+
+	private final AtomicLongArray cells = new AtomicLongArray( STRIPES * PADDING );
+
+	void add(long value) {
+		cells.addAndGet( currentStripe() * PADDING, value );
+	}
+
+	long sum() {
+		long sum = 0;
+		for ( int i = 0; i < STRIPES; i++ ) {
+			sum += cells.get( i * PADDING );
+		}
+		return sum;
+	}
+
+	void reset() {
+		for ( int i = 0; i < STRIPES; i++ ) {
+			cells.set( i * PADDING, 0 );
+		}
+	}
+
+	/**
+	 * @return the stripe assigned to the current thread, between 0 and {@link #STRIPES} excluded
+	 */
+	static int currentStripe() {
+		long id = Thread.currentThread().getId();
+		int hash = (int) ( id ^ ( id >>> 32 ) ) * 0x9E3779B9;
+		return ( hash >>> 16 ) & ( STRIPES - 1 );
+	}
+
+}
@@ -8,6 +8,11 @@
 // $Id:$
 package org.hibernate.search.stat.spi;
 
+import java.util.Collection;
+
+import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.stat.QueryPhase;
+
 /**
  * Statistics SPI for the Search. This is essentially the "statistic collector" API.
  *
@@ -29,4 +34,33 @@ public interface StatisticsImplementor {
 	 * @param time time in nanoseconds to execute the search
 	 */
 	void searchExecuted(String searchString, long time);
+
+	/**
+	 * Callback for a phase of the execution of a full-text query which doesn't read the indexes.
+	 *
+	 * @param phase the executed phase
+	 * @param entityTypes the indexed entity types targeted by the query, or loaded
+	 * @param time time in nanoseconds to execute the phase
+	 */
+	void queryPhaseExecuted(QueryPhase phase, Collection<Class<?>> entityTypes, long time);
+
+	/**
+	 * Callback for a phase of the execution of a full-text query reading the indexes.
+	 *
+	 * @param phase the executed phase
+	 * @param entityTypes the indexed entity types targeted by the query
+	 * @param searchedIndexes the distinct index managers actually searched, after shard selection
+	 * @param time time in nanoseconds to execute the phase
+	 */
+	void queryPhaseExecuted(QueryPhase phase, Collection<Class<?>> entityTypes, IndexManager[] searchedIndexes, long time);
+
+	/**
+	 * Callback for a faceting query which could reuse the cached facet state of the index readers.
+	 */
+	void facetReaderStateCacheHit();
+
+	/**
+	 * Callback for a faceting query which needed to build the facet state of the index readers.
+	 */
+	void facetReaderStateCacheMiss();
 }
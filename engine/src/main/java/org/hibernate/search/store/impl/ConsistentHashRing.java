@@ -0,0 +1,152 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.store.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An immutable consistent-hash ring: the virtual nodes of all shards, sorted by position.
+ * A node owns the hashes after the position of the previous node, up to and including its own position.
+ */
+final class ConsistentHashRing {
+
+	private final int[] positions;
+	private final String[] shards;
+	private final Set<String> shardIdentifiers;
+
+	private ConsistentHashRing(int[] positions, String[] shards) {
+		this.positions = positions;
+		this.shards = shards;
+		this.shardIdentifiers = Collections.unmodifiableSet( new HashSet<String>( Arrays.asList( shards ) ) );
+	}
+
+	/**
+	 * @param shardCount the number of shards, named "0" to "shardCount - 1"
+	 * @param virtualNodes the number of virtual nodes of each shard
+	 * @return a ring on which the position of the virtual nodes of a shard only depends on its index
+	 */
+	static ConsistentHashRing create(int shardCount, int virtualNodes) {
+		// encode each node as a long sorting by position, then by shard in case of collisions
+		final long[] nodes = new long[shardCount * virtualNodes];
+		for ( int shard = 0; shard < shardCount; shard++ ) {
+			for ( int node = 0; node < virtualNodes; node++ ) {
+				int position = mix( mix( shard ) * 31 + node );
+				nodes[shard * virtualNodes + node] = ( (long) position << 32 ) | shard;
+			}
+		}
+		Arrays.sort( nodes );
+		final List<Integer> positions = new ArrayList<Integer>( nodes.length );
+		final List<String> shards = new ArrayList<String>( nodes.length );
+		for ( long node : nodes ) {
+			int position = (int) ( node >> 32 );
+			// the first shard keeps a position shared by several nodes
+			if ( positions.isEmpty() || positions.get( positions.size() - 1 ) != position ) {
+				positions.add( position );
+				shards.add( String.valueOf( (int) node ) );
+			}
+		}
+		return create( positions, shards );
+	}
+
+	/**
+	 * Gives the lower half of each of the ranges owned by a shard to a new shard; the ranges of the other shards
+	 * are unchanged.
+	 *
+	 * @param shard the shard to split
+	 * @param newShard the shard taking over half of the hashes of {@code shard}
+	 * @return the new ring
+	 */
+	ConsistentHashRing split(String shard, String newShard) {
+		final List<Integer> newPositions = new ArrayList<Integer>( positions.length * 2 );
+		final List<String> newShards = new ArrayList<String>( positions.length * 2 );
+		for ( int i = 0; i < positions.length; i++ ) {
+			if ( shards[i].equals( shard ) ) {
+				// the first node owns the range wrapping around the ring
+				long start = i == 0 ? positions[positions.length - 1] - ( 1L << 32 ) : positions[i - 1];
+				long length = positions[i] - start;
+				if ( length > 1 ) {
+					newPositions.add( (int) ( start + length / 2 ) );
+					newShards.add( newShard );
+				}
+			}
+			newPositions.add( positions[i] );
+			newShards.add( shards[i] );
+		}
+		return create( newPositions, newShards );
+	}
+
+	/**
+	 * @param idInString the id of a document
+	 * @return the shard owning the hash of the id
+	 */
+	String shardOf(String idInString) {
+		final int hash = hash( idInString );
+		int index = Arrays.binarySearch( positions, hash );
+		if ( index < 0 ) {
+			index = -index - 1;
+			if ( index == positions.length ) {
+				index = 0;
+			}
+		}
+		return shards[index];
+	}
+
+	boolean contains(String shard) {
+		return shardIdentifiers.contains( shard );
+	}
+
+	Set<String> getShardIdentifiers() {
+		return shardIdentifiers;
+	}
+
+	private static ConsistentHashRing create(List<Integer> positionList, List<String> shardList) {
+		// the new nodes of a split have a position between two nodes of the ring: sort them in
+		final long[] order = new long[positionList.size()];
+		for ( int i = 0; i < order.length; i++ ) {
+			order[i] = ( (long) positionList.get( i ) << 32 ) | i;
+		}
+		Arrays.sort( order );
+		final int[] positions = new int[order.length];
+		final String[] shards = new String[order.length];
+		for ( int i = 0; i < order.length; i++ ) {
+			positions[i] = (int) ( order[i] >> 32 );
+			shards[i] = shardList.get( (int) order[i] );
+		}
+		return new ConsistentHashRing( positions, shards );
+	}
+
+	private static int hash(String key) {
+		// reproduce the hashCode implementation of String as documented in the javadoc
+		// to be safe cross Java version (in case it changes some day)
+		int hash = 0;
+		int length = key.length();
+		for ( int index = 0; index < length; index++ ) {
+			hash = 31 * hash + key.charAt( index );
+		}
+		// identifiers are often sequential: spread them over the ring
+		return mix( hash );
+	}
+
+	/**
+	 * The finalization step of MurmurHash3, so that close values are placed far apart on the ring.
+	 */
+	private static int mix(int hash) {
+		int h = hash;
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+
+}
@@ -0,0 +1,242 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.store.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.lucene.document.Document;
+import org.hibernate.search.engine.impl.DynamicShardingEntityIndexBinding;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.engine.spi.EntityIndexBinding;
+import org.hibernate.search.filter.FullTextFilterImplementor;
+import org.hibernate.search.spi.BuildContext;
+import org.hibernate.search.store.ShardIdentifierProviderTemplate;
+import org.hibernate.search.store.spi.RelocatingShardIdentifierProvider;
+import org.hibernate.search.util.StringHelper;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Shards the documents by placing the hash of their id on a consistent-hash ring, on which each shard owns
+ * a number of virtual nodes.
+ * <p>
+ * A shard which grew too large can be split while the application is running, see {@link #splitShard(String, String)}:
+ * a new shard takes over half of the hash range of the shard being split, and only the documents of that half are
+ * moved to the index of the new shard, without reindexing any entity. All other shards are left untouched.
+ * <p>
+ * The ring is rebuilt at startup from the {@code initial_shards}, {@code virtual_nodes} and {@code splits} properties
+ * of the sharding strategy, so the splits performed at runtime have to be appended to the {@code splits} property
+ * before the next start.
+ */
+public class ConsistentHashShardIdentifierProvider extends ShardIdentifierProviderTemplate implements RelocatingShardIdentifierProvider {
+
+	/**
+	 * The number of shards of the initial ring, named "0" to "initial_shards - 1".
+	 */
+	public static final String INITIAL_SHARDS = "initial_shards";
+
+	/**
+	 * The number of virtual nodes of each initial shard on the ring; more virtual nodes balance the shards better.
+	 */
+	public static final String VIRTUAL_NODES = "virtual_nodes";
+
+	/**
+	 * The comma separated list of the splits applied to the initial ring, in order:
+	 * each split is written {@code <shard to split>:<new shard>}.
+	 */
+	public static final String SPLITS = "splits";
+
+	private static final int DEFAULT_INITIAL_SHARDS = 1;
+	private static final int DEFAULT_VIRTUAL_NODES = 128;
+
+	private static final Log log = LoggerFactory.make();
+
+	private ExtendedSearchIntegrator searchIntegrator;
+
+	private volatile ConsistentHashRing ring;
+
+	/**
+	 * The rings replaced by the splits performed since startup: ids added while their documents were being moved
+	 * might have been indexed in the shard owning them on these rings.
+	 */
+	private volatile List<ConsistentHashRing> formerRings = Collections.emptyList();
+
+	/**
+	 * The split being performed, or {@code null}
+	 */
+	private volatile Split split;
+
+	@Override
+	protected Set<String> loadInitialShardNames(Properties properties, BuildContext buildContext) {
+		searchIntegrator = buildContext.getUninitializedSearchIntegrator();
+		final int initialShards = ConfigurationParseHelper.getIntValue( properties, INITIAL_SHARDS, DEFAULT_INITIAL_SHARDS );
+		if ( initialShards <= 0 ) {
+			throw log.getInvalidShardCountException( initialShards );
+		}
+		final int virtualNodes = ConfigurationParseHelper.getIntValue( properties, VIRTUAL_NODES, DEFAULT_VIRTUAL_NODES );
+		if ( virtualNodes <= 0 ) {
+			throw log.getInvalidVirtualNodesCountException( virtualNodes );
+		}
+		ConsistentHashRing initialRing = ConsistentHashRing.create( initialShards, virtualNodes );
+		final String splits = properties.getProperty( SPLITS );
+		if ( StringHelper.isNotEmpty( splits ) ) {
+			for ( String split : splits.split( "," ) ) {
+				final String[] shards = split.trim().split( ":" );
+				if ( shards.length != 2 || shards[0].isEmpty() || shards[1].isEmpty() ) {
+					throw log.getInvalidShardSplitException( split, SPLITS );
+				}
+				checkSplit( initialRing, shards[0], shards[1] );
+				initialRing = initialRing.split( shards[0], shards[1] );
+			}
+		}
+		ring = initialRing;
+		return initialRing.getShardIdentifiers();
+	}
+
+	@Override
+	public String getShardIdentifier(Class<?> entityType, Serializable id, String idAsString, Document document) {
+		final Split currentSplit = split;
+		if ( currentSplit != null && currentSplit.isMoved( idAsString ) ) {
+			// the document must not be indexed in the shard being split once its documents have been moved
+			currentSplit.awaitCompletion();
+		}
+		return ring.shardOf( idAsString );
+	}
+
+	/**
+	 * The shards of the ring: while a shard is being split, the new shard only holds copies of documents
+	 * which are still in the shard being split.
+	 */
+	@Override
+	public Set<String> getShardIdentifiersForQuery(FullTextFilterImplementor[] fullTextFilters) {
+		return ring.getShardIdentifiers();
+	}
+
+	@Override
+	public Set<String> getFormerShardIdentifiers(Class<?> entityType, Serializable id, String idAsString) {
+		final List<ConsistentHashRing> rings = formerRings;
+		if ( rings.isEmpty() || idAsString == null ) {
+			return Collections.emptySet();
+		}
+		final String shard = ring.shardOf( idAsString );
+		Set<String> formerShards = Collections.emptySet();
+		for ( ConsistentHashRing formerRing : rings ) {
+			final String formerShard = formerRing.shardOf( idAsString );
+			if ( !formerShard.equals( shard ) ) {
+				if ( formerShards.isEmpty() ) {
+					formerShards = new HashSet<String>( rings.size() );
+				}
+				formerShards.add( formerShard );
+			}
+		}
+		return formerShards;
+	}
+
+	/**
+	 * Splits a shard: the new shard takes over the lower half of each hash range of the shard, and the documents
+	 * of these ranges are moved from the index of the shard to the index of the new shard.
+	 * <p>
+	 * While the documents are moved, both indexes are locked for writing, the addition of the documents being moved
+	 * waits for the end of the split, and queries target the shard being split only. Since a document added just
+	 * before the split started could still be written to its former shard, adding the documents of the ids which
+	 * were moved also deletes them from their former shard until the application is stopped.
+	 * <p>
+	 * Append {@code <shard>:<newShard>} to the {@code splits} property of the sharding strategy so that the ring
+	 * includes the new shard after a restart.
+	 *
+	 * @param shard the identifier of the shard to split
+	 * @param newShard the identifier of the new shard
+	 */
+	public synchronized void splitShard(String shard, String newShard) {
+		final ConsistentHashRing currentRing = ring;
+		checkSplit( currentRing, shard, newShard );
+		if ( getAllShardIdentifiers().contains( newShard ) ) {
+			// the index of a failed split might hold some documents
+			throw log.shardAlreadyExists( newShard );
+		}
+		final DynamicShardingEntityIndexBinding binding = getIndexBinding();
+		final ConsistentHashRing targetRing = currentRing.split( shard, newShard );
+		final Split pendingSplit = new Split( targetRing, shard, newShard );
+		split = pendingSplit;
+		try {
+			// deletions apply to the new shard too from now on
+			addShard( newShard );
+			final ShardSplitter splitter = new ShardSplitter(
+					searchIntegrator, binding.getDocumentBuilder(), targetRing, shard, newShard
+			);
+			final int movedDocuments = splitter.moveDocuments( binding.getIndexManager( shard ), binding.getIndexManager( newShard ) );
+			final List<ConsistentHashRing> rings = new ArrayList<ConsistentHashRing>( formerRings );
+			rings.add( currentRing );
+			formerRings = Collections.unmodifiableList( rings );
+			ring = targetRing;
+			log.shardSplit( binding.getDocumentBuilder().getBeanClass(), shard, newShard, movedDocuments );
+		}
+		finally {
+			split = null;
+			pendingSplit.complete();
+		}
+	}
+
+	private static void checkSplit(ConsistentHashRing ring, String shard, String newShard) {
+		if ( !ring.contains( shard ) ) {
+			throw log.unknownShard( shard );
+		}
+		if ( ring.contains( newShard ) ) {
+			throw log.shardAlreadyExists( newShard );
+		}
+	}
+
+	private DynamicShardingEntityIndexBinding getIndexBinding() {
+		for ( EntityIndexBinding binding : searchIntegrator.getIndexBindings().values() ) {
+			if ( binding.getShardIdentifierProvider() == this && binding instanceof DynamicShardingEntityIndexBinding ) {
+				return (DynamicShardingEntityIndexBinding) binding;
+			}
+		}
+		throw log.consistentHashProviderNotBound();
+	}
+
+	private static final class Split {
+
+		private final ConsistentHashRing targetRing;
+		private final String shard;
+		private final String newShard;
+		private final CountDownLatch completion = new CountDownLatch( 1 );
+
+		private Split(ConsistentHashRing targetRing, String shard, String newShard) {
+			this.targetRing = targetRing;
+			this.shard = shard;
+			this.newShard = newShard;
+		}
+
+		private boolean isMoved(String idInString) {
+			return newShard.equals( targetRing.shardOf( idInString ) );
+		}
+
+		private void awaitCompletion() {
+			try {
+				completion.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw log.interruptedWhileWaitingForShardSplit( shard, newShard );
+			}
+		}
+
+		private void complete() {
+			completion.countDown();
+		}
+	}
+
+}
@@ -41,6 +41,7 @@ public final class DirectoryProviderHelper {
 	private static final String FS_DIRECTORY_TYPE_PROP_NAME = "filesystem_access_type";
 	private static final String REFRESH_PROP_NAME = "refresh";
 	private static final String RETRY_INITIALIZE_PROP_NAME = "retry_initialize_period";
+	private static final String RETENTION_PERIOD_PROP_NAME = "retention_period";
 
 	private DirectoryProviderHelper() {
 	}
@@ -187,6 +188,22 @@ static long getRefreshPeriod(Properties properties, String directoryProviderName
 		return period * 1000; //per second
 	}
 
+	/**
+	 * @param properties the configuration of the DirectoryProvider
+	 * @param directoryProviderName the name of the DirectoryProvider, used for error reporting
+	 * @param refreshPeriod the refresh period in milliseconds
+	 * @return The period in milliseconds during which the master keeps the files of a commit it no longer publishes,
+	 * twice the refresh period by default
+	 */
+	static long getRetentionPeriod(Properties properties, String directoryProviderName, long refreshPeriod) {
+		long retentionPeriodSeconds = ConfigurationParseHelper.getLongValue( properties, RETENTION_PERIOD_PROP_NAME, 2 * refreshPeriod / 1000 );
+		if ( retentionPeriodSeconds < 0 ) {
+			throw new SearchException( RETENTION_PERIOD_PROP_NAME + " for Directory " + directoryProviderName + " must be a positive integer" );
+		}
+		log.debugf( "Retention period for Directory %s: %d seconds", directoryProviderName, retentionPeriodSeconds );
+		return retentionPeriodSeconds * 1000; //convert into milliseconds
+	}
+
 	/**
 	 * Users may configure the number of MB to use as
 	 * "chunk size" for large file copy operations performed
@@ -8,6 +8,11 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Timer;
 import java.util.TimerTask;
@@ -23,7 +28,6 @@
 import org.hibernate.search.spi.BuildContext;
 import org.hibernate.search.store.DirectoryProvider;
 import org.hibernate.search.store.spi.DirectoryHelper;
-import org.hibernate.search.util.impl.FileHelper;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
@@ -33,7 +37,11 @@
  * The index is created in <base directory>/<index name>
  * The source (aka copy) directory is built from <sourceBase>/<index name>
  *
- * A copy is triggered every refresh seconds
+ * A copy is triggered every refresh seconds: the files of the latest commit point of the
+ * index which were not copied yet are linked or copied to the source directory, then the
+ * {@link ReplicationManifest} listing them is published for the slaves.
+ * The files of the commits published before are kept during the retention period, so that slaves still
+ * copying one of them find all its files.
  *
  * @author Emmanuel Bernard
  * @author Sanne Grinovero
@@ -41,17 +49,13 @@
 //TODO rename copy?
 public class FSMasterDirectoryProvider implements DirectoryProvider<FSDirectory> {
 
-	private static final String CURRENT1 = "current1";
-	private static final String CURRENT2 = "current2";
-	// defined to have CURRENT_DIR_NAME[1] == "current"+"1":
-	private static final String[] CURRENT_DIR_NAME = { null, CURRENT1, CURRENT2 };
-
 	private static final Log log = LoggerFactory.make();
 	private final Timer timer = new Timer( true ); //daemon thread, the copy algorithm is robust
 
-	private volatile int current;
+	//the commit last published to the source directory, also used as memory barrier of all other values
+	private volatile ReplicationManifest published;
 
-	//variables having visibility granted by a read of "current"
+	//variables having visibility granted by a read of "published"
 	private FSDirectory directory;
 	private String indexName;
 	private long copyChunkSize;
@@ -64,6 +68,11 @@ public class FSMasterDirectoryProvider implements DirectoryProvider<FSDirectory>
 	private TriggerTask task;
 	private Lock directoryProviderLock;
 
+	//the commits published before the current one, with the time they were replaced at in nanoseconds;
+	//only accessed while holding the directoryProviderLock
+	private final Map<ReplicationManifest, Long> supersededManifests = new LinkedHashMap<ReplicationManifest, Long>();
+	private long retentionPeriodNanos;
+
 	@Override
 	public void initialize(String directoryProviderName, Properties properties, BuildContext context) {
 		this.properties = properties;
@@ -81,47 +90,69 @@ public void initialize(String directoryProviderName, Properties properties, Buil
 			throw new SearchException( "Unable to initialize index: " + directoryProviderName, e );
 		}
 		copyChunkSize = DirectoryProviderHelper.getCopyBufferSize( directoryProviderName, properties );
-		current = 0; //write to volatile to publish all state
+		published = null; //write to volatile to publish all state
 	}
 
 	@Override
 	public void start(DirectoryBasedIndexManager indexManager) {
-		int currentLocal = 0;
 		this.directoryProviderLock = indexManager.getDirectoryModificationLock();
+		long period = DirectoryProviderHelper.getRefreshPeriod( properties, directoryProviderName );
+		retentionPeriodNanos = TimeUnit.MILLISECONDS.toNanos(
+				DirectoryProviderHelper.getRetentionPeriod( properties, directoryProviderName, period )
+		);
+		ReplicationManifest manifest;
+		directoryProviderLock.lock();
 		try {
 			//copy to source
-			if ( new File( sourceDir, CURRENT1 ).exists() ) {
-				currentLocal = 2;
+			ReplicationManifest previous = ReplicationManifest.readFrom( sourceDir );
+			if ( previous == null ) {
+				log.debugf( "Source directory for '%s' will be initialized", indexName );
 			}
-			else if ( new File( sourceDir, CURRENT2 ).exists() ) {
-				currentLocal = 1;
-			}
-			else {
-				log.debugf( "Source directory for '%s' will be initialized", indexName);
-				currentLocal = 1;
+			manifest = ReplicationManifest.ofLatestCommit( directory );
+			//the source directory might be left over by a different index: check each file
+			manifest.copyFiles( indexDir, sourceDir, null, copyChunkSize );
+			manifest.publishIn( sourceDir );
+			if ( previous != null ) {
+				supersededManifests.put( previous, System.nanoTime() );
 			}
-			String currentString = Integer.valueOf( currentLocal ).toString();
-			File subDir = new File( sourceDir, currentString );
-			FileHelper.synchronize( indexDir, subDir, true, copyChunkSize );
-			new File( sourceDir, CURRENT1 ).delete();
-			new File( sourceDir, CURRENT2 ).delete();
-			//TODO small hole, no file can be found here
-			new File( sourceDir, CURRENT_DIR_NAME[currentLocal] ).createNewFile();
-			log.debugf( "Current directory: %d", currentLocal );
+			deleteUnretainedFiles( manifest );
+			log.debugf( "Published commit: %s", manifest );
 		}
 		catch (IOException e) {
 			throw new SearchException( "Unable to initialize index: " + directoryProviderName, e );
 		}
+		finally {
+			directoryProviderLock.unlock();
+		}
 		task = new FSMasterDirectoryProvider.TriggerTask( indexDir, sourceDir );
-		long period = DirectoryProviderHelper.getRefreshPeriod( properties, directoryProviderName );
 		timer.scheduleAtFixedRate( task, period, period );
-		this.current = currentLocal; //write to volatile to publish all state
+		this.published = manifest; //write to volatile to publish all state
+	}
+
+	/**
+	 * Deletes the files of the source directory which are referenced neither by the published commit nor by
+	 * a commit replaced less than the retention period ago. Must be invoked while holding the directoryProviderLock.
+	 */
+	private void deleteUnretainedFiles(ReplicationManifest published) {
+		long now = System.nanoTime();
+		List<ReplicationManifest> retained = new ArrayList<ReplicationManifest>( supersededManifests.size() + 1 );
+		retained.add( published );
+		for ( Iterator<Map.Entry<ReplicationManifest, Long>> it = supersededManifests.entrySet().iterator(); it.hasNext(); ) {
+			Map.Entry<ReplicationManifest, Long> superseded = it.next();
+			if ( now - superseded.getValue() > retentionPeriodNanos ) {
+				it.remove();
+			}
+			else {
+				retained.add( superseded.getKey() );
+			}
+		}
+		ReplicationManifest.deleteUnreferencedFiles( sourceDir, retained );
 	}
 
 	@Override
 	public FSDirectory getDirectory() {
 		@SuppressWarnings("unused")
-		int readCurrentState = current; //Unneeded value, needed to ensure visibility of state protected by memory barrier
+		ReplicationManifest readCurrentState = published; //Unneeded value, needed to ensure visibility of state protected by memory barrier
 		return directory;
 	}
 
@@ -139,8 +170,8 @@ public boolean equals(Object obj) {
 		FSMasterDirectoryProvider other = (FSMasterDirectoryProvider)obj;
 		//break both memory barriers by reading volatile variables:
 		@SuppressWarnings("unused")
-		int readCurrentState = other.current;
-		readCurrentState = this.current;
+		ReplicationManifest readCurrentState = other.published;
+		readCurrentState = this.published;
 		return indexName.equals( other.indexName );
 	}
 
@@ -150,7 +181,7 @@ public int hashCode() {
 		// but from a practical POV this is fine since we only call this method
 		// after initialize call
 		@SuppressWarnings("unused")
-		int readCurrentState = current; //Unneeded value, to ensure visibility of state protected by memory barrier
+		ReplicationManifest readCurrentState = published; //Unneeded value, to ensure visibility of state protected by memory barrier
 		int hash = 11;
 		return 37 * hash + indexName.hashCode();
 	}
@@ -158,7 +189,7 @@ public int hashCode() {
 	@Override
 	public void stop() {
 		@SuppressWarnings("unused")
-		int readCurrentState = current; //Another unneeded value, to ensure visibility of state protected by memory barrier
+		ReplicationManifest readCurrentState = published; //Another unneeded value, to ensure visibility of state protected by memory barrier
 		timer.cancel();
 		task.stop();
 		try {
@@ -206,33 +237,30 @@ public CopyDirectory(File source, File destination) {
 
 		@Override
 		public void run() {
-			//TODO get rid of current and use the marker file instead?
+			//no commit can happen while the lock is held: the files of the latest commit won't be deleted
 			directoryProviderLock.lock();
 			try {
 				long start = System.nanoTime();//keep time after lock is acquired for correct measure
-				int oldIndex = current;
-				int index = oldIndex == 1 ? 2 : 1;
-				File destinationFile = new File( destination, Integer.valueOf( index ).toString() );
+				ReplicationManifest previous = published;
 				try {
-					log.tracef( "Copying %s into %s", source, destinationFile );
-					FileHelper.synchronize( source, destinationFile, true, copyChunkSize );
-					current = index;
+					ReplicationManifest manifest = ReplicationManifest.ofLatestCommit( directory );
+					if ( manifest.getGeneration() == previous.getGeneration() ) {
+						log.tracef( "No new commit to copy for %s", indexName );
+						return;
+					}
+					log.tracef( "Copying %s into %s", source, destination );
+					int copied = manifest.copyFiles( source, destination, previous, copyChunkSize );
+					manifest.publishIn( destination );
+					published = manifest;
+					//the files of the previous commits are kept for the slaves still copying them
+					supersededManifests.put( previous, System.nanoTime() );
+					deleteUnretainedFiles( manifest );
+					log.tracef( "Copy for %s took %d ms, %d files copied", indexName, TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start ), copied );
 				}
 				catch (IOException e) {
-					//don't change current
+					//don't change the published commit
 					log.unableToSynchronizeSource( indexName, e );
-					return;
-				}
-				if ( ! new File( destination, CURRENT_DIR_NAME[oldIndex] ).delete() ) {
-					log.unableToRemovePreviousMarket( indexName );
-				}
-				try {
-					new File( destination, CURRENT_DIR_NAME[index] ).createNewFile();
-				}
-				catch (IOException e) {
-					log.unableToCreateCurrentMarker( indexName, e );
 				}
-				log.tracef( "Copy for %s took %d ms", indexName, TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start ) );
 			}
 			finally {
 				directoryProviderLock.unlock();
@@ -8,6 +8,8 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Properties;
 import java.util.Timer;
 import java.util.TimerTask;
@@ -21,14 +23,12 @@
 import org.apache.lucene.store.RAMDirectory;
 import org.hibernate.search.cfg.Environment;
 import org.hibernate.search.engine.service.spi.ServiceManager;
-import org.hibernate.search.exception.AssertionFailure;
 import org.hibernate.search.exception.SearchException;
 import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
 import org.hibernate.search.spi.BuildContext;
 import org.hibernate.search.store.DirectoryProvider;
 import org.hibernate.search.store.spi.DirectoryHelper;
 import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
-import org.hibernate.search.util.impl.FileHelper;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
@@ -39,7 +39,11 @@
  * The index is created in <base directory>/<index name>
  * The source (aka copy) directory is built from <sourceBase>/<index name>
  * <p/>
- * A copy is triggered every refresh seconds
+ * A copy is triggered every refresh seconds: when the master published a new commit point,
+ * the files the local index misses are copied according to the {@link ReplicationManifest},
+ * the segments file of the commit last. If the copy fails, for example because the master no longer
+ * retains the files of the commit, the local index keeps the commit it had and the copy is attempted
+ * again at the next refresh.
  *
  * @author Emmanuel Bernard
  * @author Sanne Grinovero
@@ -53,12 +57,12 @@ public class FSSlaveDirectoryProvider implements DirectoryProvider<Directory> {
 	private volatile boolean initialized = false;
 	private volatile boolean started = false;
 
-	private volatile int current; //used also as memory barrier of all other values, which are set once.
+	//the commit last copied from the source, used also as memory barrier of all other values, which are set once.
+	private volatile ReplicationManifest installed;
 
-	//variables having visibility granted by a read of "current"
+	//variables having visibility granted by a read of "installed"
 	private volatile Directory dummyDirectory;
-	private FSDirectory directory1;
-	private FSDirectory directory2;
+	private FSDirectory directory;
 	private String indexName;
 	private long copyChunkSize;
 
@@ -87,16 +91,16 @@ public void initialize(String directoryProviderName, Properties properties, Buil
 			throw new SearchException( "Unable to initialize index: " + directoryProviderName, e );
 		}
 		copyChunkSize = DirectoryProviderHelper.getCopyBufferSize( directoryProviderName, properties );
-		current = 0; //publish all state to other threads
+		installed = null; //publish all state to other threads
 	}
 
-	private boolean currentMarkerIsInSource() {
+	private boolean manifestIsInSource() {
 		int retry = ConfigurationParseHelper.getIntValue( properties, Environment.RETRY_MARKER_LOOKUP, 0 );
 		if ( retry < 0 ) {
 			throw new SearchException( Environment.RETRY_MARKER_LOOKUP +
 					" option must be a positive integer, but was \"" + retry + "\"" );
 		}
-		boolean currentMarkerInSource = false;
+		boolean manifestInSource = false;
 		for ( int tried = 0 ; tried <= retry ; tried++ ) {
 			//we try right away the first time
 			if ( tried > 0 ) {
@@ -108,14 +112,12 @@ private boolean currentMarkerIsInSource() {
 					Thread.currentThread().interrupt();
 				}
 			}
-			currentMarkerInSource =
-					new File( sourceIndexDir, "current1" ).exists()
-					|| new File( sourceIndexDir, "current2" ).exists();
-			if ( currentMarkerInSource ) {
+			manifestInSource = ReplicationManifest.isPublishedIn( sourceIndexDir );
+			if ( manifestInSource ) {
 				break;
 			}
 		}
-		return currentMarkerInSource;
+		return manifestInSource;
 	}
 
 	@Override
@@ -128,66 +130,38 @@ public void start(DirectoryBasedIndexManager indexManager) {
 			}
 			else {
 				throw new SearchException( "Failed to initialize DirectoryProvider \""
-						+ directoryProviderName + "\": could not find marker file in index source" );
+						+ directoryProviderName + "\": could not find replication manifest in index source" );
 			}
 		}
 	}
 
 	private void startIt() {
 		@SuppressWarnings("unused")
-		int readCurrentState = current; //Unneeded value, but ensure visibility of state protected by memory barrier
-		int currentToBe = 0;
+		ReplicationManifest readCurrentState = installed; //Unneeded value, but ensure visibility of state protected by memory barrier
+		ReplicationManifest manifest;
 		try {
-			directory1 = DirectoryProviderHelper.createFSIndex( new File( indexDir, "1" ), properties, serviceManager );
-			directory2 = DirectoryProviderHelper.createFSIndex( new File( indexDir, "2" ), properties, serviceManager );
-			File currentMarker = new File( indexDir, "current1" );
-			File current2Marker = new File( indexDir, "current2" );
-			if ( currentMarker.exists() ) {
-				currentToBe = 1;
-				if ( current2Marker.exists() ) {
-					current2Marker.delete(); //TODO or throw an exception?
-				}
-			}
-			else if ( current2Marker.exists() ) {
-				currentToBe = 2;
+			manifest = ReplicationManifest.readFrom( sourceIndexDir );
+			if ( manifest == null ) {
+				throw new SearchException( "No replication manifest found in source directory: " + sourceIndexDir.getPath() );
 			}
-			else {
-				//no default
-				log.debug( "Setting directory 1 as current" );
-				currentToBe = 1;
-				File destinationFile = new File( indexDir, Integer.valueOf( currentToBe ).toString() );
-				int sourceCurrent;
-				if ( new File( sourceIndexDir, "current1" ).exists() ) {
-					sourceCurrent = 1;
-				}
-				else if ( new File( sourceIndexDir, "current2" ).exists() ) {
-					sourceCurrent = 2;
-				}
-				else {
-					throw new SearchException( "No current file marker found in source directory: " + sourceIndexDir.getPath() );
-				}
-				try {
-					FileHelper.synchronize(
-							new File( sourceIndexDir, String.valueOf( sourceCurrent ) ),
-							destinationFile, true, copyChunkSize
-					);
-				}
-				catch (IOException e) {
-					throw new SearchException( "Unable to synchronize directory: " + indexName, e );
-				}
-				if ( !currentMarker.createNewFile() ) {
-					throw new SearchException( "Unable to create the directory marker file: " + indexName );
-				}
-			}
-			log.debugf( "Current directory: %d", currentToBe );
+			//the local copy might be out of date or left over by a different index: check each file
+			manifest.copyFiles( sourceIndexDir, indexDir, null, copyChunkSize );
+			ReplicationManifest.deleteUnreferencedFiles( indexDir, Collections.singletonList( manifest ) );
+			log.debugf( "Copied commit: %s", manifest );
+		}
+		catch (IOException e) {
+			throw new SearchException( "Unable to synchronize directory: " + indexName, e );
+		}
+		try {
+			directory = DirectoryProviderHelper.createFSIndex( indexDir, properties, serviceManager );
 		}
 		catch (IOException e) {
 			throw new SearchException( "Unable to initialize index: " + directoryProviderName, e );
 		}
-		updateTask = new UpdateTask( sourceIndexDir, indexDir );
+		updateTask = new UpdateTask();
 		long period = DirectoryProviderHelper.getRefreshPeriod( properties, directoryProviderName );
 		scheduleTask( updateTask, period );
-		this.current = currentToBe;
+		this.installed = manifest;
 		started = true;
 	}
 
@@ -201,17 +175,7 @@ public Directory getDirectory() {
 			}
 			return dummyDirectory;
 		}
-
-		int readState = current;// to have the read consistent in the next two "if"s.
-		if ( readState == 1 ) {
-			return directory1;
-		}
-		else if ( readState == 2 ) {
-			return directory2;
-		}
-		else {
-			throw new AssertionFailure( "Illegal current directory: " + readState );
-		}
+		return directory;
 	}
 
 	@Override
@@ -228,8 +192,8 @@ public boolean equals(Object obj) {
 		FSSlaveDirectoryProvider other = (FSSlaveDirectoryProvider) obj;
 		//need to break memory barriers on both instances:
 		@SuppressWarnings("unused")
-		int readCurrentState = this.current; //unneeded value, but ensure visibility of indexName
-		readCurrentState = other.current; //another unneeded value, but ensure visibility of indexName
+		ReplicationManifest readCurrentState = this.installed; //unneeded value, but ensure visibility of indexName
+		readCurrentState = other.installed; //another unneeded value, but ensure visibility of indexName
 		return indexName.equals( other.indexName );
 	}
 
@@ -239,7 +203,7 @@ public int hashCode() {
 		// but from a practical POV this is fine since we only call this method
 		// after initialize call
 		@SuppressWarnings("unused")
-		int readCurrentState = current; //unneeded value, but ensure visibility of indexName
+		ReplicationManifest readCurrentState = installed; //unneeded value, but ensure visibility of indexName
 		int hash = 11;
 		return 37 * hash + indexName.hashCode();
 	}
@@ -267,12 +231,12 @@ public void run() {
 	 */
 	protected synchronized boolean attemptInitializeAndStart() {
 		if ( !initialized ) {
-			if ( currentMarkerIsInSource() ) {
+			if ( manifestIsInSource() ) {
 				initialized = true;
-				log.foundCurrentMarker();
+				log.foundReplicationManifest();
 			}
 			else {
-				log.noCurrentMarkerInSourceDirectory();
+				log.noReplicationManifestInSourceDirectory();
 			}
 		}
 		if ( initialized ) {
@@ -286,9 +250,9 @@ class UpdateTask extends TimerTask {
 		private final ExecutorService executor;
 		private final CopyDirectory copyTask;
 
-		public UpdateTask(File sourceIndexDir, File destination) {
+		public UpdateTask() {
 			executor = Executors.newSingleThreadExecutor();
-			copyTask = new CopyDirectory( sourceIndexDir, destination );
+			copyTask = new CopyDirectory();
 		}
 
 		@Override
@@ -299,7 +263,7 @@ public void run() {
 			else {
 				if ( log.isTraceEnabled() ) {
 					@SuppressWarnings("unused")
-					int unneeded = current;//ensure visibility of indexName in Timer threads.
+					ReplicationManifest unneeded = installed;//ensure visibility of indexName in Timer threads.
 					log.tracef( "Skipping directory synchronization, previous work still in progress: %s", indexName );
 				}
 			}
@@ -311,96 +275,72 @@ public void stop() {
 	}
 
 	class CopyDirectory implements Runnable {
-		private final File source;
-		private final File destination;
 		private final AtomicBoolean inProgress = new AtomicBoolean( false );
 
-		public CopyDirectory(File sourceIndexDir, File destination) {
-			this.source = sourceIndexDir;
-			this.destination = destination;
-		}
-
 		@Override
 		public void run() {
-			long start = System.nanoTime();
 			try {
-				File sourceFile = determineCurrentSourceFile();
-				if ( sourceFile == null ) {
-					log.unableToDetermineCurrentInSourceDirectory();
-					return;
-				}
-
-				// check whether a copy is needed at all
-				File currentDestinationFile = new File( destination, Integer.valueOf( current ).toString() );
-				try {
-					if ( FileHelper.areInSync( sourceFile, currentDestinationFile ) ) {
-						if ( log.isTraceEnabled() ) {
-							log.trace( "Source and destination directory are in sync. No copying required." );
-						}
-						return;
-					}
-				}
-				catch (IOException ioe) {
-					log.unableToCompareSourceWithDestinationDirectory( sourceFile.getName(), currentDestinationFile.getName() );
-				}
-
-				// copy is required
-				int oldIndex = current;
-				int index = oldIndex == 1 ? 2 : 1;
-				File destinationFile = new File( destination, Integer.valueOf( index ).toString() );
-				try {
-					log.tracef( "Copying %s into %s", sourceFile, destinationFile );
-					FileHelper.synchronize( sourceFile, destinationFile, true, copyChunkSize );
-					current = index;
-					log.tracef( "Copy for %s took %d ms", indexName, TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start ) );
-				}
-				catch (IOException e) {
-					//don't change current
-					log.unableToSynchronizeSource( indexName, e );
-					return;
-				}
-				if ( !new File( indexName, "current" + oldIndex ).delete() ) {
-					log.unableToRemovePreviousMarket( indexName );
-				}
-				try {
-					new File( indexName, "current" + index ).createNewFile();
-				}
-				catch (IOException e) {
-					log.unableToCreateCurrentMarker( indexName, e );
-				}
+				copyPublishedCommit();
 			}
 			finally {
 				inProgress.set( false );
 			}
 		}
+	}
 
-		/**
-		 * @return Return a file to the currently active source directory. Tests for the files "current1" and
-		 *         "current2" in order to determine which is the current directory. If there marker file does not exists
-		 *         <code>null</code> is returned.
-		 */
-		private File determineCurrentSourceFile() {
-			File sourceFile = null;
-			if ( new File( source, "current1" ).exists() ) {
-				sourceFile = new File( source, "1" );
-			}
-			else if ( new File( source, "current2" ).exists() ) {
-				sourceFile = new File( source, "2" );
+	/**
+	 * Copies the commit published by the master to the local index, unless it is installed already.
+	 * Only invoked by one thread at a time; overridable for testability.
+	 */
+	protected void copyPublishedCommit() {
+		long start = System.nanoTime();
+		ReplicationManifest manifest;
+		try {
+			manifest = ReplicationManifest.readFrom( sourceIndexDir );
+		}
+		catch (IOException e) {
+			log.unableToSynchronizeSource( indexName, e );
+			return;
+		}
+		if ( manifest == null ) {
+			log.unableToFindReplicationManifestInSourceDirectory();
+			return;
+		}
+
+		// check whether a copy is needed at all
+		ReplicationManifest previous = installed;
+		if ( manifest.getGeneration() == previous.getGeneration() ) {
+			if ( log.isTraceEnabled() ) {
+				log.trace( "Source and destination directory are in sync. No copying required." );
 			}
-			return sourceFile;
+			return;
+		}
+
+		// copy is required
+		try {
+			log.tracef( "Copying %s into %s", sourceIndexDir, indexDir );
+			int copied = manifest.copyFiles( sourceIndexDir, indexDir, previous, copyChunkSize );
+			installed = manifest;
+			log.tracef( "Copy for %s took %d ms, %d files copied", indexName, TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start ), copied );
+		}
+		catch (IOException e) {
+			//the copied files were removed: keep the installed commit
+			log.unableToSynchronizeSource( indexName, e );
+			return;
 		}
+		//readers still open on the previous commit need its files until they are refreshed
+		ReplicationManifest.deleteUnreferencedFiles( indexDir, Arrays.asList( manifest, previous ) );
 	}
 
 	@Override
 	public void stop() {
 		@SuppressWarnings("unused")
-		int readCurrentState = current; //unneeded value, but ensure visibility of state protected by memory barrier
+		ReplicationManifest readCurrentState = installed; //unneeded value, but ensure visibility of state protected by memory barrier
 		timer.cancel();
 		if ( updateTask != null ) {
 			updateTask.stop();
 		}
-		closeDirectory( directory1 );
-		closeDirectory( directory2 );
+		closeDirectory( directory );
 	}
 
 	private void closeDirectory(Directory directory) {
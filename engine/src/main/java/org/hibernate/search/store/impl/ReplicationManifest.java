@@ -0,0 +1,283 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.store.impl;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexCommit;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.store.Directory;
+import org.hibernate.search.util.impl.FileHelper;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Lists the files of a Lucene commit point, with their length.
+ * <p>
+ * The master publishes the manifest of its latest commit in the source directory, after copying there
+ * the files which were not part of the previously published commit; slaves compare the published manifest
+ * with the commit they installed last, and only copy the files they miss.
+ * Lucene never modifies an index file once written, so a file is identified by its name and length;
+ * the segments file of the commit is always copied last, so that readers of the destination never
+ * see a commit whose files are not all there yet.
+ * <p>
+ * Files are deleted from a directory only once no retained manifest references them: slaves keep the
+ * files of the commit they installed before the current one, leaving the readers opened on it the time to be
+ * refreshed, and the master keeps the files of the commits it published until they expire, leaving lagging
+ * slaves the time to copy them.
+ * <p>
+ * If copying a commit fails, the files copied for it are removed again and the destination keeps the previously
+ * copied commit, which is still complete: its segments file was not replaced.
+ */
+final class ReplicationManifest {
+
+	/**
+	 * Name of the manifest in the source directory.
+	 */
+	static final String FILE_NAME = "replication.manifest";
+
+	private static final Log log = LoggerFactory.make();
+
+	private static final String TEMPORARY_FILE_PREFIX = "replicating.";
+	private static final String GENERATION_KEY = "generation";
+	private static final String SEGMENTS_KEY = "segments";
+	private static final String FILE_KEY_PREFIX = "file.";
+
+	private final long generation;
+	private final String segmentsFileName;
+	private final Map<String, Long> fileLengths;
+
+	private ReplicationManifest(long generation, String segmentsFileName, Map<String, Long> fileLengths) {
+		this.generation = generation;
+		this.segmentsFileName = segmentsFileName;
+		this.fileLengths = Collections.unmodifiableMap( fileLengths );
+	}
+
+	/**
+	 * @param directory the directory of the index; no commit may happen until the files are copied
+	 * @return the manifest of the latest commit of the index
+	 * @throws IOException if the commit points of the index can't be read
+	 */
+	static ReplicationManifest ofLatestCommit(Directory directory) throws IOException {
+		List<IndexCommit> commits = DirectoryReader.listCommits( directory );
+		IndexCommit commit = commits.get( commits.size() - 1 );
+		Map<String, Long> fileLengths = new HashMap<String, Long>();
+		for ( String fileName : commit.getFileNames() ) {
+			fileLengths.put( fileName, directory.fileLength( fileName ) );
+		}
+		return new ReplicationManifest( commit.getGeneration(), commit.getSegmentsFileName(), fileLengths );
+	}
+
+	/**
+	 * @param directory the source directory
+	 * @return {@code true} if a manifest has been published in the directory
+	 */
+	static boolean isPublishedIn(File directory) {
+		return new File( directory, FILE_NAME ).isFile();
+	}
+
+	/**
+	 * @param directory the source directory
+	 * @return the manifest published in the directory, or {@code null} if none was published
+	 * @throws IOException if the manifest can't be read
+	 */
+	static ReplicationManifest readFrom(File directory) throws IOException {
+		File manifestFile = new File( directory, FILE_NAME );
+		Properties properties = new Properties();
+		try ( InputStream in = new FileInputStream( manifestFile ) ) {
+			properties.load( in );
+		}
+		catch (FileNotFoundException e) {
+			return null;
+		}
+		try {
+			long generation = Long.parseLong( properties.getProperty( GENERATION_KEY ) );
+			String segmentsFileName = properties.getProperty( SEGMENTS_KEY );
+			Map<String, Long> fileLengths = new HashMap<String, Long>();
+			for ( String key : properties.stringPropertyNames() ) {
+				if ( key.startsWith( FILE_KEY_PREFIX ) ) {
+					fileLengths.put( key.substring( FILE_KEY_PREFIX.length() ), Long.valueOf( properties.getProperty( key ) ) );
+				}
+			}
+			if ( segmentsFileName == null || !fileLengths.containsKey( segmentsFileName ) ) {
+				throw new IOException( "Invalid replication manifest " + manifestFile + ": the segments file is not listed" );
+			}
+			return new ReplicationManifest( generation, segmentsFileName, fileLengths );
+		}
+		catch (NumberFormatException e) {
+			throw new IOException( "Invalid replication manifest " + manifestFile, e );
+		}
+	}
+
+	long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Copies the files of the commit which the destination misses; files are hard linked when possible.
+	 *
+	 * @param source the directory containing the files of the commit
+	 * @param destination the directory to copy the files to
+	 * @param previous the manifest of the commit previously copied to the destination, whose files are known
+	 * to be there, or {@code null} to check every file
+	 * @param chunkSize the maximum number of bytes transferred at once when copying
+	 * @return the number of files copied
+	 * @throws IOException if a file couldn't be copied
+	 */
+	int copyFiles(File source, File destination, ReplicationManifest previous, long chunkSize) throws IOException {
+		if ( !destination.isDirectory() && !destination.mkdirs() ) {
+			throw new IOException( "Could not create path " + destination );
+		}
+		List<String> copiedFileNames = new ArrayList<String>();
+		try {
+			for ( Map.Entry<String, Long> entry : fileLengths.entrySet() ) {
+				String fileName = entry.getKey();
+				if ( !fileName.equals( segmentsFileName ) && copyFile( source, destination, fileName, entry.getValue(), previous, chunkSize ) ) {
+					copiedFileNames.add( fileName );
+				}
+			}
+			if ( copyFile( source, destination, segmentsFileName, fileLengths.get( segmentsFileName ), previous, chunkSize ) ) {
+				copiedFileNames.add( segmentsFileName );
+			}
+		}
+		catch (IOException e) {
+			// fall back to the previous commit, which is still complete
+			for ( String fileName : copiedFileNames ) {
+				if ( previous == null || !previous.fileLengths.containsKey( fileName ) ) {
+					deleteQuietly( new File( destination, fileName ) );
+				}
+			}
+			throw e;
+		}
+		return copiedFileNames.size();
+	}
+
+	private static boolean copyFile(File source, File destination, String fileName, Long length,
+			ReplicationManifest previous, long chunkSize) throws IOException {
+		File destinationFile = new File( destination, fileName );
+		if ( previous != null && length.equals( previous.fileLengths.get( fileName ) ) && destinationFile.length() == length ) {
+			return false;
+		}
+		File sourceFile = new File( source, fileName );
+		if ( destinationFile.length() == length && FileHelper.areInSync( sourceFile, destinationFile ) ) {
+			return false;
+		}
+		// copy to a temporary name first, so that a partial file is never visible
+		File temporaryFile = new File( destination, TEMPORARY_FILE_PREFIX + fileName );
+		try {
+			FileHelper.linkOrCopyFile( sourceFile, temporaryFile, chunkSize );
+			if ( temporaryFile.length() != length ) {
+				throw new IOException( "Copied " + temporaryFile.length() + " bytes of " + sourceFile + " instead of " + length );
+			}
+			move( temporaryFile.toPath(), destinationFile.toPath() );
+		}
+		catch (IOException e) {
+			deleteQuietly( temporaryFile );
+			throw e;
+		}
+		return true;
+	}
+
+	/**
+	 * Writes the manifest in the source directory, replacing the one previously published atomically.
+	 *
+	 * @param directory the source directory
+	 * @throws IOException if the manifest couldn't be written
+	 */
+	void publishIn(File directory) throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty( GENERATION_KEY, String.valueOf( generation ) );
+		properties.setProperty( SEGMENTS_KEY, segmentsFileName );
+		for ( Map.Entry<String, Long> entry : fileLengths.entrySet() ) {
+			properties.setProperty( FILE_KEY_PREFIX + entry.getKey(), String.valueOf( entry.getValue() ) );
+		}
+		File temporaryFile = new File( directory, TEMPORARY_FILE_PREFIX + FILE_NAME );
+		try ( OutputStream out = new FileOutputStream( temporaryFile ) ) {
+			properties.store( out, "Lucene commit replicated by Hibernate Search" );
+		}
+		move( temporaryFile.toPath(), new File( directory, FILE_NAME ).toPath() );
+	}
+
+	/**
+	 * Deletes the files of the directory which are part of none of the given commits.
+	 * Files which can't be deleted, for example because they are still open on some platforms,
+	 * are left there for the next synchronization.
+	 *
+	 * @param directory the directory the files of the commits were copied to
+	 * @param retained the manifests of the commits whose files must be kept
+	 */
+	static void deleteUnreferencedFiles(File directory, Collection<ReplicationManifest> retained) {
+		String[] fileNames = directory.list();
+		if ( fileNames == null ) {
+			return;
+		}
+		for ( String fileName : fileNames ) {
+			if ( FILE_NAME.equals( fileName ) || IndexWriter.WRITE_LOCK_NAME.equals( fileName ) || isReferenced( fileName, retained ) ) {
+				continue;
+			}
+			File file = new File( directory, fileName );
+			try {
+				FileHelper.delete( file );
+			}
+			catch (IOException e) {
+				log.unableToDeleteUnreferencedReplicatedFile( file, e );
+			}
+		}
+	}
+
+	private static boolean isReferenced(String fileName, Collection<ReplicationManifest> manifests) {
+		for ( ReplicationManifest manifest : manifests ) {
+			if ( manifest != null && manifest.fileLengths.containsKey( fileName ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void deleteQuietly(File file) {
+		try {
+			Files.deleteIfExists( file.toPath() );
+		}
+		catch (IOException e) {
+			log.unableToDeleteUnreferencedReplicatedFile( file, e );
+		}
+	}
+
+	private static void move(Path source, Path target) throws IOException {
+		try {
+			Files.move( source, target, StandardCopyOption.ATOMIC_MOVE );
+		}
+		catch (AtomicMoveNotSupportedException e) {
+			Files.move( source, target, StandardCopyOption.REPLACE_EXISTING );
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ReplicationManifest{generation=" + generation + ", segmentsFileName=" + segmentsFileName
+				+ ", files=" + fileLengths.size() + "}";
+	}
+
+}
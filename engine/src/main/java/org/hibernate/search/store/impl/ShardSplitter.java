@@ -0,0 +1,219 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.store.impl;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.AtomicReader;
+import org.apache.lucene.index.AtomicReaderContext;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.FilterAtomicReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.FixedBitSet;
+import org.hibernate.search.backend.impl.lucene.AbstractWorkspaceImpl;
+import org.hibernate.search.backend.impl.lucene.LuceneBackendQueueProcessor;
+import org.hibernate.search.backend.spi.BackendQueueProcessor;
+import org.hibernate.search.bridge.builtin.NumericFieldBridge;
+import org.hibernate.search.bridge.spi.ConversionContext;
+import org.hibernate.search.bridge.util.impl.ContextualExceptionBridgeHelper;
+import org.hibernate.search.bridge.util.impl.NumericFieldUtils;
+import org.hibernate.search.engine.ProjectionConstants;
+import org.hibernate.search.engine.impl.DocumentBuilderHelper;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
+import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
+import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Moves the documents of an entity type whose id is owned by a new shard on the target ring
+ * from the index of the shard being split to the index of the new shard.
+ * <p>
+ * Both indexes are locked for writing while the documents are moved, so that the changes applied to them
+ * meanwhile wait for the documents to be in their new shard.
+ */
+final class ShardSplitter {
+
+	private static final Log log = LoggerFactory.make();
+
+	private final ExtendedSearchIntegrator searchIntegrator;
+	private final DocumentBuilderIndexedEntity documentBuilder;
+	private final ConsistentHashRing targetRing;
+	private final String shard;
+	private final String newShard;
+
+	ShardSplitter(ExtendedSearchIntegrator searchIntegrator, DocumentBuilderIndexedEntity documentBuilder,
+			ConsistentHashRing targetRing, String shard, String newShard) {
+		this.searchIntegrator = searchIntegrator;
+		this.documentBuilder = documentBuilder;
+		this.targetRing = targetRing;
+		this.shard = shard;
+		this.newShard = newShard;
+	}
+
+	/**
+	 * @param source the index manager of the shard being split
+	 * @param target the index manager of the new shard
+	 * @return the number of documents moved
+	 */
+	int moveDocuments(IndexManager source, IndexManager target) {
+		final AbstractWorkspaceImpl sourceWorkspace = getWorkspace( source );
+		final AbstractWorkspaceImpl targetWorkspace = getWorkspace( target );
+		final Lock sourceLock = ( (DirectoryBasedIndexManager) source ).getDirectoryModificationLock();
+		final Lock targetLock = ( (DirectoryBasedIndexManager) target ).getDirectoryModificationLock();
+		sourceLock.lock();
+		try {
+			targetLock.lock();
+			try {
+				return moveDocuments( sourceWorkspace, targetWorkspace );
+			}
+			catch (IOException e) {
+				throw log.shardSplitFailed( shard, newShard, e );
+			}
+			finally {
+				targetLock.unlock();
+			}
+		}
+		finally {
+			sourceLock.unlock();
+		}
+	}
+
+	private int moveDocuments(AbstractWorkspaceImpl sourceWorkspace, AbstractWorkspaceImpl targetWorkspace) throws IOException {
+		final IndexWriter sourceWriter = sourceWorkspace.getIndexWriter();
+		final IndexWriter targetWriter = targetWorkspace.getIndexWriter();
+		if ( sourceWriter == null || targetWriter == null ) {
+			// the error handler was notified of the cause
+			throw log.shardSplitFailed( shard, newShard, null );
+		}
+		// a near-real-time reader sees all the changes applied so far, even if not committed yet
+		final DirectoryReader reader = DirectoryReader.open( sourceWriter, true );
+		try {
+			final List<IndexReader> movedDocuments = new ArrayList<IndexReader>();
+			final List<Query> deletions = new ArrayList<Query>();
+			for ( AtomicReaderContext leaf : reader.leaves() ) {
+				final FixedBitSet moved = selectMovedDocuments( leaf.reader(), deletions );
+				final int count = moved.cardinality();
+				if ( count > 0 ) {
+					movedDocuments.add( new MovedDocumentsReader( leaf.reader(), moved, count ) );
+				}
+			}
+			if ( !deletions.isEmpty() ) {
+				targetWriter.addIndexes( movedDocuments.toArray( new IndexReader[movedDocuments.size()] ) );
+				targetWriter.commit();
+				sourceWriter.deleteDocuments( deletions.toArray( new Query[deletions.size()] ) );
+				sourceWriter.commit();
+			}
+			return deletions.size();
+		}
+		finally {
+			reader.close();
+			targetWorkspace.afterTransactionApplied( false, false );
+			sourceWorkspace.afterTransactionApplied( false, false );
+		}
+	}
+
+	/**
+	 * @return the live documents of the entity type whose id is owned by the new shard
+	 */
+	private FixedBitSet selectMovedDocuments(AtomicReader reader, List<Query> deletions) throws IOException {
+		final String className = documentBuilder.getBeanClass().getName();
+		final String idName = documentBuilder.getIdKeywordName();
+		final Set<String> fieldsToLoad = new HashSet<String>( 2 );
+		fieldsToLoad.add( ProjectionConstants.OBJECT_CLASS );
+		fieldsToLoad.add( idName );
+		final ConversionContext conversionContext = new ContextualExceptionBridgeHelper();
+		final Bits liveDocs = reader.getLiveDocs();
+		final FixedBitSet moved = new FixedBitSet( reader.maxDoc() );
+		for ( int doc = 0; doc < reader.maxDoc(); doc++ ) {
+			if ( liveDocs != null && !liveDocs.get( doc ) ) {
+				continue;
+			}
+			final Document document = reader.document( doc, fieldsToLoad );
+			if ( !className.equals( document.get( ProjectionConstants.OBJECT_CLASS ) ) ) {
+				continue;
+			}
+			final Serializable id = DocumentBuilderHelper.getDocumentId(
+					searchIntegrator, documentBuilder.getBeanClass(), document, conversionContext
+			);
+			final String idInString = documentBuilder.objectToString( idName, id, conversionContext );
+			if ( newShard.equals( targetRing.shardOf( idInString ) ) ) {
+				moved.set( doc );
+				deletions.add( createDeletionQuery( className, idName, id, idInString ) );
+			}
+		}
+		return moved;
+	}
+
+	/**
+	 * The same query as a deletion work, which matches all the tenants: their documents move together.
+	 */
+	private Query createDeletionQuery(String className, String idName, Serializable id, String idInString) {
+		final BooleanQuery deletionQuery = new BooleanQuery();
+		if ( documentBuilder.getIdBridge() instanceof NumericFieldBridge ) {
+			deletionQuery.add( NumericFieldUtils.createExactMatchQuery( idName, id ), BooleanClause.Occur.MUST );
+		}
+		else {
+			deletionQuery.add( new TermQuery( new Term( idName, idInString ) ), BooleanClause.Occur.MUST );
+		}
+		deletionQuery.add( new TermQuery( new Term( ProjectionConstants.OBJECT_CLASS, className ) ), BooleanClause.Occur.MUST );
+		return deletionQuery;
+	}
+
+	private static AbstractWorkspaceImpl getWorkspace(IndexManager indexManager) {
+		if ( indexManager instanceof DirectoryBasedIndexManager ) {
+			BackendQueueProcessor backend = ( (DirectoryBasedIndexManager) indexManager ).getBackendQueueProcessor();
+			if ( backend instanceof LuceneBackendQueueProcessor ) {
+				return ( (LuceneBackendQueueProcessor) backend ).getIndexResources().getWorkspace();
+			}
+		}
+		throw log.shardSplitRequiresLocalIndex( indexManager.getIndexName() );
+	}
+
+	/**
+	 * Hides the documents which are not moved, so that adding the reader to the index of the new shard
+	 * only copies the moved ones.
+	 */
+	private static final class MovedDocumentsReader extends FilterAtomicReader {
+
+		private final FixedBitSet moved;
+		private final int count;
+
+		private MovedDocumentsReader(AtomicReader in, FixedBitSet moved, int count) {
+			super( in );
+			this.moved = moved;
+			this.count = count;
+		}
+
+		@Override
+		public Bits getLiveDocs() {
+			return moved;
+		}
+
+		@Override
+		public int numDocs() {
+			return count;
+		}
+
+	}
+
+}
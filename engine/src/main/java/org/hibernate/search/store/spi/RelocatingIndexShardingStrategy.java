@@ -0,0 +1,33 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.store.spi;
+
+import java.io.Serializable;
+
+import org.hibernate.search.indexes.spi.IndexManager;
+
+/**
+ * Implemented by the {@link org.hibernate.search.store.IndexShardingStrategy}s which can move the documents of an id to another shard
+ * while the application is running.
+ * <p>
+ * When a document is added or updated, the engine also deletes it from the index managers returned by
+ * {@link #getIndexManagersForFormerLocations(Class, Serializable, String)}, so that a document indexed at its
+ * former location while it was being moved does not show up twice in the results.
+ *
+ * @hsearch.experimental The exact method signatures are likely to change in future.
+ */
+public interface RelocatingIndexShardingStrategy {
+
+	/**
+	 * @param entity the type of the entity
+	 * @param id the id of the entity
+	 * @param idInString the entity id transformed as string via the appropriate document id bridge
+	 * @return the index managers which may still hold a stale document for the given id, or an empty array
+	 */
+	IndexManager[] getIndexManagersForFormerLocations(Class<?> entity, Serializable id, String idInString);
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.store.spi;
+
+import java.io.Serializable;
+import java.util.Set;
+
+import org.hibernate.search.store.ShardIdentifierProvider;
+
+/**
+ * Implemented by the {@link ShardIdentifierProvider}s which can move the documents of an id to another shard
+ * while the application is running: the engine exposes them through a {@link RelocatingIndexShardingStrategy}.
+ *
+ * @hsearch.experimental The exact method signatures are likely to change in future.
+ */
+public interface RelocatingShardIdentifierProvider extends ShardIdentifierProvider {
+
+	/**
+	 * Concurrency: this method could be invoked concurrently with all other methods of this provider.
+	 *
+	 * @param entityType the type of the entity
+	 * @param id the id of the entity
+	 * @param idAsString the entity id transformed as string via the appropriate document id bridge
+	 * @return the identifiers of the shards which may still hold a stale document for the given id
+	 * @see RelocatingIndexShardingStrategy#getIndexManagersForFormerLocations(Class, Serializable, String)
+	 */
+	Set<String> getFormerShardIdentifiers(Class<?> entityType, Serializable id, String idAsString);
+
+}
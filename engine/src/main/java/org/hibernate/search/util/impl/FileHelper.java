@@ -140,6 +140,35 @@ else if ( !destination.isDirectory() ) {
 		}
 	}
 
+	/**
+	 * Makes the destination file a hard link to the source file when the file system supports it,
+	 * falls back to copying the content otherwise.
+	 * An existing destination file is deleted first and never written in place: it might be a link to
+	 * the same content as a file in a different directory.
+	 * Only use this for files which are never modified after being written, like the Lucene index files.
+	 *
+	 * @param source the file to link or copy
+	 * @param destination the file to create
+	 * @param chunkSize the maximum number of bytes transferred at once when copying
+	 *
+	 * @throws IOException if the file could neither be linked nor copied
+	 */
+	public static void linkOrCopyFile(File source, File destination, long chunkSize) throws IOException {
+		if ( chunkSize <= 0 ) {
+			log.checkSizeMustBePositive();
+			chunkSize = DEFAULT_COPY_BUFFER_SIZE;
+		}
+		Files.deleteIfExists( destination.toPath() );
+		try {
+			Files.createLink( destination.toPath(), source.toPath() );
+		}
+		catch (IOException | UnsupportedOperationException | SecurityException e) {
+			// different file systems, or hard links not supported
+			log.tracef( "Unable to link %s to %s, copying it: %s", destination, source, e );
+			copyFile( source, destination, chunkSize );
+		}
+	}
+
 	private static void copyFile(File srcFile, File destFile, long chunkSize) throws IOException {
 		FileInputStream is = null;
 		FileOutputStream os = null;
@@ -0,0 +1,112 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.util.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.hibernate.annotations.common.reflection.ReflectionManager;
+import org.hibernate.annotations.common.reflection.XClass;
+import org.hibernate.annotations.common.reflection.XMember;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Reads the value of a property (field or getter) through a method handle resolved once when the
+ * metadata is built, rather than through {@link XMember#invoke(Object, Object...)} on each read.
+ * <p>
+ * The field or getter is looked up by name on the class declaring the property. When it can't be
+ * resolved, the value is read through {@link ReflectionHelper#getMemberValue(Object, XMember)}.
+ */
+public final class MemberValueReader {
+
+	private static final Log log = LoggerFactory.make();
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType( Object.class, Object.class );
+
+	private final XMember member;
+	private final MethodHandle getter;
+
+	private MemberValueReader(XMember member, MethodHandle getter) {
+		this.member = member;
+		this.getter = getter;
+	}
+
+	/**
+	 * @param member the property to read
+	 * @param reflectionManager the reflection manager which created the property
+	 * @return a reader for the value of the property
+	 */
+	public static MemberValueReader of(XMember member, ReflectionManager reflectionManager) {
+		return new MemberValueReader( member, createGetter( member, reflectionManager ) );
+	}
+
+	public XMember getMember() {
+		return member;
+	}
+
+	/**
+	 * @param bean the instance to read the property of
+	 * @return the value of the property
+	 * @throws IllegalStateException if the value could not be read
+	 */
+	public Object getValue(Object bean) {
+		if ( getter == null ) {
+			return ReflectionHelper.getMemberValue( bean, member );
+		}
+		try {
+			return (Object) getter.invokeExact( bean );
+		}
+		catch (Error e) {
+			throw e;
+		}
+		catch (Throwable e) {
+			throw new IllegalStateException( "Could not get property value", e );
+		}
+	}
+
+	private static MethodHandle createGetter(XMember member, ReflectionManager reflectionManager) {
+		try {
+			XClass declaringXClass = member.getDeclaringClass();
+			Class<?> declaringClass = reflectionManager.toClass( declaringXClass );
+			MethodHandle getter;
+			if ( declaringXClass.getDeclaredProperties( XClass.ACCESS_FIELD ).contains( member ) ) {
+				Field field = declaringClass.getDeclaredField( member.getName() );
+				ReflectionHelper.setAccessible( field );
+				getter = MethodHandles.lookup().unreflectGetter( field );
+			}
+			else {
+				Method method = findGetter( declaringClass, member.getName() );
+				ReflectionHelper.setAccessible( method );
+				getter = MethodHandles.lookup().unreflect( method );
+			}
+			return getter.asType( GETTER_TYPE );
+		}
+		catch (Exception e) {
+			log.tracef( e, "Unable to create a method handle for %s, using reflection", member );
+			return null;
+		}
+	}
+
+	private static Method findGetter(Class<?> declaringClass, String propertyName) throws NoSuchMethodException {
+		String capitalizedName = Character.toUpperCase( propertyName.charAt( 0 ) ) + propertyName.substring( 1 );
+		try {
+			return declaringClass.getDeclaredMethod( "get" + capitalizedName );
+		}
+		catch (NoSuchMethodException e) {
+			return declaringClass.getDeclaredMethod( "is" + capitalizedName );
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "MemberValueReader{member=" + member + ", methodHandle=" + ( getter != null ) + "}";
+	}
+}
@@ -8,7 +8,9 @@
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.AnalyzerWrapper;
@@ -18,33 +20,61 @@
  *
  * {@code ScopedAnalyzer} behaves similar to {@link org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper}
  * by delegating requests for {@code TokenStream}s to the underlying {@code Analyzer} depending on the requested field name.
+ * <p>
+ * An overlay created by {@link #overlay(Map)} shares the analyzers of its parent instead of copying them,
+ * and only holds the analyzers it overrides.
+ * <p>
+ * Each instance maintains an identity fingerprint of the analyzers it resolves to, updated as analyzers are set,
+ * so that {@link #isCompositeOfSameInstances(ScopedAnalyzer)} tells different compositions apart in constant time.
  *
  * @author Emmanuel Bernard
  * @author Sanne Grinovero
  */
 public final class ScopedAnalyzer extends AnalyzerWrapper {
 
+	/**
+	 * The analyzer this one overrides, {@code null} unless this is an overlay
+	 */
+	private final ScopedAnalyzer parent;
 	private Analyzer globalAnalyzer;
 	private final Map<String, Analyzer> scopedAnalyzers = new HashMap<String, Analyzer>();
 
+	/**
+	 * Combines the identities of the global analyzer and of each scope with its analyzer, as resolved through
+	 * the parent: equal compositions have equal fingerprints.
+	 */
+	private long fingerprint;
+
 	public ScopedAnalyzer(Analyzer globalAnalyzer) {
-		this( globalAnalyzer, Collections.<String, Analyzer>emptyMap() );
+		this( null, globalAnalyzer, Collections.<String, Analyzer>emptyMap() );
 	}
 
-	private ScopedAnalyzer(Analyzer globalAnalyzer, Map<String, Analyzer> scopedAnalyzers) {
+	private ScopedAnalyzer(ScopedAnalyzer parent, Analyzer globalAnalyzer, Map<String, Analyzer> scopedAnalyzers) {
 		super( PER_FIELD_REUSE_STRATEGY );
+		this.parent = parent;
 		this.globalAnalyzer = globalAnalyzer;
+		this.fingerprint = parent == null ? identityFingerprint( globalAnalyzer ) : parent.fingerprint;
 		for ( Map.Entry<String, Analyzer> entry : scopedAnalyzers.entrySet() ) {
 			addScopedAnalyzer( entry.getKey(), entry.getValue() );
 		}
 	}
 
 	public void setGlobalAnalyzer(Analyzer globalAnalyzer) {
+		if ( parent == null ) {
+			fingerprint += identityFingerprint( globalAnalyzer ) - identityFingerprint( this.globalAnalyzer );
+		}
 		this.globalAnalyzer = globalAnalyzer;
 	}
 
 	public void addScopedAnalyzer(String scope, Analyzer scopedAnalyzer) {
-		scopedAnalyzers.put( scope, scopedAnalyzer );
+		final Analyzer replaced = scopedAnalyzers.put( scope, scopedAnalyzer );
+		if ( replaced != null ) {
+			fingerprint -= scopeFingerprint( scope, replaced );
+		}
+		else if ( parent != null && parent.hasScope( scope ) ) {
+			fingerprint -= scopeFingerprint( scope, parent.getWrappedAnalyzer( scope ) );
+		}
+		fingerprint += scopeFingerprint( scope, scopedAnalyzer );
 	}
 
 	/**
@@ -55,6 +85,16 @@ public void addScopedAnalyzer(String scope, Analyzer scopedAnalyzer) {
 	 * and all scoped analyzers also match, by reference.
 	 */
 	public boolean isCompositeOfSameInstances(ScopedAnalyzer other) {
+		if ( this == other ) {
+			return true;
+		}
+		if ( this.fingerprint != other.fingerprint ) {
+			return false;
+		}
+		// equal fingerprints: make sure the compositions don't just collide
+		if ( this.parent != null || other.parent != null ) {
+			return isResolvingToSameInstances( other );
+		}
 		if ( this.globalAnalyzer != other.globalAnalyzer ) {
 			return false;
 		}
@@ -69,20 +109,98 @@ public boolean isCompositeOfSameInstances(ScopedAnalyzer other) {
 		return true;
 	}
 
+	private boolean isResolvingToSameInstances(ScopedAnalyzer other) {
+		if ( this.getGlobalAnalyzer() != other.getGlobalAnalyzer() ) {
+			return false;
+		}
+		final Set<String> fieldnames = this.getScopes();
+		if ( !fieldnames.equals( other.getScopes() ) ) {
+			return false;
+		}
+		for ( String fieldname : fieldnames ) {
+			if ( this.getWrappedAnalyzer( fieldname ) != other.getWrappedAnalyzer( fieldname ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean hasScope(String scope) {
+		return scopedAnalyzers.containsKey( scope ) || ( parent != null && parent.hasScope( scope ) );
+	}
+
+	private static long scopeFingerprint(String scope, Analyzer analyzer) {
+		return mix( scope.hashCode() * 31L + System.identityHashCode( analyzer ) );
+	}
+
+	private static long identityFingerprint(Analyzer analyzer) {
+		return mix( System.identityHashCode( analyzer ) );
+	}
+
+	/**
+	 * The finalization step of MurmurHash3, so that the sum of the fingerprints of the scopes rarely collides.
+	 */
+	private static long mix(long value) {
+		long h = value;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	private Analyzer getGlobalAnalyzer() {
+		return parent == null ? globalAnalyzer : parent.getGlobalAnalyzer();
+	}
+
+	private Set<String> getScopes() {
+		if ( parent == null ) {
+			return scopedAnalyzers.keySet();
+		}
+		final Set<String> scopes = new HashSet<String>( parent.getScopes() );
+		scopes.addAll( scopedAnalyzers.keySet() );
+		return scopes;
+	}
+
+	private void collectScopedAnalyzers(Map<String, Analyzer> target) {
+		if ( parent != null ) {
+			parent.collectScopedAnalyzers( target );
+		}
+		target.putAll( scopedAnalyzers );
+	}
+
 	@Override
 	protected Analyzer getWrappedAnalyzer(String fieldName) {
 		final Analyzer analyzer = scopedAnalyzers.get( fieldName );
-		if ( analyzer == null ) {
-			return globalAnalyzer;
+		if ( analyzer != null ) {
+			return analyzer;
+		}
+		else if ( parent != null ) {
+			return parent.getWrappedAnalyzer( fieldName );
 		}
 		else {
-			return analyzer;
+			return globalAnalyzer;
 		}
 	}
 
+	/**
+	 * Creates a view of this analyzer using different analyzers for some fields, without copying the
+	 * analyzers of this instance: changes to this instance are visible to the overlay.
+	 * Unlike a {@link #clone()}, creating an overlay doesn't depend on the number of fields of the entity.
+	 *
+	 * @param overrides the analyzers to use instead of the ones of this instance, by field name
+	 * @return a new {@code ScopedAnalyzer} delegating the fields not overridden to this one
+	 */
+	public ScopedAnalyzer overlay(Map<String, Analyzer> overrides) {
+		return new ScopedAnalyzer( this, null, overrides );
+	}
+
 	@Override
 	public ScopedAnalyzer clone() {
-		ScopedAnalyzer clone = new ScopedAnalyzer( globalAnalyzer, scopedAnalyzers );
+		final Map<String, Analyzer> allScopedAnalyzers = new HashMap<String, Analyzer>();
+		collectScopedAnalyzers( allScopedAnalyzers );
+		ScopedAnalyzer clone = new ScopedAnalyzer( null, getGlobalAnalyzer(), allScopedAnalyzers );
 		return clone;
 	}
 
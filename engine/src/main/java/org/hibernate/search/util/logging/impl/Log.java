@@ -21,6 +21,7 @@
 import org.hibernate.search.exception.AssertionFailure;
 import org.hibernate.search.exception.EmptyQueryException;
 import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.query.SearchCursor;
 import org.hibernate.search.store.DirectoryProvider;
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger.Level;
@@ -68,27 +69,10 @@ public interface Log extends BasicLogger {
 	@Message(id = 18, value = "Skipping directory synchronization, previous work still in progress: %1$s")
 	void skippingDirectorySynchronization(String indexName);
 
-	@LogMessage(level = WARN)
-	@Message(id = 19, value = "Unable to remove previous marker file from source of %1$s")
-	void unableToRemovePreviousMarket(String indexName);
-
-	@LogMessage(level = WARN)
-	@Message(id = 20, value = "Unable to create current marker in source of %1$s")
-	void unableToCreateCurrentMarker(String indexName, @Cause Exception e);
-
 	@LogMessage(level = ERROR)
 	@Message(id = 21, value = "Unable to synchronize source of %1$s")
 	void unableToSynchronizeSource(String indexName, @Cause Exception e);
 
-	@LogMessage(level = WARN)
-	@Message(id = 22,
-			value = "Unable to determine current in source directory, will try again during the next synchronization")
-	void unableToDetermineCurrentInSourceDirectory();
-
-	@LogMessage(level = ERROR)
-	@Message(id = 23, value = "Unable to compare %1$s with %2$s.")
-	void unableToCompareSourceWithDestinationDirectory(String source, String destination);
-
 	@LogMessage(level = WARN)
 	@Message(id = 24, value = "Unable to reindex entity on collection change, id cannot be extracted: %1$s")
 	void idCannotBeExtracted(String affectedOwnerEntityName);
@@ -164,14 +148,6 @@ public interface Log extends BasicLogger {
 	@Message(id = 41, value = "Index directory not found, creating: '%1$s'")
 	void indexDirectoryNotFoundCreatingNewOne(String absolutePath);
 
-	@LogMessage(level = WARN)
-	@Message(id = 42, value = "No current marker in source directory. Has the master being started already?")
-	void noCurrentMarkerInSourceDirectory();
-
-	@LogMessage(level = INFO)
-	@Message(id = 43, value = "Found current marker in source directory - initialization succeeded")
-	void foundCurrentMarker();
-
 	@LogMessage(level = WARN)
 	@Message(id = 44, value = "Abstract classes cannot be indexed directly. Only concrete subclasses can be indexed. @Indexed on '%s' is superfluous and should be removed.")
 	void abstractClassesCannotInsertDocuments(String clazz);
@@ -834,4 +810,79 @@ public interface Log extends BasicLogger {
 
 	@Message(id = 277, value = "Worker configured to be enlisted in transaction but the backend %1$s is not transactional for index %2$s")
 	SearchException backendNonTransactional(String indexName, String backend);
+
+	@LogMessage(level = Level.WARN)
+	@Message(id = 278, value = "Unable to refresh the IndexReader of index '%1$s' in background; queries will keep using the previous one")
+	void unableToRefreshIndexReader(String indexName, @Cause Exception e);
+
+	@LogMessage(level = Level.WARN)
+	@Message(id = 279, value = "Identifiers of entity type '%1$s' can't be split in ranges; they will be loaded by a single thread")
+	void cannotPartitionIdentifiers(@FormatWith(ClassFormatter.class) Class<?> entityClass);
+
+	@LogMessage(level = INFO)
+	@Message(id = 280, value = "Loading identifiers of entity type '%1$s', partition %2$d of %3$d: %4$d entities")
+	void loadingIdentifierPartition(@FormatWith(ClassFormatter.class) Class<?> entityClass, int partition, int partitions, long count);
+
+	@LogMessage(level = INFO)
+	@Message(id = 281, value = "Loaded identifiers of entity type '%1$s', partition %2$d of %3$d: %4$d identifiers produced")
+	void loadedIdentifierPartition(@FormatWith(ClassFormatter.class) Class<?> entityClass, int partition, int partitions, long count);
+
+	@Message(id = 282, value = "The search cursor %1$s was created for a query sorted on %2$d fields, it can't be used for a query sorted on %3$d fields")
+	SearchException searchCursorSortMismatch(SearchCursor cursor, int cursorSortFields, int querySortFields);
+
+	@LogMessage(level = WARN)
+	@Message(id = 283, value = "Unable to delete %1$s, which is no longer part of the replicated index: will try again during the next synchronization")
+	void unableToDeleteUnreferencedReplicatedFile(File file, @Cause IOException e);
+
+	@LogMessage(level = INFO)
+	@Message(id = 284, value = "Indexing entity type '%1$s': %2$.1f identifiers/second, %3$.1f entities/second, %4$.1f documents/second; loading batches of %6$d entities with %5$d threads")
+	void indexingPipelineThroughput(@FormatWith(ClassFormatter.class) Class<?> entityClass, float identifiersPerSecond, float entitiesPerSecond,
+			float documentsPerSecond, int threadsToLoadObjects, int batchSizeToLoadObjects);
+
+	@Message(id = 285, value = "The number of virtual nodes of each shard must be >= 1. %s is an illegal value.")
+	SearchException getInvalidVirtualNodesCountException(int value);
+
+	@Message(id = 286, value = "Invalid shard split '%1$s' in property '%2$s': expected '<shard to split>:<new shard>'")
+	SearchException getInvalidShardSplitException(String split, String propertyName);
+
+	@LogMessage(level = WARN)
+	@Message(id = 287,
+			value = "Unable to find the replication manifest in source directory, will try again during the next synchronization")
+	void unableToFindReplicationManifestInSourceDirectory();
+
+	@LogMessage(level = WARN)
+	@Message(id = 288, value = "No replication manifest in source directory. Has the master being started already?")
+	void noReplicationManifestInSourceDirectory();
+
+	@LogMessage(level = INFO)
+	@Message(id = 289, value = "Found replication manifest in source directory - initialization succeeded")
+	void foundReplicationManifest();
+
+	@Message(id = 290, value = "Unable to open an IndexReader for IndexManager %1$s: it was stopped")
+	SearchException readerProviderStopped(String indexName);
+
+	@Message(id = 291, value = "Property '%1$s' of index '%2$s' must not be negative. %3$d is an illegal value.")
+	SearchException negativeRefreshPeriod(String propertyName, String indexName, int value);
+
+	@Message(id = 292, value = "Shard '%1$s' can't be split: it is not a shard of the consistent-hash ring")
+	SearchException unknownShard(String shardIdentifier);
+
+	@Message(id = 293, value = "Shard '%1$s' already exists")
+	SearchException shardAlreadyExists(String shardIdentifier);
+
+	@Message(id = 294, value = "Index '%1$s' is not a local Lucene index: its documents can't be moved to another shard")
+	SearchException shardSplitRequiresLocalIndex(String indexName);
+
+	@Message(id = 295, value = "Unable to move the documents of shard '%1$s' to shard '%2$s'")
+	SearchException shardSplitFailed(String shardIdentifier, String newShardIdentifier, @Cause Exception e);
+
+	@LogMessage(level = INFO)
+	@Message(id = 296, value = "Split shard '%2$s' of entity type '%1$s': moved %4$d documents to shard '%3$s'")
+	void shardSplit(@FormatWith(ClassFormatter.class) Class<?> entityType, String shardIdentifier, String newShardIdentifier, int documents);
+
+	@Message(id = 297, value = "The consistent-hash shard identifier provider is not bound to an entity type using dynamic sharding")
+	SearchException consistentHashProviderNotBound();
+
+	@Message(id = 298, value = "Interrupted while waiting for the documents of shard '%1$s' to be moved to shard '%2$s'")
+	SearchException interruptedWhileWaitingForShardSplit(String shardIdentifier, String newShardIdentifier);
 }
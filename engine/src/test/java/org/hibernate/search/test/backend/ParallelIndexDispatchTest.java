@@ -0,0 +1,111 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.backend.IndexingMonitor;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.impl.lucene.LuceneBackendQueueProcessor;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.CountingErrorHandler;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies the operations of a transaction spanning several shards are applied when the shards
+ * are invoked in parallel, and that the failures of all shards are reported.
+ */
+public class ParallelIndexDispatchTest {
+
+	private static final int SHARDS = 4;
+	private static final int BOOKS = 100;
+
+	@Rule
+	public SearchFactoryHolder sfHolder = new SearchFactoryHolder( Book.class )
+			.withProperty( Environment.WORKER_DISPATCH_THREADS, "3" )
+			.withProperty( "hibernate.search.books.sharding_strategy.nbr_of_shards", String.valueOf( SHARDS ) );
+
+	@Rule
+	public SearchFactoryHolder failingSfHolder = new SearchFactoryHolder( Book.class )
+			.withProperty( Environment.WORKER_DISPATCH_THREADS, "3" )
+			.withProperty( "hibernate.search.books.sharding_strategy.nbr_of_shards", String.valueOf( SHARDS ) )
+			.withProperty( "hibernate.search.default." + Environment.WORKER_BACKEND, FailingBackend.class.getName() )
+			.withProperty( Environment.ERROR_HANDLER, CountingErrorHandler.class.getName() );
+
+	@Test
+	public void operationsOfAllShardsAreApplied() {
+		TransactionContextForTest tc = new TransactionContextForTest();
+		for ( int i = 0; i < BOOKS; i++ ) {
+			Book book = new Book( i, "title" );
+			sfHolder.getSearchFactory().getWorker().performWork( new Work( book, book.id, WorkType.ADD, false ), tc );
+		}
+		tc.end();
+
+		int size = sfHolder.getSearchFactory().createHSQuery()
+				.luceneQuery( new MatchAllDocsQuery() )
+				.targetedEntities( Collections.<Class<?>>singletonList( Book.class ) )
+				.queryResultSize();
+		assertEquals( BOOKS, size );
+	}
+
+	@Test
+	public void failuresOfAllShardsAreReported() {
+		TransactionContextForTest tc = new TransactionContextForTest();
+		for ( int i = 0; i < BOOKS; i++ ) {
+			Book book = new Book( i, "title" );
+			failingSfHolder.getSearchFactory().getWorker().performWork( new Work( book, book.id, WorkType.ADD, false ), tc );
+		}
+		try {
+			tc.end();
+			fail( "The failure of the shards should be propagated" );
+		}
+		catch (SearchException e) {
+			// expected
+		}
+		CountingErrorHandler errorHandler = (CountingErrorHandler) failingSfHolder.getSearchFactory().getErrorHandler();
+		// one failure is propagated, the others are passed to the ErrorHandler
+		assertEquals( SHARDS - 1, errorHandler.getCountFor( SearchException.class ) );
+	}
+
+	public static class FailingBackend extends LuceneBackendQueueProcessor {
+
+		@Override
+		public void applyWork(List<LuceneWork> workList, IndexingMonitor monitor) {
+			throw new SearchException( "Simulated failure" );
+		}
+	}
+
+	@Indexed(index = "books")
+	private static class Book {
+
+		@DocumentId
+		final int id;
+
+		@Field
+		final String title;
+
+		Book(int id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.backend.lucene;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.backend.impl.lucene.LuceneBackendQueueProcessor;
+import org.hibernate.search.backend.impl.lucene.LuceneBackendResources;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
+import org.hibernate.search.stat.Statistics;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies the async backend applies the changesets queued while the index is busy as groups,
+ * bounded by the maximum group commit size.
+ */
+public class AsyncGroupCommitTest {
+
+	private static final int BOOKS = 50;
+	private static final int MAX_GROUP_COMMIT_SIZE = 10;
+
+	@Rule
+	public SearchFactoryHolder sfHolder = new SearchFactoryHolder( Book.class )
+			.withProperty( "hibernate.search.default." + Environment.WORKER_EXECUTION, "async" );
+
+	@Rule
+	public SearchFactoryHolder boundedSfHolder = new SearchFactoryHolder( Book.class )
+			.withProperty( "hibernate.search.default." + Environment.WORKER_EXECUTION, "async" )
+			.withProperty( "hibernate.search.default." + Environment.WORKER_MAX_GROUP_COMMIT_SIZE, String.valueOf( MAX_GROUP_COMMIT_SIZE ) );
+
+	@Test
+	public void queuedChangesetsAreCommittedTogether() throws InterruptedException {
+		LuceneBackendResources resources = indexBooksWhileIndexIsBusy( sfHolder );
+		// the first group may be drained before the others are queued
+		assertTrue( "Group commits: " + resources.getGroupCommitCount(), resources.getGroupCommitCount() <= 2 );
+		assertEquals( BOOKS, committedChangesets( resources ) );
+	}
+
+	@Test
+	public void groupsAreBounded() throws InterruptedException {
+		LuceneBackendResources resources = indexBooksWhileIndexIsBusy( boundedSfHolder );
+		assertTrue( "Group commits: " + resources.getGroupCommitCount(), resources.getGroupCommitCount() >= BOOKS / MAX_GROUP_COMMIT_SIZE );
+		assertTrue( resources.getAverageGroupCommitSize() <= MAX_GROUP_COMMIT_SIZE );
+		assertEquals( BOOKS, committedChangesets( resources ) );
+	}
+
+	@Test
+	public void groupCommitsAreExposedByStatistics() throws InterruptedException {
+		LuceneBackendResources resources = indexBooksWhileIndexIsBusy( boundedSfHolder );
+		Statistics statistics = boundedSfHolder.getSearchFactory().getStatistics();
+		assertEquals( Long.valueOf( resources.getGroupCommitCount() ), statistics.getGroupCommitCountByIndex().get( "books" ) );
+		assertEquals( resources.getAverageGroupCommitSize(), statistics.getAverageGroupCommitSizeByIndex().get( "books" ), 0d );
+	}
+
+	private LuceneBackendResources indexBooksWhileIndexIsBusy(SearchFactoryHolder holder) throws InterruptedException {
+		DirectoryBasedIndexManager indexManager = (DirectoryBasedIndexManager) holder.getSearchFactory()
+				.getIndexManagerHolder().getIndexManager( "books" );
+		LuceneBackendResources resources = ( (LuceneBackendQueueProcessor) indexManager.getBackendQueueProcessor() ).getIndexResources();
+		// keep the async backend waiting, so that the changesets are queued
+		Lock exclusiveLock = resources.getExclusiveModificationLock();
+		exclusiveLock.lock();
+		try {
+			for ( int i = 0; i < BOOKS; i++ ) {
+				TransactionContextForTest tc = new TransactionContextForTest();
+				Book book = new Book( i, "title" );
+				holder.getSearchFactory().getWorker().performWork( new Work( book, book.id, WorkType.ADD, false ), tc );
+				tc.end();
+			}
+		}
+		finally {
+			exclusiveLock.unlock();
+		}
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos( 30 );
+		// the statistics are updated once the group is applied
+		while ( ( countBooks( holder ) < BOOKS || committedChangesets( resources ) < BOOKS ) && System.nanoTime() < deadline ) {
+			Thread.sleep( 10 );
+		}
+		assertEquals( BOOKS, countBooks( holder ) );
+		return resources;
+	}
+
+	private long committedChangesets(LuceneBackendResources resources) {
+		return Math.round( resources.getGroupCommitCount() * resources.getAverageGroupCommitSize() );
+	}
+
+	private int countBooks(SearchFactoryHolder holder) {
+		return holder.getSearchFactory().createHSQuery()
+				.luceneQuery( new MatchAllDocsQuery() )
+				.targetedEntities( Collections.<Class<?>>singletonList( Book.class ) )
+				.queryResultSize();
+	}
+
+	@Indexed(index = "books")
+	private static class Book {
+
+		@DocumentId
+		final int id;
+
+		@Field
+		final String title;
+
+		Book(int id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.backend.lucene;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.search.Query;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.query.dsl.QueryBuilder;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies batches of changes are applied correctly when several threads apply them,
+ * in particular that the operations on a same entity are kept in order.
+ */
+public class ParallelApplyTest {
+
+	private static final int BOOKS = 200;
+	private static final int COMMITTING_THREADS = 8;
+
+	@Rule
+	public SearchFactoryHolder sfHolder = new SearchFactoryHolder( Book.class )
+			.withProperty( "hibernate.search.default." + Environment.WORKER_APPLY_THREADS, "4" );
+
+	@Test
+	public void operationsOnSameEntityAreApplied() {
+		TransactionContextForTest tc = new TransactionContextForTest();
+		for ( int i = 0; i < BOOKS; i++ ) {
+			Book book = new Book( i, "first" );
+			sfHolder.getSearchFactory().getWorker().performWork( new Work( book, book.id, WorkType.ADD, false ), tc );
+		}
+		tc.end();
+		assertEquals( BOOKS, countBooks( "first" ) );
+
+		tc = new TransactionContextForTest();
+		for ( int i = 0; i < BOOKS; i++ ) {
+			Book book = new Book( i, "second" );
+			WorkType workType = i % 2 == 0 ? WorkType.DELETE : WorkType.UPDATE;
+			sfHolder.getSearchFactory().getWorker().performWork( new Work( book, book.id, workType, false ), tc );
+		}
+		tc.end();
+		assertEquals( 0, countBooks( "first" ) );
+		assertEquals( BOOKS / 2, countBooks( "second" ) );
+	}
+
+	@Test
+	public void concurrentTransactionsAreApplied() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool( COMMITTING_THREADS );
+		for ( int i = 0; i < BOOKS; i++ ) {
+			final Book book = new Book( i, "concurrent" );
+			executor.execute( new Runnable() {
+				@Override
+				public void run() {
+					TransactionContextForTest tc = new TransactionContextForTest();
+					sfHolder.getSearchFactory().getWorker().performWork( new Work( book, book.id, WorkType.ADD, false ), tc );
+					tc.end();
+				}
+			} );
+		}
+		executor.shutdown();
+		executor.awaitTermination( 1, TimeUnit.MINUTES );
+		assertEquals( BOOKS, countBooks( "concurrent" ) );
+	}
+
+	private int countBooks(String title) {
+		ExtendedSearchIntegrator integrator = sfHolder.getSearchFactory();
+		QueryBuilder queryBuilder = integrator.buildQueryBuilder().forEntity( Book.class ).get();
+		Query query = queryBuilder.keyword().onField( "title" ).matching( title ).createQuery();
+		return integrator.createHSQuery()
+				.luceneQuery( query )
+				.targetedEntities( Collections.<Class<?>>singletonList( Book.class ) )
+				.queryResultSize();
+	}
+
+	@Indexed(index = "books")
+	private static class Book {
+
+		@DocumentId
+		final int id;
+
+		@Field
+		final String title;
+
+		Book(int id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+
+}
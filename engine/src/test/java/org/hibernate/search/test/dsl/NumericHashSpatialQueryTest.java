@@ -0,0 +1,161 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.dsl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.Query;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.Latitude;
+import org.hibernate.search.annotations.Longitude;
+import org.hibernate.search.annotations.Spatial;
+import org.hibernate.search.annotations.SpatialMode;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.backend.spi.Worker;
+import org.hibernate.search.engine.ProjectionConstants;
+import org.hibernate.search.query.dsl.Unit;
+import org.hibernate.search.query.engine.spi.EntityInfo;
+import org.hibernate.search.spatial.impl.Point;
+import org.hibernate.search.spatial.impl.SpatialQueryBuilderFromCoordinates;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies spatial queries on coordinates indexed with {@code SpatialMode.NUMERIC_HASH} find the same places
+ * as an exhaustive distance computation, including around the poles and the 180 meridian.
+ */
+public class NumericHashSpatialQueryTest {
+
+	private static final int PLACES = 2000;
+
+	@Rule
+	public SearchFactoryHolder sfHolder = new SearchFactoryHolder( Place.class );
+
+	private final Place[] places = new Place[PLACES];
+
+	@Before
+	public void indexPlaces() {
+		Random random = new Random( 42 );
+		Worker worker = sfHolder.getSearchFactory().getWorker();
+		TransactionContextForTest tc = new TransactionContextForTest();
+		for ( int i = 0; i < PLACES; i++ ) {
+			Place place = new Place();
+			place.id = i;
+			// half of the places are spread around the centers of the queries
+			if ( i % 2 == 0 ) {
+				place.latitude = random.nextDouble() * 180 - 90;
+				place.longitude = random.nextDouble() * 360 - 180;
+			}
+			else {
+				place.latitude = Math.max( -90, Math.min( 90, 45 * ( i % 5 - 2 ) + random.nextGaussian() * 2 ) );
+				place.longitude = 179 * ( i % 3 - 1 ) + random.nextGaussian() * 2;
+				place.longitude = place.longitude > 180 ? place.longitude - 360 : ( place.longitude < -180 ? place.longitude + 360 : place.longitude );
+			}
+			places[i] = place;
+			worker.performWork( new Work( place, place.id, WorkType.ADD, false ), tc );
+		}
+		tc.end();
+	}
+
+	@Test
+	public void findsPlacesWithinRadius() {
+		for ( double latitude = -90; latitude <= 90; latitude += 45 ) {
+			for ( double longitude = -179; longitude <= 179; longitude += 179 ) {
+				for ( double radius : new double[] { 1, 50, 300, 2000 } ) {
+					assertSearchFindsPlacesWithinRadius( latitude, longitude, radius );
+				}
+			}
+		}
+	}
+
+	@Test
+	public void findsPlacesAcrossTheEquator() {
+		assertSearchFindsPlacesWithinRadius( 0.5, 0.5, 500 );
+		assertSearchFindsPlacesWithinRadius( -1, 90, 3000 );
+	}
+
+	@Test
+	public void sharesTheResultsOfIdenticalSearches() {
+		Point center = Point.fromDegrees( 45, 0 );
+		Filter filter = SpatialQueryBuilderFromCoordinates.buildSpatialNumericHashFilter(
+				center, 300, "location", 16, sfHolder.getSearchFactory() );
+		assertSame( filter, SpatialQueryBuilderFromCoordinates.buildSpatialNumericHashFilter(
+				center, 300, "location", 16, sfHolder.getSearchFactory() ) );
+		assertNotSame( filter, SpatialQueryBuilderFromCoordinates.buildSpatialNumericHashFilter(
+				center, 2000, "location", 16, sfHolder.getSearchFactory() ) );
+
+		// the second search reuses the cached results
+		assertSearchFindsPlacesWithinRadius( 45, 0, 300 );
+		assertSearchFindsPlacesWithinRadius( 45, 0, 300 );
+	}
+
+	private void assertSearchFindsPlacesWithinRadius(double latitude, double longitude, double radius) {
+		Point center = Point.fromDegrees( latitude, longitude );
+		Set<Integer> expected = new HashSet<Integer>();
+		for ( Place place : places ) {
+			if ( center.getDistanceTo( place.latitude, place.longitude ) <= radius ) {
+				expected.add( place.id );
+			}
+		}
+
+		Query query = sfHolder.getSearchFactory().buildQueryBuilder().forEntity( Place.class ).get()
+				.spatial()
+					.onField( "location" )
+					.within( radius, Unit.KM )
+						.ofLatitude( latitude ).andLongitude( longitude )
+					.createQuery();
+		List<EntityInfo> entityInfos = sfHolder.getSearchFactory().createHSQuery()
+				.luceneQuery( query )
+				.targetedEntities( Collections.<Class<?>>singletonList( Place.class ) )
+				.projection( ProjectionConstants.ID )
+				.queryEntityInfos();
+		Set<Integer> found = new HashSet<Integer>();
+		for ( EntityInfo entityInfo : entityInfos ) {
+			found.add( (Integer) entityInfo.getProjection()[0] );
+		}
+		assertEquals( "Places within " + radius + " km of " + center, expected, found );
+		assertTrue( radius < 2000 || !found.isEmpty() );
+	}
+
+	@Indexed
+	@Spatial(name = "location", spatialMode = SpatialMode.NUMERIC_HASH)
+	public static class Place {
+
+		@DocumentId
+		Integer id;
+
+		@Latitude(of = "location")
+		double latitude;
+
+		@Longitude(of = "location")
+		double longitude;
+
+		public double getLatitude() {
+			return latitude;
+		}
+
+		public double getLongitude() {
+			return longitude;
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.index.IndexableField;
+import org.hibernate.search.annotations.Analyze;
+import org.hibernate.search.annotations.ClassBridge;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Facet;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.Store;
+import org.hibernate.search.bridge.FieldBridge;
+import org.hibernate.search.bridge.LuceneOptions;
+import org.hibernate.search.bridge.util.impl.ContextualExceptionBridgeHelper;
+import org.hibernate.search.engine.impl.LuceneOptionsImpl;
+import org.hibernate.search.engine.metadata.impl.DocumentFieldMetadata;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies the documents built with the shared field types, and without translating the facets
+ * of types which don't have any, are the same as the ones built with per field types and facet translation.
+ */
+public class DocumentBuildingTest {
+
+	@Rule
+	public SearchFactoryHolder sfHolder = new SearchFactoryHolder( Note.class, Hotel.class, TaggedNote.class );
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void sharedFieldTypesMatchTheLegacyFieldTypes() {
+		for ( Store store : new Store[] { Store.YES, Store.NO } ) {
+			for ( Field.Index index : Field.Index.values() ) {
+				for ( Field.TermVector termVector : Field.TermVector.values() ) {
+					Field.Store luceneStore = store == Store.YES ? Field.Store.YES : Field.Store.NO;
+					Field expected;
+					try {
+						expected = new Field( "field", "value", luceneStore, index, termVector );
+					}
+					catch (IllegalArgumentException e) {
+						// invalid combination: still rejected
+						assertRejected( store, index, termVector );
+						continue;
+					}
+					Document document = new Document();
+					createLuceneOptions( store, index, termVector ).addFieldToDocument( "field", "value", document );
+					List<IndexableField> fields = document.getFields();
+					assertEquals( 1, fields.size() );
+					assertSameField( expected, fields.get( 0 ) );
+				}
+			}
+		}
+	}
+
+	@Test
+	public void documentsWithoutFacetsAreNotTranslated() throws IOException {
+		Document document = getDocument( Note.class, new Note( 1, "Some text" ), 1 );
+		assertSameFields( new FacetsConfig().build( document ), document );
+	}
+
+	@Test
+	public void facetsAreTranslated() {
+		Document document = getDocument( Hotel.class, new Hotel( 1, "budget" ), 1 );
+		assertFacetsTranslated( document );
+	}
+
+	@Test
+	public void facetsAddedByBridgesAreTranslated() {
+		Document document = getDocument( TaggedNote.class, new TaggedNote( 1, "Some text" ), 1 );
+		assertFacetsTranslated( document );
+	}
+
+	private Document getDocument(Class<?> type, Object entity, Serializable id) {
+		return sfHolder.getSearchFactory().getIndexBinding( type ).getDocumentBuilder().getDocument(
+				null,
+				entity,
+				id,
+				new HashMap<String, String>(),
+				null,
+				new ContextualExceptionBridgeHelper(),
+				null
+		);
+	}
+
+	private static void assertFacetsTranslated(Document document) {
+		assertNotNull( document.getField( FacetsConfig.DEFAULT_INDEX_FIELD_NAME ) );
+		for ( IndexableField field : document.getFields() ) {
+			assertFalse( field instanceof SortedSetDocValuesFacetField );
+		}
+	}
+
+	private static void assertRejected(Store store, Field.Index index, Field.TermVector termVector) {
+		try {
+			createLuceneOptions( store, index, termVector ).addFieldToDocument( "field", "value", new Document() );
+			fail( "Invalid options should be rejected: " + Arrays.asList( store, index, termVector ) );
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	private static LuceneOptions createLuceneOptions(Store store, Field.Index index, Field.TermVector termVector) {
+		DocumentFieldMetadata fieldMetadata = new DocumentFieldMetadata.Builder( "field", store, index, termVector ).build();
+		return new LuceneOptionsImpl( fieldMetadata, 1f, 1f );
+	}
+
+	private static void assertSameFields(Document expected, Document actual) {
+		List<IndexableField> expectedFields = expected.getFields();
+		List<IndexableField> actualFields = actual.getFields();
+		assertEquals( expectedFields.size(), actualFields.size() );
+		for ( int i = 0; i < expectedFields.size(); i++ ) {
+			assertSameField( expectedFields.get( i ), actualFields.get( i ) );
+		}
+	}
+
+	private static void assertSameField(IndexableField expected, IndexableField actual) {
+		assertEquals( expected.name(), actual.name() );
+		assertEquals( expected.stringValue(), actual.stringValue() );
+		assertEquals( expected.binaryValue(), actual.binaryValue() );
+		assertEquals( expected.numericValue(), actual.numericValue() );
+		assertEquals( expected.boost(), actual.boost(), 0f );
+		// FieldType doesn't implement equals
+		assertEquals( expected.fieldType().toString(), actual.fieldType().toString() );
+		assertEquals( expected.fieldType().docValueType(), actual.fieldType().docValueType() );
+	}
+
+	@Indexed
+	private static class Note {
+
+		@DocumentId
+		final int id;
+
+		@org.hibernate.search.annotations.Field(store = Store.YES)
+		final String text;
+
+		Note(int id, String text) {
+			this.id = id;
+			this.text = text;
+		}
+	}
+
+	@Indexed
+	private static class Hotel {
+
+		@DocumentId
+		final int id;
+
+		@org.hibernate.search.annotations.Field(analyze = Analyze.NO)
+		@Facet
+		final String category;
+
+		Hotel(int id, String category) {
+			this.id = id;
+			this.category = category;
+		}
+	}
+
+	@Indexed
+	@ClassBridge(impl = TagBridge.class)
+	private static class TaggedNote {
+
+		@DocumentId
+		final int id;
+
+		@org.hibernate.search.annotations.Field
+		final String text;
+
+		TaggedNote(int id, String text) {
+			this.id = id;
+			this.text = text;
+		}
+	}
+
+	public static class TagBridge implements FieldBridge {
+
+		@Override
+		public void set(String name, Object value, Document document, LuceneOptions luceneOptions) {
+			document.add( new SortedSetDocValuesFacetField( "tag", "note" ) );
+		}
+	}
+
+}
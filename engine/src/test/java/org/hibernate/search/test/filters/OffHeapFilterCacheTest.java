@@ -0,0 +1,219 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.filters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.AtomicReaderContext;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.FilteredQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.QueryWrapperFilter;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.FixedBitSet;
+import org.hibernate.search.filter.impl.AndDocIdSet;
+import org.hibernate.search.filter.impl.OffHeapCachingWrapperFilter;
+import org.hibernate.search.filter.impl.OffHeapFilterCache;
+import org.hibernate.search.testsupport.TestConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies the filter results cached off-heap are correct, reused, and evicted
+ * according to the memory budget.
+ */
+public class OffHeapFilterCacheTest {
+
+	private static final int DOCUMENTS_PER_SEGMENT = 1000;
+	private static final int SEGMENTS = 3;
+
+	private RAMDirectory directory;
+	private IndexWriter indexWriter;
+	private DirectoryReader reader;
+
+	@Before
+	public void createIndex() throws IOException {
+		directory = new RAMDirectory();
+		indexWriter = new IndexWriter( directory, new IndexWriterConfig( TestConstants.getTargetLuceneVersion(), new KeywordAnalyzer() ) );
+		for ( int segment = 0; segment < SEGMENTS; segment++ ) {
+			for ( int i = 0; i < DOCUMENTS_PER_SEGMENT; i++ ) {
+				int id = segment * DOCUMENTS_PER_SEGMENT + i;
+				Document document = new Document();
+				document.add( new StringField( "id", String.valueOf( id ), Field.Store.NO ) );
+				document.add( new StringField( "multipleOf7", String.valueOf( id % 7 == 0 ), Field.Store.NO ) );
+				document.add( new StringField( "multipleOf64", String.valueOf( id % 64 == 0 ), Field.Store.NO ) );
+				indexWriter.addDocument( document );
+			}
+			indexWriter.commit();
+		}
+		reader = DirectoryReader.open( indexWriter, true );
+	}
+
+	@After
+	public void closeIndex() throws IOException {
+		reader.close();
+		indexWriter.close();
+		directory.close();
+	}
+
+	@Test
+	public void resultsAreCachedPerSegment() throws IOException {
+		OffHeapFilterCache cache = new OffHeapFilterCache( 1024 * 1024 );
+		CountingFilter multiplesOf7 = new CountingFilter( "multipleOf7" );
+		Filter cachingFilter = new OffHeapCachingWrapperFilter( multiplesOf7, cache );
+
+		assertEquals( expectedMultiples( 7 ), count( reader, cachingFilter ) );
+		assertEquals( reader.leaves().size(), multiplesOf7.invocations.get() );
+		assertTrue( cache.getUsedBytes() > 0 );
+
+		assertEquals( expectedMultiples( 7 ), count( reader, cachingFilter ) );
+		assertEquals( reader.leaves().size(), multiplesOf7.invocations.get() );
+
+		// a new wrapper around an equal filter uses the same results
+		assertEquals( expectedMultiples( 7 ), count( reader, new OffHeapCachingWrapperFilter( multiplesOf7, cache ) ) );
+		assertEquals( reader.leaves().size(), multiplesOf7.invocations.get() );
+
+		CountingFilter multiplesOf64 = new CountingFilter( "multipleOf64" );
+		assertEquals( expectedMultiples( 64 ), count( reader, new OffHeapCachingWrapperFilter( multiplesOf64, cache ) ) );
+		assertEquals( reader.leaves().size(), multiplesOf64.invocations.get() );
+	}
+
+	@Test
+	public void deletionsAreApplied() throws IOException {
+		OffHeapFilterCache cache = new OffHeapFilterCache( 1024 * 1024 );
+		CountingFilter multiplesOf7 = new CountingFilter( "multipleOf7" );
+		Filter cachingFilter = new OffHeapCachingWrapperFilter( multiplesOf7, cache );
+		assertEquals( expectedMultiples( 7 ), count( reader, cachingFilter ) );
+
+		indexWriter.deleteDocuments( new Term( "id", "0" ), new Term( "id", "7" ) );
+		DirectoryReader newReader = DirectoryReader.openIfChanged( reader, indexWriter, true );
+		try {
+			assertEquals( expectedMultiples( 7 ) - 2, count( newReader, cachingFilter ) );
+			// segments have the same core: the cached results are reused
+			assertEquals( reader.leaves().size(), multiplesOf7.invocations.get() );
+		}
+		finally {
+			newReader.close();
+		}
+	}
+
+	@Test
+	public void budgetIsEnforced() throws IOException {
+		// enough for the results of a single filter on a segment
+		long budget = ( DOCUMENTS_PER_SEGMENT / 64 + 1 ) * 8;
+		OffHeapFilterCache cache = new OffHeapFilterCache( budget );
+		CountingFilter multiplesOf7 = new CountingFilter( "multipleOf7" );
+		CountingFilter multiplesOf64 = new CountingFilter( "multipleOf64" );
+		for ( int i = 0; i < 3; i++ ) {
+			assertEquals( expectedMultiples( 7 ), count( reader, new OffHeapCachingWrapperFilter( multiplesOf7, cache ) ) );
+			assertEquals( expectedMultiples( 64 ), count( reader, new OffHeapCachingWrapperFilter( multiplesOf64, cache ) ) );
+			assertTrue( cache.getUsedBytes() <= budget );
+		}
+		assertTrue( multiplesOf7.invocations.get() > reader.leaves().size() );
+	}
+
+	@Test
+	public void evictedResultsAreCountedUntilCollected() throws IOException, InterruptedException {
+		long budget = ( DOCUMENTS_PER_SEGMENT / 64 + 1 ) * 8;
+		OffHeapFilterCache cache = new OffHeapFilterCache( budget );
+		assertEquals( expectedMultiples( 7 ), count( reader, new OffHeapCachingWrapperFilter( new CountingFilter( "multipleOf7" ), cache ) ) );
+		assertEquals( expectedMultiples( 64 ), count( reader, new OffHeapCachingWrapperFilter( new CountingFilter( "multipleOf64" ), cache ) ) );
+		assertTrue( cache.getUsedBytes() <= budget );
+		assertTrue( cache.getAllocatedBytes() >= cache.getUsedBytes() );
+
+		cache.clear();
+		assertEquals( 0, cache.getUsedBytes() );
+		// nothing references the results anymore: their memory is released by the garbage collector
+		long deadline = System.currentTimeMillis() + 10000;
+		while ( cache.getAllocatedBytes() > 0 && System.currentTimeMillis() < deadline ) {
+			System.gc();
+			Thread.sleep( 10 );
+		}
+		assertEquals( 0, cache.getAllocatedBytes() );
+	}
+
+	@Test
+	public void resultsAreNotCacheableByLucene() throws IOException {
+		OffHeapFilterCache cache = new OffHeapFilterCache( 1024 * 1024 );
+		AtomicReaderContext segment = reader.leaves().get( 0 );
+		DocIdSet cached = cache.getDocIdSet( new CountingFilter( "multipleOf7" ), segment );
+		assertFalse( cached.isCacheable() );
+
+		DocIdSet other = new FixedBitSet( segment.reader().maxDoc() );
+		assertTrue( other.isCacheable() );
+		assertFalse( new AndDocIdSet( Arrays.asList( cached, other ), segment.reader().maxDoc() ).isCacheable() );
+	}
+
+	@Test
+	public void resultsAreEvictedWhenSegmentsAreClosed() throws IOException {
+		OffHeapFilterCache cache = new OffHeapFilterCache( 1024 * 1024 );
+		assertEquals( expectedMultiples( 7 ), count( reader, new OffHeapCachingWrapperFilter( new CountingFilter( "multipleOf7" ), cache ) ) );
+		assertTrue( cache.getUsedBytes() > 0 );
+
+		indexWriter.forceMerge( 1 );
+		DirectoryReader newReader = DirectoryReader.openIfChanged( reader, indexWriter, true );
+		reader.close();
+		reader = newReader;
+		assertEquals( 0, cache.getUsedBytes() );
+	}
+
+	private static int expectedMultiples(int divisor) {
+		return ( DOCUMENTS_PER_SEGMENT * SEGMENTS - 1 ) / divisor + 1;
+	}
+
+	private static int count(DirectoryReader reader, Filter filter) throws IOException {
+		return new IndexSearcher( reader ).search( new FilteredQuery( new MatchAllDocsQuery(), filter ), 1 ).totalHits;
+	}
+
+	private static class CountingFilter extends Filter {
+
+		private final String field;
+		private final Filter delegate;
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		CountingFilter(String field) {
+			this.field = field;
+			this.delegate = new QueryWrapperFilter( new TermQuery( new Term( field, "true" ) ) );
+		}
+
+		@Override
+		public DocIdSet getDocIdSet(AtomicReaderContext context, Bits acceptDocs) throws IOException {
+			invocations.incrementAndGet();
+			return delegate.getDocIdSet( context, acceptDocs );
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof CountingFilter && field.equals( ( (CountingFilter) obj ).field );
+		}
+
+		@Override
+		public int hashCode() {
+			return field.hashCode();
+		}
+	}
+
+}
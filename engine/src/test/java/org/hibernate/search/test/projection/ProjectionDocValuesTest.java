@@ -0,0 +1,173 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.projection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.lucene.index.AtomicReaderContext;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.Query;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.NumericField;
+import org.hibernate.search.annotations.Store;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.engine.ProjectionConstants;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
+import org.hibernate.search.indexes.spi.ReaderProvider;
+import org.hibernate.search.query.engine.spi.EntityInfo;
+import org.hibernate.search.query.fieldcache.impl.FieldCacheLoadingType;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.readerprovider.StoredFieldsCountingReaderProvider;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies entity classes and ids are indexed as DocValues when enabled,
+ * and that they are loaded correctly in queries without loading the stored fields.
+ * The two types share an index and their ids use different encodings.
+ */
+public class ProjectionDocValuesTest {
+
+	@Rule
+	public SearchFactoryHolder sfHolder = new SearchFactoryHolder( Book.class, Magazine.class )
+			.withProperty( Environment.PROJECTION_DOC_VALUES, "true" )
+			.withProperty( "hibernate.search.default.reader.strategy", StoredFieldsCountingReaderProvider.class.getName() );
+
+	@Before
+	public void storeTestData() {
+		TransactionContextForTest tc = new TransactionContextForTest();
+		store( new Book( "B1", "Lucene in action" ), "B1", tc );
+		store( new Book( "B2", "Hibernate Search in action" ), "B2", tc );
+		store( new Magazine( 7L, "Java magazine" ), 7L, tc );
+		tc.end();
+		StoredFieldsCountingReaderProvider.resetCount();
+	}
+
+	@Test
+	public void docValuesAreIndexed() throws Exception {
+		ExtendedSearchIntegrator integrator = sfHolder.getSearchFactory();
+		assertEquals( FieldCacheLoadingType.STRING, integrator.getIndexBinding( Book.class ).getDocumentBuilder().getIdDocValuesType() );
+		assertEquals( FieldCacheLoadingType.LONG, integrator.getIndexBinding( Magazine.class ).getDocumentBuilder().getIdDocValuesType() );
+
+		ReaderProvider readerProvider = integrator.getIndexManagerHolder().getIndexManager( "library" ).getReaderProvider();
+		IndexReader reader = readerProvider.openIndexReader();
+		try {
+			for ( AtomicReaderContext leaf : reader.leaves() ) {
+				assertNotNull( leaf.reader().getSortedDocValues( ProjectionConstants.OBJECT_CLASS ) );
+				assertNotNull( leaf.reader().getSortedDocValues( DocumentBuilderIndexedEntity.ID_DOC_VALUES_FIELDNAME_PREFIX + "STRING" ) );
+				assertNotNull( leaf.reader().getNumericDocValues( DocumentBuilderIndexedEntity.ID_DOC_VALUES_FIELDNAME_PREFIX + "LONG" ) );
+			}
+		}
+		finally {
+			readerProvider.closeIndexReader( reader );
+		}
+	}
+
+	@Test
+	public void classAndIdProjections() {
+		List<EntityInfo> entityInfos = queryAll( ProjectionConstants.OBJECT_CLASS, ProjectionConstants.ID );
+		assertEquals( 3, entityInfos.size() );
+		Set<List<Object>> projections = new HashSet<List<Object>>();
+		for ( EntityInfo entityInfo : entityInfos ) {
+			projections.add( Arrays.asList( entityInfo.getProjection() ) );
+		}
+		Set<List<Object>> expected = new HashSet<List<Object>>();
+		expected.add( Arrays.<Object>asList( Book.class, "B1" ) );
+		expected.add( Arrays.<Object>asList( Book.class, "B2" ) );
+		expected.add( Arrays.<Object>asList( Magazine.class, 7L ) );
+		assertEquals( expected, projections );
+		assertEquals( 0, StoredFieldsCountingReaderProvider.getLoadedDocumentsCount() );
+	}
+
+	@Test
+	public void entityInfos() {
+		List<EntityInfo> entityInfos = queryAll();
+		assertEquals( 3, entityInfos.size() );
+		Set<Object> ids = new HashSet<Object>();
+		for ( EntityInfo entityInfo : entityInfos ) {
+			ids.add( entityInfo.getId() );
+			assertEquals( "id", entityInfo.getIdName() );
+		}
+		assertEquals( new HashSet<Object>( Arrays.<Object>asList( "B1", "B2", 7L ) ), ids );
+		assertEquals( 0, StoredFieldsCountingReaderProvider.getLoadedDocumentsCount() );
+	}
+
+	@Test
+	public void storedFieldProjections() {
+		List<EntityInfo> entityInfos = queryAll( ProjectionConstants.ID, "title" );
+		assertEquals( 3, entityInfos.size() );
+		Set<List<Object>> projections = new HashSet<List<Object>>();
+		for ( EntityInfo entityInfo : entityInfos ) {
+			projections.add( Arrays.asList( entityInfo.getProjection() ) );
+		}
+		Set<List<Object>> expected = new HashSet<List<Object>>();
+		expected.add( Arrays.<Object>asList( "B1", "Lucene in action" ) );
+		expected.add( Arrays.<Object>asList( "B2", "Hibernate Search in action" ) );
+		expected.add( Arrays.<Object>asList( 7L, "Java magazine" ) );
+		assertEquals( expected, projections );
+		assertEquals( 3, StoredFieldsCountingReaderProvider.getLoadedDocumentsCount() );
+	}
+
+	private List<EntityInfo> queryAll(String... projection) {
+		ExtendedSearchIntegrator integrator = sfHolder.getSearchFactory();
+		Query query = integrator.buildQueryBuilder().forEntity( Book.class ).get().all().createQuery();
+		return integrator.createHSQuery()
+				.luceneQuery( query )
+				.targetedEntities( Arrays.<Class<?>>asList( Book.class, Magazine.class ) )
+				.projection( projection.length == 0 ? null : projection )
+				.queryEntityInfos();
+	}
+
+	private void store(Object entity, java.io.Serializable id, TransactionContextForTest tc) {
+		sfHolder.getSearchFactory().getWorker().performWork( new Work( entity, id, WorkType.ADD, false ), tc );
+	}
+
+	@Indexed(index = "library")
+	private static class Book {
+
+		@DocumentId
+		final String id;
+
+		@Field(store = Store.YES)
+		final String title;
+
+		Book(String id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+
+	@Indexed(index = "library")
+	private static class Magazine {
+
+		@DocumentId
+		@NumericField
+		final Long id;
+
+		@Field(store = Store.YES)
+		final String title;
+
+		Magazine(Long id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+
+}
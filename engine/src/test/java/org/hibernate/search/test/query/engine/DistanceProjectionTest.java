@@ -0,0 +1,134 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.query.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.Latitude;
+import org.hibernate.search.annotations.Longitude;
+import org.hibernate.search.annotations.Spatial;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.backend.spi.Worker;
+import org.hibernate.search.engine.ProjectionConstants;
+import org.hibernate.search.query.engine.spi.EntityInfo;
+import org.hibernate.search.query.engine.spi.HSQuery;
+import org.hibernate.search.spatial.DistanceSortField;
+import org.hibernate.search.spatial.impl.Point;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies the projected distances are the same whether or not the results are sorted by distance,
+ * when the hits are spread over several segments.
+ */
+public class DistanceProjectionTest {
+
+	private static final double CENTER_LATITUDE = 45.2;
+	private static final double CENTER_LONGITUDE = 6.8;
+
+	@Rule
+	public SearchFactoryHolder sfHolder = new SearchFactoryHolder( Hotel.class );
+
+	@Before
+	public void indexHotels() {
+		Worker worker = sfHolder.getSearchFactory().getWorker();
+		// one transaction per batch, so that the index has several segments
+		for ( int batch = 0; batch < 3; batch++ ) {
+			TransactionContextForTest tc = new TransactionContextForTest();
+			for ( int i = batch * 10; i < ( batch + 1 ) * 10; i++ ) {
+				Hotel hotel = new Hotel();
+				hotel.id = i;
+				hotel.latitude = 45d + ( ( i * 7 ) % 30 ) * 0.01;
+				hotel.longitude = 7d - ( ( i * 11 ) % 30 ) * 0.02;
+				worker.performWork( new Work( hotel, hotel.id, WorkType.ADD, false ), tc );
+			}
+			tc.end();
+		}
+	}
+
+	@Test
+	public void projectedDistancesDoNotDependOnSort() {
+		Map<Object, Double> unsorted = distances( null );
+		Map<Object, Double> sorted = distances( new Sort( new DistanceSortField( CENTER_LATITUDE, CENTER_LONGITUDE, "location" ) ) );
+		assertEquals( 30, unsorted.size() );
+		assertEquals( unsorted, sorted );
+		Point center = Point.fromDegrees( CENTER_LATITUDE, CENTER_LONGITUDE );
+		for ( int i = 0; i < 30; i++ ) {
+			double expected = center.getDistanceTo( 45d + ( ( i * 7 ) % 30 ) * 0.01, 7d - ( ( i * 11 ) % 30 ) * 0.02 );
+			assertEquals( expected, unsorted.get( i ), 0.000001 );
+		}
+	}
+
+	@Test
+	public void distanceSortedResultsAreOrdered() {
+		HSQuery query = createQuery( new Sort( new DistanceSortField( CENTER_LATITUDE, CENTER_LONGITUDE, "location" ) ) );
+		double previous = 0;
+		for ( EntityInfo entityInfo : query.queryEntityInfos() ) {
+			double distance = (Double) entityInfo.getProjection()[1];
+			assertTrue( previous <= distance );
+			previous = distance;
+		}
+	}
+
+	private Map<Object, Double> distances(Sort sort) {
+		Map<Object, Double> distances = new HashMap<Object, Double>();
+		for ( EntityInfo entityInfo : createQuery( sort ).queryEntityInfos() ) {
+			distances.put( entityInfo.getProjection()[0], (Double) entityInfo.getProjection()[1] );
+		}
+		return distances;
+	}
+
+	private HSQuery createQuery(Sort sort) {
+		List<Class<?>> targetedEntities = Arrays.<Class<?>>asList( Hotel.class );
+		HSQuery query = sfHolder.getSearchFactory().createHSQuery()
+				.luceneQuery( new MatchAllDocsQuery() )
+				.targetedEntities( targetedEntities )
+				.setSpatialParameters( Point.fromDegrees( CENTER_LATITUDE, CENTER_LONGITUDE ), "location" )
+				.projection( ProjectionConstants.ID, ProjectionConstants.SPATIAL_DISTANCE );
+		if ( sort != null ) {
+			query.sort( sort );
+		}
+		return query;
+	}
+
+	@Indexed
+	@Spatial(name = "location")
+	public static class Hotel {
+
+		@DocumentId
+		Integer id;
+
+		@Latitude(of = "location")
+		double latitude;
+
+		@Longitude(of = "location")
+		double longitude;
+
+		public double getLatitude() {
+			return latitude;
+		}
+
+		public double getLongitude() {
+			return longitude;
+		}
+	}
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.query.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.hibernate.search.annotations.Analyze;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Facet;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.Latitude;
+import org.hibernate.search.annotations.Longitude;
+import org.hibernate.search.annotations.Spatial;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.backend.spi.Worker;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.engine.ProjectionConstants;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.query.engine.spi.EntityInfo;
+import org.hibernate.search.query.engine.spi.HSQuery;
+import org.hibernate.search.query.facet.FacetingRequest;
+import org.hibernate.search.spatial.impl.Point;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies the results of queries are the same whether the slices of the index are searched
+ * concurrently or not: order of the hits, paging, facets and distances.
+ */
+public class ParallelSearchTest {
+
+	private static final int BATCHES = 4;
+	private static final int HOTELS_PER_BATCH = 25;
+
+	@Rule
+	public SearchFactoryHolder sequentialHolder = new SearchFactoryHolder( Hotel.class );
+
+	@Rule
+	public SearchFactoryHolder parallelHolder = new SearchFactoryHolder( Hotel.class )
+			.withProperty( Environment.QUERY_SEARCH_THREADS, "3" )
+			.withProperty( Environment.QUERY_PARALLEL_SEARCH_MIN_DOCS, "0" );
+
+	@Before
+	public void indexHotels() {
+		indexHotels( sequentialHolder.getSearchFactory().getWorker() );
+		indexHotels( parallelHolder.getSearchFactory().getWorker() );
+	}
+
+	@Test
+	public void indexIsSearchedInSeveralSlices() {
+		ExtendedSearchIntegrator integrator = parallelHolder.getSearchFactory();
+		IndexReader reader = integrator.getIndexReaderAccessor().open( Hotel.class );
+		try {
+			assertTrue( integrator.getParallelSearchExecutor().slices( reader ).size() > 1 );
+		}
+		finally {
+			integrator.getIndexReaderAccessor().close( reader );
+		}
+	}
+
+	@Test
+	public void hitsAreInTheSameOrder() {
+		assertSameResults( null, 0, 100 );
+		assertSameResults( new Sort( new SortField( "category", SortField.Type.STRING ) ), 0, 100 );
+		assertSameResults( new Sort( new SortField( "category", SortField.Type.STRING, true ) ), 0, 100 );
+	}
+
+	@Test
+	public void pagesAreTheSame() {
+		Sort sort = new Sort( new SortField( "category", SortField.Type.STRING ) );
+		assertSameResults( sort, 10, 15 );
+		assertSameResults( null, 40, 20 );
+	}
+
+	@Test
+	public void facetsAreMerged() {
+		List<org.hibernate.search.query.facet.Facet> sequential = facets( sequentialHolder );
+		List<org.hibernate.search.query.facet.Facet> parallel = facets( parallelHolder );
+		assertEquals( 4, sequential.size() );
+		assertEquals( sequential, parallel );
+		int total = 0;
+		for ( org.hibernate.search.query.facet.Facet facet : parallel ) {
+			total += facet.getCount();
+		}
+		assertEquals( BATCHES * HOTELS_PER_BATCH, total );
+	}
+
+	private void assertSameResults(Sort sort, int firstResult, int maxResults) {
+		HSQuery sequential = createQuery( sequentialHolder, sort ).firstResult( firstResult ).maxResults( maxResults );
+		HSQuery parallel = createQuery( parallelHolder, sort ).firstResult( firstResult ).maxResults( maxResults );
+		List<Object[]> sequentialResults = projections( sequential );
+		List<Object[]> parallelResults = projections( parallel );
+		assertEquals( Math.min( maxResults, BATCHES * HOTELS_PER_BATCH - firstResult ), parallelResults.size() );
+		assertEquals( sequentialResults.size(), parallelResults.size() );
+		for ( int i = 0; i < sequentialResults.size(); i++ ) {
+			assertEquals( Arrays.asList( sequentialResults.get( i ) ), Arrays.asList( parallelResults.get( i ) ) );
+		}
+		assertEquals( sequential.queryResultSize(), parallel.queryResultSize() );
+	}
+
+	private List<Object[]> projections(HSQuery query) {
+		List<Object[]> projections = new ArrayList<Object[]>();
+		for ( EntityInfo entityInfo : query.queryEntityInfos() ) {
+			projections.add( entityInfo.getProjection() );
+		}
+		return projections;
+	}
+
+	private List<org.hibernate.search.query.facet.Facet> facets(SearchFactoryHolder holder) {
+		FacetingRequest request = holder.getSearchFactory().buildQueryBuilder().forEntity( Hotel.class ).get()
+				.facet()
+				.name( "categories" )
+				.onField( "category" )
+				.discrete()
+				.createFacetingRequest();
+		HSQuery query = createQuery( holder, null );
+		query.getFacetManager().enableFaceting( request );
+		return query.getFacetManager().getFacets( "categories" );
+	}
+
+	private HSQuery createQuery(SearchFactoryHolder holder, Sort sort) {
+		HSQuery query = holder.getSearchFactory().createHSQuery()
+				.luceneQuery( new MatchAllDocsQuery() )
+				.targetedEntities( Arrays.<Class<?>>asList( Hotel.class ) )
+				.setSpatialParameters( Point.fromDegrees( 45.2d, 6.8d ), "location" )
+				.projection( ProjectionConstants.ID, ProjectionConstants.SPATIAL_DISTANCE );
+		if ( sort != null ) {
+			query.sort( sort );
+		}
+		return query;
+	}
+
+	private void indexHotels(Worker worker) {
+		// one transaction per batch, so that the index has several segments
+		for ( int batch = 0; batch < BATCHES; batch++ ) {
+			TransactionContextForTest tc = new TransactionContextForTest();
+			for ( int i = batch * HOTELS_PER_BATCH; i < ( batch + 1 ) * HOTELS_PER_BATCH; i++ ) {
+				Hotel hotel = new Hotel();
+				hotel.id = i;
+				hotel.category = "category" + ( ( i * 7 ) % 4 );
+				hotel.latitude = 45d + ( ( i * 7 ) % 30 ) * 0.01;
+				hotel.longitude = 7d - ( ( i * 11 ) % 30 ) * 0.02;
+				worker.performWork( new Work( hotel, hotel.id, WorkType.ADD, false ), tc );
+			}
+			tc.end();
+		}
+	}
+
+	@Indexed
+	@Spatial(name = "location")
+	public static class Hotel {
+
+		@DocumentId
+		Integer id;
+
+		@Field(analyze = Analyze.NO)
+		@Facet
+		String category;
+
+		@Latitude(of = "location")
+		double latitude;
+
+		@Longitude(of = "location")
+		double longitude;
+
+		public double getLatitude() {
+			return latitude;
+		}
+
+		public double getLongitude() {
+			return longitude;
+		}
+	}
+
+}
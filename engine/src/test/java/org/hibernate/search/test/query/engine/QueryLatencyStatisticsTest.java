@@ -0,0 +1,167 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.query.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.backend.spi.Worker;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.filter.FullTextFilterImplementor;
+import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.query.engine.spi.HSQuery;
+import org.hibernate.search.stat.QueryPhase;
+import org.hibernate.search.stat.Statistics;
+import org.hibernate.search.store.impl.IdHashShardingStrategy;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies the latencies of the query phases are recorded per index and per entity type.
+ */
+public class QueryLatencyStatisticsTest {
+
+	@Rule
+	public SearchFactoryHolder sfHolder = new SearchFactoryHolder( Track.class, Album.class, Playlist.class )
+			.withProperty( Environment.GENERATE_STATS, "true" )
+			.withProperty( "hibernate.search.playlists.sharding_strategy", FirstShardQueryingStrategy.class.getName() )
+			.withProperty( "hibernate.search.playlists.sharding_strategy.nbr_of_shards", "2" );
+
+	@Before
+	public void indexMusic() {
+		Worker worker = sfHolder.getSearchFactory().getWorker();
+		TransactionContextForTest tc = new TransactionContextForTest();
+		for ( int i = 0; i < 10; i++ ) {
+			Track track = new Track();
+			track.id = i;
+			track.title = "track " + i;
+			worker.performWork( new Work( track, track.id, WorkType.ADD, false ), tc );
+			Album album = new Album();
+			album.id = i;
+			album.title = "album " + i;
+			worker.performWork( new Work( album, album.id, WorkType.ADD, false ), tc );
+		}
+		tc.end();
+	}
+
+	@Test
+	public void latenciesAreRecordedPerIndexAndEntity() {
+		Statistics statistics = sfHolder.getSearchFactory().getStatistics();
+		statistics.clear();
+		for ( int i = 0; i < 5; i++ ) {
+			assertEquals( 10, createQuery( Track.class ).queryEntityInfos().size() );
+		}
+		assertEquals( 20, createQuery( Track.class, Album.class ).queryEntityInfos().size() );
+
+		assertEquals( 6, statistics.getSearchQueryExecutionCount() );
+		for ( QueryPhase phase : Arrays.asList( QueryPhase.SEARCH, QueryPhase.DOCUMENT_EXTRACTION ) ) {
+			Map<String, Long> byIndex = statistics.getQueryPhaseLatencyPercentilesByIndex( phase.name(), 99 );
+			assertEquals( byIndex.toString(), 2, byIndex.size() );
+			assertTrue( byIndex.containsKey( "tracks" ) );
+			assertTrue( byIndex.containsKey( "albums" ) );
+
+			Map<String, Long> byEntity = statistics.getQueryPhaseLatencyPercentilesByEntity( phase.name(), 50 );
+			assertEquals( byEntity.toString(), 2, byEntity.size() );
+			assertTrue( byEntity.get( Track.class.getName() ) > 0 );
+		}
+		Map<String, Long> median = statistics.getQueryPhaseLatencyPercentilesByIndex( QueryPhase.SEARCH.name(), 50 );
+		Map<String, Long> maximum = statistics.getQueryPhaseLatencyPercentilesByIndex( QueryPhase.SEARCH.name(), 100 );
+		assertTrue( median.get( "tracks" ) <= maximum.get( "tracks" ) );
+		assertTrue( maximum.get( "tracks" ) <= statistics.getSearchQueryExecutionMaxTime() );
+		// no entity was loaded by the engine
+		assertTrue( statistics.getQueryPhaseLatencyPercentilesByEntity( QueryPhase.OBJECT_LOADING.name(), 50 ).isEmpty() );
+
+		statistics.clear();
+		assertTrue( statistics.getQueryPhaseLatencyPercentilesByIndex( QueryPhase.SEARCH.name(), 50 ).isEmpty() );
+		assertEquals( 0, statistics.getSearchQueryExecutionCount() );
+	}
+
+	@Test
+	public void onlySearchedShardsAreRecorded() {
+		Statistics statistics = sfHolder.getSearchFactory().getStatistics();
+		statistics.clear();
+		createQuery( Playlist.class ).queryEntityInfos();
+
+		Map<String, Long> byIndex = statistics.getQueryPhaseLatencyPercentilesByIndex( QueryPhase.SEARCH.name(), 50 );
+		assertEquals( byIndex.toString(), 1, byIndex.size() );
+		assertTrue( byIndex.containsKey( "playlists.0" ) );
+	}
+
+	@Test
+	public void invalidPhaseIsRejected() {
+		try {
+			sfHolder.getSearchFactory().getStatistics().getQueryPhaseLatencyPercentilesByIndex( "SORTING", 50 );
+			fail( "The phase doesn't exist" );
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	private HSQuery createQuery(Class<?>... entityTypes) {
+		List<Class<?>> targetedEntities = Arrays.asList( entityTypes );
+		return sfHolder.getSearchFactory().createHSQuery()
+				.luceneQuery( new MatchAllDocsQuery() )
+				.targetedEntities( targetedEntities );
+	}
+
+	@Indexed(index = "tracks")
+	public static class Track {
+
+		@DocumentId
+		Integer id;
+
+		@Field
+		String title;
+	}
+
+	@Indexed(index = "playlists")
+	public static class Playlist {
+
+		@DocumentId
+		Integer id;
+
+		@Field
+		String title;
+	}
+
+	/**
+	 * Only searches the first shard.
+	 */
+	public static class FirstShardQueryingStrategy extends IdHashShardingStrategy {
+
+		@Override
+		public IndexManager[] getIndexManagersForQuery(FullTextFilterImplementor[] fullTextFilters) {
+			return new IndexManager[] { getIndexManagersForAllShards()[0] };
+		}
+	}
+
+	@Indexed(index = "albums")
+	public static class Album {
+
+		@DocumentId
+		Integer id;
+
+		@Field
+		String title;
+	}
+
+}
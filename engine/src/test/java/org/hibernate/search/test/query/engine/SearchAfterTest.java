@@ -0,0 +1,225 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.query.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.hibernate.search.annotations.Analyze;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.Latitude;
+import org.hibernate.search.annotations.Longitude;
+import org.hibernate.search.annotations.NumericField;
+import org.hibernate.search.annotations.Spatial;
+import org.hibernate.search.annotations.Store;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.backend.spi.Worker;
+import org.hibernate.search.engine.ProjectionConstants;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.query.SearchCursor;
+import org.hibernate.search.query.engine.spi.EntityInfo;
+import org.hibernate.search.query.engine.spi.HSQuery;
+import org.hibernate.search.spatial.DistanceSortField;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies that paging through results with search cursors returns the same results
+ * as a single query, for the different kinds of sort.
+ */
+public class SearchAfterTest {
+
+	private static final int DOCUMENTS = 47;
+	private static final int PAGE_SIZE = 10;
+
+	@Rule
+	public SearchFactoryHolder sfHolder = new SearchFactoryHolder( Dish.class );
+
+	@Before
+	public void indexDishes() {
+		Worker worker = sfHolder.getSearchFactory().getWorker();
+		TransactionContextForTest tc = new TransactionContextForTest();
+		for ( int i = 0; i < DOCUMENTS; i++ ) {
+			Dish dish = new Dish();
+			dish.id = i;
+			// few distinct values, so that the cursor has to break ties
+			dish.cuisine = "cuisine" + ( i % 4 );
+			dish.calories = ( i * 37 ) % 11;
+			dish.description = i % 3 == 0 ? "spicy spicy noodles" : "noodles";
+			dish.latitude = 45d + i * 0.01;
+			dish.longitude = 7d - i * 0.02;
+			worker.performWork( new Work( dish, dish.id, WorkType.ADD, false ), tc );
+		}
+		tc.end();
+	}
+
+	@Test
+	public void pagesSortedByStringField() {
+		assertPagesMatchSingleQuery( new MatchAllDocsQuery(), new Sort( new SortField( "cuisine", SortField.Type.STRING ) ) );
+	}
+
+	@Test
+	public void pagesSortedByNumericFieldAndReverse() {
+		assertPagesMatchSingleQuery(
+				new MatchAllDocsQuery(),
+				new Sort(
+						new SortField( "calories", SortField.Type.INT, true ),
+						new SortField( "cuisine", SortField.Type.STRING )
+				)
+		);
+	}
+
+	@Test
+	public void pagesSortedByRelevance() {
+		Query query = sfHolder.getSearchFactory().buildQueryBuilder().forEntity( Dish.class ).get()
+				.keyword().onField( "description" ).matching( "spicy noodles" ).createQuery();
+		assertPagesMatchSingleQuery( query, null );
+	}
+
+	@Test
+	public void pagesSortedByDistance() {
+		assertPagesMatchSingleQuery( new MatchAllDocsQuery(), new Sort( new DistanceSortField( 45.2, 6.8, "location" ) ) );
+	}
+
+	@Test
+	public void resultSizeIncludesResultsBeforeCursor() {
+		Sort sort = new Sort( new SortField( "cuisine", SortField.Type.STRING ) );
+		HSQuery query = createQuery( new MatchAllDocsQuery(), sort ).maxResults( PAGE_SIZE );
+		query.queryEntityInfos();
+		query.searchAfter( query.getSearchCursor() );
+		assertEquals( PAGE_SIZE, query.queryEntityInfos().size() );
+		assertEquals( DOCUMENTS, query.queryResultSize() );
+	}
+
+	@Test
+	public void allResultsAfterCursorWithoutMaxResults() {
+		Sort sort = new Sort( new SortField( "calories", SortField.Type.INT ) );
+		HSQuery query = createQuery( new MatchAllDocsQuery(), sort ).maxResults( PAGE_SIZE );
+		List<EntityInfo> firstPage = query.queryEntityInfos();
+		HSQuery remaining = createQuery( new MatchAllDocsQuery(), sort ).searchAfter( query.getSearchCursor() );
+		List<Object> ids = ids( firstPage );
+		ids.addAll( ids( remaining.queryEntityInfos() ) );
+		assertEquals( ids( createQuery( new MatchAllDocsQuery(), sort ).queryEntityInfos() ), ids );
+	}
+
+	@Test
+	public void cursorIsSerializable() throws Exception {
+		Sort sort = new Sort( new SortField( "cuisine", SortField.Type.STRING ) );
+		HSQuery query = createQuery( new MatchAllDocsQuery(), sort ).maxResults( PAGE_SIZE );
+		query.queryEntityInfos();
+		SearchCursor cursor = query.getSearchCursor();
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream( bytes );
+		out.writeObject( cursor );
+		out.close();
+		SearchCursor copy = (SearchCursor) new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ).readObject();
+
+		List<EntityInfo> expected = createQuery( new MatchAllDocsQuery(), sort ).maxResults( PAGE_SIZE ).searchAfter( cursor ).queryEntityInfos();
+		List<EntityInfo> actual = createQuery( new MatchAllDocsQuery(), sort ).maxResults( PAGE_SIZE ).searchAfter( copy ).queryEntityInfos();
+		assertEquals( ids( expected ), ids( actual ) );
+	}
+
+	@Test
+	public void cursorOfDifferentSortIsRejected() {
+		HSQuery query = createQuery( new MatchAllDocsQuery(), new Sort( new SortField( "cuisine", SortField.Type.STRING ) ) )
+				.maxResults( PAGE_SIZE );
+		query.queryEntityInfos();
+		try {
+			createQuery( new MatchAllDocsQuery(), null ).searchAfter( query.getSearchCursor() ).queryEntityInfos();
+			fail( "A cursor of a query sorted by field should not be usable for a query sorted by relevance" );
+		}
+		catch (SearchException e) {
+			assertTrue( e.getMessage().startsWith( "HSEARCH000282" ) );
+		}
+	}
+
+	private void assertPagesMatchSingleQuery(Query luceneQuery, Sort sort) {
+		List<Object> expected = ids( createQuery( luceneQuery, sort ).queryEntityInfos() );
+		assertTrue( expected.size() > PAGE_SIZE );
+
+		List<Object> paged = new ArrayList<Object>();
+		HSQuery query = createQuery( luceneQuery, sort ).maxResults( PAGE_SIZE );
+		List<EntityInfo> page = query.queryEntityInfos();
+		while ( !page.isEmpty() ) {
+			paged.addAll( ids( page ) );
+			query.searchAfter( query.getSearchCursor() );
+			page = query.queryEntityInfos();
+		}
+		assertNull( query.getSearchCursor() );
+		assertEquals( expected, paged );
+	}
+
+	private HSQuery createQuery(Query luceneQuery, Sort sort) {
+		return sfHolder.getSearchFactory().createHSQuery()
+				.luceneQuery( luceneQuery )
+				.targetedEntities( Collections.<Class<?>>singletonList( Dish.class ) )
+				.projection( ProjectionConstants.ID )
+				.sort( sort );
+	}
+
+	private static List<Object> ids(List<EntityInfo> entityInfos) {
+		List<Object> ids = new ArrayList<Object>( entityInfos.size() );
+		for ( EntityInfo entityInfo : entityInfos ) {
+			ids.add( entityInfo.getProjection()[0] );
+		}
+		return ids;
+	}
+
+	@Indexed
+	@Spatial(name = "location")
+	public static class Dish {
+
+		@DocumentId
+		Integer id;
+
+		@Field(analyze = Analyze.NO, store = Store.YES)
+		String cuisine;
+
+		@Field
+		@NumericField
+		int calories;
+
+		@Field
+		String description;
+
+		@Latitude(of = "location")
+		double latitude;
+
+		@Longitude(of = "location")
+		double longitude;
+
+		public double getLatitude() {
+			return latitude;
+		}
+
+		public double getLongitude() {
+			return longitude;
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.reader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.Query;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.indexes.impl.AsyncRefreshingReaderProvider;
+import org.hibernate.search.indexes.spi.ReaderProvider;
+import org.hibernate.search.query.engine.spi.HSQuery;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies the "async" reader strategy picks up changes committed by the backend
+ * without any query thread triggering the refresh.
+ */
+public class AsyncRefreshingReaderProviderTest {
+
+	private static final long MAX_WAIT_MS = 10000;
+
+	@Rule
+	public SearchFactoryHolder factoryHolder = new SearchFactoryHolder( Book.class )
+			.withProperty( "hibernate.search.default.reader.strategy", "async" )
+			// disable periodic refreshes: only commit notifications should be needed
+			.withProperty( "hibernate.search.default.reader." + AsyncRefreshingReaderProvider.REFRESH_PERIOD, "0" );
+
+	@Test
+	public void readerIsSharedUntilCommit() throws InterruptedException {
+		ReaderProvider readerProvider = getReaderProvider();
+		assertTrue( readerProvider instanceof AsyncRefreshingReaderProvider );
+
+		IndexReader first = readerProvider.openIndexReader();
+		IndexReader second = readerProvider.openIndexReader();
+		try {
+			assertSame( first, second );
+		}
+		finally {
+			readerProvider.closeIndexReader( second );
+		}
+
+		storeBook( 1, "Refreshing readers in background" );
+		assertEventuallyFound( 1 );
+
+		IndexReader third = readerProvider.openIndexReader();
+		try {
+			assertNotSame( first, third );
+			assertEquals( 1, third.numDocs() );
+			// an old reader still in use is not closed by the refresh
+			assertEquals( 0, first.numDocs() );
+		}
+		finally {
+			readerProvider.closeIndexReader( third );
+			readerProvider.closeIndexReader( first );
+		}
+	}
+
+	@Test
+	public void multipleCommitsAreVisible() throws InterruptedException {
+		for ( int i = 0; i < 10; i++ ) {
+			storeBook( i, "Book number " + i );
+		}
+		assertEventuallyFound( 10 );
+	}
+
+	@Test
+	public void openingReaderFailsOnceStopped() {
+		AsyncRefreshingReaderProvider readerProvider = (AsyncRefreshingReaderProvider) getReaderProvider();
+		readerProvider.stop();
+		try {
+			readerProvider.openIndexReader();
+			fail( "A stopped reader provider should not open readers" );
+		}
+		catch (SearchException e) {
+			assertTrue( "Unexpected error message: " + e.getMessage(), e.getMessage().startsWith( "HSEARCH000290" ) );
+		}
+	}
+
+	private ReaderProvider getReaderProvider() {
+		return factoryHolder.getSearchFactory().getIndexManagerHolder().getIndexManager( "books" ).getReaderProvider();
+	}
+
+	private void storeBook(int id, String title) {
+		TransactionContextForTest tc = new TransactionContextForTest();
+		factoryHolder.getSearchFactory().getWorker().performWork( new Work( new Book( id, title ), id, WorkType.ADD, false ), tc );
+		tc.end();
+	}
+
+	private void assertEventuallyFound(int expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + MAX_WAIT_MS;
+		int found = countBooks();
+		while ( found != expected && System.currentTimeMillis() < deadline ) {
+			Thread.sleep( 10 );
+			found = countBooks();
+		}
+		assertEquals( expected, found );
+	}
+
+	private int countBooks() {
+		ExtendedSearchIntegrator integrator = factoryHolder.getSearchFactory();
+		Query query = integrator.buildQueryBuilder().forEntity( Book.class ).get().all().createQuery();
+		HSQuery hsQuery = integrator.createHSQuery()
+				.luceneQuery( query )
+				.targetedEntities( Collections.<Class<?>>singletonList( Book.class ) );
+		return hsQuery.queryResultSize();
+	}
+
+	@Indexed(index = "books")
+	private static class Book {
+
+		@DocumentId
+		final int id;
+
+		@Field
+		final String title;
+
+		Book(int id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.sharding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.lucene.index.IndexReader;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.indexes.spi.ReaderProvider;
+import org.hibernate.search.query.engine.spi.HSQuery;
+import org.hibernate.search.store.impl.ConsistentHashShardIdentifierProvider;
+import org.hibernate.search.store.spi.RelocatingIndexShardingStrategy;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.BuildContextForTest;
+import org.hibernate.search.testsupport.setup.SearchConfigurationForTest;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies the documents are balanced among the shards, that splitting a shard only moves documents
+ * from the split shard to the new one, and that the documents stay searchable and up to date across a split.
+ */
+public class ConsistentHashShardIdentifierProviderTest {
+
+	private static final int IDS = 10000;
+	private static final int BOOKS = 200;
+
+	@Rule
+	public SearchFactoryHolder sfHolder = new SearchFactoryHolder( Book.class )
+			.withProperty( "hibernate.search.books.sharding_strategy", ConsistentHashShardIdentifierProvider.class.getName() )
+			.withProperty( "hibernate.search.books.sharding_strategy." + ConsistentHashShardIdentifierProvider.INITIAL_SHARDS, "2" );
+
+	@Test
+	public void documentsAreBalanced() {
+		ConsistentHashShardIdentifierProvider provider = provider( 4, null );
+		Map<String, Integer> counts = countByShard( provider );
+		assertEquals( 4, counts.size() );
+		for ( int count : counts.values() ) {
+			assertTrue( "Unbalanced shards: " + counts, count > IDS / 8 && count < IDS * 3 / 8 );
+		}
+	}
+
+	@Test
+	public void splitOnlyMovesDocumentsOfTheSplitShard() {
+		ConsistentHashShardIdentifierProvider before = provider( 4, null );
+		ConsistentHashShardIdentifierProvider after = provider( 4, "2:hot" );
+		int inSplitShard = 0;
+		int moved = 0;
+		for ( int id = 0; id < IDS; id++ ) {
+			String shard = shardOf( before, id );
+			String newShard = shardOf( after, id );
+			if ( "2".equals( shard ) ) {
+				inSplitShard++;
+			}
+			if ( !shard.equals( newShard ) ) {
+				assertEquals( "2", shard );
+				assertEquals( "hot", newShard );
+				moved++;
+			}
+		}
+		assertTrue( "Moved documents: " + moved + " of " + inSplitShard,
+				moved > inSplitShard / 4 && moved < inSplitShard * 3 / 4 );
+		assertEquals( 5, after.getAllShardIdentifiers().size() );
+	}
+
+	@Test
+	public void splitsMustNameAnExistingShardAndANewShard() {
+		assertInvalidSplits( "2-hot", "HSEARCH000286" );
+		assertInvalidSplits( "7:hot", "HSEARCH000292" );
+		assertInvalidSplits( "2:hot,1:hot", "HSEARCH000293" );
+	}
+
+	@Test
+	public void documentsStaySearchableAcrossASplit() throws IOException {
+		for ( int id = 0; id < BOOKS; id++ ) {
+			index( new Book( id, "search" ), WorkType.ADD );
+		}
+		int booksInShard0 = countDocuments( "books.0" );
+		assertEquals( BOOKS, booksInShard0 + countDocuments( "books.1" ) );
+
+		ExtendedSearchIntegrator searchIntegrator = sfHolder.getSearchFactory();
+		ConsistentHashShardIdentifierProvider provider = (ConsistentHashShardIdentifierProvider) searchIntegrator
+				.getIndexBinding( Book.class ).getShardIdentifierProvider();
+		provider.splitShard( "0", "2" );
+
+		int booksInShard2 = countDocuments( "books.2" );
+		assertTrue( "Moved documents: " + booksInShard2, booksInShard2 > 0 && booksInShard2 < booksInShard0 );
+		assertEquals( booksInShard0 - booksInShard2, countDocuments( "books.0" ) );
+		assertEquals( BOOKS, countBooks( "search" ) );
+
+		RelocatingIndexShardingStrategy shardingStrategy = (RelocatingIndexShardingStrategy) searchIntegrator
+				.getIndexBinding( Book.class ).getSelectionStrategy();
+		IndexManager shard0 = searchIntegrator.getIndexManager( "books.0" );
+		for ( int id = 0; id < BOOKS; id++ ) {
+			String idInString = String.valueOf( id );
+			if ( "2".equals( provider.getShardIdentifier( Book.class, id, idInString, null ) ) ) {
+				// the moved documents are deleted from their former shard when updated
+				assertEquals( Arrays.asList( shard0 ),
+						Arrays.asList( shardingStrategy.getIndexManagersForFormerLocations( Book.class, id, idInString ) ) );
+				index( new Book( id, "updated" ), WorkType.UPDATE );
+			}
+			else {
+				assertEquals( 0, shardingStrategy.getIndexManagersForFormerLocations( Book.class, id, idInString ).length );
+			}
+		}
+		assertEquals( booksInShard2, countBooks( "updated" ) );
+		assertEquals( BOOKS, countBooks( "search" ) + countBooks( "updated" ) );
+
+		index( new Book( 0, null ), WorkType.DELETE );
+		assertEquals( BOOKS - 1, countDocuments( "books.0" ) + countDocuments( "books.1" ) + countDocuments( "books.2" ) );
+	}
+
+	private void assertInvalidSplits(String splits, String messageId) {
+		try {
+			provider( 4, splits );
+			fail( "Invalid splits should be rejected: " + splits );
+		}
+		catch (SearchException e) {
+			assertTrue( e.getMessage(), e.getMessage().startsWith( messageId ) );
+		}
+	}
+
+	private void index(Book book, WorkType workType) {
+		Work work = workType == WorkType.DELETE
+				? new Work( Book.class, book.id, workType )
+				: new Work( book, book.id, workType, false );
+		TransactionContextForTest tc = new TransactionContextForTest();
+		sfHolder.getSearchFactory().getWorker().performWork( work, tc );
+		tc.end();
+	}
+
+	private int countBooks(String title) {
+		ExtendedSearchIntegrator searchIntegrator = sfHolder.getSearchFactory();
+		HSQuery query = searchIntegrator.createHSQuery()
+				.luceneQuery( searchIntegrator.buildQueryBuilder().forEntity( Book.class ).get()
+						.keyword().onField( "title" ).matching( title ).createQuery() )
+				.targetedEntities( Collections.<Class<?>>singletonList( Book.class ) );
+		return query.queryResultSize();
+	}
+
+	private int countDocuments(String indexName) {
+		ReaderProvider readerProvider = sfHolder.getSearchFactory().getIndexManager( indexName ).getReaderProvider();
+		IndexReader reader = readerProvider.openIndexReader();
+		try {
+			return reader.numDocs();
+		}
+		finally {
+			readerProvider.closeIndexReader( reader );
+		}
+	}
+
+	private static Map<String, Integer> countByShard(ConsistentHashShardIdentifierProvider provider) {
+		Map<String, Integer> counts = new HashMap<String, Integer>();
+		for ( int id = 0; id < IDS; id++ ) {
+			String shard = shardOf( provider, id );
+			Integer count = counts.get( shard );
+			counts.put( shard, count == null ? 1 : count + 1 );
+		}
+		return counts;
+	}
+
+	private static String shardOf(ConsistentHashShardIdentifierProvider provider, int id) {
+		return provider.getShardIdentifier( Book.class, id, String.valueOf( id ), null );
+	}
+
+	private static ConsistentHashShardIdentifierProvider provider(int initialShards, String splits) {
+		Properties properties = new Properties();
+		properties.setProperty( ConsistentHashShardIdentifierProvider.INITIAL_SHARDS, String.valueOf( initialShards ) );
+		if ( splits != null ) {
+			properties.setProperty( ConsistentHashShardIdentifierProvider.SPLITS, splits );
+		}
+		ConsistentHashShardIdentifierProvider provider = new ConsistentHashShardIdentifierProvider();
+		provider.initialize( properties, new BuildContextForTest( new SearchConfigurationForTest() ) );
+		return provider;
+	}
+
+	@Indexed(index = "books")
+	public static final class Book {
+
+		@DocumentId
+		private final int id;
+
+		@Field
+		private final String title;
+
+		Book(int id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+
+	}
+
+}
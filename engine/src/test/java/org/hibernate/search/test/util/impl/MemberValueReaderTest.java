@@ -0,0 +1,87 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.util.impl;
+
+import org.junit.Test;
+
+import org.hibernate.annotations.common.reflection.ReflectionManager;
+import org.hibernate.annotations.common.reflection.XClass;
+import org.hibernate.annotations.common.reflection.XProperty;
+import org.hibernate.annotations.common.reflection.java.JavaReflectionManager;
+import org.hibernate.search.util.impl.MemberValueReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MemberValueReaderTest {
+
+	private final ReflectionManager reflectionManager = new JavaReflectionManager();
+
+	@Test
+	public void testFieldsAreReadDirectly() {
+		Child child = new Child();
+		assertEquals( "field", read( Parent.class, XClass.ACCESS_FIELD, "name", child ) );
+		assertEquals( 42, read( Child.class, XClass.ACCESS_FIELD, "age", child ) );
+	}
+
+	@Test
+	public void testGettersAreInvoked() {
+		Child child = new Child();
+		assertEquals( "getter", read( Parent.class, XClass.ACCESS_PROPERTY, "name", child ) );
+		assertEquals( Boolean.TRUE, read( Child.class, XClass.ACCESS_PROPERTY, "active", child ) );
+		assertEquals( "url", read( Child.class, XClass.ACCESS_PROPERTY, "URL", child ) );
+	}
+
+	@Test
+	public void testFailuresAreWrapped() {
+		try {
+			read( Child.class, XClass.ACCESS_PROPERTY, "broken", new Child() );
+			fail( "The exception of the getter should have been propagated" );
+		}
+		catch (IllegalStateException e) {
+			assertEquals( UnsupportedOperationException.class, e.getCause().getClass() );
+		}
+	}
+
+	private Object read(Class<?> declaringClass, String accessType, String propertyName, Object bean) {
+		XClass xClass = reflectionManager.toXClass( declaringClass );
+		for ( XProperty property : xClass.getDeclaredProperties( accessType ) ) {
+			if ( property.getName().equals( propertyName ) ) {
+				MemberValueReader reader = MemberValueReader.of( property, reflectionManager );
+				assertTrue( "Expected a method handle: " + reader, reader.toString().contains( "methodHandle=true" ) );
+				return reader.getValue( bean );
+			}
+		}
+		fail( "No property " + propertyName + " on " + declaringClass );
+		return null;
+	}
+
+	public static class Parent {
+		private String name = "field";
+
+		public String getName() {
+			return "getter";
+		}
+	}
+
+	public static class Child extends Parent {
+		private int age = 42;
+
+		boolean isActive() {
+			return true;
+		}
+
+		public String getURL() {
+			return "url";
+		}
+
+		public String getBroken() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.util.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
+import org.apache.lucene.analysis.core.WhitespaceAnalyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.hibernate.search.util.impl.ScopedAnalyzer;
+import org.junit.Test;
+
+/**
+ * Tests the overlays of {@link ScopedAnalyzer} used for dynamic analyzer mappings.
+ */
+public class ScopedAnalyzerTest {
+
+	private final Analyzer standard = new StandardAnalyzer();
+	private final Analyzer keyword = new KeywordAnalyzer();
+	private final Analyzer whitespace = new WhitespaceAnalyzer();
+
+	@Test
+	public void overlayOverridesOnlyGivenFields() throws IOException {
+		ScopedAnalyzer scopedAnalyzer = new ScopedAnalyzer( standard );
+		scopedAnalyzer.addScopedAnalyzer( "code", keyword );
+
+		ScopedAnalyzer overlay = scopedAnalyzer.overlay( Collections.singletonMap( "title", whitespace ) );
+
+		assertEquals( "[Hello, World]", tokens( overlay, "title", "Hello World" ).toString() );
+		assertEquals( "[hello, world]", tokens( overlay, "summary", "Hello World" ).toString() );
+		assertEquals( "[Hello World]", tokens( overlay, "code", "Hello World" ).toString() );
+		// the parent is not affected
+		assertEquals( "[hello, world]", tokens( scopedAnalyzer, "title", "Hello World" ).toString() );
+	}
+
+	@Test
+	public void overlayIsCompositeOfSameInstancesAsEquivalentClone() {
+		ScopedAnalyzer scopedAnalyzer = new ScopedAnalyzer( standard );
+		scopedAnalyzer.addScopedAnalyzer( "code", keyword );
+
+		ScopedAnalyzer overlay = scopedAnalyzer.overlay( Collections.singletonMap( "title", whitespace ) );
+		ScopedAnalyzer clone = scopedAnalyzer.clone();
+		clone.addScopedAnalyzer( "title", whitespace );
+
+		assertTrue( overlay.isCompositeOfSameInstances( clone ) );
+		assertTrue( clone.isCompositeOfSameInstances( overlay ) );
+		assertTrue( overlay.clone().isCompositeOfSameInstances( clone ) );
+		assertFalse( overlay.isCompositeOfSameInstances( scopedAnalyzer ) );
+		assertFalse( scopedAnalyzer.isCompositeOfSameInstances( overlay ) );
+		assertFalse( overlay.isCompositeOfSameInstances( scopedAnalyzer.overlay( Collections.singletonMap( "title", keyword ) ) ) );
+	}
+
+	@Test
+	public void compositionChangesAreDetected() {
+		ScopedAnalyzer scopedAnalyzer = new ScopedAnalyzer( standard );
+		scopedAnalyzer.addScopedAnalyzer( "code", keyword );
+		ScopedAnalyzer clone = scopedAnalyzer.clone();
+		assertTrue( scopedAnalyzer.isCompositeOfSameInstances( clone ) );
+
+		clone.addScopedAnalyzer( "code", whitespace );
+		assertFalse( scopedAnalyzer.isCompositeOfSameInstances( clone ) );
+		clone.addScopedAnalyzer( "code", keyword );
+		assertTrue( scopedAnalyzer.isCompositeOfSameInstances( clone ) );
+
+		clone.setGlobalAnalyzer( whitespace );
+		assertFalse( scopedAnalyzer.isCompositeOfSameInstances( clone ) );
+		clone.setGlobalAnalyzer( standard );
+		assertTrue( scopedAnalyzer.isCompositeOfSameInstances( clone ) );
+
+		// overriding a scope with the analyzer it already resolves to
+		ScopedAnalyzer overlay = scopedAnalyzer.overlay( Collections.singletonMap( "code", keyword ) );
+		assertTrue( overlay.isCompositeOfSameInstances( scopedAnalyzer ) );
+		assertTrue( overlay.isCompositeOfSameInstances( scopedAnalyzer.overlay( Collections.singletonMap( "code", keyword ) ) ) );
+	}
+
+	private static List<String> tokens(Analyzer analyzer, String field, String text) throws IOException {
+		List<String> tokens = new ArrayList<String>();
+		try ( TokenStream stream = analyzer.tokenStream( field, text ) ) {
+			CharTermAttribute term = stream.addAttribute( CharTermAttribute.class );
+			stream.reset();
+			while ( stream.incrementToken() ) {
+				tokens.add( term.toString() );
+			}
+			stream.end();
+		}
+		return tokens;
+	}
+
+}
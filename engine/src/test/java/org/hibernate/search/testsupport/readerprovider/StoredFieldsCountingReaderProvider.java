@@ -0,0 +1,73 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+
+package org.hibernate.search.testsupport.readerprovider;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.lucene.index.AtomicReader;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.FilterAtomicReader;
+import org.apache.lucene.index.FilterDirectoryReader;
+import org.apache.lucene.index.FilterDirectoryReader.SubReaderWrapper;
+import org.apache.lucene.index.StoredFieldVisitor;
+import org.hibernate.search.indexes.impl.NotSharedReaderProvider;
+import org.hibernate.search.indexes.spi.ReaderProvider;
+
+/**
+ * {@code ReaderProvider} counting how many times the stored fields of a document are loaded.
+ */
+public final class StoredFieldsCountingReaderProvider extends NotSharedReaderProvider implements ReaderProvider {
+
+	private static final AtomicInteger loadedDocuments = new AtomicInteger();
+
+	public static void resetCount() {
+		loadedDocuments.set( 0 );
+	}
+
+	/**
+	 * @return the number of times stored fields were loaded since the last {@link #resetCount()}
+	 */
+	public static int getLoadedDocumentsCount() {
+		return loadedDocuments.get();
+	}
+
+	@Override
+	public DirectoryReader openIndexReader() {
+		return new CountingDirectoryReader( super.openIndexReader() );
+	}
+
+	private static final class CountingDirectoryReader extends FilterDirectoryReader {
+		public CountingDirectoryReader(DirectoryReader in) {
+			super( in, new CountingSubReaderWrapper() );
+		}
+		@Override
+		protected DirectoryReader doWrapDirectoryReader(DirectoryReader in) {
+			return new CountingDirectoryReader( in );
+		}
+	}
+
+	private static final class CountingSubReaderWrapper extends SubReaderWrapper {
+		@Override
+		public AtomicReader wrap(AtomicReader reader) {
+			return new CountingAtomicReader( reader );
+		}
+	}
+
+	private static final class CountingAtomicReader extends FilterAtomicReader {
+		public CountingAtomicReader(AtomicReader in) {
+			super( in );
+		}
+		@Override
+		public void document(int docID, StoredFieldVisitor visitor) throws IOException {
+			loadedDocuments.incrementAndGet();
+			super.document( docID, visitor );
+		}
+	}
+
+}
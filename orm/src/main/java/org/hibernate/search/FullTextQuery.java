@@ -19,6 +19,7 @@
 import org.hibernate.search.filter.FullTextFilter;
 import org.hibernate.search.query.DatabaseRetrievalMethod;
 import org.hibernate.search.query.ObjectLookupMethod;
+import org.hibernate.search.query.SearchCursor;
 import org.hibernate.search.query.engine.spi.FacetManager;
 import org.hibernate.search.spatial.Coordinates;
 import org.hibernate.transform.ResultTransformer;
@@ -115,6 +116,23 @@ public interface FullTextQuery extends Query, ProjectionConstants {
 	 */
 	FullTextQuery setSpatialParameters(Coordinates center, String fieldName);
 
+	/**
+	 * Only retrieve the results sorted after the given cursor, obtained with {@link #getSearchCursor()}
+	 * after fetching the previous page. The first result is then relative to the cursor.
+	 * Unlike setting the first result, the cost of retrieving a page doesn't increase with its depth.
+	 *
+	 * @param cursor the position to resume the query from, or {@code null} to start from the first result
+	 *
+	 * @return {@code this} for method chaining
+	 */
+	FullTextQuery searchAfter(SearchCursor cursor);
+
+	/**
+	 * @return a cursor positioned on the last result of the page last fetched, to be passed to
+	 * {@link #searchAfter(SearchCursor)} to fetch the next page; {@code null} if the page was empty
+	 */
+	SearchCursor getSearchCursor();
+
 	/**
 	 * Enable a given filter by its name.
 	 *
@@ -40,13 +40,17 @@ public class BatchCoordinator extends ErrorHandledRunnable {
 	private final SessionFactoryImplementor sessionFactory;
 	private final int typesToIndexInParallel;
 	private final int documentBuilderThreads;
+	private final int maxDocumentBuilderThreads;
+	private final int idLoadingPartitions;
 	private final CacheMode cacheMode;
 	private final int objectLoadingBatchSize;
+	private final int maxObjectLoadingBatchSize;
 	private final boolean optimizeAtEnd;
 	private final boolean purgeAtStart;
 	private final boolean optimizeAfterPurge;
 	private final CountDownLatch endAllSignal;
 	private final MassIndexerProgressMonitor monitor;
+	private final CountingProgressMonitor pipelineMonitor; //null unless the loading of objects is adaptive
 	private final long objectsLimit;
 	private final int idFetchSize;
 	private final Integer transactionTimeout;
@@ -58,8 +62,11 @@ public BatchCoordinator(Set<Class<?>> rootEntities,
 							SessionFactoryImplementor sessionFactory,
 							int typesToIndexInParallel,
 							int documentBuilderThreads,
+							int maxDocumentBuilderThreads,
+							int idLoadingPartitions,
 							CacheMode cacheMode,
 							int objectLoadingBatchSize,
+							int maxObjectLoadingBatchSize,
 							long objectsLimit,
 							boolean optimizeAtEnd,
 							boolean purgeAtStart,
@@ -76,12 +83,22 @@ public BatchCoordinator(Set<Class<?>> rootEntities,
 		this.sessionFactory = sessionFactory;
 		this.typesToIndexInParallel = typesToIndexInParallel;
 		this.documentBuilderThreads = documentBuilderThreads;
+		this.maxDocumentBuilderThreads = maxDocumentBuilderThreads;
+		this.idLoadingPartitions = idLoadingPartitions;
 		this.cacheMode = cacheMode;
 		this.objectLoadingBatchSize = objectLoadingBatchSize;
+		this.maxObjectLoadingBatchSize = maxObjectLoadingBatchSize;
 		this.optimizeAtEnd = optimizeAtEnd;
 		this.purgeAtStart = purgeAtStart;
 		this.optimizeAfterPurge = optimizeAfterPurge;
-		this.monitor = monitor;
+		if ( maxDocumentBuilderThreads > documentBuilderThreads || maxObjectLoadingBatchSize > objectLoadingBatchSize ) {
+			this.pipelineMonitor = new CountingProgressMonitor( monitor );
+			this.monitor = pipelineMonitor;
+		}
+		else {
+			this.pipelineMonitor = null;
+			this.monitor = monitor;
+		}
 		this.objectsLimit = objectsLimit;
 		this.endAllSignal = new CountDownLatch( rootEntities.size() );
 	}
@@ -128,14 +145,22 @@ public void runWithErrorHandler() {
 	private void doBatchWork(BatchBackend backend) throws InterruptedException, ExecutionException {
 		ExecutorService executor = Executors.newFixedThreadPool( typesToIndexInParallel, "BatchIndexingWorkspace" );
 		for ( Class<?> type : rootEntities ) {
-			indexingTasks.add( executor.submit( new BatchIndexingWorkspace( extendedIntegrator, sessionFactory, type, documentBuilderThreads, cacheMode,
-					objectLoadingBatchSize, endAllSignal, monitor, backend, objectsLimit, idFetchSize, transactionTimeout, tenantId ) ) );
+			indexingTasks.add( executor.submit( new BatchIndexingWorkspace( extendedIntegrator, sessionFactory, type, createLoadingController( type ),
+					idLoadingPartitions, cacheMode, endAllSignal, monitor, backend, objectsLimit, idFetchSize, transactionTimeout, tenantId ) ) );
 
 		}
 		executor.shutdown();
 		endAllSignal.await(); //waits for the executor to finish
 	}
 
+	private ObjectLoadingController createLoadingController(Class<?> type) {
+		if ( pipelineMonitor == null ) {
+			return new ObjectLoadingController( type, documentBuilderThreads, objectLoadingBatchSize );
+		}
+		return new ObjectLoadingController( type, documentBuilderThreads, maxDocumentBuilderThreads,
+				objectLoadingBatchSize, maxObjectLoadingBatchSize, pipelineMonitor );
+	}
+
 	/**
 	 * Operations to do after all subthreads finished their work on index
 	 * @param backend
@@ -8,12 +8,14 @@
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.hibernate.CacheMode;
+import org.hibernate.criterion.Criterion;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.search.backend.spi.BatchBackend;
 import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
@@ -37,14 +39,13 @@ public class BatchIndexingWorkspace extends ErrorHandledRunnable {
 
 	private final SessionFactoryImplementor sessionFactory;
 
-	private final ProducerConsumerQueue<List<Serializable>> primaryKeyStream;
+	private ProducerConsumerQueue<List<Serializable>> primaryKeyStream;
 
-	private final int documentBuilderThreads;
+	private final int idLoadingPartitions;
 	private final Class<?> indexedType;
 	private final String idNameOfIndexedType;
 
 	// status control
-	private final CountDownLatch producerEndSignal; //released when we stop adding Documents to Index
 	private final CountDownLatch endAllSignal; //released when we release all locks and IndexWriter
 
 	// progress monitor
@@ -52,7 +53,7 @@ public class BatchIndexingWorkspace extends ErrorHandledRunnable {
 
 	// loading options
 	private final CacheMode cacheMode;
-	private final int objectLoadingBatchSize;
+	private final ObjectLoadingController loadingController;
 
 	private final BatchBackend backend;
 
@@ -68,9 +69,9 @@ public class BatchIndexingWorkspace extends ErrorHandledRunnable {
 	public BatchIndexingWorkspace(ExtendedSearchIntegrator extendedIntegrator,
 								SessionFactoryImplementor sessionFactory,
 								Class<?> entityType,
-								int objectLoadingThreads,
+								ObjectLoadingController loadingController,
+								int idLoadingPartitions,
 								CacheMode cacheMode,
-								int objectLoadingBatchSize,
 								CountDownLatch endAllSignal,
 								MassIndexerProgressMonitor monitor,
 								BatchBackend backend,
@@ -89,19 +90,15 @@ public BatchIndexingWorkspace(ExtendedSearchIntegrator extendedIntegrator,
 		this.sessionFactory = sessionFactory;
 
 		//thread pool sizing:
-		this.documentBuilderThreads = objectLoadingThreads;
+		this.loadingController = loadingController;
+		this.idLoadingPartitions = idLoadingPartitions;
 
 		//loading options:
 		this.cacheMode = cacheMode;
-		this.objectLoadingBatchSize = objectLoadingBatchSize;
 		this.backend = backend;
 
-		//pipelining queues:
-		this.primaryKeyStream = new ProducerConsumerQueue<List<Serializable>>( 1 );
-
 		//end signal shared with other instances:
 		this.endAllSignal = endAllSignal;
-		this.producerEndSignal = new CountDownLatch( documentBuilderThreads );
 
 		this.monitor = monitor;
 		this.objectsLimit = objectsLimit;
@@ -116,14 +113,18 @@ public void runWithErrorHandler() {
 		try {
 			final ErrorHandler errorHandler = extendedIntegrator.getErrorHandler();
 			final BatchTransactionalContext transactionalContext = new BatchTransactionalContext( extendedIntegrator, sessionFactory, errorHandler, tenantId );
+			final List<Criterion> idRanges = partitionPrimaryKeys( transactionalContext );
+			//pipelining queue, closed when all identifier producers are done:
+			primaryKeyStream = new ProducerConsumerQueue<List<Serializable>>( Math.max( 1, idRanges.size() ) );
 			//first start the consumers, then the producers (reverse order):
 			//from primary keys to LuceneWork ADD operations:
 			startTransformationToLuceneWork( transactionalContext, errorHandler );
 			//from class definition to all primary keys:
-			startProducingPrimaryKeys( transactionalContext, errorHandler );
+			startProducingPrimaryKeys( transactionalContext, errorHandler, idRanges );
 			try {
-				producerEndSignal.await(); //await for all work being sent to the backend
+				loadingController.awaitLoaders(); //await for all work being sent to the backend
 				log.debugf( "All work for type %s has been produced", indexedType.getName() );
+				loadingController.stop( false );
 			}
 			catch (InterruptedException e) {
 				// on thread interruption cancel each pending task - thread executing the task must be interrupted
@@ -132,6 +133,7 @@ public void runWithErrorHandler() {
 						task.cancel( true );
 					}
 				}
+				loadingController.stop( true );
 				//restore interruption signal:
 				Thread.currentThread().interrupt();
 				throw new SearchException( "Interrupted on batch Indexing; index will be left in unknown state!" );
@@ -142,20 +144,35 @@ public void runWithErrorHandler() {
 		}
 	}
 
-	private void startProducingPrimaryKeys(BatchTransactionalContext transactionalContext, ErrorHandler errorHandler) {
-		final Runnable primaryKeyOutputter = new OptionallyWrapInJTATransaction( transactionalContext,
-				new IdentifierProducer(
-						primaryKeyStream, sessionFactory,
-						objectLoadingBatchSize, indexedType, monitor,
-						objectsLimit, errorHandler, idFetchSize,
-						tenantId
-				),
-				transactionTimeout,
-				tenantId);
-		//execIdentifiersLoader has size 1 and is not configurable: ensures the list is consistent as produced by one transaction
-		final ThreadPoolExecutor execIdentifiersLoader = Executors.newFixedThreadPool( 1, "identifierloader" );
+	private List<Criterion> partitionPrimaryKeys(BatchTransactionalContext transactionalContext) {
+		if ( idLoadingPartitions < 2 || objectsLimit != 0 ) {
+			return Collections.emptyList();
+		}
+		final IdentifierRangePartitioner partitioner = new IdentifierRangePartitioner( sessionFactory, indexedType, idLoadingPartitions, tenantId );
+		//runs in the current thread: failures are handled by the error handler, and leave a single range
+		new OptionallyWrapInJTATransaction( transactionalContext, partitioner, transactionTimeout, tenantId ).run();
+		return partitioner.getRanges();
+	}
+
+	private void startProducingPrimaryKeys(BatchTransactionalContext transactionalContext, ErrorHandler errorHandler, List<Criterion> idRanges) {
+		//without partitions execIdentifiersLoader has size 1: ensures the list is consistent as produced by one transaction;
+		//otherwise each range of identifiers is loaded in its own transaction
+		final List<Criterion> ranges = idRanges.isEmpty() ? Collections.<Criterion>singletonList( null ) : idRanges;
+		final int partitions = ranges.size();
+		final ThreadPoolExecutor execIdentifiersLoader = Executors.newFixedThreadPool( partitions, "identifierloader" );
 		try {
-			tasks.add( execIdentifiersLoader.submit( primaryKeyOutputter ) );
+			for ( int i = 0; i < partitions; i++ ) {
+				final Runnable primaryKeyOutputter = new OptionallyWrapInJTATransaction( transactionalContext,
+						new IdentifierProducer(
+								primaryKeyStream, sessionFactory,
+								loadingController, indexedType, monitor,
+								objectsLimit, errorHandler, idFetchSize,
+								tenantId, ranges.get( i ), i + 1, partitions
+						),
+						transactionTimeout,
+						tenantId);
+				tasks.add( execIdentifiersLoader.submit( primaryKeyOutputter ) );
+			}
 		}
 		finally {
 			execIdentifiersLoader.shutdown();
@@ -164,19 +181,11 @@ private void startProducingPrimaryKeys(BatchTransactionalContext transactionalCo
 
 	private void startTransformationToLuceneWork(BatchTransactionalContext transactionalContext, ErrorHandler errorHandler) {
 		final Runnable documentOutputter = new IdentifierConsumerDocumentProducer(
-				primaryKeyStream, monitor, sessionFactory, producerEndSignal,
+				primaryKeyStream, monitor, sessionFactory, loadingController,
 				cacheMode, indexedType, extendedIntegrator,
 				idNameOfIndexedType, backend, errorHandler,
 				transactionTimeout, tenantId
 		);
-		final ThreadPoolExecutor execFirstLoader = Executors.newFixedThreadPool( documentBuilderThreads, "entityloader" );
-		try {
-			for ( int i = 0; i < documentBuilderThreads; i++ ) {
-				tasks.add( execFirstLoader.submit( documentOutputter ) );
-			}
-		}
-		finally {
-			execFirstLoader.shutdown();
-		}
+		loadingController.start( primaryKeyStream, documentOutputter );
 	}
 }
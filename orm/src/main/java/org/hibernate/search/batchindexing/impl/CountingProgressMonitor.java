@@ -0,0 +1,72 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.batchindexing.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.search.batchindexing.MassIndexerPipelineMonitor;
+import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
+
+/**
+ * Wraps the {@code MassIndexerProgressMonitor} of an adaptive MassIndexer to count the documents
+ * built by the entity loaders and added to the index by the backend, for all indexed types.
+ * The pipeline throughput is forwarded to the wrapped monitor when it's a {@code MassIndexerPipelineMonitor}.
+ */
+public class CountingProgressMonitor implements MassIndexerPipelineMonitor {
+
+	private final MassIndexerProgressMonitor delegate;
+	private final AtomicLong documentsBuilt = new AtomicLong();
+	private final AtomicLong documentsAdded = new AtomicLong();
+
+	public CountingProgressMonitor(MassIndexerProgressMonitor delegate) {
+		this.delegate = delegate;
+	}
+
+	public long getDocumentsBuilt() {
+		return documentsBuilt.get();
+	}
+
+	public long getDocumentsAdded() {
+		return documentsAdded.get();
+	}
+
+	@Override
+	public void documentsAdded(long increment) {
+		documentsAdded.addAndGet( increment );
+		delegate.documentsAdded( increment );
+	}
+
+	@Override
+	public void documentsBuilt(int number) {
+		documentsBuilt.addAndGet( number );
+		delegate.documentsBuilt( number );
+	}
+
+	@Override
+	public void entitiesLoaded(int size) {
+		delegate.entitiesLoaded( size );
+	}
+
+	@Override
+	public void addToTotalCount(long count) {
+		delegate.addToTotalCount( count );
+	}
+
+	@Override
+	public void indexingCompleted() {
+		delegate.indexingCompleted();
+	}
+
+	@Override
+	public void pipelineThroughput(Class<?> entityType, float identifiersPerSecond, float entitiesPerSecond,
+			float documentsPerSecond, int threadsToLoadObjects, int batchSizeToLoadObjects) {
+		if ( delegate instanceof MassIndexerPipelineMonitor ) {
+			( (MassIndexerPipelineMonitor) delegate ).pipelineThroughput( entityType, identifiersPerSecond,
+					entitiesPerSecond, documentsPerSecond, threadsToLoadObjects, batchSizeToLoadObjects );
+		}
+	}
+}
@@ -9,7 +9,6 @@
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
 
 import javax.transaction.TransactionManager;
 
@@ -64,7 +63,7 @@ public class IdentifierConsumerDocumentProducer implements Runnable {
 	private final String idName;
 	private final ErrorHandler errorHandler;
 	private final BatchBackend backend;
-	private final CountDownLatch producerEndSignal;
+	private final ObjectLoadingController loadingController;
 	private final Integer transactionTimeout;
 	private final String tenantId;
 
@@ -77,7 +76,7 @@ public IdentifierConsumerDocumentProducer(
 			ProducerConsumerQueue<List<Serializable>> fromIdentifierListToEntities,
 			MassIndexerProgressMonitor monitor,
 			SessionFactory sessionFactory,
-			CountDownLatch producerEndSignal,
+			ObjectLoadingController loadingController,
 			CacheMode cacheMode, Class<?> type,
 			ExtendedSearchIntegrator searchFactory,
 			String idName, BatchBackend backend, ErrorHandler errorHandler,
@@ -91,7 +90,7 @@ public IdentifierConsumerDocumentProducer(
 		this.idName = idName;
 		this.backend = backend;
 		this.errorHandler = errorHandler;
-		this.producerEndSignal = producerEndSignal;
+		this.loadingController = loadingController;
 		this.entityIndexBindings = searchFactory.getIndexBindings();
 		this.transactionTimeout = transactionTimeout;
 		this.tenantId = tenantId;
@@ -113,20 +112,26 @@ public void run() {
 		session.setFlushMode( FlushMode.MANUAL );
 		session.setCacheMode( cacheMode );
 		session.setDefaultReadOnly( true );
+		boolean retired = false;
 		try {
-			loadAllFromQueue( session );
+			retired = loadAllFromQueue( session );
 		}
 		catch (Exception exception) {
 			errorHandler.handleException( log.massIndexerExceptionWhileTransformingIds(), exception );
 		}
 		finally {
-			producerEndSignal.countDown();
+			if ( !retired ) {
+				loadingController.loaderFinished();
+			}
 			session.close();
 		}
 		log.trace( "finished" );
 	}
 
-	private void loadAllFromQueue(Session session) throws Exception {
+	/**
+	 * @return {@code true} if this loader stopped before the end of the queue, as fewer loaders are needed
+	 */
+	private boolean loadAllFromQueue(Session session) throws Exception {
 		final InstanceInitializer sessionInitializer = new HibernateSessionLoadingInitializer(
 				(SessionImplementor) session
 		);
@@ -138,6 +143,10 @@ private void loadAllFromQueue(Session session) throws Exception {
 				if ( idList != null ) {
 					log.tracef( "received list of ids %s", idList );
 					loadList( idList, session, sessionInitializer );
+					if ( loadingController.retireLoader() ) {
+						log.trace( "retired" );
+						return true;
+					}
 				}
 			}
 			while ( idList != null );
@@ -146,6 +155,7 @@ private void loadAllFromQueue(Session session) throws Exception {
 			// just quit
 			Thread.currentThread().interrupt();
 		}
+		return false;
 	}
 
 	/**
@@ -174,6 +184,7 @@ private void loadList(List<Serializable> listIds, Session session, InstanceIniti
 					.add( Restrictions.in( idName, listIds ) );
 			List<?> list = criteria.list();
 			monitor.entitiesLoaded( list.size() );
+			loadingController.entitiesLoaded( list.size() );
 			indexAllQueue( session, list, sessionInitializer );
 			session.clear();
 		}
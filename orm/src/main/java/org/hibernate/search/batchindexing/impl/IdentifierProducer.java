@@ -16,6 +16,7 @@
 import org.hibernate.SessionFactory;
 import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
+import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.Projections;
 import org.hibernate.resource.transaction.spi.TransactionStatus;
 import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
@@ -29,6 +30,9 @@
  * This step in the indexing process is not parallel (should be
  * done by one thread per type) so that a single transaction is used
  * to define the group of entities to be indexed.
+ * When the identifiers are partitioned, each producer only loads
+ * a range of them in its own transaction, and the ranges are
+ * processed in parallel.
  * Produced identifiers are put in the destination queue grouped in List
  * instances: the reason for this is to load them in batches
  * in the next step and reduce contention on the queue.
@@ -41,39 +45,49 @@ public class IdentifierProducer implements StatelessSessionAwareRunnable {
 
 	private final ProducerConsumerQueue<List<Serializable>> destination;
 	private final SessionFactory sessionFactory;
-	private final int batchSize;
+	private final ObjectLoadingController loadingController;
 	private final Class<?> indexedType;
 	private final MassIndexerProgressMonitor monitor;
 	private final long objectsLimit;
 	private final int idFetchSize;
 	private final ErrorHandler errorHandler;
 	private final String tenantId;
+	private final Criterion idRange;
+	private final int partition;
+	private final int partitions;
 
 	/**
 	 * @param fromIdentifierListToEntities the target queue where the produced identifiers are sent to
 	 * @param sessionFactory the Hibernate SessionFactory to use to load entities
-	 * @param objectLoadingBatchSize affects mostly the next consumer: IdentifierConsumerEntityProducer
+	 * @param loadingController provides the number of identifiers to group in each list, loaded at once by the next consumer
 	 * @param indexedType the entity type to be loaded
 	 * @param monitor to monitor indexing progress
 	 * @param objectsLimit if not zero
 	 * @param errorHandler how to handle unexpected errors
 	 * @param tenantId
+	 * @param idRange the restriction to the range of identifiers to load, or null to load all of them
+	 * @param partition the index of the range, starting at 1; only used to report progress
+	 * @param partitions the total number of ranges
 	 */
 	public IdentifierProducer(
 			ProducerConsumerQueue<List<Serializable>> fromIdentifierListToEntities,
 			SessionFactory sessionFactory,
-			int objectLoadingBatchSize,
+			ObjectLoadingController loadingController,
 			Class<?> indexedType, MassIndexerProgressMonitor monitor,
-			long objectsLimit, ErrorHandler errorHandler, int idFetchSize, String tenantId) {
+			long objectsLimit, ErrorHandler errorHandler, int idFetchSize, String tenantId,
+			Criterion idRange, int partition, int partitions) {
 				this.destination = fromIdentifierListToEntities;
 				this.sessionFactory = sessionFactory;
-				this.batchSize = objectLoadingBatchSize;
+				this.loadingController = loadingController;
 				this.indexedType = indexedType;
 				this.monitor = monitor;
 				this.objectsLimit = objectsLimit;
 				this.errorHandler = errorHandler;
 				this.idFetchSize = idFetchSize;
 				this.tenantId = tenantId;
+				this.idRange = idRange;
+				this.partition = partition;
+				this.partitions = partitions;
 				log.trace( "created" );
 	}
 
@@ -120,8 +134,7 @@ private void inTransactionWrapper(StatelessSession upperSession) throws Exceptio
 	}
 
 	private void loadAllIdentifiers(final StatelessSession session) throws InterruptedException {
-		Number countAsNumber = (Number) session
-			.createCriteria( indexedType )
+		Number countAsNumber = (Number) createCriteria( session )
 			.setProjection( Projections.rowCount() )
 			.setCacheable( false )
 			.uniqueResult();
@@ -132,15 +145,18 @@ private void loadAllIdentifiers(final StatelessSession session) throws Interrupt
 		if ( log.isDebugEnabled() ) {
 			log.debugf( "going to fetch %d primary keys", totalCount);
 		}
+		if ( idRange != null ) {
+			log.loadingIdentifierPartition( indexedType, partition, partitions, totalCount );
+		}
 		monitor.addToTotalCount( totalCount );
 
-		Criteria criteria = session
-			.createCriteria( indexedType )
+		Criteria criteria = createCriteria( session )
 			.setProjection( Projections.id() )
 			.setCacheable( false )
 			.setFetchSize( idFetchSize );
 
 		ScrollableResults results = criteria.scroll( ScrollMode.FORWARD_ONLY );
+		int batchSize = loadingController.getBatchSize();
 		ArrayList<Serializable> destinationList = new ArrayList<Serializable>( batchSize );
 		long counter = 0;
 		try {
@@ -155,6 +171,7 @@ private void loadAllIdentifiers(final StatelessSession session) throws Interrupt
 					}
 
 					enqueueList( destinationList );
+					batchSize = loadingController.getBatchSize();
 					destinationList = new ArrayList<Serializable>( batchSize );
 				}
 				counter++;
@@ -167,11 +184,23 @@ private void loadAllIdentifiers(final StatelessSession session) throws Interrupt
 			results.close();
 		}
 		enqueueList( destinationList );
+		if ( idRange != null ) {
+			log.loadedIdentifierPartition( indexedType, partition, partitions, counter );
+		}
+	}
+
+	private Criteria createCriteria(final StatelessSession session) {
+		Criteria criteria = session.createCriteria( indexedType );
+		if ( idRange != null ) {
+			criteria.add( idRange );
+		}
+		return criteria;
 	}
 
 	private void enqueueList(final List<Serializable> idsList) throws InterruptedException {
 		if ( ! idsList.isEmpty() ) {
 			destination.put( idsList );
+			loadingController.identifiersProduced( idsList.size() );
 			log.tracef( "produced a list of ids %s", idsList );
 		}
 	}
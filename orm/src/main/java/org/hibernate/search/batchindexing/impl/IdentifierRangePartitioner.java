@@ -0,0 +1,197 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.batchindexing.impl;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.type.Type;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Splits the identifiers of an entity type in contiguous ranges, so that each range
+ * can be loaded by a different {@link IdentifierProducer}.
+ * For integral identifiers the boundaries are computed from the minimum and maximum values;
+ * for other identifier types they are sampled at regular intervals of the ordered identifiers.
+ * The first and last ranges are left open, so that no entity is missed if new identifiers
+ * are inserted beyond the boundaries meanwhile.
+ *
+ * @see org.hibernate.search.batchindexing.spi.ExtendedMassIndexer#idLoadingPartitions(int)
+ */
+public class IdentifierRangePartitioner implements StatelessSessionAwareRunnable {
+
+	private static final Log log = LoggerFactory.make();
+
+	private final SessionFactory sessionFactory;
+	private final Class<?> indexedType;
+	private final int partitions;
+	private final String tenantId;
+
+	private volatile List<Criterion> ranges = Collections.emptyList();
+
+	/**
+	 * @param sessionFactory the Hibernate SessionFactory to use to query the identifiers
+	 * @param indexedType the entity type to be loaded
+	 * @param partitions the desired number of ranges; less might be produced for small tables
+	 * @param tenantId the tenant identifier, or null
+	 */
+	public IdentifierRangePartitioner(SessionFactory sessionFactory, Class<?> indexedType, int partitions, String tenantId) {
+		this.sessionFactory = sessionFactory;
+		this.indexedType = indexedType;
+		this.partitions = partitions;
+		this.tenantId = tenantId;
+	}
+
+	@Override
+	public void run(StatelessSession upperSession) throws Exception {
+		StatelessSession session = upperSession;
+		if ( upperSession == null ) {
+			if ( tenantId == null ) {
+				session = sessionFactory.openStatelessSession();
+			}
+			else {
+				session = sessionFactory.withStatelessOptions().tenantIdentifier( tenantId ).openStatelessSession();
+			}
+		}
+		try {
+			Transaction transaction = session.getTransaction();
+			transaction.begin();
+			ranges = computeRanges( session );
+			transaction.commit();
+		}
+		finally {
+			if ( upperSession == null ) {
+				session.close();
+			}
+		}
+	}
+
+	/**
+	 * @return the restrictions defining each range of identifiers, or an empty list if the identifiers
+	 * of this type can't be partitioned: in this case a single producer should load all of them.
+	 */
+	public List<Criterion> getRanges() {
+		return ranges;
+	}
+
+	private List<Criterion> computeRanges(StatelessSession session) {
+		final ClassMetadata metadata = sessionFactory.getClassMetadata( indexedType );
+		final String idPropertyName = metadata == null ? null : metadata.getIdentifierPropertyName();
+		final Type idType = metadata == null ? null : metadata.getIdentifierType();
+		if ( idPropertyName == null || idType == null || idType.isComponentType() ) {
+			log.cannotPartitionIdentifiers( indexedType );
+			return Collections.emptyList();
+		}
+		final List<Object> boundaries;
+		if ( isIntegral( idType.getReturnedClass() ) ) {
+			boundaries = computeIntegralBoundaries( session, idPropertyName, idType.getReturnedClass() );
+		}
+		else {
+			boundaries = sampleBoundaries( session, idPropertyName );
+		}
+		if ( boundaries.isEmpty() ) {
+			return Collections.emptyList();
+		}
+		final List<Criterion> result = new ArrayList<Criterion>( boundaries.size() + 1 );
+		result.add( Restrictions.lt( idPropertyName, boundaries.get( 0 ) ) );
+		for ( int i = 1; i < boundaries.size(); i++ ) {
+			result.add( Restrictions.and(
+					Restrictions.ge( idPropertyName, boundaries.get( i - 1 ) ),
+					Restrictions.lt( idPropertyName, boundaries.get( i ) )
+			) );
+		}
+		result.add( Restrictions.ge( idPropertyName, boundaries.get( boundaries.size() - 1 ) ) );
+		return result;
+	}
+
+	private List<Object> computeIntegralBoundaries(StatelessSession session, String idPropertyName, Class<?> idClass) {
+		final Object[] minMax = (Object[]) session
+				.createCriteria( indexedType )
+				.setProjection( Projections.projectionList()
+						.add( Projections.min( idPropertyName ) )
+						.add( Projections.max( idPropertyName ) ) )
+				.setCacheable( false )
+				.uniqueResult();
+		if ( minMax == null || minMax[0] == null || minMax[1] == null ) {
+			// empty table
+			return Collections.emptyList();
+		}
+		final BigInteger min = BigInteger.valueOf( ( (Number) minMax[0] ).longValue() );
+		final BigInteger max = BigInteger.valueOf( ( (Number) minMax[1] ).longValue() );
+		final BigInteger width = max.subtract( min ).add( BigInteger.ONE );
+		final BigInteger partitionCount = BigInteger.valueOf( partitions );
+		final List<Object> boundaries = new ArrayList<Object>( partitions - 1 );
+		BigInteger previous = min;
+		for ( int i = 1; i < partitions; i++ ) {
+			BigInteger boundary = min.add( width.multiply( BigInteger.valueOf( i ) ).divide( partitionCount ) );
+			if ( boundary.compareTo( previous ) > 0 ) {
+				boundaries.add( toIdentifierType( boundary.longValue(), idClass ) );
+				previous = boundary;
+			}
+		}
+		return boundaries;
+	}
+
+	private List<Object> sampleBoundaries(StatelessSession session, String idPropertyName) {
+		final long count = ( (Number) session
+				.createCriteria( indexedType )
+				.setProjection( Projections.rowCount() )
+				.setCacheable( false )
+				.uniqueResult() ).longValue();
+		final List<Object> boundaries = new ArrayList<Object>( partitions - 1 );
+		long previousOffset = 0;
+		for ( int i = 1; i < partitions; i++ ) {
+			long offset = count * i / partitions;
+			if ( offset == previousOffset || offset > Integer.MAX_VALUE ) {
+				continue;
+			}
+			Object boundary = session
+					.createCriteria( indexedType )
+					.setProjection( Projections.id() )
+					.addOrder( Order.asc( idPropertyName ) )
+					.setFirstResult( (int) offset )
+					.setMaxResults( 1 )
+					.setCacheable( false )
+					.uniqueResult();
+			if ( boundary != null ) {
+				boundaries.add( boundary );
+				previousOffset = offset;
+			}
+		}
+		return boundaries;
+	}
+
+	private static boolean isIntegral(Class<?> idClass) {
+		return idClass == Long.class || idClass == long.class
+				|| idClass == Integer.class || idClass == int.class
+				|| idClass == Short.class || idClass == short.class;
+	}
+
+	private static Object toIdentifierType(long value, Class<?> idClass) {
+		if ( idClass == Integer.class || idClass == int.class ) {
+			return Integer.valueOf( (int) value );
+		}
+		else if ( idClass == Short.class || idClass == short.class ) {
+			return Short.valueOf( (short) value );
+		}
+		else {
+			return Long.valueOf( value );
+		}
+	}
+
+}
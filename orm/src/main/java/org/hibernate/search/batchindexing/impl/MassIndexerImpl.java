@@ -15,6 +15,7 @@
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.search.MassIndexer;
 import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
+import org.hibernate.search.batchindexing.spi.ExtendedMassIndexer;
 import org.hibernate.search.batchindexing.spi.MassIndexerWithTenant;
 import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
 import org.hibernate.search.jmx.impl.JMXRegistrar;
@@ -31,7 +32,7 @@
  *
  * @author Sanne Grinovero
  */
-public class MassIndexerImpl implements MassIndexerWithTenant {
+public class MassIndexerImpl implements MassIndexerWithTenant, ExtendedMassIndexer {
 
 	private static final Log log = LoggerFactory.make();
 
@@ -44,6 +45,9 @@ public class MassIndexerImpl implements MassIndexerWithTenant {
 	private int typesToIndexInParallel = 1;
 	private int documentBuilderThreads = 6; //loading the main entity, also responsible for loading of lazy @IndexedEmbedded collections
 	private int objectLoadingBatchSize = 10;
+	private int maxDocumentBuilderThreads = 0; //not adaptive unless higher than documentBuilderThreads
+	private int maxObjectLoadingBatchSize = 0; //not adaptive unless higher than objectLoadingBatchSize
+	private int idLoadingPartitions = 1;
 	private long objectsLimit = 0; //means no limit at all
 	private CacheMode cacheMode = CacheMode.IGNORE;
 	private boolean optimizeAtEnd = true;
@@ -139,6 +143,15 @@ public MassIndexer threadsToLoadObjects(int numberOfThreads) {
 		return this;
 	}
 
+	@Override
+	public ExtendedMassIndexer idLoadingPartitions(int numberOfPartitions) {
+		if ( numberOfPartitions < 1 ) {
+			throw new IllegalArgumentException( "numberOfPartitions must be at least 1" );
+		}
+		this.idLoadingPartitions = numberOfPartitions;
+		return this;
+	}
+
 	@Override
 	public MassIndexer batchSizeToLoadObjects(int batchSize) {
 		if ( batchSize < 1 ) {
@@ -148,6 +161,19 @@ public MassIndexer batchSizeToLoadObjects(int batchSize) {
 		return this;
 	}
 
+	@Override
+	public ExtendedMassIndexer adaptiveObjectLoading(int maxThreadsToLoadObjects, int maxBatchSizeToLoadObjects) {
+		if ( maxThreadsToLoadObjects < 1 ) {
+			throw new IllegalArgumentException( "maxThreadsToLoadObjects must be at least 1" );
+		}
+		if ( maxBatchSizeToLoadObjects < 1 ) {
+			throw new IllegalArgumentException( "maxBatchSizeToLoadObjects must be at least 1" );
+		}
+		this.maxDocumentBuilderThreads = maxThreadsToLoadObjects;
+		this.maxObjectLoadingBatchSize = maxBatchSizeToLoadObjects;
+		return this;
+	}
+
 	@Override
 	@Deprecated
 	public MassIndexer threadsForSubsequentFetching(int numberOfThreads) {
@@ -219,8 +245,8 @@ public void startAndWait() throws InterruptedException {
 	protected BatchCoordinator createCoordinator() {
 		return new BatchCoordinator(
 				rootEntities, extendedIntegrator, sessionFactory,
-				typesToIndexInParallel, documentBuilderThreads,
-				cacheMode, objectLoadingBatchSize, objectsLimit,
+				typesToIndexInParallel, documentBuilderThreads, maxDocumentBuilderThreads, idLoadingPartitions,
+				cacheMode, objectLoadingBatchSize, maxObjectLoadingBatchSize, objectsLimit,
 				optimizeAtEnd, purgeAtStart, optimizeAfterPurge,
 				monitor, idFetchSize, idLoadingTransactionTimeout,
 				tenantIdentifier
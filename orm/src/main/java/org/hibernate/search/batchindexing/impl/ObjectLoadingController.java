@@ -0,0 +1,265 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.batchindexing.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.search.util.impl.Executors;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Manages the threads loading the entities of a type and the size of the batches of identifiers
+ * they load at once.
+ * <p>
+ * When the sizing is adaptive, the throughput of the identifier producers, of the entity loaders
+ * and of the backend, and the occupancy of the queue of identifiers, are measured periodically:
+ * <ul>
+ * <li>when the documents built wait for the backend, loader threads are removed, then batches are
+ * made smaller, as loading more entities would only hold more documents in memory;</li>
+ * <li>when identifiers wait in the queue, loader threads are added, then batches are made larger;</li>
+ * <li>when the queue is empty, the loaders wait for the identifier producers and loader threads are removed.</li>
+ * </ul>
+ * The number of threads and the batch size stay within the configured bounds. Loader threads are
+ * removed lazily: a loader stops after the batch it's loading when there are more loaders than wanted.
+ */
+public class ObjectLoadingController {
+
+	private static final Log log = LoggerFactory.make();
+
+	private static final long ADJUSTMENT_PERIOD_MS = 1000;
+
+	/**
+	 * The queue occupancy above which loading the entities is considered the bottleneck
+	 */
+	private static final float LOADERS_BOTTLENECK_OCCUPANCY = 0.5f;
+
+	private final Class<?> indexedType;
+	private final int minThreads;
+	private final int maxThreads;
+	private final int minBatchSize;
+	private final int maxBatchSize;
+
+	/**
+	 * Counts the documents built and indexed, or {@code null} if the sizing is not adaptive
+	 */
+	private final CountingProgressMonitor monitor;
+
+	private final CountDownLatch loadersEndSignal = new CountDownLatch( 1 );
+	private final AtomicInteger activeLoaders = new AtomicInteger();
+	private final AtomicLong identifiersProduced = new AtomicLong();
+	private final AtomicLong entitiesLoaded = new AtomicLong();
+
+	private volatile int targetLoaders;
+	private volatile int batchSize;
+
+	private ProducerConsumerQueue<?> queue;
+	private Runnable loader;
+	private ThreadPoolExecutor loaderPool;
+	private ScheduledExecutorService adjustmentExecutor;
+
+	// measures of the previous adjustment, only accessed by the adjustment thread
+	private long lastTime;
+	private long lastIdentifiersProduced;
+	private long lastEntitiesLoaded;
+	private long lastDocumentsAdded;
+	private long lastBacklog;
+
+	/**
+	 * Creates a controller using a fixed number of threads and batch size.
+	 */
+	public ObjectLoadingController(Class<?> indexedType, int threads, int batchSize) {
+		this( indexedType, threads, threads, batchSize, batchSize, null );
+	}
+
+	/**
+	 * Creates a controller adapting the number of threads and batch size to the throughput of the pipeline.
+	 *
+	 * @param monitor counting the documents built and indexed for all types
+	 */
+	public ObjectLoadingController(Class<?> indexedType, int minThreads, int maxThreads, int minBatchSize, int maxBatchSize,
+			CountingProgressMonitor monitor) {
+		this.indexedType = indexedType;
+		this.minThreads = minThreads;
+		this.maxThreads = Math.max( minThreads, maxThreads );
+		this.minBatchSize = minBatchSize;
+		this.maxBatchSize = Math.max( minBatchSize, maxBatchSize );
+		this.monitor = monitor;
+		this.targetLoaders = minThreads;
+		this.batchSize = minBatchSize;
+	}
+
+	/**
+	 * Starts the minimum number of loader threads, and the periodic adjustments if the sizing is adaptive.
+	 *
+	 * @param queue the queue of identifiers the loaders consume
+	 * @param loader the task of each loader thread, which must call {@link #retireLoader()}
+	 * after each batch and {@link #loaderFinished()} when done
+	 */
+	public void start(ProducerConsumerQueue<?> queue, Runnable loader) {
+		this.queue = queue;
+		this.loader = loader;
+		loaderPool = Executors.newFixedThreadPool( maxThreads, "entityloader" );
+		activeLoaders.set( minThreads );
+		for ( int i = 0; i < minThreads; i++ ) {
+			loaderPool.execute( loader );
+		}
+		if ( !isAdaptive() ) {
+			loaderPool.shutdown();
+			return;
+		}
+		lastTime = System.nanoTime();
+		adjustmentExecutor = Executors.newScheduledThreadPool( "entityloader adjustment" );
+		adjustmentExecutor.scheduleAtFixedRate( new Runnable() {
+			@Override
+			public void run() {
+				try {
+					adjust();
+				}
+				catch (RuntimeException e) {
+					log.debugf( e, "Unable to adjust the loading of entities of type %s", indexedType.getName() );
+				}
+			}
+		}, ADJUSTMENT_PERIOD_MS, ADJUSTMENT_PERIOD_MS, TimeUnit.MILLISECONDS );
+	}
+
+	/**
+	 * Blocks until all loader threads are finished.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void awaitLoaders() throws InterruptedException {
+		loadersEndSignal.await();
+	}
+
+	/**
+	 * Stops the adjustments and releases the loader threads.
+	 *
+	 * @param interrupt whether the loader threads should be interrupted
+	 */
+	public void stop(boolean interrupt) {
+		if ( adjustmentExecutor != null ) {
+			adjustmentExecutor.shutdownNow();
+		}
+		if ( loaderPool != null ) {
+			if ( interrupt ) {
+				loaderPool.shutdownNow();
+			}
+			else {
+				loaderPool.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * @return the number of identifiers to group in each batch of entities to load
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void identifiersProduced(int count) {
+		identifiersProduced.addAndGet( count );
+	}
+
+	public void entitiesLoaded(int count) {
+		entitiesLoaded.addAndGet( count );
+	}
+
+	/**
+	 * Invoked by each loader thread after a batch: when there are more loaders than wanted
+	 * the calling loader is removed, and must stop without invoking {@link #loaderFinished()}.
+	 *
+	 * @return {@code true} if the calling loader must stop
+	 */
+	public boolean retireLoader() {
+		int loaders = activeLoaders.get();
+		// never retires the last loader, as targetLoaders is at least 1
+		return loaders > targetLoaders && activeLoaders.compareAndSet( loaders, loaders - 1 );
+	}
+
+	/**
+	 * Invoked by each loader thread when there are no more identifiers to load.
+	 */
+	public void loaderFinished() {
+		if ( activeLoaders.decrementAndGet() == 0 ) {
+			loadersEndSignal.countDown();
+		}
+	}
+
+	private boolean isAdaptive() {
+		return monitor != null && ( minThreads < maxThreads || minBatchSize < maxBatchSize );
+	}
+
+	private void adjust() {
+		final long now = System.nanoTime();
+		final long identifiers = identifiersProduced.get();
+		final long entities = entitiesLoaded.get();
+		final long documentsAdded = monitor.getDocumentsAdded();
+		final long backlog = monitor.getDocumentsBuilt() - documentsAdded;
+		final float occupancy = queue.occupancy();
+		final int loaders = targetLoaders;
+
+		if ( backlog > lastBacklog && backlog > (long) loaders * batchSize ) {
+			// the backend is the bottleneck
+			if ( loaders > minThreads ) {
+				resizeLoaders( loaders - 1 );
+			}
+			else {
+				batchSize = Math.max( minBatchSize, batchSize * 2 / 3 );
+			}
+		}
+		else if ( occupancy >= LOADERS_BOTTLENECK_OCCUPANCY ) {
+			// loading the entities is the bottleneck
+			if ( loaders < maxThreads ) {
+				resizeLoaders( loaders + 1 );
+			}
+			else {
+				batchSize = Math.min( maxBatchSize, batchSize + Math.max( 1, batchSize / 2 ) );
+			}
+		}
+		else if ( occupancy == 0f && loaders > minThreads ) {
+			// producing the identifiers is the bottleneck
+			resizeLoaders( loaders - 1 );
+		}
+
+		final float seconds = ( now - lastTime ) / 1000000000f;
+		monitor.pipelineThroughput(
+				indexedType,
+				( identifiers - lastIdentifiersProduced ) / seconds,
+				( entities - lastEntitiesLoaded ) / seconds,
+				( documentsAdded - lastDocumentsAdded ) / seconds,
+				targetLoaders,
+				batchSize
+		);
+		lastTime = now;
+		lastIdentifiersProduced = identifiers;
+		lastEntitiesLoaded = entities;
+		lastDocumentsAdded = documentsAdded;
+		lastBacklog = backlog;
+	}
+
+	private void resizeLoaders(int loaders) {
+		targetLoaders = loaders;
+		int active = activeLoaders.get();
+		while ( active < loaders ) {
+			if ( active == 0 ) {
+				// all loaders are finished
+				return;
+			}
+			if ( activeLoaders.compareAndSet( active, active + 1 ) ) {
+				loaderPool.execute( loader );
+			}
+			active = activeLoaders.get();
+		}
+	}
+}
@@ -67,6 +67,14 @@ public void put(T obj) throws InterruptedException {
 		queue.put( obj );
 	}
 
+	/**
+	 * @return the fraction of the capacity of the queue in use, between 0 and 1
+	 */
+	public float occupancy() {
+		int size = queue.size();
+		return size / (float) ( size + queue.remainingCapacity() );
+	}
+
 	/**
 	 * Each producer thread should call producerStopping() when it has
 	 * finished. After doing it can safely terminate.
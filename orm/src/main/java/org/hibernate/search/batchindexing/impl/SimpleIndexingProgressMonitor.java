@@ -9,17 +9,18 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
-import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
+import org.hibernate.search.batchindexing.MassIndexerPipelineMonitor;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
 /**
  * A very simple implementation of {@code MassIndexerProgressMonitor} which
- * uses the logger at INFO level to output indexing speed statistics.
+ * uses the logger at INFO level to output indexing speed statistics,
+ * and the throughput of each stage when the MassIndexer is adaptive.
  *
  * @author Sanne Grinovero
  */
-public class SimpleIndexingProgressMonitor implements MassIndexerProgressMonitor {
+public class SimpleIndexingProgressMonitor implements MassIndexerPipelineMonitor {
 
 	private static final Log log = LoggerFactory.make();
 	private final AtomicLong documentsDoneCounter = new AtomicLong();
@@ -65,6 +66,13 @@ public void documentsBuilt(int number) {
 		//not used
 	}
 
+	@Override
+	public void pipelineThroughput(Class<?> entityType, float identifiersPerSecond, float entitiesPerSecond,
+			float documentsPerSecond, int threadsToLoadObjects, int batchSizeToLoadObjects) {
+		log.indexingPipelineThroughput( entityType, identifiersPerSecond, entitiesPerSecond, documentsPerSecond,
+				threadsToLoadObjects, batchSizeToLoadObjects );
+	}
+
 	@Override
 	public void addToTotalCount(long count) {
 		totalCounter.addAndGet( count );
@@ -0,0 +1,45 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.batchindexing.spi;
+
+import org.hibernate.search.MassIndexer;
+
+/**
+ * Tuning options of the default {@link MassIndexer}, which custom implementations created by
+ * a {@link MassIndexerFactory} don't have to support. Check the indexer returned by
+ * {@code FullTextSession#createIndexer} implements this interface before using them.
+ */
+public interface ExtendedMassIndexer extends MassIndexer {
+
+	/**
+	 * Sets the number of ranges the identifiers of each entity type are split into;
+	 * each range is loaded by its own thread, using its own transaction.
+	 * For integral identifiers the ranges are computed from the minimum and maximum values,
+	 * otherwise they are sampled from the ordered identifiers.
+	 * Types with a composite identifier are always loaded by a single thread.
+	 * Defaults to 1, which loads all identifiers of a type in a single transaction.
+	 * Ignored when {@link #limitIndexedObjectsTo(long)} is used.
+	 * @param numberOfPartitions
+	 * @return <tt>this</tt> for method chaining
+	 */
+	ExtendedMassIndexer idLoadingPartitions(int numberOfPartitions);
+
+	/**
+	 * Adapts the number of threads loading the root entities, and the batch size used to load them,
+	 * to the throughput of the indexing pipeline while it runs: they grow when the loading of the entities
+	 * is the bottleneck, and shrink when the loaders wait for the identifiers or for the indexing backend.
+	 * The values set by {@link #threadsToLoadObjects(int)} and {@link #batchSizeToLoadObjects(int)} are
+	 * the lower bounds. The throughput of each stage is reported to the progress monitor when it implements
+	 * {@link org.hibernate.search.batchindexing.MassIndexerPipelineMonitor}.
+	 * Disabled by default.
+	 * @param maxThreadsToLoadObjects the maximum number of threads loading the entities of each type
+	 * @param maxBatchSizeToLoadObjects the maximum batch size used to load the entities
+	 * @return <tt>this</tt> for method chaining
+	 */
+	ExtendedMassIndexer adaptiveObjectLoading(int maxThreadsToLoadObjects, int maxBatchSizeToLoadObjects);
+
+}
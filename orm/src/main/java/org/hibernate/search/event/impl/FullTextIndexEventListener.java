@@ -127,13 +127,18 @@ public void onPostUpdate(PostUpdateEvent event) {
 
 		final Object entity = event.getEntity();
 		final AbstractDocumentBuilder docBuilder = getDocumentBuilder( entity );
-		if ( docBuilder != null && ( skipDirtyChecks || docBuilder.isDirty(
-				getDirtyPropertyNames(
-						event
-				)
-		) ) ) {
-			Serializable id = event.getId();
-			processWork( tenantIdentifier( event ), entity, id, WorkType.UPDATE, event, false );
+		if ( docBuilder == null ) {
+			return;
+		}
+		if ( skipDirtyChecks ) {
+			processWork( tenantIdentifier( event ), entity, event.getId(), WorkType.UPDATE, event, false );
+		}
+		else {
+			String[] dirtyPropertyNames = getDirtyPropertyNames( event );
+			if ( docBuilder.isDirty( dirtyPropertyNames ) ) {
+				// the changed properties let the engine skip the containing entities not depending on them
+				processUpdateWork( tenantIdentifier( event ), entity, event.getId(), event, dirtyPropertyNames );
+			}
 		}
 	}
 
@@ -232,6 +237,20 @@ public void addSynchronization(EventSource eventSource, Synchronization synchron
 
 	protected void processWork(String tenantIdentifier, Object entity, Serializable id, WorkType workType, AbstractEvent event, boolean identifierRollbackEnabled) {
 		Work work = new Work( tenantIdentifier, entity, id, workType, identifierRollbackEnabled );
+		performWork( work, event );
+	}
+
+	/**
+	 * Updates an entity of which only some properties changed.
+	 *
+	 * @param dirtyPropertyNames the names of the changed properties, or {@code null} if they are unknown
+	 */
+	protected void processUpdateWork(String tenantIdentifier, Object entity, Serializable id, AbstractEvent event, String[] dirtyPropertyNames) {
+		Work work = new Work( tenantIdentifier, entity, id, dirtyPropertyNames );
+		performWork( work, event );
+	}
+
+	private void performWork(Work work, AbstractEvent event) {
 		final EventSourceTransactionContext transactionContext = new EventSourceTransactionContext( event.getSession() );
 		extendedIntegrator.getWorker().performWork( work, transactionContext );
 	}
@@ -54,6 +54,7 @@
 import org.hibernate.search.jpa.FullTextQuery;
 import org.hibernate.search.query.DatabaseRetrievalMethod;
 import org.hibernate.search.query.ObjectLookupMethod;
+import org.hibernate.search.query.SearchCursor;
 import org.hibernate.search.query.engine.spi.FacetManager;
 import org.hibernate.search.spatial.Coordinates;
 import org.hibernate.transform.ResultTransformer;
@@ -131,6 +132,17 @@ public FullTextQuery setSpatialParameters(Coordinates center, String fieldName)
 		return this;
 	}
 
+	@Override
+	public FullTextQuery searchAfter(SearchCursor cursor) {
+		query.searchAfter( cursor );
+		return this;
+	}
+
+	@Override
+	public SearchCursor getSearchCursor() {
+		return query.getSearchCursor();
+	}
+
 	@Override
 	public FullTextFilter enableFullTextFilter(String name) {
 		return query.enableFullTextFilter( name );
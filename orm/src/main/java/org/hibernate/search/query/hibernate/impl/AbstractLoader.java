@@ -6,11 +6,14 @@
  */
 package org.hibernate.search.query.hibernate.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.hibernate.Session;
 import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
 import org.hibernate.search.query.engine.spi.EntityInfo;
+import org.hibernate.search.stat.QueryPhase;
 import org.hibernate.search.stat.spi.StatisticsImplementor;
 
 
@@ -36,7 +39,11 @@ public final Object load(EntityInfo entityInfo) {
 		}
 		Object loadedObject = executeLoad( entityInfo );
 		if ( takeTimings ) {
-			statisticsImplementor.objectLoadExecuted( 1, System.nanoTime() - startTime );
+			long time = System.nanoTime() - startTime;
+			statisticsImplementor.objectLoadExecuted( 1, time );
+			statisticsImplementor.queryPhaseExecuted(
+					QueryPhase.OBJECT_LOADING, Collections.<Class<?>>singletonList( entityInfo.getClazz() ), time
+			);
 		}
 		return loadedObject;
 	}
@@ -58,11 +65,23 @@ public List load(EntityInfo... entityInfos) {
 		List loadedObjects = executeLoad( entityInfos );
 
 		if ( takeTimings ) {
-			statisticsImplementor.objectLoadExecuted( loadedObjects.size(), System.nanoTime() - startTime );
+			long time = System.nanoTime() - startTime;
+			statisticsImplementor.objectLoadExecuted( loadedObjects.size(), time );
+			statisticsImplementor.queryPhaseExecuted( QueryPhase.OBJECT_LOADING, loadedTypes( entityInfos ), time );
 		}
 		return loadedObjects;
 	}
 
+	private static List<Class<?>> loadedTypes(EntityInfo... entityInfos) {
+		List<Class<?>> loadedTypes = new ArrayList<Class<?>>( 1 );
+		for ( EntityInfo entityInfo : entityInfos ) {
+			if ( !loadedTypes.contains( entityInfo.getClazz() ) ) {
+				loadedTypes.add( entityInfo.getClazz() );
+			}
+		}
+		return loadedTypes;
+	}
+
 	public abstract List executeLoad(EntityInfo... entityInfo);
 }
 
@@ -15,27 +15,45 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.hibernate.Criteria;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.annotations.common.reflection.XMember;
 import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.Disjunction;
 import org.hibernate.criterion.Restrictions;
+import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.search.cfg.spi.IdUniquenessResolver;
 import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
 import org.hibernate.search.engine.service.spi.ServiceManager;
 import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
 import org.hibernate.search.exception.AssertionFailure;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.query.engine.impl.EntityLoadingExecutor;
 import org.hibernate.search.query.engine.spi.EntityInfo;
 import org.hibernate.search.query.engine.spi.TimeoutManager;
 import org.hibernate.search.spi.InstanceInitializer;
 import org.hibernate.search.util.impl.ReflectionHelper;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
+import org.hibernate.type.Type;
 
 /**
  * Initialize object using one or several criteria queries.
+ * <p>
+ * When the entities belong to several id spaces, one query is needed per id space; the
+ * {@link #PARALLEL_INSTANCE} runs them concurrently, each one in its own stateless session
+ * of the same tenant, and then attaches the loaded entities to the session of the query.
  *
  * @author Emmanuel Bernard <emmanuel@hibernate.org>
  * @author Gunnar Morling
@@ -45,10 +63,15 @@ public class CriteriaObjectInitializer implements ObjectInitializer {
 	private static final Log log = LoggerFactory.make();
 	private static final int MAX_IN_CLAUSE = 500;
 
-	public static final CriteriaObjectInitializer INSTANCE = new CriteriaObjectInitializer();
+	public static final CriteriaObjectInitializer INSTANCE = new CriteriaObjectInitializer( false );
 
-	private CriteriaObjectInitializer() {
-		// use INSTANCE instead of constructor
+	public static final CriteriaObjectInitializer PARALLEL_INSTANCE = new CriteriaObjectInitializer( true );
+
+	private final boolean parallel;
+
+	private CriteriaObjectInitializer(boolean parallel) {
+		// use INSTANCE or PARALLEL_INSTANCE instead of constructor
+		this.parallel = parallel;
 	}
 
 	@Override
@@ -65,40 +88,166 @@ public void initializeObjects(EntityInfo[] entityInfos,
 			return;
 		}
 
-		List<Criteria> criterias = buildUpCriteria( entityInfos, objectInitializationContext );
+		Map<Class<?>, List<EntityInfo>> infosByIdSpace = groupInfosByIdSpace( entityInfos, objectInitializationContext );
+
+		if ( parallel && infosByIdSpace.size() > 1 ) {
+			initializeObjectsConcurrently( infosByIdSpace, idToObjectMap, objectInitializationContext );
+			return;
+		}
+
+		List<Criteria> criterias = buildUpCriteria( infosByIdSpace, objectInitializationContext );
 
 		for ( Criteria criteria : criterias ) {
 			setCriteriaTimeout( criteria, objectInitializationContext.getTimeoutManager() );
 
 			@SuppressWarnings("unchecked")
 			List<Object> queryResultList = criteria.list();
-			InstanceInitializer instanceInitializer = objectInitializationContext.getExtendedSearchIntegrator()
-					.getInstanceInitializer();
-			for ( Object o : queryResultList ) {
-				Class<?> loadedType = instanceInitializer.getClass( o );
-				Object unproxiedObject = instanceInitializer.unproxy( o );
-				DocumentBuilderIndexedEntity documentBuilder = getDocumentBuilder(
-						loadedType,
-						objectInitializationContext.getExtendedSearchIntegrator()
-						);
-				if ( documentBuilder == null ) {
-					// the query result can contain entities which are not indexed. This can for example happen if
-					// the targeted entity type is a superclass with indexed and un-indexed sub classes
-					// entities which don't have an document builder can be ignores (HF)
-					continue;
-				}
-				XMember idProperty = documentBuilder.getIdGetter();
-				Object id = ReflectionHelper.getMemberValue( unproxiedObject, idProperty );
-				EntityInfoLoadKey key = new EntityInfoLoadKey( loadedType, id );
-				Object previousValue = idToObjectMap.put( key, unproxiedObject );
-				if ( previousValue == null ) {
-					throw new AssertionFailure( "An entity got loaded even though it was not part of the EntityInfo list" );
+			addLoadedObjects( queryResultList, idToObjectMap, objectInitializationContext );
+		}
+	}
+
+	/**
+	 * Runs the query of each id space in its own stateless session, the query of the first id space
+	 * being run by the current thread and the others by the {@link EntityLoadingExecutor} of the integrator.
+	 */
+	private void initializeObjectsConcurrently(Map<Class<?>, List<EntityInfo>> infosByIdSpace,
+			LinkedHashMap<EntityInfoLoadKey, Object> idToObjectMap,
+			ObjectInitializationContext objectInitializationContext) {
+		if ( objectInitializationContext.getCriteria() != null ) {
+			log.givenCriteriaObjectCannotBeApplied();
+		}
+		Integer timeout = getCriteriaTimeout( objectInitializationContext.getTimeoutManager() );
+		SessionImplementor session = (SessionImplementor) objectInitializationContext.getSession();
+		SessionFactory sessionFactory = session.getFactory();
+		String tenantIdentifier = session.getTenantIdentifier();
+
+		List<IdSpaceLoader> loaders = new ArrayList<>( infosByIdSpace.size() );
+		for ( Entry<Class<?>, List<EntityInfo>> infosOfIdSpace : infosByIdSpace.entrySet() ) {
+			Criterion idListCriterion = getIdListCriterion( infosOfIdSpace.getValue(), objectInitializationContext );
+			loaders.add( new IdSpaceLoader( sessionFactory, tenantIdentifier, infosOfIdSpace.getKey(), idListCriterion, timeout ) );
+		}
+
+		EntityLoadingExecutor executor = objectInitializationContext.getExtendedSearchIntegrator().getEntityLoadingExecutor();
+		List<Future<List<Object>>> futures = new ArrayList<>( loaders.size() - 1 );
+		try {
+			for ( IdSpaceLoader loader : loaders.subList( 1, loaders.size() ) ) {
+				futures.add( executor.submit( loader ) );
+			}
+			attachAndAddLoadedObjects( loaders.get( 0 ).call(), idToObjectMap, objectInitializationContext );
+			for ( Future<List<Object>> future : futures ) {
+				attachAndAddLoadedObjects( future.get(), idToObjectMap, objectInitializationContext );
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SearchException( "Interrupted while loading entities", e );
+		}
+		catch (ExecutionException e) {
+			if ( e.getCause() instanceof RuntimeException ) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new SearchException( "Unable to load entities", e.getCause() );
+		}
+		finally {
+			// do not leave the loading of the other id spaces running on failure
+			for ( Future<List<Object>> future : futures ) {
+				future.cancel( true );
+			}
+		}
+	}
+
+	/**
+	 * Attaches the entities loaded by a stateless session to the session of the query, before adding them.
+	 */
+	private void attachAndAddLoadedObjects(List<Object> queryResultList, LinkedHashMap<EntityInfoLoadKey, Object> idToObjectMap,
+			ObjectInitializationContext objectInitializationContext) {
+		SessionImplementor session = (SessionImplementor) objectInitializationContext.getSession();
+		List<Object> attached = new ArrayList<>( queryResultList.size() );
+		for ( Object entity : queryResultList ) {
+			attached.add( attach( entity, session ) );
+		}
+		addLoadedObjects( attached, idToObjectMap, objectInitializationContext );
+	}
+
+	/**
+	 * Attaches a detached entity and the entities it references eagerly to the session, so that they are
+	 * managed as if they had been loaded by it. The entities the session already manages take precedence,
+	 * to preserve its identity guarantees.
+	 *
+	 * @return the instance of the entity managed by the session
+	 */
+	private Object attach(Object entity, SessionImplementor session) {
+		EntityPersister persister = session.getEntityPersister( null, entity );
+		Serializable id = persister.getIdentifier( entity, session );
+		PersistenceContext persistenceContext = session.getPersistenceContext();
+		Object managed = persistenceContext.getEntity( session.generateEntityKey( id, persister ) );
+		if ( managed != null ) {
+			return managed;
+		}
+		// LockOptions.NONE reassociates the entity and its collections without hitting the database
+		( (Session) session ).buildLockRequest( LockOptions.NONE ).lock( entity );
+
+		Object[] values = persister.getPropertyValues( entity );
+		Type[] types = persister.getPropertyTypes();
+		boolean replaced = false;
+		for ( int i = 0; i < values.length; i++ ) {
+			Object value = values[i];
+			if ( value instanceof HibernateProxy ) {
+				// lazy associations are bound to the closed stateless session otherwise
+				persistenceContext.reassociateIfUninitializedProxy( value );
+			}
+			else if ( value != null && types[i].isEntityType() ) {
+				Object attachedValue = attach( value, session );
+				if ( attachedValue != value ) {
+					values[i] = attachedValue;
+					replaced = true;
 				}
 			}
 		}
+		if ( replaced ) {
+			persister.setPropertyValues( entity, values );
+		}
+		return entity;
+	}
+
+	private void addLoadedObjects(List<Object> queryResultList, LinkedHashMap<EntityInfoLoadKey, Object> idToObjectMap,
+			ObjectInitializationContext objectInitializationContext) {
+		InstanceInitializer instanceInitializer = objectInitializationContext.getExtendedSearchIntegrator()
+				.getInstanceInitializer();
+		for ( Object o : queryResultList ) {
+			Class<?> loadedType = instanceInitializer.getClass( o );
+			Object unproxiedObject = instanceInitializer.unproxy( o );
+			DocumentBuilderIndexedEntity documentBuilder = getDocumentBuilder(
+					loadedType,
+					objectInitializationContext.getExtendedSearchIntegrator()
+					);
+			if ( documentBuilder == null ) {
+				// the query result can contain entities which are not indexed. This can for example happen if
+				// the targeted entity type is a superclass with indexed and un-indexed sub classes
+				// entities which don't have an document builder can be ignores (HF)
+				continue;
+			}
+			XMember idProperty = documentBuilder.getIdGetter();
+			Object id = ReflectionHelper.getMemberValue( unproxiedObject, idProperty );
+			EntityInfoLoadKey key = new EntityInfoLoadKey( loadedType, id );
+			Object previousValue = idToObjectMap.put( key, unproxiedObject );
+			if ( previousValue == null ) {
+				throw new AssertionFailure( "An entity got loaded even though it was not part of the EntityInfo list" );
+			}
+		}
 	}
 
 	private void setCriteriaTimeout(Criteria criteria, TimeoutManager timeoutManager) {
+		Integer timeout = getCriteriaTimeout( timeoutManager );
+		if ( timeout != null ) {
+			criteria.setTimeout( timeout );
+		}
+	}
+
+	/**
+	 * @return the timeout left in seconds, or {@code null} if the queries should not time out
+	 */
+	private Integer getCriteriaTimeout(TimeoutManager timeoutManager) {
 		// not best effort so fail fast
 		if ( timeoutManager.getType() != TimeoutManager.Type.LIMIT ) {
 			Long timeLeftInSecond = timeoutManager.getTimeoutLeftInSeconds();
@@ -106,9 +255,10 @@ private void setCriteriaTimeout(Criteria criteria, TimeoutManager timeoutManager
 				if ( timeLeftInSecond == 0 ) {
 					timeoutManager.reactOnQueryTimeoutExceptionWhileExtracting( null );
 				}
-				criteria.setTimeout( timeLeftInSecond.intValue() );
+				return timeLeftInSecond.intValue();
 			}
 		}
+		return null;
 	}
 
 	/**
@@ -116,9 +266,7 @@ private void setCriteriaTimeout(Criteria criteria, TimeoutManager timeoutManager
 	 * will contain one criteria object for each id space used by the given infos. A single criteria will be returned in
 	 * case all the entity infos originate from the same id space.
 	 */
-	private List<Criteria> buildUpCriteria(EntityInfo[] entityInfos, ObjectInitializationContext objectInitializationContext) {
-		Map<Class<?>, List<EntityInfo>> infosByIdSpace = groupInfosByIdSpace( entityInfos, objectInitializationContext );
-
+	private List<Criteria> buildUpCriteria(Map<Class<?>, List<EntityInfo>> infosByIdSpace, ObjectInitializationContext objectInitializationContext) {
 		// all entities from same id space -> single criteria
 		if ( infosByIdSpace.size() == 1 ) {
 			// no explicitly user specified criteria query, define one
@@ -229,6 +377,44 @@ private void addToIdSpace(Map<Class<?>, List<EntityInfo>> idSpaces, EntityInfo e
 		idSpaces.put( getRootEntityType( sessionFactory, entityInfo.getClazz() ), idSpace );
 	}
 
+	/**
+	 * Loads the entities of an id space in a stateless session of its own.
+	 */
+	private static final class IdSpaceLoader implements Callable<List<Object>> {
+
+		private final SessionFactory sessionFactory;
+		private final String tenantIdentifier;
+		private final Class<?> rootEntityType;
+		private final Criterion idListCriterion;
+		private final Integer timeout;
+
+		IdSpaceLoader(SessionFactory sessionFactory, String tenantIdentifier, Class<?> rootEntityType, Criterion idListCriterion, Integer timeout) {
+			this.sessionFactory = sessionFactory;
+			this.tenantIdentifier = tenantIdentifier;
+			this.rootEntityType = rootEntityType;
+			this.idListCriterion = idListCriterion;
+			this.timeout = timeout;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public List<Object> call() {
+			StatelessSession session = sessionFactory.withStatelessOptions()
+					.tenantIdentifier( tenantIdentifier )
+					.openStatelessSession();
+			try {
+				Criteria criteria = session.createCriteria( rootEntityType ).add( idListCriterion );
+				if ( timeout != null ) {
+					criteria.setTimeout( timeout );
+				}
+				return criteria.list();
+			}
+			finally {
+				session.close();
+			}
+		}
+	}
+
 	private DocumentBuilderIndexedEntity getDocumentBuilder(Class<?> entityType, ExtendedSearchIntegrator extendedIntegrator) {
 		Set<Class<?>> indexedEntities = extendedIntegrator.getIndexedTypesPolymorphic( new Class<?>[] { entityType } );
 		if ( indexedEntities.size() > 0 ) {
@@ -32,6 +32,8 @@
 import org.hibernate.search.hcore.util.impl.ContextHelper;
 import org.hibernate.search.query.DatabaseRetrievalMethod;
 import org.hibernate.search.query.ObjectLookupMethod;
+import org.hibernate.search.query.SearchCursor;
+import org.hibernate.search.query.engine.impl.EntityLoadingExecutor;
 import org.hibernate.search.query.engine.spi.DocumentExtractor;
 import org.hibernate.search.query.engine.spi.EntityInfo;
 import org.hibernate.search.query.engine.spi.FacetManager;
@@ -172,6 +174,16 @@ private Loader getProjectionLoader(ObjectLoaderBuilder loaderBuilder) {
 
 	@Override
 	public ScrollableResults scroll() {
+		return scroll( false );
+	}
+
+	@Override
+	public ScrollableResults scroll(ScrollMode scrollMode) {
+		// when scrolling forward only, the next results may be extracted from the index in the background
+		return scroll( scrollMode == ScrollMode.FORWARD_ONLY );
+	}
+
+	private ScrollableResults scroll(boolean forwardOnly) {
 		//keep the searcher open until the resultset is closed
 
 		hSearchQuery.getTimeoutManager().start();
@@ -179,20 +191,16 @@ public ScrollableResults scroll() {
 		//stop timeout manager, the iterator pace is in the user's hands
 		hSearchQuery.getTimeoutManager().stop();
 		Loader loader = getLoader();
+		EntityLoadingExecutor executor = hSearchQuery.getExtendedSearchIntegrator().getEntityLoadingExecutor();
 		return new ScrollableResultsImpl(
 				fetchSize,
 				documentExtractor,
 				loader,
-				this.session
+				this.session,
+				forwardOnly && executor.isScrollPrefetchEnabled() ? executor : null
 		);
 	}
 
-	@Override
-	public ScrollableResults scroll(ScrollMode scrollMode) {
-		//TODO think about this scrollmode
-		return scroll();
-	}
-
 	@Override
 	public List list() {
 		hSearchQuery.getTimeoutManager().start();
@@ -250,6 +258,17 @@ public FullTextQuery setSpatialParameters(double latitude, double longitude, Str
 		return this;
 	}
 
+	@Override
+	public FullTextQuery searchAfter(SearchCursor cursor) {
+		hSearchQuery.searchAfter( cursor );
+		return this;
+	}
+
+	@Override
+	public SearchCursor getSearchCursor() {
+		return hSearchQuery.getSearchCursor();
+	}
+
 	@Override
 	public FullTextQuery setFirstResult(int firstResult) {
 		hSearchQuery.firstResult( firstResult );
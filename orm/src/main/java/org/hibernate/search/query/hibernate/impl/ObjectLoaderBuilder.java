@@ -155,6 +155,9 @@ private ObjectInitializer getObjectInitializer() {
 		else if ( retrievalMethod == DatabaseRetrievalMethod.QUERY ) {
 			initializer = CriteriaObjectInitializer.INSTANCE;
 		}
+		else if ( retrievalMethod == DatabaseRetrievalMethod.PARALLEL_QUERY ) {
+			initializer = CriteriaObjectInitializer.PARALLEL_INSTANCE;
+		}
 		else {
 			throw new AssertionFailure( "Unknown " + DatabaseRetrievalMethod.class.getSimpleName() + "." + retrievalMethod );
 		}
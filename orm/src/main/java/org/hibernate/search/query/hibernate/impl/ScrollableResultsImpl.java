@@ -19,12 +19,17 @@
 import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.hibernate.search.util.logging.impl.Log;
 
 import org.hibernate.ScrollableResults;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.query.engine.impl.EntityLoadingExecutor;
 import org.hibernate.search.query.engine.spi.DocumentExtractor;
 import org.hibernate.search.query.engine.spi.EntityInfo;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
@@ -47,6 +52,13 @@
  * <li>last()</li>
  * <li>first()</li>
  * </ul>
+ * <p/>
+ * The rows are cached in a ring buffer holding a few loading windows, so that the memory used doesn't
+ * depend on the number of results. When the results are scrolled forward only, the {@code EntityInfo}s of
+ * the next loading window are extracted from the index in the background while the current window is
+ * consumed, using the executor shared by the queries of the SearchIntegrator. Only this Lucene extraction
+ * is prefetched: the Session is not thread-safe, so the entities are still loaded from the database
+ * synchronously, by the thread using the results.
  *
  * @see org.hibernate.Query
  *
@@ -58,6 +70,11 @@ public class ScrollableResultsImpl implements ScrollableResults {
 
 	private static final Log log = LoggerFactory.make();
 
+	/**
+	 * The minimum number of rows cached, whatever the fetch size
+	 */
+	private static final int MIN_CACHED_ROWS = 128;
+
 	private final int first;
 	private final int max;
 	private final int fetchSize;
@@ -66,57 +83,157 @@ public class ScrollableResultsImpl implements ScrollableResults {
 	private final SessionImplementor session;
 
 	/**
-	 * Caches result rows and EntityInfo from
-	 * <code>first</code> to <code>max</code>
+	 * Extracts the next loading window in the background, or {@code null} if the results are not scrolled forward only
+	 */
+	private final EntityLoadingExecutor prefetchExecutor;
+
+	/**
+	 * Caches result rows and EntityInfo in a ring buffer: position {@code x} is cached
+	 * in slot {@code (x - first) % resultsContext.length}.
 	 */
 	private final LoadedObject[] resultsContext;
 
+	/**
+	 * Guards the DocumentExtractor, shared with the prefetching thread
+	 */
+	private final Object extractorLock = new Object();
+	private boolean closed;
+
+	private WindowExtraction prefetchedWindow;
+
 	private int current;
 
 	public ScrollableResultsImpl(int fetchSize, DocumentExtractor extractor,
 			Loader loader, SessionImplementor sessionImplementor
+	) {
+		this( fetchSize, extractor, loader, sessionImplementor, null );
+	}
+
+	/**
+	 * @param prefetchExecutor the executor extracting the next loading window from the index in the background
+	 * when the results are scrolled forward only, {@code null} otherwise
+	 */
+	public ScrollableResultsImpl(int fetchSize, DocumentExtractor extractor,
+			Loader loader, SessionImplementor sessionImplementor, EntityLoadingExecutor prefetchExecutor
 	) {
 		this.loader = loader;
 		this.documentExtractor = extractor;
 		this.fetchSize = fetchSize;
 		this.session = sessionImplementor;
+		this.prefetchExecutor = prefetchExecutor;
 		this.first = extractor.getFirstIndex();
 		this.max = extractor.getMaxIndex();
 		int size = Math.max( max - first + 1, 0 );
-		this.resultsContext = new LoadedObject[size];
+		// a loading window spans up to 2 * fetchSize - 1 rows when scrolling in both directions
+		this.resultsContext = new LoadedObject[(int) Math.min( size, Math.max( 2L * fetchSize, MIN_CACHED_ROWS ) )];
 		beforeFirst();
 	}
 
 	private LoadedObject ensureCurrentLoaded() {
-		LoadedObject currentCacheRef = resultsContext[current - first];
+		LoadedObject currentCacheRef = getCached( current );
 		if ( currentCacheRef != null ) {
 			return currentCacheRef;
 		}
-		// the loading window is optimized for scrolling in both directions:
-		int windowStop = Math.min( max + 1 , current + fetchSize );
-		int windowStart = Math.max( first, current - fetchSize + 1 );
+		final int windowStop = Math.min( max + 1 , current + fetchSize );
+		// the loading window is optimized for scrolling in both directions, unless scrolling forward only:
+		final int windowStart = prefetchExecutor != null ? current : Math.max( first, current - fetchSize + 1 );
+		final EntityInfo[] prefetched = takePrefetchedWindow( windowStart );
 		List<EntityInfo> entityInfosToLoad = new ArrayList<EntityInfo>( fetchSize );
 		int sizeToLoad = 0;
 		for ( int x = windowStart; x < windowStop; x++ ) {
-			int arrayIdx = x - first;
-			LoadedObject lo = resultsContext[arrayIdx];
+			LoadedObject lo = getCached( x );
 			if ( lo == null ) {
-				lo = new LoadedObject();
+				lo = new LoadedObject( x );
+				if ( prefetched != null && x - windowStart < prefetched.length ) {
+					lo.setEntityInfo( prefetched[x - windowStart] );
+				}
 				// makes hard references and extract EntityInfos:
 				entityInfosToLoad.add( lo.getEntityInfo( x ) );
-				resultsContext[arrayIdx] = lo;
+				resultsContext[slot( x )] = lo;
 				sizeToLoad++;
 				if ( sizeToLoad >= fetchSize ) {
 					break;
 				}
 			}
 		}
+		if ( prefetchExecutor != null && windowStop <= max ) {
+			prefetchWindow( windowStop, Math.min( max + 1, windowStop + fetchSize ) );
+		}
 		//preload efficiently by batches:
 		if ( sizeToLoad > 1 ) {
 			loader.load( entityInfosToLoad.toArray( new EntityInfo[sizeToLoad] ) );
 			//(no references stored at this point: they still need to be loaded one by one to inject null results)
 		}
-		return resultsContext[ current - first ];
+		return getCached( current );
+	}
+
+	private int slot(int x) {
+		return ( x - first ) % resultsContext.length;
+	}
+
+	/**
+	 * @return the cached row at the given position, or {@code null} if it's not cached
+	 */
+	private LoadedObject getCached(int x) {
+		LoadedObject lo = resultsContext[slot( x )];
+		return lo != null && lo.position == x ? lo : null;
+	}
+
+	/**
+	 * Starts extracting the EntityInfos of the next loading window in the background.
+	 */
+	private void prefetchWindow(int windowStart, int windowStop) {
+		final WindowExtraction extraction = new WindowExtraction( windowStart, windowStop );
+		extraction.future = prefetchExecutor.submit( extraction );
+		prefetchedWindow = extraction;
+	}
+
+	/**
+	 * @return the EntityInfos extracted in the background starting at the given position, or {@code null}
+	 * if they are not available
+	 */
+	private EntityInfo[] takePrefetchedWindow(int windowStart) {
+		if ( prefetchedWindow == null ) {
+			return null;
+		}
+		final WindowExtraction window = prefetchedWindow;
+		prefetchedWindow = null;
+		if ( window.windowStart != windowStart || window.started.compareAndSet( false, true ) ) {
+			// the cursor moved elsewhere, or the shared executor didn't start the extraction yet:
+			// extracting in the calling thread is faster than waiting behind the queued tasks
+			window.abandon();
+			return null;
+		}
+		return getPrefetched( window.future );
+	}
+
+	private EntityInfo[] getPrefetched(Future<EntityInfo[]> future) {
+		try {
+			return future.get();
+		}
+		catch (ExecutionException e) {
+			// extract the EntityInfos again to raise the failure in the thread using the results
+			log.debugf( e.getCause(), "Unable to prefetch the next results" );
+			return null;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	private EntityInfo extract(int x) {
+		synchronized ( extractorLock ) {
+			if ( closed ) {
+				throw new SearchException( "Unable to read Lucene topDocs[" + x + "]: the results are closed" );
+			}
+			try {
+				return documentExtractor.extract( x );
+			}
+			catch (IOException e) {
+				throw new SearchException( "Unable to read Lucene topDocs[" + x + "]", e );
+			}
+		}
 	}
 
 	/**
@@ -208,11 +325,18 @@ public boolean isLast() {
 
 	@Override
 	public void close() {
-		try {
-			documentExtractor.close();
+		if ( prefetchedWindow != null ) {
+			prefetchedWindow.abandon();
+			prefetchedWindow = null;
 		}
-		catch (SearchException e) {
-			log.unableToCloseSearcherInScrollableResult( e );
+		synchronized ( extractorLock ) {
+			closed = true;
+			try {
+				documentExtractor.close();
+			}
+			catch (SearchException e) {
+				log.unableToCloseSearcherInScrollableResult( e );
+			}
 		}
 	}
 
@@ -441,9 +565,14 @@ public boolean setRowNumber(int rowNumber) {
 
 	private final class LoadedObject {
 
+		private final int position;
 		private Reference<Object[]> entity; //never==null but Reference.get can return null
 		private Reference<EntityInfo> einfo; //never==null but Reference.get can return null
 
+		private LoadedObject(int position) {
+			this.position = position;
+		}
+
 		/**
 		 * Gets the objects from cache if it is available and attached to session,
 		 * or reload them and update the cache entry.
@@ -475,17 +604,54 @@ private Object[] getManagedResult(int x) {
 		private EntityInfo getEntityInfo(int x) {
 			EntityInfo entityInfo = einfo == null ? null : einfo.get();
 			if ( entityInfo == null ) {
-				try {
-					entityInfo = documentExtractor.extract( x );
-				}
-				catch (IOException e) {
-					throw new SearchException( "Unable to read Lucene topDocs[" + x + "]", e );
-				}
-				einfo = new SoftReference<EntityInfo>( entityInfo );
+				entityInfo = extract( x );
+				setEntityInfo( entityInfo );
 			}
 			return entityInfo;
 		}
 
+		private void setEntityInfo(EntityInfo entityInfo) {
+			einfo = new SoftReference<EntityInfo>( entityInfo );
+		}
+
+	}
+
+	/**
+	 * Extracts the EntityInfos of a loading window.
+	 */
+	private final class WindowExtraction implements Callable<EntityInfo[]> {
+
+		private final int windowStart;
+		private final int windowStop;
+
+		/**
+		 * Set by the first of the prefetching thread and the thread using the results
+		 */
+		private final AtomicBoolean started = new AtomicBoolean();
+		private Future<EntityInfo[]> future;
+
+		private WindowExtraction(int windowStart, int windowStop) {
+			this.windowStart = windowStart;
+			this.windowStop = windowStop;
+		}
+
+		@Override
+		public EntityInfo[] call() {
+			if ( !started.compareAndSet( false, true ) ) {
+				// abandoned by the thread using the results
+				return null;
+			}
+			EntityInfo[] entityInfos = new EntityInfo[windowStop - windowStart];
+			for ( int x = windowStart; x < windowStop; x++ ) {
+				entityInfos[x - windowStart] = extract( x );
+			}
+			return entityInfos;
+		}
+
+		void abandon() {
+			started.set( true );
+			future.cancel( false );
+		}
 	}
 
 	private boolean areAllEntitiesManaged(Object[] objects,	EntityInfo entityInfo) {
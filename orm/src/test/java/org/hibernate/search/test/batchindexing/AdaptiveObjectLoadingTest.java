@@ -0,0 +1,123 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.batchindexing;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.batchindexing.impl.CountingProgressMonitor;
+import org.hibernate.search.batchindexing.impl.ObjectLoadingController;
+import org.hibernate.search.batchindexing.impl.ProducerConsumerQueue;
+import org.hibernate.search.batchindexing.spi.ExtendedMassIndexer;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.test.SearchTestBase;
+import org.hibernate.search.test.util.progessmonitor.AssertingMassIndexerProgressMonitor;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Verifies the MassIndexer indexes all entities when the loading of entities adapts to the
+ * throughput of the pipeline, and that loader threads are added while identifiers wait in the queue.
+ */
+public class AdaptiveObjectLoadingTest extends SearchTestBase {
+
+	private static final int BOOKS = 150;
+
+	@Test
+	public void allEntitiesAreIndexed() throws InterruptedException {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Nation italy = new Nation( "Italy", "IT" );
+		session.persist( italy );
+		for ( int i = 0; i < BOOKS; i++ ) {
+			Book book = new Book();
+			book.setTitle( "Book " + i );
+			book.setFirstPublishedIn( italy );
+			session.persist( book );
+		}
+		transaction.commit();
+		session.close();
+
+		AssertingMassIndexerProgressMonitor monitor = new AssertingMassIndexerProgressMonitor( BOOKS, BOOKS );
+		session = openSession();
+		FullTextSession fullTextSession = Search.getFullTextSession( session );
+		( (ExtendedMassIndexer) fullTextSession.createIndexer( Book.class ) )
+				.adaptiveObjectLoading( 4, 20 )
+				.threadsToLoadObjects( 1 )
+				.batchSizeToLoadObjects( 2 )
+				.progressMonitor( monitor )
+				.startAndWait();
+		monitor.assertExpectedProgressMade();
+		fullTextSession.beginTransaction();
+		int size = fullTextSession.createFullTextQuery( new MatchAllDocsQuery(), Book.class ).getResultSize();
+		fullTextSession.getTransaction().commit();
+		fullTextSession.close();
+
+		Assert.assertEquals( BOOKS, size );
+	}
+
+	@Test
+	public void loadersAreAddedWhileIdentifiersWait() throws InterruptedException {
+		final ProducerConsumerQueue<Object> queue = new ProducerConsumerQueue<Object>( 2, 1 );
+		queue.put( new Object() );
+		queue.put( new Object() );
+		final CountingProgressMonitor monitor = new CountingProgressMonitor( new AssertingMassIndexerProgressMonitor( 0, 0 ) );
+		final ObjectLoadingController controller = new ObjectLoadingController( Book.class, 1, 3, 10, 20, monitor );
+		final AtomicInteger startedLoaders = new AtomicInteger();
+		final CountDownLatch release = new CountDownLatch( 1 );
+
+		controller.start( queue, new Runnable() {
+			@Override
+			public void run() {
+				startedLoaders.incrementAndGet();
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				finally {
+					controller.loaderFinished();
+				}
+			}
+		} );
+		try {
+			long deadline = System.currentTimeMillis() + 10000;
+			while ( ( startedLoaders.get() < 3 || controller.getBatchSize() == 10 ) && System.currentTimeMillis() < deadline ) {
+				Thread.sleep( 50 );
+			}
+			Assert.assertEquals( 3, startedLoaders.get() );
+			Assert.assertTrue( controller.getBatchSize() > 10 );
+			Assert.assertTrue( controller.getBatchSize() <= 20 );
+		}
+		finally {
+			release.countDown();
+		}
+		controller.awaitLoaders();
+		controller.stop( false );
+	}
+
+	@Override
+	public void configure(Map<String,Object> cfg) {
+		cfg.put( Environment.INDEXING_STRATEGY, "manual" );
+	}
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class[] {
+				Book.class,
+				Nation.class
+		};
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.batchindexing;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.batchindexing.impl.IdentifierRangePartitioner;
+import org.hibernate.search.batchindexing.spi.ExtendedMassIndexer;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.test.SearchTestBase;
+import org.hibernate.search.test.util.progessmonitor.AssertingMassIndexerProgressMonitor;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies the MassIndexer indexes all entities when their identifiers are split
+ * in ranges loaded in parallel, for both integral and non-integral identifiers.
+ */
+public class IdentifierLoadingPartitionsTest extends SearchTestBase {
+
+	private static final int BOOKS = 37;
+	private static final int LABELS = 23;
+	private static final int PARTITIONS = 4;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Nation italy = new Nation( "Italy", "IT" );
+		session.persist( italy );
+		for ( int i = 0; i < BOOKS; i++ ) {
+			Book book = new Book();
+			book.setTitle( "Book " + i );
+			book.setFirstPublishedIn( italy );
+			session.persist( book );
+		}
+		for ( int i = 0; i < LABELS; i++ ) {
+			Label label = new Label();
+			label.code = "L" + i;
+			label.name = "Label " + i;
+			session.persist( label );
+		}
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void rangesAreComputed() throws Exception {
+		Assert.assertEquals( PARTITIONS, computeRanges( Book.class, PARTITIONS ) );
+		Assert.assertEquals( PARTITIONS, computeRanges( Label.class, PARTITIONS ) );
+		// no more ranges than entities
+		Assert.assertEquals( LABELS, computeRanges( Label.class, LABELS * 2 ) );
+	}
+
+	@Test
+	public void allEntitiesAreIndexed() throws InterruptedException {
+		Assert.assertEquals( 0, countEntitiesInIndex( Book.class ) );
+		Assert.assertEquals( 0, countEntitiesInIndex( Label.class ) );
+
+		final AtomicInteger partitionsReported = new AtomicInteger();
+		Session session = openSession();
+		FullTextSession fullTextSession = Search.getFullTextSession( session );
+		( (ExtendedMassIndexer) fullTextSession.createIndexer( Book.class, Label.class ) )
+				.idLoadingPartitions( PARTITIONS )
+				.progressMonitor( new AssertingMassIndexerProgressMonitor( BOOKS + LABELS, BOOKS + LABELS ) {
+					@Override
+					public void addToTotalCount(long count) {
+						partitionsReported.incrementAndGet();
+						super.addToTotalCount( count );
+					}
+				} )
+				.startAndWait();
+		session.close();
+
+		Assert.assertEquals( 2 * PARTITIONS, partitionsReported.get() );
+		Assert.assertEquals( BOOKS, countEntitiesInIndex( Book.class ) );
+		Assert.assertEquals( LABELS, countEntitiesInIndex( Label.class ) );
+	}
+
+	private int computeRanges(Class<?> entityType, int partitions) throws Exception {
+		IdentifierRangePartitioner partitioner = new IdentifierRangePartitioner( getSessionFactory(), entityType, partitions, null );
+		partitioner.run( null );
+		return partitioner.getRanges().size();
+	}
+
+	private int countEntitiesInIndex(Class<?> entityType) {
+		Session session = openSession();
+		FullTextSession fullTextSession = Search.getFullTextSession( session );
+		fullTextSession.beginTransaction();
+		int size = fullTextSession.createFullTextQuery( new MatchAllDocsQuery(), entityType ).getResultSize();
+		fullTextSession.getTransaction().commit();
+		fullTextSession.close();
+		return size;
+	}
+
+	@Override
+	public void configure(Map<String,Object> cfg) {
+		cfg.put( Environment.INDEXING_STRATEGY, "manual" );
+	}
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class[] {
+				Book.class,
+				Nation.class,
+				Label.class
+		};
+	}
+
+	@Indexed
+	@Entity
+	@Table(name = "PARTITIONEDLABEL")
+	public static class Label {
+
+		@Id
+		String code;
+
+		@Field
+		String name;
+	}
+
+}
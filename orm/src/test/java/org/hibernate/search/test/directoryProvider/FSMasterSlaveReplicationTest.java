@@ -0,0 +1,244 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.directoryProvider;
+
+import static org.hibernate.search.test.directoryProvider.FSSlaveAndMasterDPTest.masterCopy;
+import static org.hibernate.search.test.directoryProvider.FSSlaveAndMasterDPTest.masterMain;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.TermQuery;
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
+import org.hibernate.search.spi.SearchIntegrator;
+import org.hibernate.search.test.util.FullTextSessionBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies the incremental replication of the master index to the slaves, when the slaves copy the
+ * commits published by the master late or fail to copy them.
+ */
+public class FSMasterSlaveReplicationTest {
+
+	private static final String INDEX_NAME = SnowStorm.class.getName();
+	private static final long MAX_WAIT_MS = 10000;
+
+	private FullTextSessionBuilder master;
+	private FullTextSessionBuilder slave;
+	private File root;
+
+	@Before
+	public void setUp() throws Exception {
+		root = FSSlaveAndMasterDPTest.prepareDirectories( getClass().getSimpleName() );
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if ( slave != null ) {
+			slave.close();
+		}
+		if ( master != null ) {
+			master.close();
+		}
+		FSSlaveAndMasterDPTest.cleanupDirectories( root );
+	}
+
+	@Test
+	public void slaveCopiesThePublishedCommits() throws Exception {
+		master = createMasterNode( "3600" );
+		slave = createSlaveNode();
+		assertEquals( 0, countOnSlave( "dallas" ) );
+
+		long generation = publishedGeneration();
+		storeSnowStorm( "Dallas" );
+		awaitPublicationAfter( generation );
+		slaveDirectoryProvider().triggerCopy();
+		assertEquals( 1, countOnSlave( "dallas" ) );
+
+		generation = publishedGeneration();
+		storeSnowStorm( "Chennai" );
+		awaitPublicationAfter( generation );
+		slaveDirectoryProvider().triggerCopy();
+		assertEquals( 1, countOnSlave( "dallas" ) );
+		assertEquals( 1, countOnSlave( "chennai" ) );
+	}
+
+	@Test
+	public void masterRetainsTheFilesOfCommitsUntilTheyExpire() throws Exception {
+		master = createMasterNode( "3600" );
+		Set<String> firstCommitFiles = publishedFileNames();
+		for ( String location : new String[] { "Dallas", "Chennai", "Melbourne" } ) {
+			long generation = publishedGeneration();
+			storeSnowStorm( location );
+			awaitPublicationAfter( generation );
+		}
+		// a lagging slave still copying the first commit finds all its files
+		assertTrue( sourceFileNames().containsAll( firstCommitFiles ) );
+		master.close();
+
+		master = createMasterNode( "0" );
+		long generation = publishedGeneration();
+		storeSnowStorm( "Paris" );
+		awaitPublicationAfter( generation );
+		Set<String> unretained = new HashSet<String>( sourceFileNames() );
+		unretained.removeAll( publishedFileNames() );
+		assertEquals( "Only the files of the published commit should be left: " + unretained,
+				Collections.singleton( "replication.manifest" ), unretained );
+	}
+
+	@Test
+	public void slaveKeepsItsCommitWhenTheCopyFails() throws Exception {
+		master = createMasterNode( "3600" );
+		slave = createSlaveNode();
+		long generation = publishedGeneration();
+		storeSnowStorm( "Dallas" );
+		awaitPublicationAfter( generation );
+		slaveDirectoryProvider().triggerCopy();
+		Set<String> installedFiles = slaveFileNames();
+
+		generation = publishedGeneration();
+		storeSnowStorm( "Chennai" );
+		awaitPublicationAfter( generation );
+		// a file of the new commit disappears while the slave is copying it
+		Set<String> missingFiles = publishedFileNames();
+		missingFiles.removeAll( installedFiles );
+		String missingFile = null;
+		for ( String fileName : missingFiles ) {
+			if ( !fileName.startsWith( "segments" ) ) {
+				missingFile = fileName;
+			}
+		}
+		assertTrue( new File( sourceDirectory(), missingFile ).delete() );
+		slaveDirectoryProvider().triggerCopy();
+
+		assertEquals( "The slave should have kept its files only", installedFiles, slaveFileNames() );
+		assertEquals( 1, countOnSlave( "dallas" ) );
+		assertEquals( 0, countOnSlave( "chennai" ) );
+
+		// the master restores the file with its next commit
+		generation = publishedGeneration();
+		storeSnowStorm( "Melbourne" );
+		awaitPublicationAfter( generation );
+		slaveDirectoryProvider().triggerCopy();
+		assertEquals( 1, countOnSlave( "chennai" ) );
+		assertEquals( 1, countOnSlave( "melbourne" ) );
+	}
+
+	private void storeSnowStorm(String location) {
+		FullTextSession session = master.openFullTextSession();
+		Transaction tx = session.beginTransaction();
+		SnowStorm snowStorm = new SnowStorm();
+		snowStorm.setDate( new Date() );
+		snowStorm.setLocation( location );
+		session.persist( snowStorm );
+		tx.commit();
+		session.close();
+	}
+
+	private int countOnSlave(String location) {
+		FullTextSession session = slave.openFullTextSession();
+		try {
+			return session.createFullTextQuery( new TermQuery( new Term( "location", location ) ), SnowStorm.class ).getResultSize();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	private void awaitPublicationAfter(long generation) throws Exception {
+		long deadline = System.currentTimeMillis() + MAX_WAIT_MS;
+		while ( publishedGeneration() == generation && System.currentTimeMillis() < deadline ) {
+			Thread.sleep( 50 );
+		}
+		assertFalse( "The master didn't publish a new commit", publishedGeneration() == generation );
+	}
+
+	private long publishedGeneration() throws IOException {
+		return Long.parseLong( readManifest().getProperty( "generation" ) );
+	}
+
+	private Set<String> publishedFileNames() throws IOException {
+		Set<String> fileNames = new HashSet<String>();
+		for ( String key : readManifest().stringPropertyNames() ) {
+			if ( key.startsWith( "file." ) ) {
+				fileNames.add( key.substring( "file.".length() ) );
+			}
+		}
+		return fileNames;
+	}
+
+	private Properties readManifest() throws IOException {
+		Properties manifest = new Properties();
+		try ( InputStream in = new FileInputStream( new File( sourceDirectory(), "replication.manifest" ) ) ) {
+			manifest.load( in );
+		}
+		return manifest;
+	}
+
+	private Set<String> sourceFileNames() {
+		return fileNames( sourceDirectory() );
+	}
+
+	private Set<String> slaveFileNames() {
+		Set<String> fileNames = fileNames( new File( new File( root, "slave" ), INDEX_NAME ) );
+		fileNames.remove( "write.lock" );
+		return fileNames;
+	}
+
+	private static Set<String> fileNames(File directory) {
+		return new HashSet<String>( Arrays.asList( directory.list() ) );
+	}
+
+	private File sourceDirectory() {
+		return new File( new File( root.getAbsolutePath() + masterCopy ), INDEX_NAME );
+	}
+
+	private FSSlaveDirectoryProviderTestingExtension slaveDirectoryProvider() {
+		SearchIntegrator integrator = slave.getSearchFactory().unwrap( SearchIntegrator.class );
+		DirectoryBasedIndexManager indexManager = (DirectoryBasedIndexManager) integrator.getIndexBinding( SnowStorm.class )
+				.getIndexManagers()[0];
+		return (FSSlaveDirectoryProviderTestingExtension) indexManager.getDirectoryProvider();
+	}
+
+	private FullTextSessionBuilder createMasterNode(String retentionPeriod) {
+		return new FullTextSessionBuilder()
+			.addAnnotatedClass( SnowStorm.class )
+			.setProperty( "hibernate.search.default.sourceBase", root.getAbsolutePath() + masterCopy )
+			.setProperty( "hibernate.search.default.indexBase", root.getAbsolutePath() + masterMain )
+			.setProperty( "hibernate.search.default.directory_provider", "filesystem-master" )
+			.setProperty( "hibernate.search.default.refresh", "1" )
+			.setProperty( "hibernate.search.default.retention_period", retentionPeriod )
+			.build();
+	}
+
+	private FullTextSessionBuilder createSlaveNode() {
+		// the copies are triggered by the test rather than by a timer
+		return new FullTextSessionBuilder()
+			.addAnnotatedClass( SnowStorm.class )
+			.setProperty( "hibernate.search.default.sourceBase", root.getAbsolutePath() + masterCopy )
+			.setProperty( "hibernate.search.default.indexBase", root.getAbsolutePath() + "/slave" )
+			.setProperty( "hibernate.search.default.directory_provider", FSSlaveDirectoryProviderTestingExtension.class.getName() )
+			.build();
+	}
+
+}
@@ -31,4 +31,8 @@ void triggerTimerAction() {
 		super.attemptInitializeAndStart();
 	}
 
+	void triggerCopy() {
+		super.copyPublishedCommit();
+	}
+
 }
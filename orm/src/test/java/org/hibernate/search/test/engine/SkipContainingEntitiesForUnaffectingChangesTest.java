@@ -0,0 +1,178 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.engine;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.Table;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.annotations.ContainedIn;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.IndexedEmbedded;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.test.SearchTestBase;
+import org.hibernate.search.testsupport.backend.LeakingLuceneBackend;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Verifies the entities containing an updated entity through {@code @ContainedIn} are only
+ * reindexed when the changed properties are embedded in their documents.
+ * Both entities share an index, so that all the changes of a transaction are applied as a single queue.
+ */
+public class SkipContainingEntitiesForUnaffectingChangesTest extends SearchTestBase {
+
+	@Test
+	public void containingEntityIsOnlyReindexedWhenEmbeddedPropertiesChange() {
+		FullTextSession fullTextSession = Search.getFullTextSession( openSession() );
+		Transaction tx = fullTextSession.beginTransaction();
+		Writer writer = new Writer();
+		writer.name = "Montaigne";
+		fullTextSession.persist( writer );
+		Essay essay = new Essay();
+		essay.title = "Of idleness";
+		essay.summary = "On the restlessness of the idle mind";
+		essay.writer = writer;
+		writer.essays.add( essay );
+		fullTextSession.persist( essay );
+		tx.commit();
+		LeakingLuceneBackend.reset();
+		fullTextSession.clear();
+
+		// the summary is indexed with the essay, but not embedded in the writer
+		tx = fullTextSession.beginTransaction();
+		essay = (Essay) fullTextSession.get( Essay.class, essay.id );
+		essay.summary = "On the wandering of the idle mind";
+		tx.commit();
+		Assert.assertEquals( 1, LeakingLuceneBackend.getLastProcessedQueue().size() );
+		assertProcessedTypes( Essay.class );
+		LeakingLuceneBackend.reset();
+		fullTextSession.clear();
+
+		// the title is embedded in the writer
+		tx = fullTextSession.beginTransaction();
+		essay = (Essay) fullTextSession.get( Essay.class, essay.id );
+		essay.title = "Of idleness and solitude";
+		tx.commit();
+		assertProcessedTypes( Essay.class, Writer.class );
+		LeakingLuceneBackend.reset();
+		fullTextSession.close();
+	}
+
+	@Test
+	public void newContainingEntityIsReindexedWhenTheAssociationChanges() {
+		FullTextSession fullTextSession = Search.getFullTextSession( openSession() );
+		Transaction tx = fullTextSession.beginTransaction();
+		Writer montaigne = new Writer();
+		montaigne.name = "Montaigne";
+		fullTextSession.persist( montaigne );
+		Writer pascal = new Writer();
+		pascal.name = "Pascal";
+		fullTextSession.persist( pascal );
+		Essay essay = new Essay();
+		essay.title = "Diversion";
+		essay.summary = "On the distractions of the mind";
+		essay.writer = montaigne;
+		montaigne.essays.add( essay );
+		fullTextSession.persist( essay );
+		tx.commit();
+		fullTextSession.clear();
+
+		// only the owning side of the association changes, so that no collection event reindexes the new writer
+		tx = fullTextSession.beginTransaction();
+		essay = (Essay) fullTextSession.get( Essay.class, essay.id );
+		pascal = (Writer) fullTextSession.get( Writer.class, pascal.id );
+		essay.writer = pascal;
+		tx.commit();
+		fullTextSession.clear();
+
+		tx = fullTextSession.beginTransaction();
+		Query query = new TermQuery( new Term( "essays.title", "diversion" ) );
+		List<?> writers = fullTextSession.createFullTextQuery( query, Writer.class ).list();
+		Set<String> names = new HashSet<String>();
+		for ( Object writer : writers ) {
+			names.add( ( (Writer) writer ).name );
+		}
+		Assert.assertTrue( "The new writer should embed the essay: " + names, names.contains( "Pascal" ) );
+		tx.commit();
+		fullTextSession.close();
+	}
+
+	private void assertProcessedTypes(Class<?>... expectedTypes) {
+		Set<Class<?>> processedTypes = new HashSet<Class<?>>();
+		for ( LuceneWork work : LeakingLuceneBackend.getLastProcessedQueue() ) {
+			processedTypes.add( work.getEntityClass() );
+		}
+		Set<Class<?>> expected = new HashSet<Class<?>>();
+		for ( Class<?> expectedType : expectedTypes ) {
+			expected.add( expectedType );
+		}
+		Assert.assertEquals( expected, processedTypes );
+	}
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Writer.class, Essay.class };
+	}
+
+	@Override
+	public void configure(Map<String,Object> cfg) {
+		cfg.put( "hibernate.search.default.worker.backend", LeakingLuceneBackend.class.getName() );
+	}
+
+	@Indexed(index = "essays")
+	@Entity
+	@Table(name = "ESSAYWRITER")
+	public static class Writer {
+
+		@Id
+		@GeneratedValue
+		Long id;
+
+		@Field
+		String name;
+
+		@IndexedEmbedded(includePaths = "title")
+		@OneToMany(mappedBy = "writer")
+		Set<Essay> essays = new HashSet<Essay>();
+	}
+
+	@Indexed(index = "essays")
+	@Entity
+	@Table(name = "ESSAY")
+	public static class Essay {
+
+		@Id
+		@GeneratedValue
+		Long id;
+
+		@Field
+		String title;
+
+		@Field
+		String summary;
+
+		@ContainedIn
+		@ManyToOne
+		Writer writer;
+	}
+}
@@ -8,6 +8,7 @@
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -22,6 +23,7 @@
 
 import org.apache.lucene.search.DocIdSet;
 import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.DocIdBitSet;
 import org.apache.lucene.util.FixedBitSet;
 import org.apache.lucene.util.OpenBitSet;
@@ -335,6 +337,45 @@ public void testEmptyDocIdSet() throws Exception {
 		assertTrue( docIdSetsEqual( expected, actual ) );
 	}
 
+	@Test
+	public void testWithMixedBitSetsAndIterators() throws IOException {
+		FixedBitSet idSet1 = new FixedBitSet( 100 );
+		idSet1.or( integersToDocIdSet( 0, 5, 6, 10, 70, 99 ).iterator() );
+		DocIdSet idSet2 = new OpenBitSet( new long[] { 1121, 64 }, 2 ); // bits 0, 5, 6, 10, 70
+		DocIdSet idSet3 = integersToDocIdSet( 5, 10, 70, 99 );
+		AndDocIdSet actual = createAndDocIdSet( idSet1, idSet2, idSet3 );
+
+		DocIdSet expected = integersToDocIdSet( 5, 10, 70 );
+		assertTrue( docIdSetsEqual( expected, actual ) );
+		Bits bits = actual.bits();
+		assertTrue( bits.get( 70 ) );
+		assertFalse( bits.get( 6 ) );
+	}
+
+	@Test
+	public void testBitsBeyondMaxDocAreIgnored() {
+		DocIdSet idSet1 = new OpenBitSet( new long[] { -1L }, 1 );
+		DocIdSet idSet2 = new OpenBitSet( new long[] { -1L }, 1 );
+		DocIdSet actual = new AndDocIdSet( Arrays.asList( idSet1, idSet2 ), 3 );
+
+		DocIdSet expected = integersToDocIdSet( 0, 1, 2 );
+		assertTrue( docIdSetsEqual( expected, actual ) );
+	}
+
+	@Test
+	public void testSparseIteratorsAreEvaluatedLazily() throws IOException {
+		DocIdSet idSet1 = integersToDocIdSet( 0, 5, 6, 10 );
+		DocIdSet idSet2 = integersToDocIdSet( 5, 6, 7 );
+		DocIdSet idSet3 = integersToDocIdSet( 1, 6, 10 );
+		DocIdSet actual = new AndDocIdSet( Arrays.asList( idSet1, idSet2, idSet3 ), 1000000 );
+
+		assertNull( actual.bits() );
+		DocIdSet expected = integersToDocIdSet( 6 );
+		// iterating several times needs to provide the same results
+		assertTrue( docIdSetsEqual( expected, actual ) );
+		assertTrue( docIdSetsEqual( expected, actual ) );
+	}
+
 	private AndDocIdSet createAndDocIdSet(DocIdSet... docIdSets) {
 		List<DocIdSet> list = new ArrayList<DocIdSet>();
 		list.addAll( Arrays.asList( docIdSets ) );
@@ -14,10 +14,12 @@
 import org.apache.lucene.search.Sort;
 import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.TermQuery;
+import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
 import org.hibernate.Transaction;
 import org.hibernate.search.FullTextQuery;
 import org.hibernate.search.FullTextSession;
+import org.hibernate.search.cfg.Environment;
 import org.hibernate.search.test.util.FullTextSessionBuilder;
 import org.junit.After;
 import org.junit.Before;
@@ -41,6 +43,7 @@ public void setUp() {
 			.addAnnotatedClass( AlternateBook.class )
 			.addAnnotatedClass( Employee.class )
 			.setProperty( "hibernate.default_batch_fetch_size", "10" )
+			.setProperty( Environment.QUERY_SCROLL_PREFETCH, "true" )
 			.build();
 		sess = builder.openFullTextSession();
 		Transaction tx = sess.beginTransaction();
@@ -93,6 +96,40 @@ public void testScrollingForward() {
 		tx.commit();
 	}
 
+	/**
+	 * Test forward only scrolling, prefetching the next results in the background
+	 */
+	@Test
+	public void testScrollingForwardOnly() {
+		Transaction tx = sess.beginTransaction();
+		TermQuery tq = new TermQuery( new Term( "summary", "number") );
+		Sort sort = new Sort( new SortField( "id", SortField.Type.STRING ) );
+		ScrollableResults scrollableResults = sess
+			.createFullTextQuery( tq, AlternateBook.class )
+			.setSort( sort )
+			.setFetchSize( 7 )
+			.setFirstResult( 3 )
+			.scroll( ScrollMode.FORWARD_ONLY );
+		int position = -1;
+		while ( scrollableResults.next() ) {
+			position++;
+			int bookId = position + 3;
+			assertEquals( position, scrollableResults.getRowNumber() );
+			AlternateBook book = (AlternateBook) scrollableResults.get()[0];
+			assertEquals( bookId, book.getId().intValue() );
+			assertEquals( "book about the number " + bookId, book.getSummary() );
+			assertTrue( sess.contains( book ) );
+			// skip some results, so that the prefetched ones are not always used
+			if ( position % 50 == 0 ) {
+				scrollableResults.scroll( 5 );
+				position += 5;
+			}
+		}
+		assertEquals( 320, position );
+		scrollableResults.close();
+		tx.commit();
+	}
+
 	/**
 	 * Verify inverse-order scrolling.
 	 * TODO to verify correct FetchSize behavior I've been debugging
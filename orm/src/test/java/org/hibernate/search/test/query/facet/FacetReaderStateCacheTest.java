@@ -0,0 +1,97 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.query.facet;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.search.Query;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.query.facet.Facet;
+import org.hibernate.search.query.facet.FacetSortOrder;
+import org.hibernate.search.query.facet.FacetingRequest;
+import org.hibernate.search.stat.Statistics;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Verifies the state needed for discrete faceting is reused across queries
+ * as long as the index doesn't change.
+ */
+public class FacetReaderStateCacheTest extends AbstractFacetTest {
+
+	private final String facetName = "colors";
+
+	@Test
+	public void testFacetReaderStateIsReusedUntilIndexChanges() throws Exception {
+		Statistics statistics = getExtendedSearchIntegrator().getStatistics();
+		statistics.clear();
+
+		assertFacetCounts( queryColors(), new int[] { 2, 1 } );
+		assertEquals( 1, statistics.getFacetReaderStateCacheMissCount() );
+		assertEquals( 0, statistics.getFacetReaderStateCacheHitCount() );
+
+		assertFacetCounts( queryColors(), new int[] { 2, 1 } );
+		assertEquals( 1, statistics.getFacetReaderStateCacheMissCount() );
+		assertEquals( 1, statistics.getFacetReaderStateCacheHitCount() );
+
+		tx.commit();
+		Transaction indexing = fullTextSession.beginTransaction();
+		fullTextSession.save( new Car( "Honda", "green", 2407 ) );
+		indexing.commit();
+		tx = fullTextSession.beginTransaction();
+
+		assertFacetCounts( queryColors(), new int[] { 2, 1, 1 } );
+		assertEquals( 2, statistics.getFacetReaderStateCacheMissCount() );
+		assertEquals( 1, statistics.getFacetReaderStateCacheHitCount() );
+		assertEquals( 1, getExtendedSearchIntegrator().getFacetReaderStateCache().size() );
+	}
+
+	private List<Facet> queryColors() {
+		FacetingRequest request = queryBuilder( Car.class ).facet()
+				.name( facetName )
+				.onField( "color" )
+				.discrete()
+				.orderedBy( FacetSortOrder.COUNT_DESC )
+				.createFacetingRequest();
+		Query luceneQuery = queryBuilder( Car.class )
+				.keyword()
+				.onField( "make" )
+				.matching( "Honda" )
+				.createQuery();
+		FullTextQuery query = fullTextSession.createFullTextQuery( luceneQuery, Car.class );
+		query.getFacetManager().enableFaceting( request );
+		return query.getFacetManager().getFacets( facetName );
+	}
+
+	@Override
+	public void loadTestData(Session session) {
+		Transaction tx = session.beginTransaction();
+		session.save( new Car( "Honda", "red", 2407 ) );
+		session.save( new Car( "Honda", "red", 3398 ) );
+		session.save( new Car( "Honda", "blue", 2407 ) );
+		session.save( new Car( "Toyota", "black", 2407 ) );
+		tx.commit();
+		session.clear();
+	}
+
+	@Override
+	public void configure(Map<String, Object> cfg) {
+		cfg.put( Environment.GENERATE_STATS, "true" );
+	}
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class[] {
+				Car.class
+		};
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.query.initandlookup;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Environment;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.query.DatabaseRetrievalMethod;
+import org.hibernate.search.query.ObjectLookupMethod;
+import org.hibernate.search.test.SearchTestBase;
+import org.hibernate.testing.cache.CachingRegionFactory;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Verifies entities of unrelated hierarchies are loaded concurrently with
+ * {@code DatabaseRetrievalMethod.PARALLEL_QUERY}, and managed by the session of the query.
+ */
+public class ParallelQueryRetrievalTest extends SearchTestBase {
+
+	@Test
+	public void testEntitiesOfSeveralIdSpacesAreLoaded() throws Exception {
+		Session session = openSession();
+		setData( session );
+
+		Transaction transaction = session.beginTransaction();
+		FullTextSession fullTextSession = Search.getFullTextSession( session );
+		FullTextQuery fullTextQuery = fullTextSession.createFullTextQuery( new MatchAllDocsQuery(), Kernel.class, StrictKernel.class )
+				.initializeObjectsWith( ObjectLookupMethod.SKIP, DatabaseRetrievalMethod.PARALLEL_QUERY );
+		List<?> list = fullTextQuery.list();
+		assertThat( list ).hasSize( 6 );
+
+		Set<String> codeNames = new HashSet<String>();
+		for ( Object entity : list ) {
+			assertThat( session.contains( entity ) ).as( "loaded entities are attached" ).isTrue();
+			codeNames.add( entity instanceof Kernel ? ( (Kernel) entity ).getCodeName() : ( (StrictKernel) entity ).getCodeName() );
+		}
+		assertThat( codeNames ).containsOnly( "coconut", "ballpark", "zinc", "strict coconut", "strict ballpark", "strict zinc" );
+
+		fullTextQuery = fullTextSession.createFullTextQuery( new MatchAllDocsQuery(), Kernel.class )
+				.initializeObjectsWith( ObjectLookupMethod.SKIP, DatabaseRetrievalMethod.PARALLEL_QUERY );
+		assertThat( fullTextQuery.list() ).hasSize( 3 );
+		transaction.commit();
+
+		clearData( session );
+		session.close();
+	}
+
+	@Test
+	public void testEntitiesManagedByTheSessionAreReturned() throws Exception {
+		Session session = openSession();
+		setData( session );
+
+		Transaction transaction = session.beginTransaction();
+		Kernel managed = (Kernel) session.createCriteria( Kernel.class ).setMaxResults( 1 ).uniqueResult();
+		FullTextSession fullTextSession = Search.getFullTextSession( session );
+		List<?> list = fullTextSession.createFullTextQuery( new MatchAllDocsQuery(), Kernel.class, StrictKernel.class )
+				.initializeObjectsWith( ObjectLookupMethod.SKIP, DatabaseRetrievalMethod.PARALLEL_QUERY )
+				.list();
+		assertThat( list ).hasSize( 6 ).contains( managed );
+		for ( Object entity : list ) {
+			if ( entity instanceof Kernel && ( (Kernel) entity ).getId().equals( managed.getId() ) ) {
+				assertThat( entity ).isSameAs( managed );
+			}
+		}
+
+		// the attached entities are dirty checked
+		for ( Object entity : list ) {
+			if ( entity instanceof StrictKernel ) {
+				( (StrictKernel) entity ).setProduct( "Polgeiser 2" );
+			}
+		}
+		transaction.commit();
+		session.clear();
+
+		transaction = session.beginTransaction();
+		assertThat( session.createQuery( "from " + StrictKernel.class.getName() + " where product = 'Polgeiser 2'" ).list() )
+				.hasSize( 3 );
+		transaction.commit();
+
+		clearData( session );
+		session.close();
+	}
+
+	private void setData(Session session) {
+		Transaction transaction = session.beginTransaction();
+		for ( String codeName : new String[] { "coconut", "ballpark", "zinc" } ) {
+			Kernel kernel = new Kernel();
+			kernel.setCodeName( codeName );
+			kernel.setProduct( "Polgeiser" );
+			session.persist( kernel );
+			StrictKernel strictKernel = new StrictKernel();
+			strictKernel.setCodeName( "strict " + codeName );
+			strictKernel.setProduct( "Polgeiser" );
+			session.persist( strictKernel );
+		}
+		transaction.commit();
+		session.clear();
+	}
+
+	private void clearData(Session session) {
+		Transaction transaction = session.beginTransaction();
+		session.createQuery( "delete from " + Kernel.class.getName() ).executeUpdate();
+		session.createQuery( "delete from " + StrictKernel.class.getName() ).executeUpdate();
+		transaction.commit();
+	}
+
+	@Override
+	public void configure(Map<String,Object> cfg) {
+		cfg.put( Environment.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.put( Environment.CACHE_REGION_FACTORY, CachingRegionFactory.class.getCanonicalName() );
+	}
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Kernel.class, StrictKernel.class };
+	}
+}
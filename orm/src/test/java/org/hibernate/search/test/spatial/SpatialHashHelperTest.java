@@ -6,6 +6,7 @@
  */
 package org.hibernate.search.test.spatial;
 
+import org.hibernate.search.spatial.SpatialFieldBridgeByHash;
 import org.hibernate.search.spatial.impl.SpatialHelper;
 import org.junit.Assert;
 import org.junit.Test;
@@ -97,6 +98,41 @@ public void projectedBoundingBoxCellsIdsInclusionTest() {
 		Assert.assertTrue( projectedBoundingBoxCellsIdsInclusionTest( center, radius ) );
 	}
 
+	@Test
+	public void numericCellsIdsRangesInclusionTest() {
+		assertNumericCellsIdsRangesInclusion( Point.fromDegrees( 45.0d, 32.0d ), 50.0d );
+		assertNumericCellsIdsRangesInclusion( Point.fromDegrees( 0.0d, 0.0d ), 100.0d );
+		assertNumericCellsIdsRangesInclusion( Point.fromDegrees( 89.0d, 0.0d ), 250.0d );
+		assertNumericCellsIdsRangesInclusion( Point.fromDegrees( 0.0d, 179.9d ), 25.0d );
+		assertNumericCellsIdsRangesInclusion( Point.fromDegrees( -24.0d, -147.0d ), 73.0d );
+		assertNumericCellsIdsRangesInclusion( Point.fromDegrees( 48.0d, 2.0d ), 0.5d );
+	}
+
+	private void assertNumericCellsIdsRangesInclusion(Point center, double radius) {
+		int spatialHashLevel = SpatialFieldBridgeByHash.DEFAULT_BOTTOM_SPATIAL_HASH_LEVEL;
+		long[] ranges = SpatialHelper.getNumericSpatialHashCellsIdsRanges( center, radius, spatialHashLevel );
+		Assert.assertTrue( "Too many ranges: " + ranges.length / 2, ranges.length > 0 && ranges.length / 2 <= 16 );
+		for ( int i = 0; i < ranges.length; i += 2 ) {
+			Assert.assertTrue( "Ranges must be sorted and disjoint", ranges[i] <= ranges[i + 1] && ( i == 0 || ranges[i - 1] + 1 < ranges[i] ) );
+		}
+		for ( int heading = 0; heading < 360; heading++ ) {
+			for ( double distance : new double[] { 0, radius / 2, radius } ) {
+				Point point = center.computeDestination( distance, heading );
+				long cellId = SpatialHelper.getNumericSpatialHashCellId( point, spatialHashLevel );
+				Assert.assertTrue( point + " not covered", isInRanges( cellId, ranges ) );
+			}
+		}
+	}
+
+	private static boolean isInRanges(long cellId, long[] ranges) {
+		for ( int i = 0; i < ranges.length; i += 2 ) {
+			if ( ranges[i] <= cellId && cellId <= ranges[i + 1] ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public boolean projectedBoundingBoxCellsIdsInclusionTest( Point center, Double radius) {
 		Integer spatialHashLevel = SpatialHelper.findBestSpatialHashLevelForSearchRange( radius );
 